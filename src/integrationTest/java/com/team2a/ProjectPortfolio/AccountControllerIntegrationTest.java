@@ -1,5 +1,6 @@
 package com.team2a.ProjectPortfolio;
 
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -21,7 +22,10 @@ import com.team2a.ProjectPortfolio.Repositories.CollaboratorRepository;
 import com.team2a.ProjectPortfolio.Repositories.ProjectRepository;
 import com.team2a.ProjectPortfolio.Repositories.ProjectsToAccountsRepository;
 import com.team2a.ProjectPortfolio.security.SecurityConfigUtils;
+import jakarta.persistence.EntityManagerFactory;
 import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +35,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 @SpringBootTest
 @AutoConfigureMockMvc(addFilters=false)
@@ -59,6 +64,9 @@ public class AccountControllerIntegrationTest {
   @Autowired
   private SecurityConfigUtils securityConfigUtils;
 
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
   private Account account;
 
   private Project project;
@@ -198,4 +206,67 @@ public class AccountControllerIntegrationTest {
     assertEquals(0, projectsToAccountsRepository.count());
   }
 
+  /**
+   * Performs a request and counts the SQL statements it prepared
+   * @param request the request
+   * @return the number of statements
+   */
+  private long countStatements(MockHttpServletRequestBuilder request) throws Exception {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    mockMvc.perform(request).andExpect(status().isOk());
+    return statistics.getPrepareStatementCount();
+  }
+
+  /**
+   * Creates projects with a role of the account
+   * @param count the number of projects
+   * @param role the role of the account in the projects
+   */
+  private void addProjects(int count, RoleInProject role) {
+    for (int i = 0; i < count; i++) {
+      Project p = projectRepository.saveAndFlush(new Project("title" + i, "description" + i, false));
+      projectsToAccountsRepository.saveAndFlush(new ProjectsToAccounts(role, account, p));
+    }
+  }
+
+  @Test
+  void getProjectsAccountManagesStatementCount() throws Exception {
+    addProjects(2, RoleInProject.PM);
+    assertEquals(4, countStatements(get(Routes.ACCOUNT + "/public/managed/" + account.getUsername())));
+    addProjects(5, RoleInProject.PM);
+    addProjects(1, RoleInProject.EDITOR);
+    assertEquals(4, countStatements(get(Routes.ACCOUNT + "/public/managed/" + account.getUsername())));
+
+    mockMvc.perform(get(Routes.ACCOUNT + "/public/managed/" + account.getUsername()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(7)));
+  }
+
+  @Test
+  void getProjectsStatementCount() throws Exception {
+    addProjects(2, RoleInProject.EDITOR);
+    assertEquals(1, countStatements(get(Routes.ACCOUNT + "/role/" + account.getUsername())));
+    addProjects(5, RoleInProject.PM);
+    assertEquals(1, countStatements(get(Routes.ACCOUNT + "/role/" + account.getUsername())));
+
+    mockMvc.perform(get(Routes.ACCOUNT + "/role/" + account.getUsername()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(7)));
+  }
+
+  @Test
+  void getAccountsInProjectStatementCount() throws Exception {
+    projectsToAccountsRepository.saveAndFlush(new ProjectsToAccounts(RoleInProject.PM, account, project));
+    for (int i = 2; i <= 5; i++) {
+      Account other = accountRepository.saveAndFlush(
+          new Account("username" + i, "name" + i, "password" + i, Role.ROLE_USER));
+      projectsToAccountsRepository.saveAndFlush(new ProjectsToAccounts(RoleInProject.EDITOR, other, project));
+    }
+    assertEquals(1, countStatements(get(Routes.ACCOUNT + "/project/" + project.getProjectId())));
+
+    mockMvc.perform(get(Routes.ACCOUNT + "/project/" + project.getProjectId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(5)));
+  }
 }
@@ -6,12 +6,16 @@ import com.team2a.ProjectPortfolio.Commons.Project;
 import com.team2a.ProjectPortfolio.Repositories.MediaRepository;
 import com.team2a.ProjectPortfolio.Repositories.ProjectRepository;
 import com.team2a.ProjectPortfolio.security.SecurityConfigUtils;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
@@ -20,6 +24,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -135,6 +141,41 @@ public class MediaControllerIntegrationTest {
 //        .andExpect(status().isBadRequest());
 //  }
 
+  @Test
+  public void getDocumentFileRange() throws Exception {
+    Path file = Paths.get(System.getProperty("user.dir"), "assets", media.getPath() + projectId);
+    Files.writeString(file, "0123456789");
+    try {
+      mockMvc.perform(get(Routes.MEDIA + "/public/file/raw/" + media.getMediaId()))
+          .andExpect(status().isOk())
+          .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, "10"))
+          .andExpect(content().string("0123456789"));
+
+      mockMvc.perform(get(Routes.MEDIA + "/public/file/raw/" + media.getMediaId())
+              .header(HttpHeaders.RANGE, "bytes=2-5"))
+          .andExpect(status().isPartialContent())
+          .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+          .andExpect(content().string("2345"));
+
+      mockMvc.perform(get(Routes.MEDIA + "/public/file/raw/" + media.getMediaId())
+              .header(HttpHeaders.RANGE, "bytes=0-1,8-9"))
+          .andExpect(status().isPartialContent())
+          .andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith("multipart/byteranges")));
+
+      mockMvc.perform(get(Routes.MEDIA + "/public/file/raw/" + media.getMediaId())
+              .header(HttpHeaders.RANGE, "bytes=2-5")
+              .header(HttpHeaders.IF_RANGE, "\"stale\""))
+          .andExpect(status().isOk())
+          .andExpect(content().string("0123456789"));
+
+      mockMvc.perform(get(Routes.MEDIA + "/public/file/raw/" + media.getMediaId())
+              .header(HttpHeaders.RANGE, "bytes=20-30"))
+          .andExpect(status().isRequestedRangeNotSatisfiable());
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
   @Test
   public void deleteMedia() throws Exception {
     assertEquals(3, mediaRepository.count());
@@ -1,33 +1,52 @@
 package com.team2a.ProjectPortfolio;
 
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.team2a.ProjectPortfolio.Commons.Collaborator;
+import com.team2a.ProjectPortfolio.Commons.Link;
 import com.team2a.ProjectPortfolio.Commons.Project;
 import com.team2a.ProjectPortfolio.Commons.ProjectsToAccounts;
+import com.team2a.ProjectPortfolio.Commons.ProjectsToCollaborators;
+import com.team2a.ProjectPortfolio.Commons.RoleInProject;
+import com.team2a.ProjectPortfolio.Commons.Tag;
+import com.team2a.ProjectPortfolio.Commons.TagsToProject;
 import com.team2a.ProjectPortfolio.Commons.Template;
+import com.team2a.ProjectPortfolio.Commons.TemplateAddition;
 import com.team2a.ProjectPortfolio.Repositories.*;
+import com.team2a.ProjectPortfolio.Services.ProjectFacetIndex;
+import com.team2a.ProjectPortfolio.Services.ProjectImportReader;
 import com.team2a.ProjectPortfolio.security.SecurityConfigUtils;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
 import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 @SpringBootTest
 @AutoConfigureMockMvc(addFilters=false)
@@ -57,6 +76,16 @@ public class ProjectControllerIntegrationTest {
     @Autowired
     private TemplateRepository templateRepository;
     @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private TagToProjectRepository tagToProjectRepository;
+    @Autowired
+    private LinkRepository linkRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ProjectFacetIndex projectFacetIndex;
+    @Autowired
     private ObjectMapper objectMapper;
     private Project project1;
     private Project project2;
@@ -65,6 +94,7 @@ public class ProjectControllerIntegrationTest {
     @BeforeEach
     public void setUp() {
         projectRepository.deleteAll();
+        tagRepository.deleteAll();
         collaboratorRepository.deleteAll();
         templateRepository.deleteAll();
         project1 = new Project("title1", "description1", false);
@@ -214,6 +244,82 @@ public class ProjectControllerIntegrationTest {
         assertEquals("PM", pta.getRole().toString());
     }
 
+    @Test
+    public void updateProjectIfMatch() throws Exception {
+        Project update = new Project("title4", "description4", false);
+
+        mockMvc.perform(get(Routes.PROJECT + "/public/" + project1.getProjectId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", is(0)));
+
+        mockMvc.perform(put(Routes.PROJECT + "/" + project1.getProjectId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.version", is(1)));
+
+        update.setTitle("title5");
+        mockMvc.perform(put(Routes.PROJECT + "/" + project1.getProjectId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isPreconditionFailed());
+
+        assertEquals("title4", projectRepository.findById(project1.getProjectId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    public void updateProjectIfMatchFromRead() throws Exception {
+        Project update = new Project("title4", "description4", false);
+
+        String eTag = mockMvc.perform(get(Routes.PROJECT + "/public/" + project1.getProjectId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(Routes.PROJECT + "/public/" + project1.getProjectId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put(Routes.PROJECT + "/" + project1.getProjectId())
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", is(1)));
+
+        update.setTitle("title5");
+        mockMvc.perform(put(Routes.PROJECT + "/" + project1.getProjectId())
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isPreconditionFailed());
+
+        assertEquals("title4", projectRepository.findById(project1.getProjectId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    public void createProjectDuplicate() throws Exception {
+        Project duplicate = new Project("title1", "description1", true);
+
+        mockMvc.perform(post(Routes.PROJECT + "/")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(duplicate)))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(put(Routes.PROJECT + "/" + project2.getProjectId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(duplicate)))
+                .andExpect(status().isConflict());
+
+        assertEquals(3, projectRepository.count());
+        assertEquals(Project.contentHash("title1", "description1"),
+            projectRepository.findById(project1.getProjectId()).orElseThrow().getContentHash());
+    }
+
     @Test
     public void updateProjectTemplateAndGetTemplateByProjectId() throws Exception {
         assertEquals(3, projectRepository.count());
@@ -253,4 +359,267 @@ public class ProjectControllerIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    public void getProjectPage() throws Exception {
+        MvcResult result = mockMvc.perform(get(Routes.PROJECT + "/public/page")
+                        .param("sort", "-title")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].title", is("title3")))
+                .andExpect(jsonPath("$.items[1].title", is("title2")))
+                .andReturn();
+        String cursor = JsonPath.read(result.getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(get(Routes.PROJECT + "/public/page")
+                        .param("sort", "-title")
+                        .param("size", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].title", is("title1")))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+
+        result = mockMvc.perform(get(Routes.PROJECT + "/public/page")
+                        .param("sort", "created")
+                        .param("size", "1")
+                        .param("archived", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title", is("title1")))
+                .andReturn();
+        cursor = JsonPath.read(result.getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(get(Routes.PROJECT + "/public/page")
+                        .param("sort", "created")
+                        .param("size", "1")
+                        .param("archived", "false")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title", is("title3")));
+    }
+
+    @Test
+    public void getProjectPageByTagAndCollaborator() throws Exception {
+        Tag tag = tagRepository.saveAndFlush(new Tag("tag", "red"));
+        tagToProjectRepository.saveAndFlush(new TagsToProject(tag, project1));
+        tagToProjectRepository.saveAndFlush(new TagsToProject(tag, project2));
+        Collaborator collaborator = collaboratorRepository.saveAndFlush(new Collaborator("collaborator"));
+        projectsToCollaboratorsRepository.saveAndFlush(new ProjectsToCollaborators(project2, collaborator, "role"));
+        projectsToCollaboratorsRepository.saveAndFlush(new ProjectsToCollaborators(project3, collaborator, "role"));
+
+        mockMvc.perform(get(Routes.PROJECT + "/public/page")
+                        .param("tag", tag.getTagId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].title", is("title1")))
+                .andExpect(jsonPath("$.items[1].title", is("title2")));
+
+        mockMvc.perform(get(Routes.PROJECT + "/public/page")
+                        .param("tag", tag.getTagId().toString())
+                        .param("collaborator", collaborator.getCollaboratorId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].title", is("title2")));
+
+        mockMvc.perform(get(Routes.PROJECT + "/public/page")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void getProjectFacets() throws Exception {
+        Tag tag = tagRepository.saveAndFlush(new Tag("tag", "red"));
+        tagToProjectRepository.saveAndFlush(new TagsToProject(tag, project1));
+        tagToProjectRepository.saveAndFlush(new TagsToProject(tag, project2));
+        Collaborator collaborator = collaboratorRepository.saveAndFlush(new Collaborator("collaborator"));
+        projectsToCollaboratorsRepository.saveAndFlush(new ProjectsToCollaborators(project2, collaborator, "role"));
+        projectFacetIndex.rebuild();
+
+        mockMvc.perform(get(Routes.PROJECT + "/public/facets")
+                        .param("tag", tag.getTagId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(2)))
+                .andExpect(jsonPath("$.items[0].title", is("title1")))
+                .andExpect(jsonPath("$.items[1].title", is("title2")))
+                .andExpect(jsonPath("$.tags['" + tag.getTagId() + "']", is(2)))
+                .andExpect(jsonPath("$.collaborators['" + collaborator.getCollaboratorId() + "']", is(1)));
+
+        mockMvc.perform(post(Routes.TAGS + "/" + project3.getProjectId() + "/" + tag.getTagId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(Routes.PROJECT + "/public/facets")
+                        .param("tag", tag.getTagId().toString())
+                        .param("archived", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(2)))
+                .andExpect(jsonPath("$.items[1].title", is("title3")));
+
+        mockMvc.perform(get(Routes.PROJECT + "/public/facets")
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Performs a request and counts the SQL statements it prepared
+     * @param request the request
+     * @return the number of statements
+     */
+    private long countStatements(MockHttpServletRequestBuilder request) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Gives a project a link, a tag and a collaborator
+     * @param project the project
+     */
+    private void addCollections(Project project) {
+        Link link = new Link("link", "https://example.com/" + project.getTitle());
+        link.setProject(project);
+        linkRepository.saveAndFlush(link);
+        Tag tag = tagRepository.saveAndFlush(new Tag("tag " + project.getTitle(), "red"));
+        tagToProjectRepository.saveAndFlush(new TagsToProject(tag, project));
+        Collaborator collaborator = collaboratorRepository.saveAndFlush(new Collaborator("collaborator"));
+        projectsToCollaboratorsRepository.saveAndFlush(new ProjectsToCollaborators(project, collaborator, "role"));
+    }
+
+    @Test
+    public void getProjectsStatementCount() throws Exception {
+        addCollections(project1);
+        addCollections(project2);
+        assertEquals(4, countStatements(get(Routes.PROJECT + "/public/")));
+
+        for (int i = 4; i <= 10; i++) {
+            addCollections(projectRepository.saveAndFlush(new Project("title" + i, "description" + i, false)));
+        }
+        assertEquals(4, countStatements(get(Routes.PROJECT + "/public/")));
+
+        mockMvc.perform(get(Routes.PROJECT + "/public/" + project1.getProjectId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.links[0].name", is("link")))
+                .andExpect(jsonPath("$.tags[0].name", is("tag title1")))
+                .andExpect(jsonPath("$.collaborators[0].name", is("collaborator")))
+                .andExpect(jsonPath("$.collaborators[0].role", is("role")));
+    }
+
+    @Test
+    public void getProjectByIdStatementCount() throws Exception {
+        addCollections(project1);
+        assertEquals(4, countStatements(get(Routes.PROJECT + "/public/" + project1.getProjectId())));
+    }
+
+    @Test
+    public void getProjectPageStatementCount() throws Exception {
+        addCollections(project1);
+        addCollections(project2);
+        addCollections(project3);
+        assertEquals(1, countStatements(get(Routes.PROJECT + "/public/page").param("size", "2")));
+    }
+
+    @Test
+    public void getProjectOverviewStatementCount() throws Exception {
+        addCollections(project1);
+        Template template = new Template("template", "standardDescription", 3);
+        template.getTemplateAdditions().add(new TemplateAddition("addition", false));
+        project1.setTemplate(templateRepository.saveAndFlush(template));
+        project1 = projectRepository.saveAndFlush(project1);
+        projectsToAccountsRepository.saveAndFlush(
+            new ProjectsToAccounts(RoleInProject.EDITOR, securityConfigUtils.getAccount(), project1));
+
+        assertEquals(7, countStatements(get(Routes.PROJECT + "/public/" + project1.getProjectId() + "/overview")));
+        assertEquals(3, countStatements(get(Routes.PROJECT + "/public/" + project1.getProjectId() + "/overview")));
+
+        mockMvc.perform(get(Routes.PROJECT + "/public/" + project1.getProjectId() + "/overview"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.project.title", is("title1")))
+                .andExpect(jsonPath("$.project.links[0].name", is("link")))
+                .andExpect(jsonPath("$.project.tags[0].name", is("tag title1")))
+                .andExpect(jsonPath("$.project.collaborators[0].name", is("collaborator")))
+                .andExpect(jsonPath("$.media", hasSize(0)))
+                .andExpect(jsonPath("$.template.templateName", is("template")))
+                .andExpect(jsonPath("$.template.templateAdditions[0].templateAdditionName", is("addition")))
+                .andExpect(jsonPath("$.role", is("EDITOR")));
+
+        SecurityContextHolder.clearContext();
+        mockMvc.perform(get(Routes.PROJECT + "/public/" + project1.getProjectId() + "/overview"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.project.title", is("title1")))
+                .andExpect(jsonPath("$.template", nullValue()))
+                .andExpect(jsonPath("$.role", nullValue()));
+
+        mockMvc.perform(get(Routes.PROJECT + "/public/" + UUID.randomUUID() + "/overview"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void getProjectsFieldsStatementCount() throws Exception {
+        addCollections(project1);
+        assertEquals(1, countStatements(get(Routes.PROJECT + "/public/").param("fields", "title")));
+        assertEquals(2, countStatements(get(Routes.PROJECT + "/public/").param("fields", "title,tags")));
+
+        mockMvc.perform(get(Routes.PROJECT + "/public/")
+                        .param("fields", "title,tags"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[*].title", containsInAnyOrder("title1", "title2", "title3")))
+                .andExpect(jsonPath("$[?(@.title == 'title1')].tags[0].name", containsInAnyOrder("tag title1")))
+                .andExpect(jsonPath("$[0].projectId").doesNotExist())
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].links").doesNotExist());
+
+        mockMvc.perform(get(Routes.PROJECT + "/public/")
+                        .param("fields", "title,owner"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void importProjects() throws Exception {
+        String ndjson = String.join("\n",
+            "{\"title\":\"imported1\",\"description\":\"imported description\",\"tags\":[\"tag\"],"
+                + "\"collaborators\":[{\"name\":\"collaborator\",\"role\":\"role\"}],"
+                + "\"links\":[{\"name\":\"link\",\"url\":\"https://example.com\"}]}",
+            "{\"title\":\"title1\",\"description\":\"description1\"}",
+            "not json",
+            "{\"title\":\"imported2\",\"description\":\"imported description\",\"template\":\"missing\"}",
+            "{\"title\":\"imported1\",\"description\":\"imported description\"}");
+
+        mockMvc.perform(post(Routes.PROJECT + "/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.failed", is(4)))
+                .andExpect(jsonPath("$.errors[*].line", contains(2, 3, 4, 5)))
+                .andExpect(jsonPath("$.errors[2].message", is("Template missing does not exist")));
+
+        MvcResult result = mockMvc.perform(get(Routes.PROJECT + "/public/search")
+                        .param("q", "imported"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(1)))
+                .andExpect(jsonPath("$.items[0].title", is("imported1")))
+                .andReturn();
+        String projectId = JsonPath.read(result.getResponse().getContentAsString(), "$.items[0].projectId");
+        mockMvc.perform(get(Routes.PROJECT + "/public/" + projectId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.links[0].url", is("https://example.com")))
+                .andExpect(jsonPath("$.tags[0].name", is("tag")))
+                .andExpect(jsonPath("$.collaborators[0].name", is("collaborator")))
+                .andExpect(jsonPath("$.collaborators[0].role", is("role")));
+
+        mockMvc.perform(post(Routes.PROJECT + "/import")
+                        .contentType(ProjectImportReader.TEXT_CSV)
+                        .content("title,description,tags,links\r\n"
+                            + "imported3,\"csv, description\",tag;other,link|https://example.com/csv\r\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.failed", is(0)));
+        assertEquals(5, projectRepository.count());
+        assertEquals(2, tagRepository.count());
+
+        mockMvc.perform(post(Routes.PROJECT + "/import")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("title"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
 }
@@ -8,6 +8,7 @@ import com.team2a.ProjectPortfolio.Commons.Role;
 import com.team2a.ProjectPortfolio.Repositories.AccountRepository;
 import com.team2a.ProjectPortfolio.Repositories.ProjectRepository;
 import com.team2a.ProjectPortfolio.Repositories.RequestRepository;
+import com.team2a.ProjectPortfolio.security.SecurityConfigUtils;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -51,6 +52,9 @@ public class RequestControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private SecurityConfigUtils securityConfigUtils;
+
     private UUID projectId;
 
     private String accountId;
@@ -94,4 +98,20 @@ public class RequestControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].project.projectId", is(projectId.toString())));
     }
 
+    @Test
+    public void testAcceptRequestDuplicatingProject() throws Exception {
+        securityConfigUtils.setAuthentication();
+        projectRepository.saveAndFlush(new Project("Other Project", "Other Description", false));
+        Request request = requestRepository.saveAndFlush(
+            new Request("Other Project", "Other Description", false, account, project));
+
+        mockMvc.perform(put(Routes.REQUESTS + "/" + projectId + "/" + request.getRequestId()))
+                .andExpect(status().isConflict());
+
+        Project unchanged = projectRepository.findById(projectId).orElseThrow();
+        assertEquals("Test Project", unchanged.getTitle());
+        assertEquals("Description", unchanged.getDescription());
+        assertEquals(1, requestRepository.count());
+    }
+
 }
@@ -27,6 +27,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 
@@ -229,4 +230,20 @@ public class TagControllerIntegrationTest {
             .andExpect(jsonPath("$[0].name", is("Tag2")))
             .andExpect(jsonPath("$[1].name", is("Tag3")));
     }
+
+    @Test
+    public void testGetAllTagsFields() throws Exception {
+        mockMvc.perform(get("/tag/public/")
+                .param("fields", "name,color"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(3)))
+            .andExpect(jsonPath("$[*].name", containsInAnyOrder("Tag1", "Tag2", "Tag3")))
+            .andExpect(jsonPath("$[*].color", containsInAnyOrder("Red", "Blue", "Green")))
+            .andExpect(jsonPath("$[0].tagId").doesNotExist())
+            .andExpect(jsonPath("$[0].tagsToProjects").doesNotExist());
+
+        mockMvc.perform(get("/tag/public/")
+                .param("fields", "name,tagsToProjects"))
+            .andExpect(status().isBadRequest());
+    }
 }
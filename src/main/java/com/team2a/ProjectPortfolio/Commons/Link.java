@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -39,6 +40,14 @@ public class Link {
     @JsonProperty
     private String url;
 
+    @Version
+    @Column(name="VERSION", nullable = false)
+    @ColumnDefault("0")
+    @Getter
+    @Setter
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     @ManyToOne
     @JoinColumn(name="PROJECT_ID")
     @Getter
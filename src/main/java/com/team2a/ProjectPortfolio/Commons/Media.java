@@ -9,6 +9,7 @@ import lombok.Data;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -18,7 +19,10 @@ import java.util.UUID;
 
 @Entity
 @NoArgsConstructor
-@Table(name="MEDIA")
+@Table(name="MEDIA",
+    uniqueConstraints = @UniqueConstraint(name = "UK_MEDIA_PROJECT_PATH", columnNames = {"PROJECT_ID", "PATH"}),
+    indexes = {@Index(name = "IDX_MEDIA_HASH", columnList = "HASH"),
+        @Index(name = "IDX_MEDIA_PROJECT_MEDIA", columnList = "PROJECT_ID, MEDIA_ID")})
 @Data
 public class Media {
     @Id
@@ -42,6 +46,44 @@ public class Media {
     @NotNull(message = "path can't be null")
     private String path;
 
+    @Column(name="HASH", length = 64)
+    @Getter
+    @Setter
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String hash;
+
+    @Column(name="FILE_SIZE")
+    @Getter
+    @Setter
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long size;
+
+    @Column(name="MIME_TYPE")
+    @Getter
+    @Setter
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String mimeType;
+
+    @Column(name="WIDTH")
+    @Getter
+    @Setter
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer width;
+
+    @Column(name="HEIGHT")
+    @Getter
+    @Setter
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer height;
+
+    @Version
+    @Column(name="VERSION", nullable = false)
+    @ColumnDefault("0")
+    @Getter
+    @Setter
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     @Getter
     @Setter
     @ManyToOne
@@ -1,6 +1,7 @@
 package com.team2a.ProjectPortfolio.Commons;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -8,16 +9,29 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 @NoArgsConstructor
 @EqualsAndHashCode
 @Entity
-@Table(name = "PROJECT")
+@Table(name = "PROJECT",
+    uniqueConstraints = @UniqueConstraint(name = "UK_PROJECT_CONTENT_HASH", columnNames = "CONTENT_HASH"),
+    indexes = {@Index(name = "IDX_PROJECT_TITLE", columnList = "TITLE, PROJECT_ID"),
+        @Index(name = "IDX_PROJECT_CREATED", columnList = "CREATED_AT, PROJECT_ID"),
+        @Index(name = "IDX_PROJECT_ARCHIVED_TITLE", columnList = "ARCHIVED, TITLE, PROJECT_ID"),
+        @Index(name = "IDX_PROJECT_ARCHIVED_CREATED", columnList = "ARCHIVED, CREATED_AT, PROJECT_ID")})
 public class Project {
     @Id
     @Column(name="PROJECT_ID", nullable=false)
@@ -39,11 +53,36 @@ public class Project {
     @Size(max = 4000)
     private String description;
 
+    @Column(name="CONTENT_HASH", length = 64)
+    @Getter
+    @Setter
+    @JsonIgnore
+    private String contentHash;
+
+    private transient String loadedTitle;
+
+    private transient String loadedDescription;
+
     @Column(name="ARCHIVED")
     @Getter
     @Setter
     private Boolean archived;
 
+    @Column(name="CREATED_AT", updatable = false)
+    @CreationTimestamp
+    @Getter
+    @Setter
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant createdAt;
+
+    @Version
+    @Column(name="VERSION", nullable = false)
+    @ColumnDefault("0")
+    @Getter
+    @Setter
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     @ManyToOne
     @JoinColumn(name="TEMPLATE_NAME")
     @Getter
@@ -122,4 +161,63 @@ public class Project {
         this.archived = archived;
         this.template = template;
     }
+
+    /**
+     * Hashes the content of a new project, so that the unique index on the hash
+     * rejects a second project with the same title and description
+     */
+    @PrePersist
+    public void updateContentHash () {
+        this.contentHash = contentHash(title, description);
+    }
+
+    /**
+     * Rehashes the content of a project only if its title or description changed since it was loaded, so
+     * that other changes to a project flagged as a duplicate do not run into the unique index on the hash
+     */
+    @PreUpdate
+    public void updateChangedContentHash () {
+        if (!Objects.equals(title, loadedTitle) || !Objects.equals(description, loadedDescription)) {
+            updateContentHash();
+        }
+    }
+
+    /**
+     * Remembers the stored title and description, to tell on update whether they changed
+     */
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    public void rememberContent () {
+        this.loadedTitle = title;
+        this.loadedDescription = description;
+    }
+
+    /**
+     * Returns the value stored in place of the content hash of a project that was created before content
+     * hashes were stored with the same title and description as another project. It is unique to the project
+     * and never equal to a hash, so the project can still be written and gets a hash when its content changes.
+     * @param projectId the id of the project
+     * @return the duplicate marker of the project
+     */
+    public static String duplicateContentHash (UUID projectId) {
+        return "duplicate:" + projectId;
+    }
+
+    /**
+     * Returns the SHA-256 hash of a title and description, in hexadecimal. The title is prefixed with its
+     * length, so that no other split of the same characters has the same hash.
+     * @param title the title of a project
+     * @param description the description of a project
+     * @return the content hash
+     */
+    public static String contentHash (String title, String description) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String content = String.valueOf(title).length() + ":" + title + description;
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
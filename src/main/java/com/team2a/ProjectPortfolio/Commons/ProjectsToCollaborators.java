@@ -11,7 +11,8 @@ import lombok.Setter;
 import java.util.UUID;
 
 @Entity
-@Table(name="PROJECTS_TO_COLLABORATORS")
+@Table(name="PROJECTS_TO_COLLABORATORS",
+    indexes = @Index(name = "IDX_PTC_COLLABORATOR", columnList = "COLLABORATOR_ID, PROJECT_ID"))
 @AllArgsConstructor
 @NoArgsConstructor
 public class ProjectsToCollaborators {
@@ -1,6 +1,7 @@
 package com.team2a.ProjectPortfolio.Commons;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -10,7 +11,9 @@ import lombok.ToString;
 import java.util.UUID;
 
 @Entity
-@Table(name = "REQUEST_MEDIA_PROJECT")
+@Table(name = "REQUEST_MEDIA_PROJECT",
+    uniqueConstraints = @UniqueConstraint(name = "UK_REQUEST_MEDIA_ADDED_PATH",
+        columnNames = {"ADDED_PROJECT_ID", "ADDED_PATH"}))
 @ToString
 @NoArgsConstructor
 public class RequestMediaProject {
@@ -38,6 +41,18 @@ public class RequestMediaProject {
     @JoinColumn(name = "REQUEST_ID")
     private Request request;
 
+    @Column(name="ADDED_PROJECT_ID")
+    @Getter
+    @Setter
+    @JsonIgnore
+    private UUID addedProjectId;
+
+    @Column(name="ADDED_PATH")
+    @Getter
+    @Setter
+    @JsonIgnore
+    private String addedPath;
+
     public RequestMediaProject(UUID requestMediaProjectId, boolean isRemove) {
         this.requestMediaProjectId = requestMediaProjectId;
         this.isRemove = isRemove;
@@ -9,6 +9,7 @@ import lombok.Data;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -42,6 +43,14 @@ public class Tag {
     @NotNull (message = "Color must be specified")
     private String color;
 
+    @Version
+    @Column(name="VERSION", nullable = false)
+    @ColumnDefault("0")
+    @Getter
+    @Setter
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
 
     @Getter
     @Setter
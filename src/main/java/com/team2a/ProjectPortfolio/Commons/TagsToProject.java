@@ -8,7 +8,8 @@ import lombok.Setter;
 import java.util.UUID;
 
 @Entity
-@Table(name = "TAGS_TO_PROJECT")
+@Table(name = "TAGS_TO_PROJECT",
+    indexes = @Index(name = "IDX_TAGS_TO_PROJECT_TAG", columnList = "TAG_ID, PROJECT_ID"))
 @NoArgsConstructor
 public class TagsToProject {
 
@@ -6,7 +6,6 @@ import static com.team2a.ProjectPortfolio.security.Permissions.PM_ONLY;
 import static com.team2a.ProjectPortfolio.security.Permissions.USER_SPECIFIC;
 
 import com.team2a.ProjectPortfolio.Commons.Account;
-import com.team2a.ProjectPortfolio.Commons.Project;
 import com.team2a.ProjectPortfolio.Commons.RoleInProject;
 import com.team2a.ProjectPortfolio.CustomExceptions.AccountNotFoundException;
 import com.team2a.ProjectPortfolio.Routes;
@@ -16,6 +15,7 @@ import com.team2a.ProjectPortfolio.WebSocket.AccountWebSocketHandler;
 import com.team2a.ProjectPortfolio.dto.AccountDisplay;
 import com.team2a.ProjectPortfolio.dto.AccountTransfer;
 import com.team2a.ProjectPortfolio.dto.ProjectTransfer;
+import com.team2a.ProjectPortfolio.dto.ProjectView;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
@@ -171,7 +171,7 @@ public class AccountController {
     }
 
     @GetMapping("/public/managed/{username}")
-    public ResponseEntity<List<Project>> getProjectsAccountManages (@PathVariable("username") String username) {
+    public ResponseEntity<List<ProjectView>> getProjectsAccountManages (@PathVariable("username") String username) {
         return ResponseEntity.ok(accountService.getProjectsAccountManages(username));
     }
 
@@ -4,6 +4,8 @@ import com.team2a.ProjectPortfolio.Commons.Collaborator;
 import com.team2a.ProjectPortfolio.Commons.RequestCollaboratorsProjects;
 import com.team2a.ProjectPortfolio.Routes;
 import com.team2a.ProjectPortfolio.Services.CollaboratorService;
+import com.team2a.ProjectPortfolio.Services.ProjectReadCache;
+import com.team2a.ProjectPortfolio.Services.SparseFieldService;
 import com.team2a.ProjectPortfolio.WebSocket.CollaboratorProjectWebSocketHandler;
 import com.team2a.ProjectPortfolio.WebSocket.CollaboratorWebSocketHandler;
 import com.team2a.ProjectPortfolio.dto.CollaboratorTransfer;
@@ -15,6 +17,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static com.team2a.ProjectPortfolio.security.Permissions.*;
@@ -29,19 +32,29 @@ public class CollaboratorController {
 
     private final CollaboratorProjectWebSocketHandler collaboratorProjectWebSocketHandler;
 
+    private final ProjectReadCache projectReadCache;
+
+    private final SparseFieldService sparseFieldService;
+
     /**
      * Constructor for the collaborator controller
      * @param collaboratorService the collaborator service instance
      * @param collaboratorWebSocketHandler the web socket handler used for collaborators
      * @param collaboratorProjectWebSocketHandler the web socket handler used for collaborators for projects
+     * @param projectReadCache the cache of the collaborators of the projects
+     * @param sparseFieldService the service of the sparse fieldsets of the list endpoints
      */
     @Autowired
     public CollaboratorController(CollaboratorService collaboratorService,
                                   CollaboratorWebSocketHandler collaboratorWebSocketHandler,
-                                  CollaboratorProjectWebSocketHandler collaboratorProjectWebSocketHandler) {
+                                  CollaboratorProjectWebSocketHandler collaboratorProjectWebSocketHandler,
+                                  ProjectReadCache projectReadCache,
+                                  SparseFieldService sparseFieldService) {
         this.collaboratorService = collaboratorService;
         this.collaboratorWebSocketHandler = collaboratorWebSocketHandler;
         this.collaboratorProjectWebSocketHandler = collaboratorProjectWebSocketHandler;
+        this.projectReadCache = projectReadCache;
+        this.sparseFieldService = sparseFieldService;
     }
 
     /**
@@ -52,7 +65,8 @@ public class CollaboratorController {
     @GetMapping("/public/{projectId}")
     public ResponseEntity<List<CollaboratorTransfer>> getCollaboratorsByProjectId
     (@PathVariable("projectId") UUID projectId){
-        return ResponseEntity.ok(collaboratorService.getCollaboratorsByProjectId(projectId));
+        return ResponseEntity.ok(projectReadCache.get(ProjectReadCache.Region.COLLABORATORS, projectId,
+            () -> collaboratorService.getCollaboratorsByProjectId(projectId)));
     }
 
     /**
@@ -137,6 +151,16 @@ public class CollaboratorController {
         return new ResponseEntity<>(collaborators, HttpStatus.OK);
     }
 
+    /**
+     * endpoint for retrieving some fields of all collaborators, without their projects
+     * @param fields the comma separated names of the fields, out of collaboratorId and name
+     * @return a list with the requested fields of all collaborators
+     */
+    @GetMapping(value = "/public/", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllCollaborators (@RequestParam("fields") String fields) {
+        return ResponseEntity.ok(sparseFieldService.getCollaborators(fields));
+    }
+
     /**
      * endpoint for creating and adding a collaborator to a project
      * @param collaborator the collaborator to be added
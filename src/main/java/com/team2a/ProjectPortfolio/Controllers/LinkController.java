@@ -5,11 +5,15 @@ import com.team2a.ProjectPortfolio.Commons.Link;
 
 import com.team2a.ProjectPortfolio.Commons.RequestLinkProject;
 import com.team2a.ProjectPortfolio.CustomExceptions.NotFoundException;
+import com.team2a.ProjectPortfolio.EntityVersions;
 import com.team2a.ProjectPortfolio.Routes;
 import com.team2a.ProjectPortfolio.Services.LinkService;
+import com.team2a.ProjectPortfolio.Services.ProjectReadCache;
 import com.team2a.ProjectPortfolio.WebSocket.LinkProjectWebSocketHandler;
+import com.team2a.ProjectPortfolio.dto.LinkSummary;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -29,16 +33,21 @@ public class LinkController {
 
     private final LinkProjectWebSocketHandler linkProjectWebSocketHandler;
 
+    private final ProjectReadCache projectReadCache;
+
     /**
      * The constructor for the link controller
      * @param linkService the link service instance
      * @param linkProjectWebSocketHandler the web socket handler for links to projects
+     * @param projectReadCache the cache of the links of the projects
      */
     @Autowired
     public LinkController(LinkService linkService,
-                          LinkProjectWebSocketHandler linkProjectWebSocketHandler) {
+                          LinkProjectWebSocketHandler linkProjectWebSocketHandler,
+                          ProjectReadCache projectReadCache) {
         this.linkService = linkService;
         this.linkProjectWebSocketHandler = linkProjectWebSocketHandler;
+        this.projectReadCache = projectReadCache;
     }
 
     /**
@@ -63,15 +72,19 @@ public class LinkController {
      * Edit the link of the project
      * @param link the link entity
      * @param projectId
-     * @return the new link entity
+     * @param ifMatch the ETag of the version of the link that is overwritten, absent to overwrite any
+     * @return the new link entity, with the ETag of its new version
      */
     @PutMapping("/{projectId}")
     @PreAuthorize(EDITOR_IN_PROJECT)
-    public ResponseEntity<Link> editLinkOfProject (@RequestBody Link link, @PathVariable("projectId") UUID projectId) {
+    public ResponseEntity<Link> editLinkOfProject (@RequestBody Link link, @PathVariable("projectId") UUID projectId,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                   String ifMatch) {
         try {
+            link.setVersion(EntityVersions.fromIfMatch(ifMatch));
             Link updatedLink = linkService.editLinkOfProject(link);
             linkProjectWebSocketHandler.broadcast(updatedLink.getProject().getProjectId().toString());
-            return ResponseEntity.ok(updatedLink);
+            return ResponseEntity.ok().eTag(EntityVersions.eTag(updatedLink.getVersion())).body(updatedLink);
         } catch (EntityNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
@@ -83,9 +96,10 @@ public class LinkController {
      * @return the links associated with a project given the id of the project
      */
     @GetMapping("/public/{projectId}")
-    public ResponseEntity<List<Link>> getLinksByProjectId (@PathVariable("projectId") UUID projectId) {
+    public ResponseEntity<List<LinkSummary>> getLinksByProjectId (@PathVariable("projectId") UUID projectId) {
         try {
-            List<Link> links = linkService.getLinksByProjectId(projectId);
+            List<LinkSummary> links = projectReadCache.get(ProjectReadCache.Region.LINKS, projectId,
+                () -> linkService.getLinksByProjectId(projectId));
             return ResponseEntity.ok(links);
         } catch (EntityNotFoundException e) {
             return ResponseEntity.notFound().build();
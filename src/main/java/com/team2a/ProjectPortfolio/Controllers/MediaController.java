@@ -5,17 +5,42 @@ import com.team2a.ProjectPortfolio.Commons.Media;
 import com.team2a.ProjectPortfolio.Commons.RequestMediaProject;
 import com.team2a.ProjectPortfolio.CustomExceptions.MediaNotFoundException;
 import com.team2a.ProjectPortfolio.CustomExceptions.NotFoundException;
+import com.team2a.ProjectPortfolio.EntityVersions;
 import com.team2a.ProjectPortfolio.Routes;
+import com.team2a.ProjectPortfolio.Services.MediaGarbageCollector;
 import com.team2a.ProjectPortfolio.Services.MediaService;
+import com.team2a.ProjectPortfolio.Services.MediaUploadService;
+import com.team2a.ProjectPortfolio.Services.UploadAdmissionService;
 import com.team2a.ProjectPortfolio.WebSocket.MediaProjectWebSocketHandler;
+import com.team2a.ProjectPortfolio.dto.MediaCacheStats;
 import com.team2a.ProjectPortfolio.dto.MediaFileContent;
+import com.team2a.ProjectPortfolio.dto.MediaFileResource;
+import com.team2a.ProjectPortfolio.dto.MediaPage;
+import com.team2a.ProjectPortfolio.dto.MediaSweepReport;
+import com.team2a.ProjectPortfolio.dto.ProjectStorageUsage;
+import com.team2a.ProjectPortfolio.dto.UploadSession;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,24 +51,42 @@ import static com.team2a.ProjectPortfolio.security.Permissions.*;
 @CrossOrigin("http://localhost:4200")
 public class MediaController {
 
+    public static final String CHUNK_CHECKSUM_HEADER = "X-Chunk-SHA256";
+
     private final MediaService mediaService;
 
     private final MediaProjectWebSocketHandler mediaProjectWebSocketHandler;
 
+    private final MediaGarbageCollector mediaGarbageCollector;
+
+    private final MediaUploadService mediaUploadService;
+
+    private final UploadAdmissionService uploadAdmissionService;
+
     /**
      * Constructor for the media controller
      * @param mediaService the media service instance
      * @param mediaProjectWebSocketHandler the web socket handler for media to project
+     * @param mediaGarbageCollector the collector of orphaned media files
+     * @param mediaUploadService the service handling resumable uploads
+     * @param uploadAdmissionService the limiter of concurrent uploads
      */
     @Autowired
     public MediaController (MediaService mediaService,
-                            MediaProjectWebSocketHandler mediaProjectWebSocketHandler) {
+                            MediaProjectWebSocketHandler mediaProjectWebSocketHandler,
+                            MediaGarbageCollector mediaGarbageCollector,
+                            MediaUploadService mediaUploadService,
+                            UploadAdmissionService uploadAdmissionService) {
         this.mediaService = mediaService;
         this.mediaProjectWebSocketHandler = mediaProjectWebSocketHandler;
+        this.mediaGarbageCollector = mediaGarbageCollector;
+        this.mediaUploadService = mediaUploadService;
+        this.uploadAdmissionService = uploadAdmissionService;
     }
 
     /**
-     * Gets all Medias under a certain Project
+     * Gets all Medias under a certain Project, with their content encoded in the response.
+     * Prefer the paginated gallery endpoint, which lets the content be fetched lazily.
      * @param projectId the id of the Project whose Media to be retrieved
      * @return the List of all Medias corresponding to the project
      */
@@ -53,6 +96,35 @@ public class MediaController {
         return ResponseEntity.ok(mediaService.getImagesContentByProjectId(projectId));
     }
 
+    /**
+     * Gets one page of the Medias under a certain Project, with metadata and content urls only
+     * @param projectId the id of the Project whose Media to be retrieved
+     * @param cursor the nextCursor of the previous page, omitted for the first page
+     * @param size the maximum number of Medias on the page
+     * @return the page of Medias
+     */
+    @GetMapping("/public/gallery/{projectId}")
+    public ResponseEntity<MediaPage> getMediaPageByProjectId (@PathVariable("projectId") UUID projectId,
+                                                              @RequestParam(required = false) UUID cursor,
+                                                              @RequestParam(defaultValue = "24") int size) {
+        return ResponseEntity.ok(mediaService.getMediaPageByProjectId(projectId, cursor, size));
+    }
+
+    /**
+     * Downloads all the Medias of a Project as one ZIP archive, streamed while it is being written
+     * @param projectId the id of the Project whose Media to be archived
+     * @return the archive
+     */
+    @GetMapping("/public/zip/{projectId}")
+    public ResponseEntity<StreamingResponseBody> getProjectArchive (@PathVariable("projectId") UUID projectId) {
+        StreamingResponseBody body = mediaService.getProjectArchive(projectId);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/zip"))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(projectId + ".zip").build().toString())
+            .body(body);
+    }
+
     /**
      * Returns the content of a document based on its mediaId
      * @param mediaId the mediaId of the document we need to retrieve
@@ -63,6 +135,158 @@ public class MediaController {
         return ResponseEntity.ok(mediaService.getDocumentByMediaId(mediaId));
     }
 
+    /**
+     * Streams the raw content of a document based on its mediaId, without encoding it in memory.
+     * Range requests are answered with 206 Partial Content (or multipart/byteranges for several ranges),
+     * reading only the requested bytes. If an If-Range validator no longer matches the file,
+     * the Range header is ignored and the whole file is sent.
+     * Conditional requests matching the ETag or modification time are answered with 304 Not Modified
+     * without opening the file.
+     * @param mediaId the mediaId of the document we need to retrieve
+     * @param ifRange the If-Range header of the request, if any
+     * @param request the request, used to evaluate If-None-Match and If-Modified-Since
+     * @return the file content with its content type and length
+     */
+    @GetMapping("/public/file/raw/{mediaId}")
+    public ResponseEntity<Resource> getDocumentFileByMediaId (@PathVariable("mediaId") UUID mediaId,
+                                                              @RequestHeader(value = HttpHeaders.IF_RANGE,
+                                                                  required = false) String ifRange,
+                                                              WebRequest request) {
+        MediaFileResource file = mediaService.getDocumentFileByMediaId(mediaId);
+        if (request.checkNotModified(file.getETag(), file.getLastModified())) {
+            return notModified(file);
+        }
+        ResponseEntity.BodyBuilder response = fileResponse(file);
+        if (ifRange != null && !ifRangeMatches(ifRange, file)) {
+            // Spring only applies ranges to seekable resources, so a stream resource forces a full response
+            try {
+                return response.body(new InputStreamResource(file.getResource().getInputStream()));
+            } catch (IOException e) {
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+            }
+        }
+        return response.body(file.getResource());
+    }
+
+    /**
+     * Streams a resized variant of an image. Missing variants are generated before they are sent.
+     * @param mediaId the mediaId of the image
+     * @param width the width of the variant, one of 160, 480 or 1280
+     * @param request the request, used to evaluate If-None-Match and If-Modified-Since
+     * @return the variant content with its content type and length
+     */
+    @GetMapping("/public/file/thumbnail/{mediaId}")
+    public ResponseEntity<Resource> getThumbnailByMediaId (@PathVariable("mediaId") UUID mediaId,
+                                                           @RequestParam(defaultValue = "480") int width,
+                                                           WebRequest request) {
+        MediaFileResource file = mediaService.getThumbnailByMediaId(mediaId, width);
+        if (request.checkNotModified(file.getETag(), file.getLastModified())) {
+            return notModified(file);
+        }
+        return fileResponse(file).body(file.getResource());
+    }
+
+    /**
+     * Returns the number of images waiting for their thumbnails to be generated
+     * @return the queue depth of the thumbnail pipeline
+     */
+    @GetMapping("/thumbnail/queue")
+    @PreAuthorize(ADMIN_ONLY)
+    public ResponseEntity<Integer> getThumbnailQueueDepth () {
+        return ResponseEntity.ok(mediaService.getThumbnailQueueDepth());
+    }
+
+    /**
+     * Returns the storage used by the media of a Project, against its quota
+     * @param projectId the id of the Project
+     * @return the used and reserved bytes, and the quota
+     */
+    @GetMapping("/usage/{projectId}")
+    @PreAuthorize(USER_IN_PROJECT)
+    public ResponseEntity<ProjectStorageUsage> getStorageUsage (@PathVariable("projectId") UUID projectId) {
+        return ResponseEntity.ok(mediaService.getStorageUsage(projectId));
+    }
+
+    /**
+     * Returns the number of uploads being processed
+     * @return the number of active uploads
+     */
+    @GetMapping("/upload/active")
+    @PreAuthorize(ADMIN_ONLY)
+    public ResponseEntity<Integer> getActiveUploads () {
+        return ResponseEntity.ok(uploadAdmissionService.getActiveUploads());
+    }
+
+    /**
+     * Returns the counters of the hot media cache
+     * @return the hits, misses, evictions and usage of the cache
+     */
+    @GetMapping("/cache/stats")
+    @PreAuthorize(ADMIN_ONLY)
+    public ResponseEntity<MediaCacheStats> getCacheStats () {
+        return ResponseEntity.ok(mediaService.getCacheStats());
+    }
+
+    /**
+     * Sweeps the assets directory for files no Media references any more
+     * @param dryRun true to only report the orphaned files, false to delete them
+     * @return the report of the sweep, with the bytes reclaimed since startup
+     */
+    @PostMapping("/gc")
+    @PreAuthorize(ADMIN_ONLY)
+    public ResponseEntity<MediaSweepReport> sweepOrphanedFiles (@RequestParam(defaultValue = "true") boolean dryRun) {
+        return ResponseEntity.ok(mediaGarbageCollector.sweep(dryRun));
+    }
+
+    /**
+     * Builds the headers of a response carrying a stored file
+     * @param file the file being served
+     * @return the response builder with the content type, length, modification time and disposition set
+     */
+    private ResponseEntity.BodyBuilder fileResponse (MediaFileResource file) {
+        return ResponseEntity.ok()
+            .eTag(file.getETag())
+            .contentType(file.getContentType() != null ? MediaType.parseMediaType(file.getContentType())
+                : MediaTypeFactory.getMediaType(file.getFilePath()).orElse(MediaType.APPLICATION_OCTET_STREAM))
+            .contentLength(file.getContentLength())
+            .lastModified(file.getLastModified())
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.inline().filename(file.getFilePath()).build().toString());
+    }
+
+    /**
+     * Builds a 304 response repeating the validators of a stored file
+     * @param file the file the client already has
+     * @return the response without a body
+     */
+    private ResponseEntity<Resource> notModified (MediaFileResource file) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(file.getETag())
+            .lastModified(file.getLastModified())
+            .build();
+    }
+
+    /**
+     * Checks whether the validator of an If-Range header still describes the stored file
+     * @param ifRange the If-Range header value
+     * @param file the file being served
+     * @return true if the partial response may be sent
+     */
+    private boolean ifRangeMatches (String ifRange, MediaFileResource file) {
+        if (ifRange.startsWith("W/")) {
+            return false;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(file.getETag());
+        }
+        try {
+            long since = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond();
+            return since == file.getLastModified() / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
     /**
      * Returns the list of medias of a specific projectId
      * @param projectId the projectID
@@ -84,11 +308,88 @@ public class MediaController {
     @PreAuthorize(EDITOR_IN_PROJECT)
     public ResponseEntity<Media> addMediaToProject (@PathVariable("projectId") UUID projectId,
                                                     @RequestParam("file") MultipartFile file, @RequestParam String name) {
-        Media body = mediaService.addMediaToProject(projectId, file,name);
+        Media body = mediaService.addMediaToProject(projectId, file, name);
         mediaProjectWebSocketHandler.broadcast(projectId.toString());
         return ResponseEntity.ok(body);
     }
 
+    /**
+     * Starts a resumable upload of a Media for an already existing project
+     * @param projectId the id of the Project that gets the Media
+     * @param name the name of the media
+     * @param fileName the original filename of the media
+     * @param size the size of the file in bytes
+     * @return the upload session, whose id is used to send the chunks
+     */
+    @PostMapping("/upload/{projectId}")
+    @PreAuthorize(EDITOR_IN_PROJECT)
+    public ResponseEntity<UploadSession> createUpload (@PathVariable("projectId") UUID projectId,
+                                                       @RequestParam String name, @RequestParam String fileName,
+                                                       @RequestParam long size) {
+        return ResponseEntity.ok(mediaUploadService.createSession(projectId, name, fileName, size));
+    }
+
+    /**
+     * Returns the state of a resumable upload, so an interrupted client knows the offset to resume from
+     * @param projectId the id of the Project of the upload
+     * @param uploadId the id of the upload
+     * @return the upload session
+     */
+    @GetMapping("/upload/{projectId}/{uploadId}")
+    @PreAuthorize(EDITOR_IN_PROJECT)
+    public ResponseEntity<UploadSession> getUpload (@PathVariable("projectId") UUID projectId,
+                                                    @PathVariable("uploadId") UUID uploadId) {
+        return ResponseEntity.ok(mediaUploadService.getSession(projectId, uploadId));
+    }
+
+    /**
+     * Appends a chunk to a resumable upload. The body is the raw content of the chunk.
+     * @param projectId the id of the Project of the upload
+     * @param uploadId the id of the upload
+     * @param offset the position of the chunk in the file, which must be the offset of the upload
+     * @param checksum the hex encoded SHA-256 of the chunk
+     * @param content the content of the chunk
+     * @return the upload session with the new offset
+     */
+    @PutMapping(value = "/upload/{projectId}/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @PreAuthorize(EDITOR_IN_PROJECT)
+    public ResponseEntity<UploadSession> writeUploadChunk (@PathVariable("projectId") UUID projectId,
+                                                           @PathVariable("uploadId") UUID uploadId,
+                                                           @RequestParam long offset,
+                                                           @RequestHeader(CHUNK_CHECKSUM_HEADER) String checksum,
+                                                           InputStream content) {
+        return ResponseEntity.ok(mediaUploadService.writeChunk(projectId, uploadId, offset, checksum, content));
+    }
+
+    /**
+     * Completes a resumable upload and adds the Media to the project
+     * @param projectId the id of the Project of the upload
+     * @param uploadId the id of the upload
+     * @return the Media instance generated and saved
+     */
+    @PostMapping("/upload/{projectId}/{uploadId}/complete")
+    @PreAuthorize(EDITOR_IN_PROJECT)
+    public ResponseEntity<Media> completeUpload (@PathVariable("projectId") UUID projectId,
+                                                 @PathVariable("uploadId") UUID uploadId) {
+        Media body = mediaUploadService.completeSession(projectId, uploadId);
+        mediaProjectWebSocketHandler.broadcast(projectId.toString());
+        return ResponseEntity.ok(body);
+    }
+
+    /**
+     * Abandons a resumable upload
+     * @param projectId the id of the Project of the upload
+     * @param uploadId the id of the upload
+     * @return the status of the operation
+     */
+    @DeleteMapping("/upload/{projectId}/{uploadId}")
+    @PreAuthorize(EDITOR_IN_PROJECT)
+    public ResponseEntity<String> abortUpload (@PathVariable("projectId") UUID projectId,
+                                               @PathVariable("uploadId") UUID uploadId) {
+        mediaUploadService.abortSession(projectId, uploadId);
+        return ResponseEntity.ok("Upload aborted successfully.");
+    }
+
     /**
      * Deletes a media from the database
      * @param mediaId the id of the Media under deletion
@@ -112,13 +413,17 @@ public class MediaController {
     /**
      * Edit Media provided it exists already by id
      * @param media - the Media with the new fields
-     * @return - the edited Media
+     * @param ifMatch - the ETag of the version of the Media that is overwritten, absent to overwrite any
+     * @return - the edited Media, with the ETag of its new version
      */
     @PutMapping("/")
-    public ResponseEntity<Media> editMedia (@Valid @RequestBody Media media) {
+    public ResponseEntity<Media> editMedia (@Valid @RequestBody Media media,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                            String ifMatch) {
+        media.setVersion(EntityVersions.fromIfMatch(ifMatch));
         Media body = mediaService.editMedia(media);
         mediaProjectWebSocketHandler.broadcast(media.getProject().getProjectId().toString());
-        return ResponseEntity.status(HttpStatus.OK).body(body);
+        return ResponseEntity.status(HttpStatus.OK).eTag(EntityVersions.eTag(body.getVersion())).body(body);
     }
 
     /**
@@ -130,7 +435,7 @@ public class MediaController {
     @PutMapping("/{mediaId}")
     public ResponseEntity<Media> editMediaContent (@PathVariable("mediaId") UUID mediaId,
                                                   @RequestParam("file") MultipartFile file) {
-        Media body  = mediaService.changeFile(mediaId,file);
+        Media body = mediaService.changeFile(mediaId, file);
         mediaProjectWebSocketHandler.broadcast(body.getProject().getProjectId().toString());
         return ResponseEntity.status(HttpStatus.OK).body(body);
     }
@@ -2,17 +2,37 @@ package com.team2a.ProjectPortfolio.Controllers;
 
 import com.team2a.ProjectPortfolio.Commons.Project;
 import com.team2a.ProjectPortfolio.Commons.Template;
+import com.team2a.ProjectPortfolio.EntityVersions;
 import com.team2a.ProjectPortfolio.Routes;
+import com.team2a.ProjectPortfolio.Services.ProjectImportReader;
+import com.team2a.ProjectPortfolio.Services.ProjectImportService;
+import com.team2a.ProjectPortfolio.Services.ProjectOverviewService;
+import com.team2a.ProjectPortfolio.Services.ProjectReadCache;
 import com.team2a.ProjectPortfolio.Services.ProjectService;
+import com.team2a.ProjectPortfolio.Services.SparseFieldService;
 import com.team2a.ProjectPortfolio.WebSocket.ProjectWebSocketHandler;
+import com.team2a.ProjectPortfolio.dto.ProjectCacheStats;
+import com.team2a.ProjectPortfolio.dto.ProjectFacetQuery;
+import com.team2a.ProjectPortfolio.dto.ProjectFacetResult;
+import com.team2a.ProjectPortfolio.dto.ProjectImportReport;
+import com.team2a.ProjectPortfolio.dto.ProjectOverview;
+import com.team2a.ProjectPortfolio.dto.ProjectPage;
+import com.team2a.ProjectPortfolio.dto.ProjectSearchResult;
+import com.team2a.ProjectPortfolio.dto.ProjectView;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static com.team2a.ProjectPortfolio.security.Permissions.*;
@@ -26,15 +46,33 @@ public class ProjectController {
 
     private ProjectWebSocketHandler webSocketHandler;
 
+    private final ProjectReadCache projectReadCache;
+
+    private final ProjectOverviewService projectOverviewService;
+
+    private final SparseFieldService sparseFieldService;
+
+    private final ProjectImportService projectImportService;
+
     /**
      * Constructor for the controller
      * @param projectService the project service instance
      * @param webSocketHandler the web socket handler
+     * @param projectReadCache the cache of the public reads of the projects
+     * @param projectOverviewService the service of the overviews of the projects
+     * @param sparseFieldService the service of the sparse fieldsets of the list endpoints
+     * @param projectImportService the service of the bulk imports of projects
      */
     @Autowired
-    public ProjectController(ProjectService projectService, ProjectWebSocketHandler webSocketHandler) {
+    public ProjectController(ProjectService projectService, ProjectWebSocketHandler webSocketHandler,
+                             ProjectReadCache projectReadCache, ProjectOverviewService projectOverviewService,
+                             SparseFieldService sparseFieldService, ProjectImportService projectImportService) {
         this.projectService = projectService;
         this.webSocketHandler = webSocketHandler;
+        this.projectReadCache = projectReadCache;
+        this.projectOverviewService = projectOverviewService;
+        this.sparseFieldService = sparseFieldService;
+        this.projectImportService = projectImportService;
     }
 
     /**
@@ -42,11 +80,68 @@ public class ProjectController {
      * @return a response entity that contains the list of all projects
      */
     @GetMapping("/public/")
-    public ResponseEntity<List<Project>> getProjects () {
-        List<Project> projects = projectService.getProjects();
+    public ResponseEntity<List<ProjectView>> getProjects () {
+        List<ProjectView> projects = projectService.getProjects();
         return ResponseEntity.ok(projects);
     }
 
+    /**
+     * Returns some fields of all Projects, only selecting and serializing the requested fields
+     * @param fields the comma separated names of the fields, out of projectId, title, description, archived,
+     *               createdAt, version, links, tags and collaborators
+     * @return a response entity that contains the requested fields of all projects
+     */
+    @GetMapping(value = "/public/", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getProjects (@RequestParam("fields") String fields) {
+        return ResponseEntity.ok(sparseFieldService.getProjects(fields));
+    }
+
+    /**
+     * Returns one page of the Projects, without their collections
+     * @param sort the sorted attribute, title or created, prefixed with - for descending order
+     * @param cursor the nextCursor of the previous page, omitted for the first page
+     * @param size the maximum number of Projects on the page
+     * @param archived only return the Projects with this archived state
+     * @param tag only return the Projects with the tag with this id
+     * @param collaborator only return the Projects with the collaborator with this id
+     * @return the page of Projects
+     */
+    @GetMapping("/public/page")
+    public ResponseEntity<ProjectPage> getProjectPage (@RequestParam(defaultValue = "title") String sort,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = "24") int size,
+                                                       @RequestParam(required = false) Boolean archived,
+                                                       @RequestParam(required = false) UUID tag,
+                                                       @RequestParam(required = false) UUID collaborator) {
+        return ResponseEntity.ok(projectService.getProjectPage(sort, cursor, size, archived, tag, collaborator));
+    }
+
+    /**
+     * Searches the titles and descriptions of the Projects
+     * @param query the words to search for
+     * @param page the index of the page, starting at 0
+     * @param size the maximum number of Projects on the page
+     * @return the page of matching Projects, best match first
+     */
+    @GetMapping("/public/search")
+    public ResponseEntity<ProjectSearchResult> searchProjects (@RequestParam("q") String query,
+                                                               @RequestParam(defaultValue = "0") int page,
+                                                               @RequestParam(defaultValue = "24") int size) {
+        return ResponseEntity.ok(projectService.searchProjects(query, page, size));
+    }
+
+    /**
+     * Filters the Projects by facets and counts the matching Projects per tag, collaborator and template.
+     * Multiple tags or collaborators must all match, unless anyTag or anyCollaborator is set.
+     * @param query the facets to filter by and the page, bound from the request parameters tag, anyTag,
+     *              collaborator, anyCollaborator, template, archived, page and size
+     * @return the page of matching Projects, sorted by title, and the facet counts
+     */
+    @GetMapping("/public/facets")
+    public ResponseEntity<ProjectFacetResult> getProjectFacets (@ModelAttribute ProjectFacetQuery query) {
+        return ResponseEntity.ok(projectService.getProjectFacets(query));
+    }
+
     /**
      * Delete a project by its ID
      * @param projectId the id of the project to be deleted
@@ -64,26 +159,58 @@ public class ProjectController {
      * Returns an updated project given an ID
      * @param projectId the id of a project
      * @param project the project updates that will be persisted in the DB
-     * @return the changed project with the specified ID
+     * @param ifMatch the ETag of the version of the project that is overwritten, absent to overwrite any
+     * @return the changed project with the specified ID, with the ETag of its new version
      */
     @PutMapping("/{projectId}")
     @PreAuthorize(EDITOR_IN_PROJECT)
     public ResponseEntity<Project> updateProject (@PathVariable("projectId") UUID projectId,
-                                                  @Valid @RequestBody Project project) {
+                                                  @Valid @RequestBody Project project,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                  String ifMatch) {
+        project.setVersion(EntityVersions.fromIfMatch(ifMatch));
         Project result = projectService.updateProject(projectId, project);
         webSocketHandler.broadcast("edited " + result.getProjectId());
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok().eTag(EntityVersions.eTag(result.getVersion())).body(result);
     }
 
     /**
-     * Returns a Project queried by its ID
+     * Returns a Project queried by its ID, with the ETag of its version and collections.
+     * A matching If-None-Match is answered with 304 Not Modified before the project is serialized.
      * @param projectId the id of the project
+     * @param request the request, used to evaluate If-None-Match
      * @return a response entity that contains the project with the specified id
      */
     @GetMapping("/public/{projectId}")
-    public ResponseEntity<Project> getProjectById (@PathVariable("projectId") UUID projectId) {
-        Project project = projectService.getProjectById(projectId);
-        return ResponseEntity.ok(project);
+    public ResponseEntity<ProjectView> getProjectById (@PathVariable("projectId") UUID projectId,
+                                                       WebRequest request) {
+        ProjectView project = projectReadCache.get(ProjectReadCache.Region.PROJECT, projectId,
+            () -> projectService.getProjectViewById(projectId));
+        if (request.checkNotModified(project.getETag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(project.getETag()).build();
+        }
+        return ResponseEntity.ok().eTag(project.getETag()).body(project);
+    }
+
+    /**
+     * Returns everything the page of a Project shows in one response: the project with its links, tags and
+     * collaborators, its media, its template and the role of the current user in it
+     * @param projectId the id of the project
+     * @return a response entity that contains the overview of the project
+     */
+    @GetMapping("/public/{projectId}/overview")
+    public ResponseEntity<ProjectOverview> getProjectOverview (@PathVariable("projectId") UUID projectId) {
+        return ResponseEntity.ok(projectOverviewService.getProjectOverview(projectId));
+    }
+
+    /**
+     * Returns the counters of the project read cache
+     * @return the hits, misses, evictions, invalidations and size of the cache
+     */
+    @GetMapping("/cache/stats")
+    @PreAuthorize(ADMIN_ONLY)
+    public ResponseEntity<ProjectCacheStats> getCacheStats () {
+        return ResponseEntity.ok(projectReadCache.getStats());
     }
 
     /**
@@ -99,6 +226,24 @@ public class ProjectController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Imports projects with their tags, collaborators and links from a stream of NDJSON or CSV rows,
+     * the current user becoming their project manager
+     * @param contentType the content type of the rows
+     * @param content the rows
+     * @return a response entity that contains the number of imported projects and the errors of the other rows
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, ProjectImportReader.TEXT_CSV_VALUE})
+    @PreAuthorize(PM_ONLY)
+    public ResponseEntity<ProjectImportReport> importProjects (@RequestHeader(HttpHeaders.CONTENT_TYPE)
+                                                               String contentType, InputStream content) {
+        ProjectImportReport report = projectImportService.importProjects(content, contentType);
+        if (report.getImported() > 0) {
+            webSocketHandler.broadcast("imported " + report.getImported());
+        }
+        return ResponseEntity.ok(report);
+    }
+
     /**
      * Updates the template of a project, this could be adding, updating or deleting the template
      * @param projectId the id of the project
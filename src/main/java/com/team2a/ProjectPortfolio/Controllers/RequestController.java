@@ -3,10 +3,12 @@ package com.team2a.ProjectPortfolio.Controllers;
 
 import com.team2a.ProjectPortfolio.Commons.Request;
 import com.team2a.ProjectPortfolio.CustomExceptions.NotFoundException;
+import com.team2a.ProjectPortfolio.EntityVersions;
 import com.team2a.ProjectPortfolio.Routes;
 import com.team2a.ProjectPortfolio.Services.RequestService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -103,13 +105,16 @@ public class RequestController {
      * Controller method for accepting a request
      * @param projectId the id of the project
      * @param requestId the id of the request
+     * @param ifMatch the ETag of the version of the project the request is applied to, absent to apply it to any
      * @return response entity showing status of the acceptance
      */
     @PutMapping("/{projectId}/{requestId}")
     @PreAuthorize(PM_IN_PROJECT)
     public ResponseEntity<Void> acceptRequest (@PathVariable(name = "projectId") UUID projectId,
-                                               @PathVariable(name = "requestId") UUID requestId) {
-        requestService.acceptRequest(requestId);
+                                               @PathVariable(name = "requestId") UUID requestId,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                               String ifMatch) {
+        requestService.acceptRequest(requestId, EntityVersions.fromIfMatch(ifMatch));
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
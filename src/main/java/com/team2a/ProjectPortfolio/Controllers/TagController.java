@@ -3,16 +3,22 @@ package com.team2a.ProjectPortfolio.Controllers;
 import com.team2a.ProjectPortfolio.Commons.RequestTagProject;
 import com.team2a.ProjectPortfolio.Commons.Tag;
 import com.team2a.ProjectPortfolio.CustomExceptions.NotFoundException;
+import com.team2a.ProjectPortfolio.EntityVersions;
 import com.team2a.ProjectPortfolio.Routes;
+import com.team2a.ProjectPortfolio.Services.ProjectReadCache;
+import com.team2a.ProjectPortfolio.Services.SparseFieldService;
 import com.team2a.ProjectPortfolio.Services.TagService;
 
 import com.team2a.ProjectPortfolio.WebSocket.TagProjectWebSocketHandler;
 import com.team2a.ProjectPortfolio.WebSocket.TagWebSocketHandler;
+import com.team2a.ProjectPortfolio.dto.TagSummary;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -32,18 +38,27 @@ public class TagController {
 
     private final TagProjectWebSocketHandler tagProjectWebSocketHandler;
 
+    private final ProjectReadCache projectReadCache;
+
+    private final SparseFieldService sparseFieldService;
+
     /**
      * Constructor for the tag controller
      * @param tagService the tag service
      * @param tagWebSocketHandler the web socket handler for tags
      * @param tagProjectWebSocketHandler the wen socket handler for the tags attributed to a project
+     * @param projectReadCache the cache of the tags of the projects
+     * @param sparseFieldService the service of the sparse fieldsets of the list endpoints
      */
     @Autowired
     public TagController(TagService tagService, TagWebSocketHandler tagWebSocketHandler,
-                         TagProjectWebSocketHandler tagProjectWebSocketHandler) {
+                         TagProjectWebSocketHandler tagProjectWebSocketHandler, ProjectReadCache projectReadCache,
+                         SparseFieldService sparseFieldService) {
         this.tagService = tagService;
         this.tagWebSocketHandler = tagWebSocketHandler;
         this.tagProjectWebSocketHandler = tagProjectWebSocketHandler;
+        this.projectReadCache = projectReadCache;
+        this.sparseFieldService = sparseFieldService;
     }
 
 
@@ -54,8 +69,9 @@ public class TagController {
      * @return a list of tags
      */
     @GetMapping("/public/{projectId}")
-    public ResponseEntity<List<Tag>> getTagsByProjectId (@PathVariable("projectId") UUID projectId) {
-        List<Tag> tagsList = tagService.getTagsByProjectId(projectId);
+    public ResponseEntity<List<TagSummary>> getTagsByProjectId (@PathVariable("projectId") UUID projectId) {
+        List<TagSummary> tagsList = projectReadCache.get(ProjectReadCache.Region.TAGS, projectId,
+            () -> tagService.getTagsByProjectId(projectId));
         return ResponseEntity.ok(tagsList);
     }
 
@@ -94,15 +110,18 @@ public class TagController {
      * Edit a tag
      *
      * @param tag the tag
-     * @return the tag
+     * @param ifMatch the ETag of the version of the tag that is overwritten, absent to overwrite any
+     * @return the tag, with the ETag of its new version
      */
     @PutMapping("/edit")
     @PreAuthorize(PM_ONLY)
-    public ResponseEntity<Tag> editTag (@Valid @RequestBody Tag tag) {
+    public ResponseEntity<Tag> editTag (@Valid @RequestBody Tag tag,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        tag.setVersion(EntityVersions.fromIfMatch(ifMatch));
         Tag newTag = tagService.editTag(tag);
         tagWebSocketHandler.broadcast("tagChanged");
         tagProjectWebSocketHandler.broadcast("all");
-        return ResponseEntity.ok(newTag);
+        return ResponseEntity.ok().eTag(EntityVersions.eTag(newTag.getVersion())).body(newTag);
     }
 
     /**
@@ -149,6 +168,16 @@ public class TagController {
 
     }
 
+    /**
+     * Get some fields of all tags from the database, without their projects.
+     * @param fields the comma separated names of the fields, out of tagId, name, color and version
+     * @return a list with the requested fields of all tags
+     */
+    @GetMapping(value = "/public/", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllTags (@RequestParam("fields") String fields) {
+        return ResponseEntity.ok(sparseFieldService.getTags(fields));
+    }
+
     @GetMapping("/request/{requestId}/{projectId}")
     @PreAuthorize(PM_IN_PROJECT)
     public ResponseEntity<List<RequestTagProject>> getTagsForRequest (@PathVariable("requestId") UUID requestId,
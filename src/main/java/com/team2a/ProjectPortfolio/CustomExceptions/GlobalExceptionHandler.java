@@ -5,6 +5,7 @@ import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.BindingResult;
@@ -94,6 +95,27 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.FORBIDDEN);
     }
 
+    /**
+     * Handle optimistic locking failures, raised when a versioned entity is changed by another request
+     * between reading and writing it
+     * @param ex OptimisticLockingFailureException
+     * @param request HttpServletRequest
+     * @return ResponseEntity<ApiErrorResponse>
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseBody
+    public ResponseEntity<ApiErrorResponse> handleOptimisticLockingFailure (OptimisticLockingFailureException ex,
+                                                                            HttpServletRequest request) {
+        ApiErrorResponse response = new ApiErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.PRECONDITION_FAILED.value(),
+            "Precondition Failed",
+            "The entity was changed since it was read",
+            request.getRequestURI()
+        );
+        return new ResponseEntity<>(response, HttpStatus.PRECONDITION_FAILED);
+    }
+
 
     public static class ApiErrorResponse {
 
@@ -0,0 +1,90 @@
+package com.team2a.ProjectPortfolio;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Conditional writes of versioned entities. The version of an entity is sent to clients as a strong ETag,
+ * and a client that sends it back in If-Match only overwrites the entity if nobody changed it in between.
+ */
+public final class EntityVersions {
+
+    private static final int DIGEST_BYTES = 8;
+
+    private EntityVersions () {
+    }
+
+    /**
+     * Returns the strong ETag of a version of an entity
+     * @param version the version of the entity
+     * @return the quoted version, null if the entity was never saved
+     */
+    public static String eTag (Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    /**
+     * Returns the strong ETag of a read that shows an entity together with related entities, which can change
+     * without changing the version of the entity. The version is followed by a digest of the related entities.
+     * @param version the version of the entity
+     * @param related a canonical form of the related entities
+     * @return the quoted version and digest, null if the entity was never saved
+     */
+    public static String eTag (Long version, String related) {
+        if (version == null) {
+            return null;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(related.getBytes(StandardCharsets.UTF_8));
+            return "\"" + version + "-" + HexFormat.of().formatHex(digest, 0, DIGEST_BYTES) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the version a client expects to overwrite. Both the ETag of a write and the ETag of a read
+     * with related entities are accepted, the digest of the related entities is not compared because
+     * a write of the entity does not change them.
+     * @param ifMatch the If-Match header of the request, null or * for an unconditional write
+     * @return the expected version, null for an unconditional write
+     * @throws ResponseStatusException(412) if the header is not the ETag of a version
+     */
+    public static Long fromIfMatch (String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            String value = tag.substring(1, tag.length() - 1);
+            int separator = value.indexOf('-');
+            if (separator > 0 && value.substring(separator + 1).matches("[0-9a-f]+")) {
+                value = value.substring(0, separator);
+            }
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException ignored) {
+                // not a version, so it cannot match
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match is not the ETag of a version");
+    }
+
+    /**
+     * Checks that an entity is still at the version a client expects to overwrite
+     * @param expected the expected version, null for an unconditional write
+     * @param current the current version of the entity
+     * @throws ResponseStatusException(412) if the entity was changed since the client read it
+     */
+    public static void check (Long expected, Long current) {
+        if (expected != null && !expected.equals(current)) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                "The entity was changed since it was read, current version " + current);
+        }
+    }
+}
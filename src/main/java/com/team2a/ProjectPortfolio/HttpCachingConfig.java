@@ -0,0 +1,35 @@
+package com.team2a.ProjectPortfolio;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+@Configuration
+public class HttpCachingConfig {
+
+    /**
+     * Adds weak ETags to the small JSON reads of project pages, search results, facets, tags and templates
+     * and answers a matching If-None-Match with 304 Not Modified. These responses have no version to derive
+     * a validator from, so the tag is a digest of the buffered body. Single projects validate their own
+     * version in the controller, and the unpaged project list is left out because it is not small.
+     *
+     * @return the registration of the ETag filter
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> entityETagFilter () {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter() {
+            @Override
+            protected boolean shouldNotFilter (HttpServletRequest request) {
+                return !HttpMethod.GET.matches(request.getMethod());
+            }
+        };
+        filter.setWriteWeakETag(true);
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns(Routes.PROJECT + "/public/page", Routes.PROJECT + "/public/search",
+            Routes.PROJECT + "/public/facets", Routes.TAGS + "/public/*", Routes.TEMPLATE + "/*");
+        return registration;
+    }
+}
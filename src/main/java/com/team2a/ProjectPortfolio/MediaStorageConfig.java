@@ -0,0 +1,49 @@
+package com.team2a.ProjectPortfolio;
+
+import com.team2a.ProjectPortfolio.Services.LocalMediaStorage;
+import com.team2a.ProjectPortfolio.Services.MediaHelper;
+import com.team2a.ProjectPortfolio.Services.MediaStorage;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MediaStorageConfig {
+
+    private final Path directory;
+
+    /**
+     * Constructor
+     * @param directory the local directory for temporary files and uploads in progress, which also holds
+     *                  the stored files of the local storage
+     */
+    public MediaStorageConfig (@Value("${media.directory:${user.dir}/assets}") String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    /**
+     * Stores the media files in the local directory. This is the storage unless media.storage.type
+     * selects another backend, which then provides its own MediaStorage bean.
+     *
+     * @return the local storage
+     */
+    @Bean
+    @ConditionalOnProperty(name = "media.storage.type", havingValue = "local", matchIfMissing = true)
+    public MediaStorage localMediaStorage () {
+        return new LocalMediaStorage(directory);
+    }
+
+    /**
+     * The helper through which the media services read and write the stored files
+     *
+     * @param storage the configured storage
+     * @return the media helper
+     */
+    @Bean
+    public MediaHelper mediaHelper (MediaStorage storage) {
+        return new MediaHelper(directory, storage);
+    }
+}
@@ -1,11 +1,16 @@
 package com.team2a.ProjectPortfolio.Repositories;
 
 import com.team2a.ProjectPortfolio.Commons.Link;
+import com.team2a.ProjectPortfolio.dto.LinkSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+
 @Repository
 public interface LinkRepository extends JpaRepository<Link, UUID> {
 
@@ -13,4 +18,8 @@ public interface LinkRepository extends JpaRepository<Link, UUID> {
 
     List<Link> findAllByProjectProjectId (UUID projectId);
     List<Link> findAllByLinkId (UUID linkId);
+
+    @Query("SELECT new com.team2a.ProjectPortfolio.dto.LinkSummary(l.project.projectId, l.linkId, l.name, l.url) "
+        + "FROM Link l WHERE l.project.projectId IN :projectIds")
+    List<LinkSummary> findSummariesByProjectIds (@Param("projectIds") Collection<UUID> projectIds);
 }
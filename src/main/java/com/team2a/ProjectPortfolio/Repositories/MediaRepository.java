@@ -1,13 +1,51 @@
 package com.team2a.ProjectPortfolio.Repositories;
 
 import com.team2a.ProjectPortfolio.Commons.Media;
+import com.team2a.ProjectPortfolio.dto.MediaLocation;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 @Repository
 public interface MediaRepository extends JpaRepository<Media, UUID> {
     List<Media> findAllByProjectProjectId (UUID projectId);
     Media findMediaByMediaId (UUID mediaId);
+    boolean existsByProjectProjectIdAndPath (UUID projectId, String path);
+    List<Media> findAllByProjectProjectIdOrderByMediaIdAsc (UUID projectId, Pageable pageable);
+    List<Media> findAllByProjectProjectIdAndMediaIdGreaterThanOrderByMediaIdAsc (UUID projectId, UUID cursor,
+                                                                                 Pageable pageable);
+
+    @Query("SELECT DISTINCT m.hash FROM Media m WHERE m.hash IN :hashes")
+    Set<String> findExistingHashes (@Param("hashes") Collection<String> hashes);
+
+    @Query("SELECT new com.team2a.ProjectPortfolio.dto.MediaLocation(m.project.projectId, m.path) FROM Media m "
+        + "WHERE m.path IN :paths AND m.project.projectId IN :projectIds")
+    List<MediaLocation> findExistingLocations (@Param("paths") Collection<String> paths,
+                                               @Param("projectIds") Collection<UUID> projectIds);
+
+    @Query("SELECT m FROM Media m WHERE EXISTS (SELECT o FROM Media o WHERE o.project = m.project "
+        + "AND o.path = m.path AND o.mediaId < m.mediaId) ORDER BY m.mediaId")
+    List<Media> findPathDuplicates ();
+
+    @Query("SELECT COALESCE(SUM(m.size), 0) FROM Media m WHERE m.project.projectId = :projectId")
+    long sumSizeByProjectId (@Param("projectId") UUID projectId);
+
+    List<Media> findAllBySizeIsNullOrderByMediaIdAsc (Pageable pageable);
+    List<Media> findAllBySizeIsNullAndMediaIdGreaterThanOrderByMediaIdAsc (UUID cursor, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Media m SET m.size = :size, m.mimeType = :mimeType, m.width = :width, m.height = :height "
+        + "WHERE m.mediaId = :mediaId AND m.size IS NULL")
+    int backfillMetadata (@Param("mediaId") UUID mediaId, @Param("size") Long size,
+                          @Param("mimeType") String mimeType, @Param("width") Integer width,
+                          @Param("height") Integer height);
 }
@@ -1,13 +1,45 @@
 package com.team2a.ProjectPortfolio.Repositories;
 
 import com.team2a.ProjectPortfolio.Commons.Project;
+import com.team2a.ProjectPortfolio.dto.ProjectSummary;
+import com.team2a.ProjectPortfolio.dto.ProjectTemplate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, UUID> {
+public interface ProjectRepository extends JpaRepository<Project, UUID>, JpaSpecificationExecutor<Project> {
     Optional<Project> findFirstByTitleAndDescription (String title, String description);
+
+    boolean existsByContentHash (String contentHash);
+
+    boolean existsByContentHashAndProjectIdNot (String contentHash, UUID projectId);
+
+    List<Project> findAllByContentHashIsNull ();
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Project p SET p.createdAt = :createdAt WHERE p.createdAt IS NULL")
+    int backfillCreatedAt (@Param("createdAt") Instant createdAt);
+
+    @Query("SELECT new com.team2a.ProjectPortfolio.dto.ProjectSummary(p.projectId, p.title, p.description, "
+        + "p.archived, p.createdAt, p.version) FROM Project p")
+    List<ProjectSummary> findAllSummaries ();
+
+    @Query("SELECT new com.team2a.ProjectPortfolio.dto.ProjectSummary(p.projectId, p.title, p.description, "
+        + "p.archived, p.createdAt, p.version) FROM Project p WHERE p.projectId = :projectId")
+    Optional<ProjectSummary> findSummaryByProjectId (@Param("projectId") UUID projectId);
+
+    @Query("SELECT new com.team2a.ProjectPortfolio.dto.ProjectTemplate(p.projectId, t.templateName) "
+        + "FROM Project p JOIN p.template t")
+    List<ProjectTemplate> findAllTemplates ();
 }
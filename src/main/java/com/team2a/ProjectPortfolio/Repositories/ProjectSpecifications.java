@@ -0,0 +1,116 @@
+package com.team2a.ProjectPortfolio.Repositories;
+
+import com.team2a.ProjectPortfolio.Commons.Project;
+import com.team2a.ProjectPortfolio.Commons.ProjectsToCollaborators;
+import com.team2a.ProjectPortfolio.Commons.TagsToProject;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public final class ProjectSpecifications {
+
+    private ProjectSpecifications () {
+    }
+
+    /**
+     * Matches the projects with the given archived state
+     * @param archived the archived state
+     * @return the specification
+     */
+    public static Specification<Project> hasArchived (boolean archived) {
+        return (root, query, cb) -> cb.equal(root.get("archived"), archived);
+    }
+
+    /**
+     * Matches the projects that have a tag. The ids of the tagged projects are read from the
+     * (TAG_ID, PROJECT_ID) index, so the projects are not joined with all their tags.
+     * @param tagId the id of the tag
+     * @return the specification
+     */
+    public static Specification<Project> hasTag (UUID tagId) {
+        return (root, query, cb) -> {
+            Subquery<UUID> tagged = query.subquery(UUID.class);
+            Root<TagsToProject> ttp = tagged.from(TagsToProject.class);
+            tagged.select(ttp.get("project").get("projectId")).where(cb.equal(ttp.get("tag").get("tagId"), tagId));
+            return root.get("projectId").in(tagged);
+        };
+    }
+
+    /**
+     * Matches the projects that have at least one of the tags
+     * @param tagIds the ids of the tags
+     * @return the specification
+     */
+    public static Specification<Project> hasAnyTag (Collection<UUID> tagIds) {
+        return (root, query, cb) -> {
+            Subquery<UUID> tagged = query.subquery(UUID.class);
+            Root<TagsToProject> ttp = tagged.from(TagsToProject.class);
+            tagged.select(ttp.get("project").get("projectId")).where(ttp.get("tag").get("tagId").in(tagIds));
+            return root.get("projectId").in(tagged);
+        };
+    }
+
+    /**
+     * Matches the projects that have a collaborator, read from the (COLLABORATOR_ID, PROJECT_ID) index
+     * @param collaboratorId the id of the collaborator
+     * @return the specification
+     */
+    public static Specification<Project> hasCollaborator (UUID collaboratorId) {
+        return (root, query, cb) -> {
+            Subquery<UUID> collaborated = query.subquery(UUID.class);
+            Root<ProjectsToCollaborators> ptc = collaborated.from(ProjectsToCollaborators.class);
+            collaborated.select(ptc.get("project").get("projectId"))
+                .where(cb.equal(ptc.get("collaborator").get("collaboratorId"), collaboratorId));
+            return root.get("projectId").in(collaborated);
+        };
+    }
+
+    /**
+     * Matches the projects that have at least one of the collaborators
+     * @param collaboratorIds the ids of the collaborators
+     * @return the specification
+     */
+    public static Specification<Project> hasAnyCollaborator (Collection<UUID> collaboratorIds) {
+        return (root, query, cb) -> {
+            Subquery<UUID> collaborated = query.subquery(UUID.class);
+            Root<ProjectsToCollaborators> ptc = collaborated.from(ProjectsToCollaborators.class);
+            collaborated.select(ptc.get("project").get("projectId"))
+                .where(ptc.get("collaborator").get("collaboratorId").in(collaboratorIds));
+            return root.get("projectId").in(collaborated);
+        };
+    }
+
+    /**
+     * Matches the projects created from one of the templates
+     * @param templateNames the names of the templates
+     * @return the specification
+     */
+    public static Specification<Project> hasTemplate (Collection<String> templateNames) {
+        return (root, query, cb) -> root.get("template").get("templateName").in(templateNames);
+    }
+
+    /**
+     * Matches the projects that come after a cursor when sorted by an attribute and then by id.
+     * The id breaks ties between projects with the same value, so no project is skipped or repeated.
+     * @param attribute the sorted attribute
+     * @param value the value of the attribute of the last project of the previous page
+     * @param projectId the id of the last project of the previous page
+     * @param descending true if the projects are sorted in descending order
+     * @param <Y> the type of the attribute
+     * @return the specification
+     */
+    public static <Y extends Comparable<? super Y>> Specification<Project> after (String attribute, Y value,
+                                                                               UUID projectId, boolean descending) {
+        return (root, query, cb) -> {
+            Path<Y> key = root.get(attribute);
+            Path<UUID> id = root.get("projectId");
+            return descending
+                ? cb.or(cb.lessThan(key, value), cb.and(cb.equal(key, value), cb.lessThan(id, projectId)))
+                : cb.or(cb.greaterThan(key, value), cb.and(cb.equal(key, value), cb.greaterThan(id, projectId)));
+        };
+    }
+}
@@ -1,13 +1,39 @@
 package com.team2a.ProjectPortfolio.Repositories;
 
 import com.team2a.ProjectPortfolio.Commons.ProjectsToAccounts;
+import com.team2a.ProjectPortfolio.Commons.RoleInProject;
+import com.team2a.ProjectPortfolio.dto.AccountDisplay;
+import com.team2a.ProjectPortfolio.dto.ProjectSummary;
+import com.team2a.ProjectPortfolio.dto.ProjectTransfer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.UUID;
+
 @Repository
 public interface ProjectsToAccountsRepository extends JpaRepository<ProjectsToAccounts, UUID> {
 
     List<ProjectsToAccounts> findAllByAccountUsername (String username);
+
+    @Query("SELECT new com.team2a.ProjectPortfolio.dto.ProjectTransfer(p.projectId, p.title, pta.role) "
+        + "FROM ProjectsToAccounts pta JOIN pta.project p WHERE pta.account.username = :username")
+    List<ProjectTransfer> findProjectTransfersByUsername (@Param("username") String username);
+
+    @Query("SELECT new com.team2a.ProjectPortfolio.dto.ProjectSummary(p.projectId, p.title, p.description, "
+        + "p.archived, p.createdAt, p.version) FROM ProjectsToAccounts pta JOIN pta.project p "
+        + "WHERE pta.account.username = :username AND pta.role = :role")
+    List<ProjectSummary> findProjectSummariesByUsernameAndRole (@Param("username") String username,
+                                                                 @Param("role") RoleInProject role);
+
+    @Query("SELECT new com.team2a.ProjectPortfolio.dto.AccountDisplay(a.username, a.name, pta.role) "
+        + "FROM ProjectsToAccounts pta JOIN pta.account a WHERE pta.project.projectId = :projectId")
+    List<AccountDisplay> findAccountDisplaysByProjectId (@Param("projectId") UUID projectId);
+
+    @Query("SELECT pta.role FROM ProjectsToAccounts pta "
+        + "WHERE pta.account.username = :username AND pta.project.projectId = :projectId")
+    List<RoleInProject> findRolesByUsernameAndProjectId (@Param("username") String username,
+                                                         @Param("projectId") UUID projectId);
 }
@@ -1,11 +1,18 @@
 package com.team2a.ProjectPortfolio.Repositories;
 
 import com.team2a.ProjectPortfolio.Commons.ProjectsToCollaborators;
+import com.team2a.ProjectPortfolio.dto.FacetCount;
+import com.team2a.ProjectPortfolio.dto.ProjectCollaborator;
+import com.team2a.ProjectPortfolio.dto.ProjectFacet;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+
 @Repository
 public interface ProjectsToCollaboratorsRepository extends JpaRepository<ProjectsToCollaborators, UUID> {
     List<ProjectsToCollaborators> findAllByProjectProjectId (UUID projectId);
@@ -14,4 +21,18 @@ public interface ProjectsToCollaboratorsRepository extends JpaRepository<Project
     List<ProjectsToCollaborators> findAllByCollaboratorCollaboratorId (UUID collaboratorId);
 
     boolean existsByProjectProjectIdAndCollaboratorCollaboratorId (UUID projectId, UUID collaboratorId);
+
+    @Query("SELECT new com.team2a.ProjectPortfolio.dto.ProjectCollaborator(ptc.project.projectId, c.collaboratorId, "
+        + "c.name, ptc.role) FROM ProjectsToCollaborators ptc JOIN ptc.collaborator c "
+        + "WHERE ptc.project.projectId IN :projectIds")
+    List<ProjectCollaborator> findSummariesByProjectIds (@Param("projectIds") Collection<UUID> projectIds);
+
+    @Query("SELECT new com.team2a.ProjectPortfolio.dto.ProjectFacet(ptc.project.projectId, "
+        + "ptc.collaborator.collaboratorId) FROM ProjectsToCollaborators ptc")
+    List<ProjectFacet> findAllFacets ();
+
+    @Query("SELECT new com.team2a.ProjectPortfolio.dto.FacetCount(ptc.collaborator.collaboratorId, "
+        + "COUNT(DISTINCT ptc.project.projectId)) FROM ProjectsToCollaborators ptc "
+        + "WHERE ptc.project.projectId IN :projectIds GROUP BY ptc.collaborator.collaboratorId")
+    List<FacetCount> countFacetsByProjectIds (@Param("projectIds") Collection<UUID> projectIds);
 }
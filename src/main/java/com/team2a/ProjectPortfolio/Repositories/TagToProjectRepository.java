@@ -1,8 +1,14 @@
 package com.team2a.ProjectPortfolio.Repositories;
 
 import com.team2a.ProjectPortfolio.Commons.TagsToProject;
+import com.team2a.ProjectPortfolio.dto.FacetCount;
+import com.team2a.ProjectPortfolio.dto.ProjectFacet;
+import com.team2a.ProjectPortfolio.dto.TagSummary;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.UUID;
@@ -17,4 +23,16 @@ public interface TagToProjectRepository extends JpaRepository<TagsToProject, UUI
     List<TagsToProject> findAllByProjectProjectIdAndTagTagId (UUID projectId, UUID tagId);
 
     void deleteByProjectProjectIdAndTagTagId (UUID projectId, UUID tagId);
+
+    @Query("SELECT new com.team2a.ProjectPortfolio.dto.TagSummary(ttp.project.projectId, t.tagId, t.name, t.color) "
+        + "FROM TagsToProject ttp JOIN ttp.tag t WHERE ttp.project.projectId IN :projectIds")
+    List<TagSummary> findSummariesByProjectIds (@Param("projectIds") Collection<UUID> projectIds);
+
+    @Query("SELECT new com.team2a.ProjectPortfolio.dto.ProjectFacet(ttp.project.projectId, ttp.tag.tagId) "
+        + "FROM TagsToProject ttp")
+    List<ProjectFacet> findAllFacets ();
+
+    @Query("SELECT new com.team2a.ProjectPortfolio.dto.FacetCount(ttp.tag.tagId, COUNT(DISTINCT ttp.project.projectId)) "
+        + "FROM TagsToProject ttp WHERE ttp.project.projectId IN :projectIds GROUP BY ttp.tag.tagId")
+    List<FacetCount> countFacetsByProjectIds (@Param("projectIds") Collection<UUID> projectIds);
 }
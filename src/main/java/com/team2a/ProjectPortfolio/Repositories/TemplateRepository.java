@@ -1,10 +1,17 @@
 package com.team2a.ProjectPortfolio.Repositories;
 
 import com.team2a.ProjectPortfolio.Commons.Template;
+import java.util.Optional;
+import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface TemplateRepository extends JpaRepository<Template, String> {
 
+    @Query("SELECT DISTINCT t FROM Template t JOIN t.projects p LEFT JOIN FETCH t.templateAdditions "
+        + "WHERE p.projectId = :projectId")
+    Optional<Template> findWithAdditionsByProjectId (@Param("projectId") UUID projectId);
 }
@@ -12,6 +12,7 @@ import com.team2a.ProjectPortfolio.Repositories.ProjectsToAccountsRepository;
 import com.team2a.ProjectPortfolio.dto.AccountDisplay;
 import com.team2a.ProjectPortfolio.dto.AccountTransfer;
 import com.team2a.ProjectPortfolio.dto.ProjectTransfer;
+import com.team2a.ProjectPortfolio.dto.ProjectView;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,20 +27,24 @@ public class AccountService {
     private final AccountRepository accountRepository;
     private final ProjectRepository projectRepository;
     private final ProjectsToAccountsRepository projectsToAccountsRepository;
+    private final ProjectViewService projectViewService;
 
     /**
      * Constructor for the AccountService class
      * @param accountRepository - the repository for the Account class
      * @param projectRepository - the repository for the Project class
      * @param projectsToAccountsRepository - the repository for the ProjectsToAccounts class
+     * @param projectViewService - the service loading the read model of the projects
      */
     @Autowired
     public AccountService (AccountRepository accountRepository,
                            ProjectRepository projectRepository,
-                           ProjectsToAccountsRepository projectsToAccountsRepository) {
+                           ProjectsToAccountsRepository projectsToAccountsRepository,
+                           ProjectViewService projectViewService) {
         this.accountRepository = accountRepository;
         this.projectRepository = projectRepository;
         this.projectsToAccountsRepository = projectsToAccountsRepository;
+        this.projectViewService = projectViewService;
     }
 
     /**
@@ -186,8 +191,7 @@ public class AccountService {
      * @return - the list of ids of all projects
      */
     public List<ProjectTransfer> getProjects (String username) {
-        return projectsToAccountsRepository.findAll().stream().filter(x -> x.getAccount().getUsername().equals(username))
-            .map(x -> new ProjectTransfer(x.getProject().getProjectId(), x.getProject().getTitle(), x.getRole())).toList();
+        return projectsToAccountsRepository.findProjectTransfersByUsername(username);
     }
 
     /**
@@ -225,19 +229,16 @@ public class AccountService {
      * @return - the list of all accounts in the project
      */
     public List<AccountDisplay> getAccountsInProject (UUID projectId) {
-        return projectsToAccountsRepository.findAll().stream().filter(x -> x.getProject().getProjectId().equals(projectId))
-            .map(x -> new AccountDisplay(x.getAccount().getUsername(),
-                x.getAccount().getName(), x.getRole().toString())).toList();
+        return projectsToAccountsRepository.findAccountDisplaysByProjectId(projectId);
     }
 
-    public List<Project> getProjectsAccountManages (String username) {
-        List<Project> projects = projectsToAccountsRepository
-                .findAllByAccountUsername(username)
-                .stream()
-                .filter(x -> x.getRole().equals(RoleInProject.PM))
-                .map(ProjectsToAccounts::getProject)
-                .toList();
-
-        return projects;
+    /**
+     * Retrieves the projects an account is the PM of, with their links, tags and collaborators
+     * @param username - the username of the account
+     * @return - the list of projects the account manages
+     */
+    public List<ProjectView> getProjectsAccountManages (String username) {
+        return projectViewService.getProjectViews(
+            projectsToAccountsRepository.findProjectSummariesByUsernameAndRole(username, RoleInProject.PM));
     }
 }
@@ -0,0 +1,32 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers the updates of the in-memory read models to the commit of the transaction that changed the database,
+ * so a rolled back write never shows up in them.
+ */
+public final class AfterCommit {
+
+    private AfterCommit () {
+    }
+
+    /**
+     * Runs an action once the current transaction has committed, or at once outside a transaction.
+     * The action is dropped if the transaction rolls back.
+     * @param action the update of a read model
+     */
+    public static void run (Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit () {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,78 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.function.Supplier;
+import org.springframework.core.io.AbstractResource;
+
+/**
+ * A resource whose content is read through the hot media cache only when the body is written,
+ * so a conditional request answered with 304 Not Modified neither reads the file nor fills the cache.
+ */
+public class CachedMediaResource extends AbstractResource {
+
+    private final String storedFileName;
+    private final long contentLength;
+    private final Supplier<byte[]> loader;
+    private byte[] content;
+
+    /**
+     * Constructor
+     * @param storedFileName the stored file name, used to describe the resource
+     * @param contentLength the size of the content in bytes
+     * @param loader reads the content through the cache
+     */
+    public CachedMediaResource (String storedFileName, long contentLength, Supplier<byte[]> loader) {
+        this.storedFileName = storedFileName;
+        this.contentLength = contentLength;
+        this.loader = loader;
+    }
+
+    /**
+     * Returns the content, reading it on the first call
+     * @return the content of the file
+     */
+    @Override
+    public synchronized byte[] getContentAsByteArray () {
+        if (content == null) {
+            content = loader.get();
+        }
+        return content;
+    }
+
+    /**
+     * Opens a stream over the content, reading it on the first call
+     * @return a stream over the content
+     */
+    @Override
+    public InputStream getInputStream () {
+        return new ByteArrayInputStream(getContentAsByteArray());
+    }
+
+    /**
+     * Returns the size of the content without reading it
+     * @return the size in bytes
+     */
+    @Override
+    public long contentLength () {
+        return contentLength;
+    }
+
+    /**
+     * The content is known to be stored, so the resource exists without opening it
+     * @return true
+     */
+    @Override
+    public boolean exists () {
+        return true;
+    }
+
+    /**
+     * Returns a description of the resource
+     * @return the description
+     */
+    @Override
+    public String getDescription () {
+        return "Cached media [" + storedFileName + "]";
+    }
+}
@@ -20,6 +20,7 @@ public class CollaboratorService {
     private final ProjectRepository projectRepository;
     private final RequestRepository requestRepository;
     private final RequestCollaboratorsProjectsRepository requestCollaboratorsProjectsRepository;
+    private final ProjectFacetIndex projectFacetIndex;
 
     /**
      * Constructor for CollaboratorService
@@ -28,17 +29,20 @@ public class CollaboratorService {
      * @param projectRepository
      * @param requestRepository
      * @param requestCollaboratorsProjectsRepository
+     * @param projectFacetIndex
      */
     @Autowired
     public CollaboratorService (ProjectsToCollaboratorsRepository projectsToCollaboratorsRepository,
                                CollaboratorRepository collaboratorRepository, ProjectRepository projectRepository,
                                 RequestRepository requestRepository,
-                                RequestCollaboratorsProjectsRepository requestCollaboratorsProjectsRepository) {
+                                RequestCollaboratorsProjectsRepository requestCollaboratorsProjectsRepository,
+                                ProjectFacetIndex projectFacetIndex) {
         this.projectsToCollaboratorsRepository = projectsToCollaboratorsRepository;
         this.collaboratorRepository = collaboratorRepository;
         this.projectRepository = projectRepository;
         this.requestRepository = requestRepository;
         this.requestCollaboratorsProjectsRepository = requestCollaboratorsProjectsRepository;
+        this.projectFacetIndex = projectFacetIndex;
     }
 
 
@@ -100,6 +104,7 @@ public class CollaboratorService {
         Collaborator collaborator = collaboratorRepository.findById(collaboratorId).
                 orElseThrow(EntityNotFoundException::new);
         collaboratorRepository.delete(collaborator);
+        projectFacetIndex.deleteCollaborator(collaboratorId);
         return "Deleted collaborator";
     }
 
@@ -117,6 +122,7 @@ public class CollaboratorService {
         List<ProjectsToCollaborators> projectsToCollaboratorsList = projectsToCollaboratorsRepository.
                 findAllByProjectProjectIdAndCollaboratorCollaboratorId(projectId,collaboratorId);
         projectsToCollaboratorsRepository.deleteAll(projectsToCollaboratorsList);
+        projectFacetIndex.setCollaborator(projectId, collaboratorId, false);
 
         return "Deleted collaborator";
     }
@@ -155,6 +161,7 @@ public class CollaboratorService {
             ProjectsToCollaborators ptc = new ProjectsToCollaborators(p, collaborator, role);
             projectsToCollaboratorsRepository.save(ptc);
         }
+        projectFacetIndex.setCollaborator(projectId, collaboratorTransfer.getCollaboratorId(), true);
         return collaboratorTransfer;
     }
 
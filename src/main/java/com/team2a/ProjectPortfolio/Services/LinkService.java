@@ -5,10 +5,12 @@ import com.team2a.ProjectPortfolio.Commons.Project;
 import com.team2a.ProjectPortfolio.Commons.Request;
 import com.team2a.ProjectPortfolio.Commons.RequestLinkProject;
 import com.team2a.ProjectPortfolio.CustomExceptions.NotFoundException;
+import com.team2a.ProjectPortfolio.EntityVersions;
 import com.team2a.ProjectPortfolio.Repositories.LinkRepository;
 import com.team2a.ProjectPortfolio.Repositories.ProjectRepository;
 import com.team2a.ProjectPortfolio.Repositories.RequestLinkProjectRepository;
 import com.team2a.ProjectPortfolio.Repositories.RequestRepository;
+import com.team2a.ProjectPortfolio.dto.LinkSummary;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -63,14 +65,17 @@ public class LinkService {
 
     /**
      * Edit the link of the project
-     * @param link the link entity
+     * @param link the link entity, with the version it overwrites or null to overwrite any
      * @return the new link entity
+     * @throws ResponseStatusException(412) if the link is no longer at the given version
      */
     public Link editLinkOfProject (Link link) {
         Optional<Link> linkFound = linkRepository.findById(link.getLinkId());
         if(linkFound.isPresent()) {
+            EntityVersions.check(link.getVersion(), linkFound.get().getVersion());
+            link.setVersion(linkFound.get().getVersion());
             link.setProject(linkFound.get().getProject());
-            linkRepository.save(link);
+            link = linkRepository.save(link);
         }
         else
             throw new EntityNotFoundException();
@@ -78,13 +83,13 @@ public class LinkService {
     }
 
     /**
-     * Gets all the links associated to a project given its id
+     * Gets all the links associated to a project given its id, as summaries that can be cached and shared
+     * between requests
      * @param projectId the id of the project
      * @return a list of links associated with the project
      */
-    public List<Link> getLinksByProjectId (UUID projectId) {
-        List<Link> links = linkRepository.findAllByProjectProjectId(projectId);
-        return links;
+    public List<LinkSummary> getLinksByProjectId (UUID projectId) {
+        return linkRepository.findSummariesByProjectIds(List.of(projectId));
     }
 
     /**
@@ -0,0 +1,185 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+/**
+ * Stores the media files in a directory. Names that already contain a directory, like the blobs, are stored
+ * as they are; the flat names of the files stored before the content-addressed store are spread over 256
+ * subdirectories of "files", picked from the hash of the name, so no directory grows without bound.
+ * Flat files still at the top level are found until migrateFlatFiles has moved them.
+ */
+public class LocalMediaStorage implements MediaStorage {
+
+    private static final String FILE_DIRECTORY = "files";
+
+    private final Path root;
+
+    /**
+     * Constructor
+     * @param root the directory holding the files
+     */
+    public LocalMediaStorage (Path root) {
+        this.root = root;
+    }
+
+    @Override
+    public InputStream newInputStream (String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public Resource getResource (String key) throws IOException {
+        Path path = resolve(key);
+        if (!Files.isReadable(path)) {
+            throw new NoSuchFileException(key);
+        }
+        return new FileSystemResource(path);
+    }
+
+    @Override
+    public boolean exists (String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public long getSize (String key) throws IOException {
+        return Files.size(resolve(key));
+    }
+
+    @Override
+    public long getLastModified (String key) throws IOException {
+        return Files.getLastModifiedTime(resolve(key)).toMillis();
+    }
+
+    @Override
+    public void put (String key, Path source) throws IOException {
+        Path target = getShardedPath(key);
+        Files.createDirectories(target.getParent());
+        moveAtomically(source, target);
+        if (isFlat(key)) {
+            Files.deleteIfExists(root.resolve(key));
+        }
+    }
+
+    @Override
+    public boolean touch (String key) throws IOException {
+        try {
+            Files.setLastModifiedTime(resolve(key), FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void delete (String key) throws IOException {
+        Files.deleteIfExists(getShardedPath(key));
+        if (isFlat(key)) {
+            Files.deleteIfExists(root.resolve(key));
+        }
+    }
+
+    @Override
+    public Stream<String> list () throws IOException {
+        if (!Files.isDirectory(root)) {
+            return Stream.empty();
+        }
+        return Files.walk(root).filter(Files::isRegularFile)
+            .map(file -> root.relativize(file).toString().replace(File.separatorChar, '/'));
+    }
+
+    /**
+     * Returns the current location of a file: its sharded location, or the top level of the directory
+     * if a flat file hasn't been migrated yet
+     * @param key the stored file name
+     * @return the path of the file, the sharded location if the file doesn't exist
+     */
+    public Path resolve (String key) {
+        Path sharded = getShardedPath(key);
+        if (!isFlat(key) || Files.exists(sharded)) {
+            return sharded;
+        }
+        // the sharded location is returned again if the migration moved the file in between
+        return Files.exists(root.resolve(key)) ? root.resolve(key) : sharded;
+    }
+
+    /**
+     * Moves the files left at the top level of the directory to their sharded location.
+     * Hidden files are temporary files of uploads in progress and are left alone.
+     * @param limit the maximum number of files moved
+     * @return the number of files moved, 0 once the top level holds no more files
+     * @throws IOException if the directory can't be listed or a file can't be moved
+     */
+    public int migrateFlatFiles (int limit) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+        int migrated = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root,
+            file -> Files.isRegularFile(file) && !file.getFileName().toString().startsWith("."))) {
+            for (Path file : files) {
+                if (migrated == limit) {
+                    break;
+                }
+                Path target = getShardedPath(file.getFileName().toString());
+                if (Files.exists(target)) {
+                    // a newer copy was written to the sharded location, which is the one that is read
+                    Files.deleteIfExists(file);
+                } else {
+                    Files.createDirectories(target.getParent());
+                    moveAtomically(file, target);
+                }
+                migrated++;
+            }
+        }
+        return migrated;
+    }
+
+    /**
+     * Returns the location of a file in the sharded layout
+     * @param key the stored file name
+     * @return the path of the file
+     */
+    private Path getShardedPath (String key) {
+        if (!isFlat(key)) {
+            return root.resolve(key);
+        }
+        return root.resolve(FILE_DIRECTORY).resolve(String.format("%02x", key.hashCode() & 0xff)).resolve(key);
+    }
+
+    /**
+     * Checks whether a stored file name has no directory of its own
+     * @param key the stored file name
+     * @return true if the name is flat
+     */
+    private boolean isFlat (String key) {
+        return !key.contains("/") && !key.contains(File.separator);
+    }
+
+    /**
+     * Renames a file into place, replacing the target in a single step where the filesystem allows it
+     * @param source the file to be moved
+     * @param target the final location
+     * @throws IOException if the file can't be moved
+     */
+    private void moveAtomically (Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import com.team2a.ProjectPortfolio.dto.MediaCacheStats;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class MediaCache {
+
+    private static final int MAX_ENTRY_FRACTION = 8;
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Constructor
+     * @param maxBytes the total size of the cached content in bytes, 0 disables the cache
+     */
+    public MediaCache (@Value("${media.cache.max-bytes:0}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the cached content of a stored file, marking it as recently used
+     * @param filename the name of the file on disk
+     * @return the content, or null if it is not cached
+     */
+    public synchronized byte[] get (String filename) {
+        byte[] content = entries.get(filename);
+        if (content == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return content;
+    }
+
+    /**
+     * Checks whether content of a given size would be cached. Files larger than a fraction of the budget
+     * are left on disk, so a single large document can't flush the whole cache.
+     * @param size the size of the content in bytes
+     * @return true if the content fits in the cache
+     */
+    public boolean accepts (long size) {
+        return maxBytes > 0 && size <= maxBytes / MAX_ENTRY_FRACTION;
+    }
+
+    /**
+     * Caches the content of a stored file, evicting the least recently used entries until it fits in the budget
+     * @param filename the name of the file on disk
+     * @param content the content of the file
+     */
+    public synchronized void put (String filename, byte[] content) {
+        if (!accepts(content.length)) {
+            return;
+        }
+        byte[] previous = entries.put(filename, content);
+        if (previous != null) {
+            usedBytes -= previous.length;
+        }
+        usedBytes += content.length;
+        Iterator<Map.Entry<String, byte[]>> eldest = entries.entrySet().iterator();
+        while (usedBytes > maxBytes && eldest.hasNext()) {
+            usedBytes -= eldest.next().getValue().length;
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Removes the content of a stored file from the cache
+     * @param filename the name of the file on disk
+     */
+    public synchronized void invalidate (String filename) {
+        byte[] previous = entries.remove(filename);
+        if (previous != null) {
+            usedBytes -= previous.length;
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache counters
+     * @return the hits, misses, evictions and usage of the cache
+     */
+    public synchronized MediaCacheStats getStats () {
+        return new MediaCacheStats(hits, misses, evictions, entries.size(), usedBytes, maxBytes);
+    }
+}
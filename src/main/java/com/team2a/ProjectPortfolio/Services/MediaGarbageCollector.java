@@ -0,0 +1,217 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import com.team2a.ProjectPortfolio.Repositories.MediaRepository;
+import com.team2a.ProjectPortfolio.dto.MediaLocation;
+import com.team2a.ProjectPortfolio.dto.MediaSweepReport;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class MediaGarbageCollector {
+
+    private static final Pattern BLOB = Pattern.compile("([0-9a-f]{64})(-\\d+\\.(png|jpg))?");
+    private static final Pattern VARIANT_SUFFIX = Pattern.compile("-\\d+\\.(png|jpg)$");
+    private static final int UUID_LENGTH = 36;
+
+    private final MediaRepository mediaRepository;
+    private final int batchSize;
+    private final long gracePeriodMillis;
+    private final AtomicLong reclaimedBytes = new AtomicLong();
+    @Setter
+    private MediaStorage storage;
+
+    /**
+     * Constructor
+     * @param mediaRepository the media repository
+     * @param storage the storage holding the media files
+     * @param batchSize the number of files checked against the database in one query
+     * @param gracePeriodMillis the age a file must reach before it can be collected, which protects uploads
+     *                          whose row is not saved yet
+     */
+    @Autowired
+    public MediaGarbageCollector (MediaRepository mediaRepository, MediaStorage storage,
+                                  @Value("${media.gc.batch-size:500}") int batchSize,
+                                  @Value("${media.gc.grace-period-ms:3600000}") long gracePeriodMillis) {
+        this.mediaRepository = mediaRepository;
+        this.storage = storage;
+        this.batchSize = batchSize;
+        this.gracePeriodMillis = gracePeriodMillis;
+    }
+
+    /**
+     * Periodically deletes the orphaned files of the storage
+     */
+    @Scheduled(fixedDelayString = "${media.gc.interval-ms:3600000}",
+        initialDelayString = "${media.gc.interval-ms:3600000}")
+    public void scheduledSweep () {
+        sweep(false);
+    }
+
+    /**
+     * Reconciles the storage against the MEDIA table. The storage is listed lazily and the files are
+     * checked in batches, one query per batch, so neither the listing nor the rows are loaded at once.
+     * A file is orphaned when no Media references its blob hash (blobs and their thumbnails), when no Media of its
+     * project has its original path (files stored before the content-addressed store, flat or sharded under
+     * "files"), or when it is a leftover temporary upload. Files the collector doesn't recognise are left alone.
+     * @param dryRun true to only report the orphaned files
+     * @return the report of the sweep
+     */
+    public synchronized MediaSweepReport sweep (boolean dryRun) {
+        MediaSweepReport report = new MediaSweepReport(dryRun);
+        long cutoff = System.currentTimeMillis() - gracePeriodMillis;
+        List<String> batch = new ArrayList<>(batchSize);
+        try (Stream<String> files = storage.list()) {
+            Iterator<String> iterator = files.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == batchSize) {
+                    sweepBatch(batch, cutoff, report);
+                    batch.clear();
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+        sweepBatch(batch, cutoff, report);
+        report.setTotalReclaimedBytes(reclaimedBytes.get());
+        return report;
+    }
+
+    /**
+     * Returns the number of bytes reclaimed since the application started
+     * @return the reclaimed bytes
+     */
+    public long getReclaimedBytes () {
+        return reclaimedBytes.get();
+    }
+
+    /**
+     * Checks one batch of files against the database and collects the orphaned ones
+     * @param batch the stored file names of the batch
+     * @param cutoff the modification time after which files are too recent to be collected
+     * @param report the report of the sweep
+     */
+    private void sweepBatch (List<String> batch, long cutoff, MediaSweepReport report) {
+        Map<String, String> hashes = new HashMap<>();
+        Map<String, MediaLocation> locations = new HashMap<>();
+        List<String> orphans = new ArrayList<>();
+        for (String file : batch) {
+            if (!isOlderThan(file, cutoff)) {
+                continue;
+            }
+            report.addScanned();
+            String[] segments = file.split("/");
+            String name = segments[segments.length - 1];
+            if (name.startsWith(".upload-") || name.startsWith(".image-")) {
+                orphans.add(file);
+            } else if (segments.length == 3 && segments[0].equals("blobs")) {
+                Matcher matcher = BLOB.matcher(name);
+                if (matcher.matches()) {
+                    hashes.put(file, matcher.group(1));
+                }
+            } else if (segments.length == 1 || segments.length == 3 && segments[0].equals("files")) {
+                MediaLocation location = getLegacyLocation(VARIANT_SUFFIX.matcher(name).replaceFirst(""));
+                if (location != null) {
+                    locations.put(file, location);
+                }
+            }
+        }
+        if (!hashes.isEmpty()) {
+            Set<String> referenced = mediaRepository.findExistingHashes(hashes.values());
+            hashes.forEach((file, hash) -> {
+                if (!referenced.contains(hash)) {
+                    orphans.add(file);
+                }
+            });
+        }
+        if (!locations.isEmpty()) {
+            Set<String> referenced = mediaRepository.findExistingLocations(
+                    locations.values().stream().map(MediaLocation::getPath).collect(Collectors.toSet()),
+                    locations.values().stream().map(MediaLocation::getProjectId).collect(Collectors.toSet()))
+                .stream().map(MediaLocation::getStoredName).collect(Collectors.toSet());
+            locations.forEach((file, location) -> {
+                if (!referenced.contains(location.getStoredName())) {
+                    orphans.add(file);
+                }
+            });
+        }
+        for (String orphan : orphans) {
+            collect(orphan, cutoff, report);
+        }
+    }
+
+    /**
+     * Reports an orphaned file and, unless this is a dry run, deletes it. The modification time is checked again
+     * right before the delete, since an upload of the same content refreshes it when it reuses a blob.
+     * @param file the stored name of the orphaned file
+     * @param cutoff the modification time after which files are too recent to be collected
+     * @param report the report of the sweep
+     */
+    private void collect (String file, long cutoff, MediaSweepReport report) {
+        try {
+            long size = storage.getSize(file);
+            if (!report.isDryRun()) {
+                if (!isOlderThan(file, cutoff)) {
+                    return;
+                }
+                storage.delete(file);
+                reclaimedBytes.addAndGet(size);
+            }
+            report.addOrphan(file, size);
+        } catch (IOException ignored) {
+            // the file was removed concurrently, or is retried on the next sweep
+        }
+    }
+
+    /**
+     * Extracts the project and original path from the name of a file stored before the content-addressed store,
+     * which is the original path followed by the id of the project
+     * @param name the stored file name
+     * @return the location of the file, or null if the name doesn't end with a project id
+     */
+    private MediaLocation getLegacyLocation (String name) {
+        if (name.length() <= UUID_LENGTH) {
+            return null;
+        }
+        try {
+            UUID projectId = UUID.fromString(name.substring(name.length() - UUID_LENGTH));
+            return new MediaLocation(projectId, name.substring(0, name.length() - UUID_LENGTH));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether a file was last modified before the cutoff
+     * @param file the stored file name
+     * @param cutoff the modification time in milliseconds
+     * @return true if the file is older than the cutoff
+     */
+    private boolean isOlderThan (String file, long cutoff) {
+        try {
+            return storage.getLastModified(file) <= cutoff;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -1,40 +1,380 @@
 package com.team2a.ProjectPortfolio.Services;
 
+import com.team2a.ProjectPortfolio.Commons.Media;
+import lombok.Getter;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLConnection;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.Base64;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
 
 public class MediaHelper {
-    public String getFileContents (String filename){
-        String filePath = System.getProperty("user.dir") + "/assets" + File.separator;
-        Path path = Paths.get(filePath + filename);
-        byte[] content = null;
+
+    private static final String BLOB_DIRECTORY = "blobs";
+
+    private final Path directory;
+    @Getter
+    private final MediaStorage storage;
+
+    /**
+     * Constructor storing the files in a local directory
+     * @param directory the directory for the stored files and the temporary files
+     */
+    public MediaHelper (Path directory) {
+        this(directory, new LocalMediaStorage(directory));
+    }
+
+    /**
+     * Constructor
+     * @param directory the local directory for temporary files and uploads in progress
+     * @param storage the backend holding the stored files
+     */
+    public MediaHelper (Path directory, MediaStorage storage) {
+        this.directory = directory;
+        this.storage = storage;
+    }
+
+    /**
+     * Reads the whole content of a stored file
+     * @param filename the stored file name
+     * @return the content of the file
+     */
+    public byte[] readFile (String filename) {
+        try (InputStream in = storage.newInputStream(filename)) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * Opens a stored file for reading
+     * @param filename the stored file name
+     * @return a stream over the content, to be closed by the caller
+     */
+    public InputStream openFile (String filename) {
         try {
-            content = Files.readAllBytes(path);
+            return storage.newInputStream(filename);
         } catch (IOException e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
         }
-        return Base64.getEncoder().encodeToString(content);
     }
-    public void saveFile (String path, MultipartFile file){
-        try (FileOutputStream fileSave = new FileOutputStream(path)) {
-            fileSave.write(file.getBytes());
+
+    /**
+     * Resolves a name to its location in the local directory. Stored files are accessed through the
+     * storage instead; the local directory holds the temporary files and the uploads in progress.
+     * @param filename the name of the file relative to the local directory
+     * @return the path of the file
+     */
+    public Path getFilePath (String filename) {
+        return directory.resolve(filename);
+    }
+
+    /**
+     * Returns a resource over a stored file, so it can be streamed without loading it in memory
+     * @param filename the stored file name
+     * @return the resource backed by the file
+     */
+    public Resource getFileResource (String filename) {
+        try {
+            return storage.getResource(filename);
+        } catch (NoSuchFileException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found");
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * Checks whether a stored file exists
+     * @param filename the stored file name
+     * @return true if the file exists
+     */
+    public boolean fileExists (String filename) {
+        return storage.exists(filename);
+    }
+
+    /**
+     * Returns the size of a stored file
+     * @param filename the stored file name
+     * @return the size in bytes
+     */
+    public long getFileSize (String filename) {
+        try {
+            return storage.getSize(filename);
         } catch (IOException e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
         }
     }
-    public void deleteFile (String path) {
+
+    /**
+     * Returns the last modification time of a stored file
+     * @param filename the stored file name
+     * @return the modification time in milliseconds since the epoch
+     */
+    public long getLastModified (String filename) {
+        try {
+            return storage.getLastModified(filename);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * Fills in the size, MIME type and, for images, the dimensions of a Media from its stored file.
+     * Only the first bytes are read: the MIME type is sniffed from the magic number of images and otherwise
+     * derived from the original filename, and the dimensions come from the image header without decoding it.
+     * @param media the Media, whose original filename is used as a hint
+     * @param filename the stored file name
+     */
+    public void readMetadata (Media media, String filename) {
+        try {
+            readMetadata(media, storage.newInputStream(filename), storage.getSize(filename));
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * Fills in the size, MIME type and, for images, the dimensions of a Media from a file that is not stored yet
+     * @param media the Media, whose original filename is used as a hint
+     * @param file the file holding the content
+     */
+    public void readMetadata (Media media, Path file) {
+        try {
+            readMetadata(media, Files.newInputStream(file), Files.size(file));
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * Fills in the metadata of a Media from the first bytes of its content
+     * @param media the Media, whose original filename is used as a hint
+     * @param content the content, closed once the metadata is read
+     * @param size the size of the content in bytes
+     * @throws IOException if the content can't be read
+     */
+    private void readMetadata (Media media, InputStream content, long size) throws IOException {
+        try (InputStream in = new BufferedInputStream(content)) {
+            media.setSize(size);
+            String sniffed = URLConnection.guessContentTypeFromStream(in);
+            media.setMimeType(sniffed != null && sniffed.startsWith("image/") ? sniffed
+                : MediaTypeFactory.getMediaType(media.getPath()).map(MediaType::toString)
+                    .orElse(sniffed != null ? sniffed : MediaType.APPLICATION_OCTET_STREAM_VALUE));
+            media.setWidth(null);
+            media.setHeight(null);
+            try (ImageInputStream image = new MemoryCacheImageInputStream(in)) {
+                Iterator<ImageReader> readers = ImageIO.getImageReaders(image);
+                if (readers.hasNext()) {
+                    ImageReader reader = readers.next();
+                    try {
+                        reader.setInput(image, true, true);
+                        media.setWidth(reader.getWidth(0));
+                        media.setHeight(reader.getHeight(0));
+                    } finally {
+                        reader.dispose();
+                    }
+                }
+            } catch (IOException ignored) {
+                // a corrupt image header only leaves the dimensions unknown
+            }
+        }
+    }
+
+    /**
+     * Moves a batch of the flat files stored before the sharded layout to their sharded location.
+     * Storages without a flat layout have nothing to migrate.
+     * @param limit the maximum number of files moved
+     * @return the number of files moved
+     */
+    public int migrateFlatFiles (int limit) {
+        if (!(storage instanceof LocalMediaStorage local)) {
+            return 0;
+        }
+        try {
+            return local.migrateFlatFiles(limit);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * Saves an uploaded file in the content-addressed store. The SHA-256 of the content is computed
+     * while the upload is streamed to a temporary file; if a blob with the same hash already exists
+     * the temporary file is discarded, so identical content is only stored once. The modification time
+     * of a reused blob is refreshed so the garbage collector doesn't reclaim it before the new row is saved.
+     * @param file the uploaded file
+     * @return the hex encoded SHA-256 of the content
+     */
+    public String saveBlob (MultipartFile file) {
+        try {
+            return saveBlob(file.getInputStream());
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * Copies a stored file into the content-addressed store, leaving the stored file in place
+     * @param filename the stored file name
+     * @return the hex encoded SHA-256 of the content
+     */
+    public String copyToBlob (String filename) {
+        try {
+            return saveBlob(storage.newInputStream(filename));
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * Streams content to a temporary file while hashing it, and moves it into the content-addressed store
+     * @param content the content, closed once it is read
+     * @return the hex encoded SHA-256 of the content
+     */
+    private String saveBlob (InputStream content) {
+        Path temp = null;
+        try {
+            Path blobs = getFilePath(BLOB_DIRECTORY);
+            Files.createDirectories(blobs);
+            temp = Files.createTempFile(blobs, ".upload-", ".tmp");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(content, digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            storeBlob(temp, hash);
+            return hash;
+        } catch (IOException | NoSuchAlgorithmException e) {
+            deleteQuietly(temp);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * Computes the hash under which a file would be stored, without moving it
+     * @param file the file holding the content
+     * @return the hex encoded SHA-256 of the content
+     */
+    public String hashFile (Path file) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * Moves a fully staged file into the content-addressed store. The staged file is consumed once this succeeds:
+     * it is renamed into place, or deleted if a blob with the same content already exists. If it fails,
+     * the staged file is left in place so the caller can retry.
+     * @param staged the staged file, on the same filesystem as the assets directory
+     * @param hash the hex encoded SHA-256 of the content, as returned by hashFile
+     */
+    public void saveStagedBlob (Path staged, String hash) {
+        try {
+            storeBlob(staged, hash);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * Moves a file with known content into the blob store, unless the blob already exists
+     * @param source the file holding the content
+     * @param hash the hex encoded SHA-256 of the content
+     * @throws IOException if the file can't be moved
+     */
+    private void storeBlob (Path source, String hash) throws IOException {
+        String blobName = getBlobName(hash);
+        if (storage.touch(blobName)) {
+            Files.delete(source);
+        } else {
+            storage.put(blobName, source);
+        }
+    }
+
+    /**
+     * Encodes an image to a stored file, writing a temporary file first and storing it
+     * so concurrent readers never see a partially written image
+     * @param filename the stored file name
+     * @param image the image to be written
+     * @param format the ImageIO format name
+     */
+    public void saveImage (String filename, BufferedImage image, String format) {
+        Path temp = null;
+        try {
+            Path blobs = getFilePath(BLOB_DIRECTORY);
+            Files.createDirectories(blobs);
+            temp = Files.createTempFile(blobs, ".image-", ".tmp");
+            if (!ImageIO.write(image, format, temp.toFile())) {
+                throw new IOException("No writer for the image format " + format);
+            }
+            storage.put(filename, temp);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the stored file name of a blob, sharded by the first two characters of its hash
+     * @param hash the hex encoded SHA-256 of the content
+     * @return the name of the blob relative to the assets directory
+     */
+    public String getBlobName (String hash) {
+        return BLOB_DIRECTORY + File.separator + hash.substring(0, 2) + File.separator + hash;
+    }
+
+    /**
+     * Deletes a leftover temporary file, ignoring failures
+     * @param path the file to be deleted, may be null
+     */
+    private void deleteQuietly (Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // the orphaned temporary file is harmless
+        }
+    }
+
+    /**
+     * Deletes a stored file
+     * @param filename the stored file name
+     */
+    public void deleteStoredFile (String filename) {
         try {
-            Path filePath = Paths.get(path);
-            Files.deleteIfExists(filePath);
+            storage.delete(filename);
         } catch (IOException e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
         }
@@ -0,0 +1,95 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import com.team2a.ProjectPortfolio.Commons.Media;
+import com.team2a.ProjectPortfolio.Repositories.MediaRepository;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class MediaMetadataBackfill {
+
+    private final MediaRepository mediaRepository;
+    private final MediaService mediaService;
+    private final int batchSize;
+    private final AtomicLong backfilledMedia = new AtomicLong();
+    private UUID cursor;
+    private volatile boolean done;
+    @Setter
+    private MediaHelper mediaHelper;
+
+    /**
+     * Constructor
+     * @param mediaRepository the media repository
+     * @param mediaService the media service, which knows where the content of a Media is stored
+     * @param mediaHelper the media helper, which reads the stored files
+     * @param batchSize the number of Medias read from the database in one run
+     */
+    @Autowired
+    public MediaMetadataBackfill (MediaRepository mediaRepository, MediaService mediaService, MediaHelper mediaHelper,
+                                  @Value("${media.metadata.backfill-batch-size:200}") int batchSize) {
+        this.mediaRepository = mediaRepository;
+        this.mediaService = mediaService;
+        this.mediaHelper = mediaHelper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reads the metadata of the next batch of Medias uploaded before the metadata was stored. The batches follow
+     * the media id, so a Media whose file is missing or unreadable is skipped instead of being read again on every
+     * run. Only rows that still have no metadata are updated, so a concurrent upload or edit is never overwritten.
+     * Once a run reaches the end of the table the backfill is done, since new uploads store their metadata.
+     */
+    @Scheduled(fixedDelayString = "${media.metadata.backfill-interval-ms:60000}",
+        initialDelayString = "${media.metadata.backfill-interval-ms:60000}")
+    public synchronized void backfill () {
+        if (done) {
+            return;
+        }
+        Pageable pageable = PageRequest.of(0, batchSize);
+        List<Media> batch = cursor == null
+            ? mediaRepository.findAllBySizeIsNullOrderByMediaIdAsc(pageable)
+            : mediaRepository.findAllBySizeIsNullAndMediaIdGreaterThanOrderByMediaIdAsc(cursor, pageable);
+        for (Media media : batch) {
+            cursor = media.getMediaId();
+            try {
+                String storedName = mediaService.getStoredFileName(media);
+                if (!mediaHelper.fileExists(storedName)) {
+                    continue;
+                }
+                mediaHelper.readMetadata(media, storedName);
+            } catch (RuntimeException e) {
+                continue;
+            }
+            if (mediaRepository.backfillMetadata(media.getMediaId(), media.getSize(), media.getMimeType(),
+                media.getWidth(), media.getHeight()) > 0) {
+                backfilledMedia.incrementAndGet();
+            }
+        }
+        done = batch.size() < batchSize;
+    }
+
+    /**
+     * Returns the number of Medias whose metadata was filled in since the application started
+     * @return the number of backfilled Medias
+     */
+    public long getBackfilledMedia () {
+        return backfilledMedia.get();
+    }
+
+    /**
+     * Checks whether all the Medias have been visited
+     * @return true once a run reached the end of the table
+     */
+    public boolean isDone () {
+        return done;
+    }
+}
@@ -0,0 +1,146 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import com.team2a.ProjectPortfolio.Commons.Media;
+import com.team2a.ProjectPortfolio.Repositories.MediaRepository;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+public class MediaPathConstraint {
+
+    private static final Set<String> COLUMNS = Set.of("PROJECT_ID", "PATH");
+
+    private final MediaRepository mediaRepository;
+    private final MediaService mediaService;
+    private final JdbcTemplate jdbcTemplate;
+    @Setter
+    private MediaHelper mediaHelper;
+
+    /**
+     * Constructor
+     * @param mediaRepository the media repository
+     * @param mediaService the media service, which knows where the content of a Media is stored
+     * @param mediaHelper the media helper, which copies the stored files
+     * @param jdbcTemplate the JDBC template, used to inspect and alter the MEDIA table
+     */
+    @Autowired
+    public MediaPathConstraint (MediaRepository mediaRepository, MediaService mediaService, MediaHelper mediaHelper,
+                                JdbcTemplate jdbcTemplate) {
+        this.mediaRepository = mediaRepository;
+        this.mediaService = mediaService;
+        this.mediaHelper = mediaHelper;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Makes sure the MEDIA table has the unique constraint on project and path. The schema update can't create
+     * it on a table that already holds duplicates, since the path uniqueness check never matched before, so
+     * the duplicates are resolved first and the constraint is created here. Once it exists this is one lookup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureConstraint () {
+        if (hasConstraint()) {
+            return;
+        }
+        resolveDuplicates();
+        jdbcTemplate.execute("ALTER TABLE media ADD CONSTRAINT UK_MEDIA_PROJECT_PATH UNIQUE (PROJECT_ID, PATH)");
+    }
+
+    /**
+     * Checks whether a unique index covers exactly the project and path of the MEDIA table
+     * @return true if the constraint exists
+     */
+    public boolean hasConstraint () {
+        Boolean exists = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String table = findMediaTable(metaData, connection.getCatalog(), connection.getSchema());
+            if (table == null) {
+                return false;
+            }
+            Map<String, Set<String>> indexes = new HashMap<>();
+            try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table,
+                true, false)) {
+                while (rs.next()) {
+                    if (rs.getString("INDEX_NAME") != null && rs.getString("COLUMN_NAME") != null) {
+                        indexes.computeIfAbsent(rs.getString("INDEX_NAME"), name -> new HashSet<>())
+                            .add(rs.getString("COLUMN_NAME").toUpperCase(Locale.ROOT));
+                    }
+                }
+            }
+            return indexes.containsValue(COLUMNS);
+        });
+        return Boolean.TRUE.equals(exists);
+    }
+
+    /**
+     * Renames every Media whose project already has a Media with the same path, keeping the path of the one
+     * with the lowest id. The duplicates of a Media stored under its original name share its file, so their
+     * content is copied into the content-addressed store first and the file stays with the kept Media.
+     */
+    public void resolveDuplicates () {
+        for (Media media : mediaRepository.findPathDuplicates()) {
+            UUID projectId = media.getProject().getProjectId();
+            if (media.getHash() == null) {
+                String storedName = mediaService.getStoredFileName(media);
+                if (mediaHelper.fileExists(storedName)) {
+                    media.setHash(mediaHelper.copyToBlob(storedName));
+                }
+            }
+            media.setPath(uniquePath(projectId, media.getPath()));
+            mediaRepository.saveAndFlush(media);
+        }
+    }
+
+    /**
+     * Returns the first of path (2), path (3), ... that no Media of the project has, numbered before the extension
+     * @param projectId the id of the project
+     * @param path the duplicated path
+     * @return a path that is free in the project
+     */
+    private String uniquePath (UUID projectId, String path) {
+        int dot = path.lastIndexOf('.');
+        String base = dot > 0 ? path.substring(0, dot) : path;
+        String extension = dot > 0 ? path.substring(dot) : "";
+        String candidate;
+        int n = 2;
+        do {
+            candidate = base + " (" + n++ + ")" + extension;
+        } while (mediaRepository.existsByProjectProjectIdAndPath(projectId, candidate));
+        return candidate;
+    }
+
+    /**
+     * Returns the name of the MEDIA table as the database stores it
+     * @param metaData the metadata of the database
+     * @param catalog the current catalog
+     * @param schema the current schema
+     * @return the table name, null if the table doesn't exist
+     * @throws SQLException if the metadata can't be read
+     */
+    private static String findMediaTable (DatabaseMetaData metaData, String catalog, String schema)
+        throws SQLException {
+        try (ResultSet rs = metaData.getTables(catalog, schema, "%", new String[] {"TABLE"})) {
+            while (rs.next()) {
+                if ("MEDIA".equalsIgnoreCase(rs.getString("TABLE_NAME"))) {
+                    return rs.getString("TABLE_NAME");
+                }
+            }
+        }
+        return null;
+    }
+}
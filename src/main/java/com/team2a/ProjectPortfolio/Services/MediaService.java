@@ -7,28 +7,56 @@ import com.team2a.ProjectPortfolio.Commons.RequestMediaProject;
 import com.team2a.ProjectPortfolio.CustomExceptions.MediaNotFoundException;
 import com.team2a.ProjectPortfolio.CustomExceptions.NotFoundException;
 import com.team2a.ProjectPortfolio.CustomExceptions.ProjectNotFoundException;
+import com.team2a.ProjectPortfolio.EntityVersions;
 import com.team2a.ProjectPortfolio.Repositories.MediaRepository;
 import com.team2a.ProjectPortfolio.Repositories.ProjectRepository;
+import com.team2a.ProjectPortfolio.Routes;
+import com.team2a.ProjectPortfolio.dto.MediaCacheStats;
 import com.team2a.ProjectPortfolio.dto.MediaFileContent;
-import java.io.File;
+import com.team2a.ProjectPortfolio.dto.MediaFileResource;
+import com.team2a.ProjectPortfolio.dto.MediaPage;
+import com.team2a.ProjectPortfolio.dto.MediaSummary;
+import com.team2a.ProjectPortfolio.dto.ProjectStorageUsage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import com.team2a.ProjectPortfolio.Repositories.RequestMediaProjectRepository;
 import com.team2a.ProjectPortfolio.Repositories.RequestRepository;
+import jakarta.transaction.Transactional;
 import lombok.Setter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Service
 public class MediaService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of("jpg", "jpeg", "png", "gif", "webp", "heic",
+        "avif", "mp3", "mp4", "m4a", "m4v", "mov", "webm", "ogg", "zip", "gz", "tgz", "bz2", "xz", "7z", "rar",
+        "docx", "xlsx", "pptx", "odt", "ods", "odp");
+    private static final int ARCHIVE_BUFFER_SIZE = 64 * 1024;
+
     private final MediaRepository mediaRepository;
     private final ProjectRepository projectRepository;
     private final RequestRepository requestRepository;
     private final RequestMediaProjectRepository requestMediaProjectRepository;
+    private final ThumbnailService thumbnailService;
+    private final MediaCache mediaCache;
+    private final ProjectStorageAccounting projectStorageAccounting;
     @Setter
     private MediaHelper mediaHelper;
 
@@ -38,15 +66,24 @@ public class MediaService {
      * @param projectRepository
      * @param requestRepository
      * @param requestMediaProjectRepository
+     * @param thumbnailService
+     * @param mediaCache
+     * @param projectStorageAccounting
+     * @param mediaHelper
      */
     @Autowired
     public MediaService(MediaRepository mediaRepository, ProjectRepository projectRepository,
-                        RequestRepository requestRepository, RequestMediaProjectRepository requestMediaProjectRepository) {
+                        RequestRepository requestRepository, RequestMediaProjectRepository requestMediaProjectRepository,
+                        ThumbnailService thumbnailService, MediaCache mediaCache,
+                        ProjectStorageAccounting projectStorageAccounting, MediaHelper mediaHelper) {
         this.mediaRepository = mediaRepository;
         this.projectRepository = projectRepository;
-        mediaHelper = new MediaHelper();
+        this.mediaHelper = mediaHelper;
         this.requestRepository = requestRepository;
         this.requestMediaProjectRepository = requestMediaProjectRepository;
+        this.thumbnailService = thumbnailService;
+        this.mediaCache = mediaCache;
+        this.projectStorageAccounting = projectStorageAccounting;
     }
 
     /**
@@ -63,11 +100,43 @@ public class MediaService {
         for (Media media : mediaToGetObject) {
             if (media != null) {
                 mediaFiles.add(new MediaFileContent(media.getName(), media.getPath(),
-                        mediaHelper.getFileContents(media.getPath()+projectId)));
+                        Base64.getEncoder().encodeToString(readContent(getStoredFileName(media)))));
             }
         }
         return mediaFiles;
     }
+
+    /**
+     * Returns one page of the Medias of a Project without reading their content.
+     * Pages are ordered by media id and continue after the cursor, so each page is a single index range scan.
+     * @param projectId the project UUID
+     * @param cursor the id of the last Media of the previous page, null for the first page
+     * @param size the maximum number of Medias on the page
+     * @return the page with the metadata and content urls of the Medias
+     */
+    public MediaPage getMediaPageByProjectId (UUID projectId, UUID cursor, int size) {
+        try {
+            checkProjectExistence(projectId);
+        }
+        catch (ProjectNotFoundException e){
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Pageable pageable = PageRequest.of(0, size + 1);
+        List<Media> media = cursor == null
+                ? mediaRepository.findAllByProjectProjectIdOrderByMediaIdAsc(projectId, pageable)
+                : mediaRepository.findAllByProjectProjectIdAndMediaIdGreaterThanOrderByMediaIdAsc(projectId, cursor,
+                    pageable);
+        List<MediaSummary> items = media.stream().limit(size)
+                .map(m -> new MediaSummary(m, Routes.MEDIA + "/public/file/raw/" + m.getMediaId()))
+                .toList();
+        UUID nextCursor = media.size() > size ? items.get(size - 1).getMediaId() : null;
+        return new MediaPage(items, nextCursor);
+    }
+
     /**
      * Gets the list of medias of a specific project
      * @param projectId the project of which we need to get the media
@@ -83,6 +152,101 @@ public class MediaService {
         return mediaRepository.findAllByProjectProjectId(projectId);
     }
 
+    /**
+     * Gets all the Medias of a Project as a ZIP archive. The archive is written entry by entry while the
+     * response is sent, so neither the archive nor a whole file is ever held in memory or on disk.
+     * Formats that are already compressed are STORED instead of being deflated again for no gain,
+     * at the cost of a first read of the file to compute the CRC the entry header needs.
+     * @param projectId the id of the Project whose Media to be archived
+     * @return the body writing the archive to the response
+     */
+    public StreamingResponseBody getProjectArchive (UUID projectId) {
+        try {
+            checkProjectExistence(projectId);
+        }
+        catch (ProjectNotFoundException e){
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+        List<Media> media = mediaRepository.findAllByProjectProjectId(projectId);
+        return out -> writeArchive(media, out);
+    }
+
+    /**
+     * Writes a ZIP archive of the content of Medias. Medias whose content is missing are left out,
+     * since the response is already being sent and can't turn into an error any more.
+     * @param media the Medias to be archived
+     * @param out the stream receiving the archive
+     * @throws IOException if a file can't be read or the archive can't be written
+     */
+    private void writeArchive (List<Media> media, OutputStream out) throws IOException {
+        byte[] buffer = new byte[ARCHIVE_BUFFER_SIZE];
+        Set<String> entryNames = new HashSet<>();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (Media m : media) {
+                String storedName = getStoredFileName(m);
+                if (!mediaHelper.fileExists(storedName)) {
+                    continue;
+                }
+                ZipEntry entry = new ZipEntry(getArchiveEntryName(m.getPath(), entryNames));
+                entry.setTime(mediaHelper.getLastModified(storedName));
+                if (COMPRESSED_EXTENSIONS.contains(getExtension(m.getPath()))) {
+                    CRC32 crc = new CRC32();
+                    long size = 0;
+                    try (InputStream in = mediaHelper.openFile(storedName)) {
+                        int read;
+                        while ((read = in.read(buffer)) != -1) {
+                            crc.update(buffer, 0, read);
+                            size += read;
+                        }
+                    }
+                    entry.setMethod(ZipEntry.STORED);
+                    entry.setSize(size);
+                    entry.setCompressedSize(size);
+                    entry.setCrc(crc.getValue());
+                }
+                zip.putNextEntry(entry);
+                try (InputStream in = mediaHelper.openFile(storedName)) {
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        zip.write(buffer, 0, read);
+                    }
+                }
+                zip.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * Returns the name of an archive entry, relative and unique within the archive
+     * @param path the original filename of the Media
+     * @param entryNames the names already used in the archive, to which the new name is added
+     * @return the name of the entry
+     */
+    private String getArchiveEntryName (String path, Set<String> entryNames) {
+        String name = Arrays.stream(path.replace('\\', '/').split("/"))
+            .filter(segment -> !segment.isEmpty() && !segment.equals(".") && !segment.equals(".."))
+            .reduce((parent, child) -> parent + "/" + child)
+            .orElse("media");
+        int dot = name.lastIndexOf('.');
+        String base = dot > name.lastIndexOf('/') + 1 ? name.substring(0, dot) : name;
+        String extension = name.substring(base.length());
+        String unique = name;
+        for (int i = 1; !entryNames.add(unique); i++) {
+            unique = base + " (" + i + ")" + extension;
+        }
+        return unique;
+    }
+
+    /**
+     * Returns the lower case extension of a filename
+     * @param path the filename
+     * @return the extension, empty if there is none
+     */
+    private String getExtension (String path) {
+        int dot = path.lastIndexOf('.');
+        return dot < 0 ? "" : path.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
     /**
      * Gets the document from the backend
      * @param mediaId the mediaId of the document
@@ -99,8 +263,117 @@ public class MediaService {
         }
         Media mediaToGetObject = mediaRepository.findMediaByMediaId(mediaId);
         return new MediaFileContent(mediaToGetObject.getName(),mediaToGetObject.getPath(),
-                mediaHelper.getFileContents(mediaToGetObject.getPath()+media.getProject().getProjectId()));
+                Base64.getEncoder().encodeToString(readContent(getStoredFileName(media))));
+    }
+    /**
+     * Gets the document from the backend as a resource that can be streamed to the client.
+     * Content small enough for the hot media cache is only read when the resource is, so a 304 loads nothing.
+     * @param mediaId the mediaId of the document
+     * @return the file resource together with its filename and size
+     */
+    public MediaFileResource getDocumentFileByMediaId (UUID mediaId) {
+        Media media;
+        try {
+            media = checkMediaExistence(mediaId);
+        }
+        catch (MediaNotFoundException e){
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+        String storedName = getStoredFileName(media);
+        long size = media.getSize() != null ? media.getSize() : mediaHelper.getFileSize(storedName);
+        Resource resource = mediaCache.accepts(size)
+                ? new CachedMediaResource(storedName, size, () -> readContent(storedName))
+                : mediaHelper.getFileResource(storedName);
+        return new MediaFileResource(media.getName(), media.getPath(), resource,
+                size, mediaHelper.getLastModified(storedName),
+                media.getHash() != null ? "\"" + media.getHash() + "\"" : null, media.getMimeType());
+    }
+
+    /**
+     * Gets a resized variant of an image, generating it if it is not on disk yet
+     * @param mediaId the mediaId of the image
+     * @param width the width of the variant
+     * @return the variant resource together with its filename and size
+     */
+    public MediaFileResource getThumbnailByMediaId (UUID mediaId, int width) {
+        Media media;
+        try {
+            media = checkMediaExistence(mediaId);
+        }
+        catch (MediaNotFoundException e){
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+        String variantName = thumbnailService.getVariant(getStoredFileName(media), media.getPath(), width);
+        String fileName = media.getPath().replaceFirst("\\.[^.]*$", "") + "-" + width + "."
+                + thumbnailService.getVariantFormat(media.getPath());
+        return new MediaFileResource(media.getName(), fileName, mediaHelper.getFileResource(variantName),
+                mediaHelper.getFileSize(variantName), mediaHelper.getLastModified(variantName),
+                media.getHash() != null ? "\"" + media.getHash() + "-" + width + "\"" : null);
+    }
+
+    /**
+     * Returns the storage used by the media of a Project
+     * @param projectId the id of the Project
+     * @return the used and reserved bytes, and the quota of the project
+     */
+    public ProjectStorageUsage getStorageUsage (UUID projectId) {
+        try {
+            checkProjectExistence(projectId);
+        }
+        catch (ProjectNotFoundException e){
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+        return projectStorageAccounting.getUsage(projectId);
+    }
+
+    /**
+     * Checks that an upload fits in the storage quota of a Project
+     * @param projectId the id of the Project
+     * @param size the size of the upload in bytes
+     */
+    public void checkStorageQuota (UUID projectId, long size) {
+        projectStorageAccounting.checkQuota(projectId, size);
+    }
+
+    /**
+     * Returns the size of the content of a Media, 0 if it is not known yet
+     * @param media the Media
+     * @return the size in bytes
+     */
+    private long getSize (Media media) {
+        return media.getSize() != null ? media.getSize() : 0;
+    }
+
+    /**
+     * Returns the counters of the hot media cache
+     * @return the hits, misses, evictions and usage of the cache
+     */
+    public MediaCacheStats getCacheStats () {
+        return mediaCache.getStats();
+    }
+
+    /**
+     * Reads the content of a stored file through the hot media cache
+     * @param storedFileName the stored file name
+     * @return the content of the file
+     */
+    private byte[] readContent (String storedFileName) {
+        byte[] content = mediaCache.get(storedFileName);
+        if (content == null) {
+            content = mediaHelper.readFile(storedFileName);
+            mediaCache.put(storedFileName, content);
+        }
+        return content;
+    }
+
+    /**
+     * Returns the number of images waiting for their thumbnails to be generated
+     * @return the queue depth of the thumbnail pipeline
+     */
+    public int getThumbnailQueueDepth () {
+        return thumbnailService.getQueueDepth();
     }
+
     /**
      * Adds a Media to a specific Project
      * @param projectId the id of the Project that gets a new media
@@ -117,14 +390,80 @@ public class MediaService {
         catch (ProjectNotFoundException e){
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
         }
-        checkPathUniqueness(file.getOriginalFilename()+projectId);
-        String filePath = System.getProperty("user.dir") + "/assets" + File.separator + file.getOriginalFilename()+projectId;
-        Media media = new Media(name,file.getOriginalFilename());
-        media.setProject(p);
-        //https://www.geeksforgeeks.org/spring-boot-file-handling/
-        // Try block to check exceptions
-        mediaHelper.saveFile(filePath,file);
-        return mediaRepository.save(media);
+        checkPathUniqueness(projectId, file.getOriginalFilename());
+        projectStorageAccounting.reserve(projectId, file.getSize());
+        try {
+            return saveNewMedia(p, name, file.getOriginalFilename(), mediaHelper.saveBlob(file));
+        } finally {
+            projectStorageAccounting.release(projectId, file.getSize());
+        }
+    }
+
+    /**
+     * Adds a Media to a specific Project from a fully staged upload, which is moved into the store.
+     * The row is flushed before the staged file is moved and committed after, so the staged file is only
+     * consumed once the Media is known to be valid, and a failed move rolls the row back. Whenever this fails,
+     * the staged file is left in place for a retry. Thumbnails are only scheduled once the row is committed.
+     * @param projectId the id of the Project that gets a new media
+     * @param staged the staged file holding the content
+     * @param path the original filename of the media
+     * @param name the name of the media
+     * @return the Media that was added
+     */
+    @Transactional
+    public Media addStagedMediaToProject (UUID projectId, Path staged, String path, String name) {
+        Project p = null;
+        try {
+            p = checkProjectExistence(projectId);
+        }
+        catch (ProjectNotFoundException e){
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+        checkPathUniqueness(projectId, path);
+        long size = staged.toFile().length();
+        projectStorageAccounting.reserve(projectId, size);
+        try {
+            Media media = new Media(name, path);
+            media.setProject(p);
+            media.setHash(mediaHelper.hashFile(staged));
+            mediaHelper.readMetadata(media, staged);
+            Media saved;
+            try {
+                saved = mediaRepository.saveAndFlush(media);
+            } catch (DataIntegrityViolationException e) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "A media with this path already exists in the project");
+            }
+            mediaHelper.saveStagedBlob(staged, media.getHash());
+            long added = getSize(media);
+            AfterCommit.run(() -> projectStorageAccounting.add(projectId, added));
+            String storedFileName = getStoredFileName(media);
+            AfterCommit.run(() -> thumbnailService.schedule(storedFileName, path));
+            return saved;
+        } finally {
+            projectStorageAccounting.release(projectId, size);
+        }
+    }
+
+    /**
+     * Saves a new Media whose content is already in the store and queues its thumbnails
+     * @param project the Project of the media
+     * @param name the name of the media
+     * @param path the original filename of the media
+     * @param hash the hash of the stored content
+     * @return the Media that was added
+     */
+    private Media saveNewMedia (Project project, String name, String path, String hash) {
+        Media media = new Media(name, path);
+        media.setProject(project);
+        media.setHash(hash);
+        mediaHelper.readMetadata(media, getStoredFileName(media));
+        Media saved = saveUnique(media);
+        UUID projectId = project.getProjectId();
+        long added = getSize(media);
+        AfterCommit.run(() -> projectStorageAccounting.add(projectId, added));
+        thumbnailService.schedule(getStoredFileName(media), media.getPath());
+        return saved;
     }
 
 
@@ -136,9 +475,14 @@ public class MediaService {
      */
     public Media deleteMedia (UUID mediaId) throws RuntimeException {
         Media m = checkMediaExistence(mediaId);
-        mediaHelper.deleteFile(System.getProperty("user.dir") + "/assets" + File.separator +
-                m.getPath()+m.getProject().getProjectId());
+        String storedFileName = getStoredFileName(m);
         mediaRepository.deleteById(mediaId);
+        releaseStoredFile(m.getHash(), storedFileName);
+        if (m.getProject() != null) {
+            UUID projectId = m.getProject().getProjectId();
+            long removed = getSize(m);
+            AfterCommit.run(() -> projectStorageAccounting.add(projectId, -removed));
+        }
         return m;
     }
 
@@ -172,38 +516,118 @@ public class MediaService {
     }
 
     /**
-     * Checks that a path is unique
+     * Checks that a path is unique within a project, using the (project, path) index
+     * @param projectId - the id of the project the path is added to
      * @param path - the path to be added to the database
      * @throws RuntimeException - the path is already in use
      */
-    public void checkPathUniqueness (String path) throws RuntimeException {
-        if(!mediaRepository.findAll().stream()
-                .filter(x -> (x.getPath()).equals(path)).toList().isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+    public void checkPathUniqueness (UUID projectId, String path) throws RuntimeException {
+        if(mediaRepository.existsByProjectProjectIdAndPath(projectId, path)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A media with this path already exists in the project");
+        }
+    }
+
+    /**
+     * Saves a Media, turning a violation of the unique (project, path) constraint into a conflict.
+     * This resolves concurrent uploads that both passed checkPathUniqueness. A blob uploaded for the
+     * rejected save is left to the garbage collector, like any other unreferenced blob.
+     * @param media - the Media to be saved
+     * @return - the saved Media
+     * @throws RuntimeException - the path is already in use
+     */
+    private Media saveUnique (Media media) throws RuntimeException {
+        try {
+            return mediaRepository.save(media);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A media with this path already exists in the project");
+        }
+    }
+
+    /**
+     * Returns the name under which the content of a Media is stored in the assets directory.
+     * Content uploaded before the content-addressed store keeps its original name.
+     * @param media the Media
+     * @return the stored file name
+     */
+    public String getStoredFileName (Media media) {
+        if (media.getHash() != null) {
+            return mediaHelper.getBlobName(media.getHash());
+        }
+        return media.getPath() + media.getProject().getProjectId();
+    }
+
+    /**
+     * Releases content that a Media no longer uses. A blob is never deleted here: counting its references and
+     * deleting it can't be made atomic with an upload reusing the same blob, so unreferenced blobs are left to
+     * the garbage collector, whose grace period covers the uploads that refreshed a blob before saving their row.
+     * Content stored under its original name belongs to this Media alone and is deleted right away.
+     * @param hash the hash of the released content, null for content stored under its original name
+     * @param storedFileName the stored file name of the released content
+     */
+    private void releaseStoredFile (String hash, String storedFileName) {
+        mediaCache.invalidate(storedFileName);
+        if (hash != null) {
+            return;
         }
+        mediaHelper.deleteStoredFile(storedFileName);
+        thumbnailService.deleteVariants(storedFileName);
     }
 
     /**
      * Edits a Media in the database
-     * @param media - the Media with all the new fields
+     * @param media - the Media with all the new fields, with the version it overwrites or null to overwrite any
      * @return - the Media that was edited
+     * @throws ResponseStatusException(412) - the Media is no longer at the given version
      */
     public Media editMedia (Media media) {
         Optional<Media> o = mediaRepository.findById(media.getMediaId());
         if(o.isEmpty())
             throw new ResponseStatusException(HttpStatus.NOT_FOUND);
-        return mediaRepository.save(media);
+        EntityVersions.check(media.getVersion(), o.get().getVersion());
+        media.setVersion(o.get().getVersion());
+        media.setHash(o.get().getHash());
+        media.setSize(o.get().getSize());
+        media.setMimeType(o.get().getMimeType());
+        media.setWidth(o.get().getWidth());
+        media.setHeight(o.get().getHeight());
+        return saveUnique(media);
     }
+    /**
+     * Replaces the file of a Media, releasing the previous content
+     * @param mediaId the id of the Media
+     * @param file the new file
+     * @return the updated Media
+     */
     public Media changeFile (UUID mediaId,MultipartFile file){
         Media m = checkMediaExistence(mediaId);
-        mediaHelper.deleteFile(System.getProperty("user.dir") + "/assets" + File.separator +
-                m.getPath()+m.getProject().getProjectId());
-        String filePath = System.getProperty("user.dir") + "/assets" + File.separator +
-                file.getOriginalFilename()+m.getProject().getProjectId();
-        mediaHelper.saveFile(filePath,file);
-        m.setPath(file.getOriginalFilename());
-
-        return mediaRepository.save(m);
+        if (m.getProject() != null && !m.getPath().equals(file.getOriginalFilename())) {
+            checkPathUniqueness(m.getProject().getProjectId(), file.getOriginalFilename());
+        }
+        UUID projectId = m.getProject() != null ? m.getProject().getProjectId() : null;
+        long previousSize = getSize(m);
+        long growth = Math.max(0, file.getSize() - previousSize);
+        if (projectId != null) {
+            projectStorageAccounting.reserve(projectId, growth);
+        }
+        try {
+            String previousHash = m.getHash();
+            String previousFileName = getStoredFileName(m);
+            m.setHash(mediaHelper.saveBlob(file));
+            m.setPath(file.getOriginalFilename());
+            mediaHelper.readMetadata(m, getStoredFileName(m));
+            Media saved = saveUnique(m);
+            releaseStoredFile(previousHash, previousFileName);
+            if (projectId != null) {
+                long grown = getSize(m) - previousSize;
+                AfterCommit.run(() -> projectStorageAccounting.add(projectId, grown));
+            }
+            thumbnailService.schedule(getStoredFileName(m), m.getPath());
+            return saved;
+        } finally {
+            if (projectId != null) {
+                projectStorageAccounting.release(projectId, growth);
+            }
+        }
     }
 
     public List<RequestMediaProject> getMediaForRequest (UUID requestId) {
@@ -211,16 +635,34 @@ public class MediaService {
         return req.getRequestMediaProjects();
     }
 
+    /**
+     * Adds a new Media to a request. The Media gets no project until the request is accepted, so the
+     * (project, path) constraint of the media doesn't apply yet; the added path is recorded with the project
+     * on the request side instead, where a unique constraint rejects the same path being added twice.
+     * @param requestId the id of the request
+     * @param file the content of the media
+     * @param name the name of the media
+     * @return the Media that was added
+     * @throws ResponseStatusException(409) if the path is already used or added in the project
+     */
+    @Transactional
     public Media addAddedMediaToRequest (UUID requestId, MultipartFile file,String name) {
         Request r = requestRepository.findById(requestId).orElseThrow(NotFoundException::new);
-        checkPathUniqueness(file.getOriginalFilename());
-        String filePath = System.getProperty("user.dir") + "/assets" + File.separator
-                + file.getOriginalFilename()+ r.getProject().getProjectId();
+        UUID projectId = r.getProject().getProjectId();
+        checkPathUniqueness(projectId, file.getOriginalFilename());
+        projectStorageAccounting.checkQuota(projectId, file.getSize());
         Media media = new Media(name,file.getOriginalFilename());
-        mediaHelper.saveFile(filePath, file);
+        media.setHash(mediaHelper.saveBlob(file));
+        mediaHelper.readMetadata(media, getStoredFileName(media));
         RequestMediaProject body = new RequestMediaProject(r, media, false);
+        body.setAddedProjectId(projectId);
+        body.setAddedPath(media.getPath());
         mediaRepository.save(media);
-        requestMediaProjectRepository.save(body);
+        try {
+            requestMediaProjectRepository.saveAndFlush(body);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A media with this path is already added to the project");
+        }
         return media;
     }
 
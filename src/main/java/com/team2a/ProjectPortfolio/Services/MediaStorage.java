@@ -0,0 +1,85 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * The backend holding the stored media files. Files are addressed by the stored file names
+ * MediaService computes, so a backend decides on its own how the names are laid out.
+ */
+public interface MediaStorage {
+
+    /**
+     * Opens a stored file for reading
+     * @param key the stored file name
+     * @return a stream over the content, to be closed by the caller
+     * @throws IOException if the file doesn't exist or can't be read
+     */
+    InputStream newInputStream (String key) throws IOException;
+
+    /**
+     * Returns a resource over a stored file, so it can be streamed without loading it in memory
+     * @param key the stored file name
+     * @return the resource
+     * @throws IOException if the file doesn't exist or can't be read
+     */
+    Resource getResource (String key) throws IOException;
+
+    /**
+     * Checks whether a stored file exists
+     * @param key the stored file name
+     * @return true if the file exists
+     */
+    boolean exists (String key);
+
+    /**
+     * Returns the size of a stored file
+     * @param key the stored file name
+     * @return the size in bytes
+     * @throws IOException if the file doesn't exist
+     */
+    long getSize (String key) throws IOException;
+
+    /**
+     * Returns the last modification time of a stored file
+     * @param key the stored file name
+     * @return the modification time in milliseconds since the epoch
+     * @throws IOException if the file doesn't exist
+     */
+    long getLastModified (String key) throws IOException;
+
+    /**
+     * Stores the content of a local file, replacing any file with the same name. The local file is consumed,
+     * and readers never see a partially written file.
+     * @param key the stored file name
+     * @param source the local file holding the content
+     * @throws IOException if the file can't be stored
+     */
+    void put (String key, Path source) throws IOException;
+
+    /**
+     * Sets the modification time of a stored file to now
+     * @param key the stored file name
+     * @return false if the file doesn't exist
+     * @throws IOException if the modification time can't be set
+     */
+    boolean touch (String key) throws IOException;
+
+    /**
+     * Deletes a stored file, if it exists
+     * @param key the stored file name
+     * @throws IOException if the file can't be deleted
+     */
+    void delete (String key) throws IOException;
+
+    /**
+     * Lists the stored files, including the temporary files of writes in progress
+     * @return a lazily populated stream of the stored file names, to be closed by the caller
+     * @throws IOException if the files can't be listed
+     */
+    Stream<String> list () throws IOException;
+}
@@ -0,0 +1,63 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class MediaStorageMigration {
+
+    private final int batchSize;
+    private final AtomicLong migratedFiles = new AtomicLong();
+    private volatile boolean done;
+    @Setter
+    private MediaHelper mediaHelper;
+
+    /**
+     * Constructor
+     * @param mediaHelper the media helper, which moves the stored files
+     * @param batchSize the number of files moved in one run
+     */
+    @Autowired
+    public MediaStorageMigration (MediaHelper mediaHelper,
+                                  @Value("${media.storage.migration-batch-size:1000}") int batchSize) {
+        this.mediaHelper = mediaHelper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Moves the next batch of flat files to the sharded layout. Files are readable at both locations
+     * meanwhile, so the migration runs in the background in small batches. Once a run finds no flat
+     * file the migration is done, since new files are never written to the flat layout.
+     */
+    @Scheduled(fixedDelayString = "${media.storage.migration-interval-ms:60000}",
+        initialDelayString = "${media.storage.migration-interval-ms:60000}")
+    public void migrate () {
+        if (done) {
+            return;
+        }
+        int migrated = mediaHelper.migrateFlatFiles(batchSize);
+        migratedFiles.addAndGet(migrated);
+        done = migrated == 0;
+    }
+
+    /**
+     * Returns the number of files moved since the application started
+     * @return the number of migrated files
+     */
+    public long getMigratedFiles () {
+        return migratedFiles.get();
+    }
+
+    /**
+     * Checks whether the flat layout has been fully migrated
+     * @return true once a run found no flat file
+     */
+    public boolean isDone () {
+        return done;
+    }
+}
@@ -0,0 +1,290 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import com.team2a.ProjectPortfolio.Commons.Media;
+import com.team2a.ProjectPortfolio.CustomExceptions.ProjectNotFoundException;
+import com.team2a.ProjectPortfolio.dto.UploadSession;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class MediaUploadService {
+
+    private static final String UPLOAD_DIRECTORY = "uploads";
+    private static final String STAGING_SUFFIX = ".part";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final MediaService mediaService;
+    private final long sessionTtlMillis;
+    private final Map<UUID, UploadSession> sessions = new ConcurrentHashMap<>();
+    @Setter
+    private MediaHelper mediaHelper;
+
+    /**
+     * Constructor
+     * @param mediaService the media service, which creates the Media once an upload is complete
+     * @param mediaHelper the media helper, which locates the staging files
+     * @param sessionTtlMillis the time after the last chunk at which an unfinished upload is discarded
+     */
+    @Autowired
+    public MediaUploadService (MediaService mediaService, MediaHelper mediaHelper,
+                               @Value("${media.upload.session-ttl-ms:86400000}") long sessionTtlMillis) {
+        this.mediaService = mediaService;
+        this.mediaHelper = mediaHelper;
+        this.sessionTtlMillis = sessionTtlMillis;
+    }
+
+    /**
+     * Starts a resumable upload with an empty staging file. No Media exists until the upload is completed.
+     * @param projectId the id of the Project that gets the media
+     * @param name the name of the media
+     * @param fileName the original filename of the media
+     * @param size the total size of the file in bytes
+     * @return the new upload session
+     */
+    public UploadSession createSession (UUID projectId, String name, String fileName, long size) {
+        try {
+            mediaService.checkProjectExistence(projectId);
+        }
+        catch (ProjectNotFoundException e){
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+        if (size < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The size of an upload can't be negative");
+        }
+        mediaService.checkPathUniqueness(projectId, fileName);
+        mediaService.checkStorageQuota(projectId, size);
+        UploadSession session = new UploadSession(UUID.randomUUID(), projectId, name, fileName, size,
+            System.currentTimeMillis() + sessionTtlMillis);
+        try {
+            Path staging = getStagingFile(session.getUploadId());
+            Files.createDirectories(staging.getParent());
+            Files.createFile(staging);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+        sessions.put(session.getUploadId(), session);
+        return session;
+    }
+
+    /**
+     * Returns an upload session, whose offset tells the client where to resume
+     * @param projectId the id of the Project of the upload
+     * @param uploadId the id of the upload
+     * @return the upload session
+     */
+    public UploadSession getSession (UUID projectId, UUID uploadId) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null || !session.getProjectId().equals(projectId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                "No upload with the id " + uploadId + " could be found.");
+        }
+        return session;
+    }
+
+    /**
+     * Writes a chunk directly into the staging file. Chunks must be sent in order: the offset has to match the
+     * offset of the session, so a client resumes from the offset of the last accepted chunk. A chunk whose
+     * SHA-256 doesn't match the checksum is discarded and has to be sent again.
+     * @param projectId the id of the Project of the upload
+     * @param uploadId the id of the upload
+     * @param offset the position of the chunk in the file
+     * @param checksum the hex encoded SHA-256 of the chunk
+     * @param content the content of the chunk
+     * @return the upload session with the new offset
+     */
+    public UploadSession writeChunk (UUID projectId, UUID uploadId, long offset, String checksum, InputStream content) {
+        UploadSession session = getSession(projectId, uploadId);
+        synchronized (session) {
+            if (offset != session.getOffset()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Expected a chunk at offset " + session.getOffset());
+            }
+            try (FileChannel channel = FileChannel.open(getStagingFile(uploadId), StandardOpenOption.WRITE)) {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                long written;
+                try {
+                    written = copy(content, channel, offset, session.getSize() - offset, digest);
+                } catch (IOException e) {
+                    // a broken connection leaves a partial chunk, which the retry overwrites from the same offset
+                    channel.truncate(offset);
+                    throw e;
+                }
+                if (written < 0) {
+                    channel.truncate(offset);
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "The chunk exceeds the size of the upload");
+                }
+                if (!HexFormat.of().formatHex(digest.digest()).equalsIgnoreCase(checksum)) {
+                    channel.truncate(offset);
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "The checksum of the chunk doesn't match");
+                }
+                session.advance(written, System.currentTimeMillis() + sessionTtlMillis);
+            } catch (IOException | NoSuchAlgorithmException e) {
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+            }
+        }
+        return session;
+    }
+
+    /**
+     * Completes an upload whose content has been fully received, moving the staging file into the store
+     * and creating the Media. The session and its staging file are only discarded once the Media is added,
+     * so a failed completion can be retried or aborted.
+     * @param projectId the id of the Project of the upload
+     * @param uploadId the id of the upload
+     * @return the Media that was added
+     */
+    public Media completeSession (UUID projectId, UUID uploadId) {
+        UploadSession session = getSession(projectId, uploadId);
+        synchronized (session) {
+            if (session.getOffset() != session.getSize()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "The upload is incomplete, expected a chunk at offset " + session.getOffset());
+            }
+            if (sessions.get(uploadId) != session) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    "No upload with the id " + uploadId + " could be found.");
+            }
+            Path staging = getStagingFile(uploadId);
+            Media media = mediaService.addStagedMediaToProject(projectId, staging, session.getFileName(),
+                session.getName());
+            sessions.remove(uploadId, session);
+            deleteQuietly(staging);
+            return media;
+        }
+    }
+
+    /**
+     * Abandons an upload and deletes its staging file
+     * @param projectId the id of the Project of the upload
+     * @param uploadId the id of the upload
+     */
+    public void abortSession (UUID projectId, UUID uploadId) {
+        UploadSession session = getSession(projectId, uploadId);
+        synchronized (session) {
+            sessions.remove(uploadId, session);
+            deleteQuietly(getStagingFile(uploadId));
+        }
+    }
+
+    /**
+     * Discards the uploads that received no chunk within the session lifetime, and the staging files
+     * left behind by sessions that were lost on a restart
+     */
+    @Scheduled(fixedDelayString = "${media.upload.expiry-interval-ms:600000}")
+    public void expireSessions () {
+        long now = System.currentTimeMillis();
+        for (UploadSession session : sessions.values()) {
+            synchronized (session) {
+                if (session.getExpiresAt() < now && sessions.remove(session.getUploadId(), session)) {
+                    deleteQuietly(getStagingFile(session.getUploadId()));
+                }
+            }
+        }
+        Path directory = mediaHelper.getFilePath(UPLOAD_DIRECTORY);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + STAGING_SUFFIX)) {
+            for (Path file : files) {
+                String id = file.getFileName().toString().replace(STAGING_SUFFIX, "");
+                if (!isSession(id) && Files.getLastModifiedTime(file).toMillis() < now - sessionTtlMillis) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException ignored) {
+            // the staging files are checked again on the next run
+        }
+    }
+
+    /**
+     * Returns the number of uploads in progress
+     * @return the number of sessions
+     */
+    public int getSessionCount () {
+        return sessions.size();
+    }
+
+    /**
+     * Copies a chunk into the staging file, computing its digest on the way
+     * @param content the content of the chunk
+     * @param channel the staging file
+     * @param position the position of the chunk in the file
+     * @param remaining the number of bytes the upload still expects
+     * @param digest the digest updated with the content
+     * @return the number of bytes written, or -1 if the chunk is longer than remaining
+     * @throws IOException if the chunk can't be read or written
+     */
+    private long copy (InputStream content, FileChannel channel, long position, long remaining, MessageDigest digest)
+        throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long written = 0;
+        int read;
+        while ((read = content.read(buffer)) != -1) {
+            if (written + read > remaining) {
+                return -1;
+            }
+            digest.update(buffer, 0, read);
+            ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+            while (chunk.hasRemaining()) {
+                written += channel.write(chunk, position + written);
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Checks whether a staging file name belongs to a live session
+     * @param id the name of the staging file without its suffix
+     * @return true if a session with this id exists
+     */
+    private boolean isSession (String id) {
+        try {
+            return sessions.containsKey(UUID.fromString(id));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the staging file of an upload
+     * @param uploadId the id of the upload
+     * @return the path of the staging file
+     */
+    private Path getStagingFile (UUID uploadId) {
+        return mediaHelper.getFilePath(UPLOAD_DIRECTORY).resolve(uploadId + STAGING_SUFFIX);
+    }
+
+    /**
+     * Deletes a staging file, ignoring failures
+     * @param path the file to be deleted
+     */
+    private void deleteQuietly (Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // leftover staging files are removed by expireSessions
+        }
+    }
+}
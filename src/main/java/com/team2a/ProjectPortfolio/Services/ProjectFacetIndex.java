@@ -0,0 +1,381 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import com.team2a.ProjectPortfolio.Commons.Project;
+import com.team2a.ProjectPortfolio.Repositories.ProjectRepository;
+import com.team2a.ProjectPortfolio.Repositories.ProjectSpecifications;
+import com.team2a.ProjectPortfolio.Repositories.ProjectsToCollaboratorsRepository;
+import com.team2a.ProjectPortfolio.Repositories.TagToProjectRepository;
+import com.team2a.ProjectPortfolio.dto.FacetCount;
+import com.team2a.ProjectPortfolio.dto.ProjectFacetQuery;
+import com.team2a.ProjectPortfolio.dto.ProjectFacetResult;
+import com.team2a.ProjectPortfolio.dto.ProjectSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Service
+public class ProjectFacetIndex {
+
+    private static final int BATCH_SIZE = 500;
+    private static final Comparator<ProjectSummary> TITLE_ORDER = Comparator
+        .comparing(ProjectSummary::getTitle, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(ProjectSummary::getProjectId);
+
+    private final ProjectRepository projectRepository;
+    private final TagToProjectRepository tagToProjectRepository;
+    private final ProjectsToCollaboratorsRepository projectsToCollaboratorsRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final List<ProjectSummary> projects = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+    private final BitSet archived = new BitSet();
+    private final Map<UUID, BitSet> tags = new HashMap<>();
+    private final Map<UUID, BitSet> collaborators = new HashMap<>();
+    private final Map<String, BitSet> templates = new HashMap<>();
+    private volatile boolean ready;
+
+    /**
+     * Constructor
+     * @param projectRepository the project repository
+     * @param tagToProjectRepository the repository of the tags of the projects
+     * @param projectsToCollaboratorsRepository the repository of the collaborators of the projects
+     */
+    @Autowired
+    public ProjectFacetIndex (ProjectRepository projectRepository, TagToProjectRepository tagToProjectRepository,
+                              ProjectsToCollaboratorsRepository projectsToCollaboratorsRepository) {
+        this.projectRepository = projectRepository;
+        this.tagToProjectRepository = tagToProjectRepository;
+        this.projectsToCollaboratorsRepository = projectsToCollaboratorsRepository;
+    }
+
+    /**
+     * Loads the index from the join tables once the application is up. Until it is loaded, queries are
+     * answered with SQL. Changes made while it loads wait for the lock, so they are applied on top of it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild () {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            ordinals.clear();
+            projects.clear();
+            freeOrdinals.clear();
+            live.clear();
+            archived.clear();
+            tags.clear();
+            collaborators.clear();
+            templates.clear();
+            projectRepository.findAllSummaries().forEach(this::putSummary);
+            projectRepository.findAllTemplates()
+                .forEach(t -> assign(templates, t.getTemplateName(), t.getProjectId(), true));
+            tagToProjectRepository.findAllFacets()
+                .forEach(f -> assign(tags, f.getValueId(), f.getProjectId(), true));
+            projectsToCollaboratorsRepository.findAllFacets()
+                .forEach(f -> assign(collaborators, f.getValueId(), f.getProjectId(), true));
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether the index is loaded
+     * @return true if queries are answered from the index
+     */
+    public boolean isReady () {
+        return ready;
+    }
+
+    /**
+     * Adds a created project to the index, or updates the title, archived state and template of a project
+     * @param project the saved project
+     */
+    public void put (Project project) {
+        write(() -> {
+            int ordinal = putSummary(new ProjectSummary(project));
+            templates.values().forEach(bitmap -> bitmap.clear(ordinal));
+            if (project.getTemplate() != null) {
+                assign(templates, project.getTemplate().getTemplateName(), project.getProjectId(), true);
+            }
+        });
+    }
+
+    /**
+     * Removes a deleted project from the index
+     * @param projectId the id of the project
+     */
+    public void remove (UUID projectId) {
+        write(() -> {
+            Integer ordinal = ordinals.remove(projectId);
+            if (ordinal == null) {
+                return;
+            }
+            live.clear(ordinal);
+            archived.clear(ordinal);
+            tags.values().forEach(bitmap -> bitmap.clear(ordinal));
+            collaborators.values().forEach(bitmap -> bitmap.clear(ordinal));
+            templates.values().forEach(bitmap -> bitmap.clear(ordinal));
+            projects.set(ordinal, null);
+            freeOrdinals.push(ordinal);
+        });
+    }
+
+    /**
+     * Records that a tag was added to or removed from a project
+     * @param projectId the id of the project
+     * @param tagId the id of the tag
+     * @param assigned true if the tag was added, false if it was removed
+     */
+    public void setTag (UUID projectId, UUID tagId, boolean assigned) {
+        write(() -> assign(tags, tagId, projectId, assigned));
+    }
+
+    /**
+     * Records that a collaborator was added to or removed from a project
+     * @param projectId the id of the project
+     * @param collaboratorId the id of the collaborator
+     * @param assigned true if the collaborator was added, false if it was removed
+     */
+    public void setCollaborator (UUID projectId, UUID collaboratorId, boolean assigned) {
+        write(() -> assign(collaborators, collaboratorId, projectId, assigned));
+    }
+
+    /**
+     * Removes a deleted tag from all projects
+     * @param tagId the id of the tag
+     */
+    public void deleteTag (UUID tagId) {
+        write(() -> tags.remove(tagId));
+    }
+
+    /**
+     * Removes a deleted collaborator from all projects
+     * @param collaboratorId the id of the collaborator
+     */
+    public void deleteCollaborator (UUID collaboratorId) {
+        write(() -> collaborators.remove(collaboratorId));
+    }
+
+    /**
+     * Removes a deleted template from all projects
+     * @param templateName the name of the template
+     */
+    public void deleteTemplate (String templateName) {
+        write(() -> templates.remove(templateName));
+    }
+
+    /**
+     * Filters the projects by facets. Within the tags and within the collaborators a project must match all of
+     * the values, or any of them if requested; a project matches any of the templates. The facets are combined
+     * with AND. Alongside the page of projects, the matching projects are counted per tag, collaborator and
+     * template. Until the index is loaded the query is answered with SQL.
+     * @param query the facets to filter by and the page
+     * @return the page of matching projects, sorted by title, and the facet counts
+     */
+    public ProjectFacetResult query (ProjectFacetQuery query) {
+        if (!ready) {
+            return queryDatabase(query);
+        }
+        lock.readLock().lock();
+        try {
+            BitSet result = (BitSet) live.clone();
+            if (query.getArchived() != null) {
+                if (query.getArchived()) {
+                    result.and(archived);
+                } else {
+                    result.andNot(archived);
+                }
+            }
+            and(result, match(tags, query.getTag(), query.isAnyTag()));
+            and(result, match(collaborators, query.getCollaborator(), query.isAnyCollaborator()));
+            and(result, match(templates, query.getTemplate(), true));
+            List<ProjectSummary> items = result.stream().mapToObj(projects::get)
+                .sorted(TITLE_ORDER)
+                .skip((long) query.getPage() * query.getSize())
+                .limit(query.getSize())
+                .toList();
+            return new ProjectFacetResult(items, result.cardinality(), count(tags, result),
+                count(collaborators, result), count(templates, result));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Answers a facet query with SQL, used while the index is not loaded
+     * @param query the facets to filter by and the page
+     * @return the page of matching projects, sorted by title, and the facet counts
+     */
+    private ProjectFacetResult queryDatabase (ProjectFacetQuery query) {
+        Specification<Project> specification = Specification.where(null);
+        if (query.getArchived() != null) {
+            specification = specification.and(ProjectSpecifications.hasArchived(query.getArchived()));
+        }
+        if (!query.getTag().isEmpty()) {
+            specification = specification.and(query.isAnyTag()
+                ? ProjectSpecifications.hasAnyTag(query.getTag())
+                : query.getTag().stream().map(ProjectSpecifications::hasTag).reduce(Specification::and).get());
+        }
+        if (!query.getCollaborator().isEmpty()) {
+            specification = specification.and(query.isAnyCollaborator()
+                ? ProjectSpecifications.hasAnyCollaborator(query.getCollaborator())
+                : query.getCollaborator().stream().map(ProjectSpecifications::hasCollaborator)
+                    .reduce(Specification::and).get());
+        }
+        if (!query.getTemplate().isEmpty()) {
+            specification = specification.and(ProjectSpecifications.hasTemplate(query.getTemplate()));
+        }
+        List<Project> matches = projectRepository.findAll(specification, Sort.by("title", "projectId"));
+        List<UUID> projectIds = matches.stream().map(Project::getProjectId).toList();
+        Map<UUID, Long> tagCounts = new HashMap<>();
+        Map<UUID, Long> collaboratorCounts = new HashMap<>();
+        for (int i = 0; i < projectIds.size(); i += BATCH_SIZE) {
+            List<UUID> batch = projectIds.subList(i, Math.min(i + BATCH_SIZE, projectIds.size()));
+            addCounts(tagCounts, tagToProjectRepository.countFacetsByProjectIds(batch));
+            addCounts(collaboratorCounts, projectsToCollaboratorsRepository.countFacetsByProjectIds(batch));
+        }
+        Map<String, Long> templateCounts = matches.stream()
+            .filter(project -> project.getTemplate() != null)
+            .collect(Collectors.groupingBy(project -> project.getTemplate().getTemplateName(), Collectors.counting()));
+        List<ProjectSummary> items = matches.stream()
+            .skip((long) query.getPage() * query.getSize())
+            .limit(query.getSize())
+            .map(ProjectSummary::new)
+            .toList();
+        return new ProjectFacetResult(items, matches.size(), tagCounts, collaboratorCounts, templateCounts);
+    }
+
+    /**
+     * Runs a change of the index while holding the write lock
+     * @param change the change
+     */
+    private void write (Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stores the summary of a project, giving it an ordinal if it is new. Ordinals of deleted projects are
+     * reused, which keeps the bitmaps as small as the number of projects.
+     * @param project the summary of the project
+     * @return the ordinal of the project
+     */
+    private int putSummary (ProjectSummary project) {
+        int ordinal = ordinals.computeIfAbsent(project.getProjectId(), id -> {
+            if (!freeOrdinals.isEmpty()) {
+                return freeOrdinals.pop();
+            }
+            projects.add(null);
+            return projects.size() - 1;
+        });
+        projects.set(ordinal, project);
+        live.set(ordinal);
+        archived.set(ordinal, Boolean.TRUE.equals(project.getArchived()));
+        return ordinal;
+    }
+
+    /**
+     * Sets or clears the bit of a project in the bitmap of a facet value. Projects that are not indexed,
+     * because they were deleted concurrently, are ignored.
+     * @param facet the bitmaps of the facet
+     * @param value the facet value
+     * @param projectId the id of the project
+     * @param assigned true to set the bit, false to clear it
+     * @param <K> the type of the facet values
+     */
+    private <K> void assign (Map<K, BitSet> facet, K value, UUID projectId, boolean assigned) {
+        Integer ordinal = ordinals.get(projectId);
+        if (ordinal == null) {
+            return;
+        }
+        if (assigned) {
+            facet.computeIfAbsent(value, v -> new BitSet()).set(ordinal);
+        } else if (facet.containsKey(value)) {
+            facet.get(value).clear(ordinal);
+        }
+    }
+
+    /**
+     * Combines the bitmaps of the requested values of a facet
+     * @param facet the bitmaps of the facet
+     * @param values the requested values
+     * @param any true to match projects having any of the values, false to match those having all of them
+     * @param <K> the type of the facet values
+     * @return the projects matching the facet, or null if no value was requested
+     */
+    private <K> BitSet match (Map<K, BitSet> facet, Collection<K> values, boolean any) {
+        BitSet matches = null;
+        for (K value : values) {
+            BitSet bitmap = facet.getOrDefault(value, new BitSet());
+            if (matches == null) {
+                matches = (BitSet) bitmap.clone();
+            } else if (any) {
+                matches.or(bitmap);
+            } else {
+                matches.and(bitmap);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Restricts the result to the projects matching a facet
+     * @param result the result
+     * @param matches the projects matching the facet, or null if the facet is not filtered on
+     */
+    private void and (BitSet result, BitSet matches) {
+        if (matches != null) {
+            result.and(matches);
+        }
+    }
+
+    /**
+     * Counts the projects of the result per facet value, leaving out the values no project of the result has
+     * @param facet the bitmaps of the facet
+     * @param result the matching projects
+     * @param <K> the type of the facet values
+     * @return the number of matching projects per value
+     */
+    private <K> Map<K, Long> count (Map<K, BitSet> facet, BitSet result) {
+        Map<K, Long> counts = new HashMap<>();
+        facet.forEach((value, bitmap) -> {
+            BitSet intersection = (BitSet) bitmap.clone();
+            intersection.and(result);
+            if (!intersection.isEmpty()) {
+                counts.put(value, (long) intersection.cardinality());
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * Adds the counts of a batch of projects to the totals
+     * @param totals the number of projects per value
+     * @param counts the counts of the batch
+     */
+    private void addCounts (Map<UUID, Long> totals, List<FacetCount> counts) {
+        counts.forEach(count -> totals.merge(count.getValueId(), count.getCount(), Long::sum));
+    }
+}
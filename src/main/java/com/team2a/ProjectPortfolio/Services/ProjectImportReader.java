@@ -0,0 +1,299 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.team2a.ProjectPortfolio.Commons.Link;
+import com.team2a.ProjectPortfolio.dto.CollaboratorTransfer;
+import com.team2a.ProjectPortfolio.dto.ProjectImportRow;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the rows of a project import one at a time, so an import of any size is never held in memory.
+ * NDJSON imports have one JSON object per line. CSV imports start with a header naming the columns, the tags,
+ * collaborators and links of a row being separated by ; and a collaborator or link being written name|role
+ * or name|url.
+ */
+public class ProjectImportReader {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+
+    public static final List<String> CSV_COLUMNS =
+        List.of("title", "description", "archived", "template", "tags", "collaborators", "links");
+
+    private static final String LIST_SEPARATOR = ";";
+    private static final String PAIR_SEPARATOR = "|";
+
+    public enum Format {
+        NDJSON,
+        CSV;
+
+        /**
+         * Returns the format of an import
+         * @param contentType the content type of the import
+         * @return the format
+         * @throws ResponseStatusException(415) if the content type is neither NDJSON nor CSV
+         */
+        public static Format of (String contentType) {
+            MediaType mediaType = contentType == null ? null : MediaType.parseMediaType(contentType);
+            if (mediaType != null && MediaType.APPLICATION_NDJSON.includes(mediaType)) {
+                return NDJSON;
+            }
+            if (mediaType != null && TEXT_CSV.includes(mediaType)) {
+                return CSV;
+            }
+            throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                "Projects are imported from " + MediaType.APPLICATION_NDJSON_VALUE + " or " + TEXT_CSV_VALUE);
+        }
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectReader rowReader;
+    private Map<String, Integer> columns;
+    private long line;
+    private long rowLine;
+
+    /**
+     * Constructor
+     * @param reader the content of the import
+     * @param format the format of the import
+     * @param objectMapper the object mapper reading the NDJSON rows
+     */
+    public ProjectImportReader (BufferedReader reader, Format format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.rowReader = objectMapper.readerFor(ProjectImportRow.class);
+    }
+
+    /**
+     * Returns the line at which the last read row starts
+     * @return the line, starting at 1
+     */
+    public long getLine () {
+        return rowLine;
+    }
+
+    /**
+     * Reads the next row of the import
+     * @return the row, null at the end of the import
+     * @throws IllegalArgumentException if the row is malformed, the next read continuing with the next row
+     * @throws ResponseStatusException(400) if the header of a CSV import is invalid
+     * @throws IOException if the import could not be read
+     */
+    public ProjectImportRow read () throws IOException {
+        ProjectImportRow row = format == Format.NDJSON ? readJson() : readCsv();
+        if (row != null) {
+            row.setLine(rowLine);
+        }
+        return row;
+    }
+
+    /**
+     * Reads the next non-blank line of an NDJSON import
+     * @return the row, null at the end of the import
+     */
+    private ProjectImportRow readJson () throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            rowLine = ++line;
+        } while (text.isBlank());
+        try {
+            ProjectImportRow row = rowReader.readValue(text);
+            if (row == null) {
+                throw new IllegalArgumentException("Expected a JSON object");
+            }
+            return row;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Reads the next non-blank record of a CSV import, reading the header first
+     * @return the row, null at the end of the import
+     */
+    private ProjectImportRow readCsv () throws IOException {
+        if (columns == null) {
+            readHeader();
+        }
+        List<String> record;
+        do {
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isBlank());
+        if (record.size() != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " fields but found " + record.size());
+        }
+        ProjectImportRow row = new ProjectImportRow();
+        row.setTitle(field(record, "title"));
+        row.setDescription(field(record, "description"));
+        row.setArchived(parseArchived(field(record, "archived")));
+        row.setTemplate(field(record, "template"));
+        for (String tag : split(field(record, "tags"))) {
+            row.getTags().add(tag);
+        }
+        for (String collaborator : split(field(record, "collaborators"))) {
+            String[] pair = splitPair(collaborator, "Collaborators must be written name|role");
+            row.getCollaborators().add(new CollaboratorTransfer(null, pair[0], pair[1]));
+        }
+        for (String link : split(field(record, "links"))) {
+            String[] pair = splitPair(link, "Links must be written name|url");
+            row.getLinks().add(new Link(pair[0], pair[1]));
+        }
+        return row;
+    }
+
+    /**
+     * Reads the header of a CSV import
+     * @throws ResponseStatusException(400) if a column is unknown or the title or description is missing
+     */
+    private void readHeader () throws IOException {
+        List<String> header;
+        try {
+            header = readRecord();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed CSV header: " + e.getMessage());
+        }
+        columns = new HashMap<>();
+        if (header == null) {
+            return;
+        }
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).trim().toLowerCase();
+            if (!CSV_COLUMNS.contains(column) || columns.put(column, i) != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "The CSV columns must be distinct columns out of " + CSV_COLUMNS);
+            }
+        }
+        if (!columns.containsKey("title") || !columns.containsKey("description")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "The CSV header must name the title and description columns");
+        }
+    }
+
+    /**
+     * Reads a CSV record, whose quoted fields may contain separators, line breaks and doubled quotes
+     * @return the fields of the record, null at the end of the import
+     * @throws IllegalArgumentException if a quoted field is not closed
+     */
+    private List<String> readRecord () throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        rowLine = ++line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("A quoted field is not closed");
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    /**
+     * Returns a field of a CSV record
+     * @param record the fields of the record
+     * @param column the column of the field
+     * @return the trimmed field, null if it is empty or the import has no such column
+     */
+    private String field (List<String> record, String column) {
+        Integer index = columns.get(column);
+        if (index == null || record.get(index).isBlank()) {
+            return null;
+        }
+        return record.get(index).trim();
+    }
+
+    /**
+     * Parses the archived field of a CSV record
+     * @param archived the field
+     * @return the archived state, null if the field is empty
+     */
+    private static Boolean parseArchived (String archived) {
+        if (archived == null) {
+            return null;
+        }
+        if (!archived.equalsIgnoreCase("true") && !archived.equalsIgnoreCase("false")) {
+            throw new IllegalArgumentException("archived must be true or false");
+        }
+        return Boolean.parseBoolean(archived);
+    }
+
+    /**
+     * Splits a list field of a CSV record
+     * @param field the field
+     * @return the trimmed non-blank items of the list
+     */
+    private static List<String> split (String field) {
+        List<String> items = new ArrayList<>();
+        if (field != null) {
+            for (String item : field.split(LIST_SEPARATOR)) {
+                if (!item.isBlank()) {
+                    items.add(item.trim());
+                }
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Splits an item of a list field in two at its first |
+     * @param item the item
+     * @param message the error if the item has no |
+     * @return the trimmed parts of the item
+     */
+    private static String[] splitPair (String item, String message) {
+        int separator = item.indexOf(PAIR_SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException(message);
+        }
+        return new String[] {item.substring(0, separator).trim(), item.substring(separator + 1).trim()};
+    }
+}
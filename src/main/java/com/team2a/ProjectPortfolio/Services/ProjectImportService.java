@@ -0,0 +1,196 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.team2a.ProjectPortfolio.Commons.Link;
+import com.team2a.ProjectPortfolio.Commons.Project;
+import com.team2a.ProjectPortfolio.dto.ProjectImportError;
+import com.team2a.ProjectPortfolio.dto.ProjectImportReport;
+import com.team2a.ProjectPortfolio.dto.ProjectImportRow;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class ProjectImportService {
+
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final ProjectImportWriter projectImportWriter;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ProjectSearchIndex projectSearchIndex;
+    private final ProjectFacetIndex projectFacetIndex;
+    private final int chunkSize;
+
+    /**
+     * Constructor
+     * @param projectImportWriter the writer of the chunks of the imports
+     * @param objectMapper the object mapper reading the NDJSON rows
+     * @param validator the validator of the rows
+     * @param projectSearchIndex the full-text index of the projects
+     * @param projectFacetIndex the index of the tags, collaborators and templates of the projects
+     * @param chunkSize the number of rows inserted per transaction
+     */
+    @Autowired
+    public ProjectImportService (ProjectImportWriter projectImportWriter, ObjectMapper objectMapper,
+                                 Validator validator, ProjectSearchIndex projectSearchIndex,
+                                 ProjectFacetIndex projectFacetIndex,
+                                 @Value("${project.import.chunk-size:500}") int chunkSize) {
+        this.projectImportWriter = projectImportWriter;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.projectSearchIndex = projectSearchIndex;
+        this.projectFacetIndex = projectFacetIndex;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports Projects from a stream of rows. The rows are read and validated one at a time and inserted in
+     * chunks of chunkSize rows, each in its own transaction, so the imported chunks stay imported if a later
+     * chunk fails. A row that cannot be imported is reported and the import goes on with the next row.
+     * @param content the rows of the import
+     * @param contentType the content type of the import, NDJSON or CSV
+     * @return the number of imported projects and the errors of the rows that were not imported
+     * @throws org.springframework.web.server.ResponseStatusException(415) if the content type is not supported
+     * @throws org.springframework.web.server.ResponseStatusException(400) if the header of a CSV import is invalid
+     */
+    public ProjectImportReport importProjects (InputStream content, String contentType) {
+        ProjectImportReader reader = new ProjectImportReader(
+            new BufferedReader(new InputStreamReader(content, StandardCharsets.UTF_8)),
+            ProjectImportReader.Format.of(contentType), objectMapper);
+        Progress progress = new Progress();
+        List<ProjectImportRow> chunk = new ArrayList<>(chunkSize);
+        try {
+            for (ProjectImportRow row = next(reader, progress); row != null; row = next(reader, progress)) {
+                String error = validate(row);
+                if (error != null) {
+                    progress.fail(new ProjectImportError(row.getLine(), error));
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    write(chunk, progress);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            progress.fail(new ProjectImportError(reader.getLine(), "The import could not be read: " + e.getMessage()));
+        }
+        write(chunk, progress);
+        progress.errors.sort(Comparator.comparingLong(ProjectImportError::getLine));
+        return new ProjectImportReport(progress.imported, progress.failed, progress.errors);
+    }
+
+    /**
+     * Reads the next well-formed row of an import, reporting the malformed ones
+     * @param reader the reader of the import
+     * @param progress the progress of the import
+     * @return the row, null at the end of the import
+     */
+    private ProjectImportRow next (ProjectImportReader reader, Progress progress) throws IOException {
+        while (true) {
+            try {
+                return reader.read();
+            } catch (IllegalArgumentException e) {
+                progress.fail(new ProjectImportError(reader.getLine(), e.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Validates a row as a created project is validated
+     * @param row the row
+     * @return the violations of the row, null if it is valid
+     */
+    private String validate (ProjectImportRow row) {
+        Set<ConstraintViolation<ProjectImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(v -> v.getPropertyPath() + ": " + v.getMessage()).sorted()
+                .collect(Collectors.joining(", "));
+        }
+        for (Link link : row.getLinks()) {
+            if (link.getName() == null || link.getName().isBlank() || link.getUrl() == null || link.getUrl().isBlank()) {
+                return "links: the name and url of a link are required";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Inserts a chunk and adds the imported projects to the indexes. If the chunk fails, for instance because
+     * a project with the same title and description was created concurrently, its rows are inserted one at a
+     * time so only the failing rows are lost.
+     * @param chunk the valid rows
+     * @param progress the progress of the import
+     */
+    private void write (List<ProjectImportRow> chunk, Progress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            record(projectImportWriter.write(chunk), progress);
+        } catch (DataAccessException | PersistenceException | TransactionException e) {
+            if (chunk.size() == 1) {
+                progress.fail(new ProjectImportError(chunk.get(0).getLine(), "The project could not be saved"));
+                return;
+            }
+            for (ProjectImportRow row : chunk) {
+                write(List.of(row), progress);
+            }
+        }
+    }
+
+    /**
+     * Records the outcome of a committed chunk
+     * @param result the outcome of the chunk
+     * @param progress the progress of the import
+     */
+    private void record (ProjectImportWriter.Result result, Progress progress) {
+        result.getErrors().forEach(progress::fail);
+        for (Project project : result.getImported()) {
+            projectSearchIndex.index(project);
+            projectFacetIndex.put(project);
+            project.getTagsToProjects().forEach(tagToProject ->
+                projectFacetIndex.setTag(project.getProjectId(), tagToProject.getTag().getTagId(), true));
+            project.getProjectsToCollaborators().forEach(projectToCollaborator ->
+                projectFacetIndex.setCollaborator(project.getProjectId(),
+                    projectToCollaborator.getCollaborator().getCollaboratorId(), true));
+            progress.imported++;
+        }
+    }
+
+    /**
+     * The counters of an import and the errors of its first failed rows
+     */
+    private static class Progress {
+
+        private long imported;
+
+        private long failed;
+
+        private final List<ProjectImportError> errors = new ArrayList<>();
+
+        private void fail (ProjectImportError error) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+    }
+}
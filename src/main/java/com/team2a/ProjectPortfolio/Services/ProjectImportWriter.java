@@ -0,0 +1,228 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import com.team2a.ProjectPortfolio.Commons.Account;
+import com.team2a.ProjectPortfolio.Commons.Collaborator;
+import com.team2a.ProjectPortfolio.Commons.Link;
+import com.team2a.ProjectPortfolio.Commons.Project;
+import com.team2a.ProjectPortfolio.Commons.ProjectsToAccounts;
+import com.team2a.ProjectPortfolio.Commons.ProjectsToCollaborators;
+import com.team2a.ProjectPortfolio.Commons.RoleInProject;
+import com.team2a.ProjectPortfolio.Commons.Tag;
+import com.team2a.ProjectPortfolio.Commons.TagsToProject;
+import com.team2a.ProjectPortfolio.Commons.Template;
+import com.team2a.ProjectPortfolio.dto.CollaboratorTransfer;
+import com.team2a.ProjectPortfolio.dto.ProjectImportError;
+import com.team2a.ProjectPortfolio.dto.ProjectImportRow;
+import com.team2a.ProjectPortfolio.security.SecurityUtils;
+import jakarta.persistence.EntityManager;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class ProjectImportWriter {
+
+    public static final String DEFAULT_TAG_COLOR = "grey";
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final SecurityUtils securityUtils;
+
+    /**
+     * Constructor
+     * @param entityManager the entity manager
+     * @param transactionManager the transaction manager
+     * @param securityUtils the security utils
+     */
+    @Autowired
+    public ProjectImportWriter (EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                SecurityUtils securityUtils) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.securityUtils = securityUtils;
+    }
+
+    /**
+     * Inserts a chunk of valid rows in one transaction, owned by the current user as created projects are.
+     * The duplicates, templates, tags and collaborators of the whole chunk are looked up with one query each
+     * and the inserts are sent in JDBC batches, instead of a duplicate check and single-row inserts per project.
+     * Rows that duplicate a project or name an unknown template are reported instead of inserted, missing
+     * tags and collaborators are created.
+     * @param rows the rows
+     * @return the imported projects, with their links, tags and collaborators, and the rejected rows
+     */
+    public Result write (List<ProjectImportRow> rows) {
+        String owner = securityUtils.getCurrentUser().getUsername();
+        return transactionTemplate.execute(status -> insert(rows, owner));
+    }
+
+    /**
+     * Inserts a chunk of rows in the current transaction
+     * @param rows the rows
+     * @param owner the username of the project manager of the projects
+     * @return the imported projects and the rejected rows
+     */
+    private Result insert (List<ProjectImportRow> rows, String owner) {
+        Result result = new Result();
+        Map<String, ProjectImportRow> unique = new LinkedHashMap<>();
+        for (ProjectImportRow row : rows) {
+            if (unique.putIfAbsent(Project.contentHash(row.getTitle(), row.getDescription()), row) != null) {
+                result.getErrors().add(duplicate(row));
+            }
+        }
+        Set<String> existing = new HashSet<>(select("SELECT p.contentHash FROM Project p WHERE p.contentHash IN :keys",
+            String.class, unique.keySet()));
+        Map<String, Template> templates = selectByKey("SELECT t FROM Template t WHERE t.templateName IN :keys",
+            Template.class, rows.stream().map(ProjectImportRow::getTemplate), Template::getTemplateName);
+        Map<String, Tag> tags = selectByKey("SELECT t FROM Tag t WHERE t.name IN :keys",
+            Tag.class, rows.stream().flatMap(row -> row.getTags().stream()), Tag::getName);
+        Map<String, Collaborator> collaborators = selectByKey("SELECT c FROM Collaborator c WHERE c.name IN :keys",
+            Collaborator.class, rows.stream().flatMap(row -> row.getCollaborators().stream())
+                .map(CollaboratorTransfer::getName), Collaborator::getName);
+        Account account = entityManager.getReference(Account.class, owner);
+
+        for (Map.Entry<String, ProjectImportRow> entry : unique.entrySet()) {
+            ProjectImportRow row = entry.getValue();
+            if (existing.contains(entry.getKey())) {
+                result.getErrors().add(duplicate(row));
+                continue;
+            }
+            Template template = row.getTemplate() == null ? null : templates.get(row.getTemplate());
+            if (row.getTemplate() != null && template == null) {
+                result.getErrors().add(new ProjectImportError(row.getLine(),
+                    "Template " + row.getTemplate() + " does not exist"));
+                continue;
+            }
+            result.getImported().add(persist(row, template, account, tags, collaborators));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return result;
+    }
+
+    /**
+     * Persists the project of a row with its project manager, tags, collaborators and links. The tags and
+     * collaborators are kept on the project, so the indexes can be updated once the chunk is committed.
+     * @param row the row
+     * @param template the template of the project, null if it has none
+     * @param account the project manager of the project
+     * @param tags the tags of the chunk by name, to which the created tags are added
+     * @param collaborators the collaborators of the chunk by name, to which the created collaborators are added
+     * @return the persisted project
+     */
+    private Project persist (ProjectImportRow row, Template template, Account account, Map<String, Tag> tags,
+                             Map<String, Collaborator> collaborators) {
+        Project project = new Project(row.getTitle(), row.getDescription(), Boolean.TRUE.equals(row.getArchived()),
+            template);
+        entityManager.persist(project);
+        entityManager.persist(new ProjectsToAccounts(RoleInProject.PM, account, project));
+        for (String name : new LinkedHashSet<>(row.getTags())) {
+            TagsToProject tagToProject = new TagsToProject(tags.computeIfAbsent(name, this::createTag), project);
+            entityManager.persist(tagToProject);
+            project.getTagsToProjects().add(tagToProject);
+        }
+        for (CollaboratorTransfer transfer : row.getCollaborators()) {
+            Collaborator collaborator = collaborators.computeIfAbsent(transfer.getName(), this::createCollaborator);
+            ProjectsToCollaborators projectToCollaborator =
+                new ProjectsToCollaborators(project, collaborator, transfer.getRole());
+            entityManager.persist(projectToCollaborator);
+            project.getProjectsToCollaborators().add(projectToCollaborator);
+        }
+        for (Link source : row.getLinks()) {
+            Link link = new Link(source.getName(), source.getUrl());
+            link.setProject(project);
+            entityManager.persist(link);
+            project.getLinks().add(link);
+        }
+        return project;
+    }
+
+    /**
+     * Returns the error of a row that duplicates a project
+     * @param row the row
+     * @return the error
+     */
+    private ProjectImportError duplicate (ProjectImportRow row) {
+        return new ProjectImportError(row.getLine(), "A project with the same title and description already exists");
+    }
+
+    /**
+     * Creates a tag named in an import
+     * @param name the name of the tag
+     * @return the persisted tag
+     */
+    private Tag createTag (String name) {
+        Tag tag = new Tag(name, DEFAULT_TAG_COLOR);
+        entityManager.persist(tag);
+        return tag;
+    }
+
+    /**
+     * Creates a collaborator named in an import
+     * @param name the name of the collaborator
+     * @return the persisted collaborator
+     */
+    private Collaborator createCollaborator (String name) {
+        Collaborator collaborator = new Collaborator(name);
+        entityManager.persist(collaborator);
+        return collaborator;
+    }
+
+    /**
+     * Runs a query with the distinct non-null keys of a chunk as the keys parameter
+     * @param query the JPQL query
+     * @param type the type of the results
+     * @param keys the keys
+     * @param <T> the type of the results
+     * @return the results, empty without running the query if there are no keys
+     */
+    private <T> List<T> select (String query, Class<T> type, Collection<String> keys) {
+        Set<String> distinct = keys.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (distinct.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return entityManager.createQuery(query, type).setParameter("keys", distinct).getResultList();
+    }
+
+    /**
+     * Runs a query with the distinct non-null keys of a chunk and maps the results by key
+     * @param query the JPQL query
+     * @param type the type of the results
+     * @param keys the keys
+     * @param key the key of a result
+     * @param <T> the type of the results
+     * @return the first result of every key
+     */
+    private <T> Map<String, T> selectByKey (String query, Class<T> type, Stream<String> keys,
+                                            Function<T, String> key) {
+        return select(query, type, keys.toList()).stream()
+            .collect(Collectors.toMap(key, Function.identity(), (first, second) -> first, LinkedHashMap::new));
+    }
+
+    /**
+     * The outcome of a chunk of an import
+     */
+    public static class Result {
+
+        @Getter
+        private final List<Project> imported = new ArrayList<>();
+
+        @Getter
+        private final List<ProjectImportError> errors = new ArrayList<>();
+    }
+}
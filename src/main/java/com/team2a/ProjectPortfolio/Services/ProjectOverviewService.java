@@ -0,0 +1,79 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import com.team2a.ProjectPortfolio.Commons.Account;
+import com.team2a.ProjectPortfolio.Commons.Role;
+import com.team2a.ProjectPortfolio.Commons.RoleInProject;
+import com.team2a.ProjectPortfolio.Repositories.MediaRepository;
+import com.team2a.ProjectPortfolio.Repositories.ProjectsToAccountsRepository;
+import com.team2a.ProjectPortfolio.Repositories.TemplateRepository;
+import com.team2a.ProjectPortfolio.Routes;
+import com.team2a.ProjectPortfolio.dto.MediaSummary;
+import com.team2a.ProjectPortfolio.dto.ProjectOverview;
+import com.team2a.ProjectPortfolio.dto.ProjectView;
+import com.team2a.ProjectPortfolio.dto.TemplateSummary;
+import com.team2a.ProjectPortfolio.security.SecurityUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class ProjectOverviewService {
+
+    private final ProjectViewService projectViewService;
+    private final ProjectReadCache projectReadCache;
+    private final MediaRepository mediaRepository;
+    private final ProjectsToAccountsRepository projectsToAccountsRepository;
+    private final TemplateRepository templateRepository;
+    private final SecurityUtils securityUtils;
+
+    /**
+     * Constructor
+     * @param projectViewService the service of the views of the projects
+     * @param projectReadCache the cache of the public reads of the projects
+     * @param mediaRepository the media repository
+     * @param projectsToAccountsRepository the repository of the roles of the accounts in the projects
+     * @param templateRepository the template repository
+     * @param securityUtils the security utils, which return the user of the request
+     */
+    @Autowired
+    public ProjectOverviewService (ProjectViewService projectViewService, ProjectReadCache projectReadCache,
+                                   MediaRepository mediaRepository,
+                                   ProjectsToAccountsRepository projectsToAccountsRepository,
+                                   TemplateRepository templateRepository, SecurityUtils securityUtils) {
+        this.projectViewService = projectViewService;
+        this.projectReadCache = projectReadCache;
+        this.mediaRepository = mediaRepository;
+        this.projectsToAccountsRepository = projectsToAccountsRepository;
+        this.templateRepository = templateRepository;
+        this.securityUtils = securityUtils;
+    }
+
+    /**
+     * Returns everything the page of a Project shows, in a fixed number of queries: the cached view of the
+     * project, its media, the highest role of the current user in it and its template with the additions
+     * @param projectId the id of the project
+     * @return the overview of the project
+     * @throws org.springframework.web.server.ResponseStatusException(404) if the project does not exist
+     */
+    public ProjectOverview getProjectOverview (UUID projectId) {
+        ProjectView project = projectReadCache.get(ProjectReadCache.Region.PROJECT, projectId,
+            () -> projectViewService.getProjectView(projectId));
+        List<MediaSummary> media = mediaRepository.findAllByProjectProjectId(projectId).stream()
+            .map(m -> new MediaSummary(m, Routes.MEDIA + "/public/file/raw/" + m.getMediaId()))
+            .toList();
+
+        Account caller = securityUtils.getCurrentUser();
+        if (caller == null) {
+            return new ProjectOverview(project, media, null, null);
+        }
+        RoleInProject role = projectsToAccountsRepository
+            .findRolesByUsernameAndProjectId(caller.getUsername(), projectId).stream()
+            .min(Comparator.naturalOrder()).orElse(null);
+        TemplateSummary template = role == null && caller.getRole() != Role.ROLE_ADMIN ? null
+            : templateRepository.findWithAdditionsByProjectId(projectId).map(TemplateSummary::new).orElse(null);
+        return new ProjectOverview(project, media, template, role);
+    }
+}
@@ -0,0 +1,163 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import com.team2a.ProjectPortfolio.dto.ProjectCacheStats;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ProjectReadCache {
+
+    /**
+     * The reads of a project that are cached, each keyed by the id of the project
+     */
+    public enum Region {
+        PROJECT, TAGS, COLLABORATORS, LINKS
+    }
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Map<Region, LinkedHashMap<UUID, Entry>> regions = new EnumMap<>(Region.class);
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Constructor
+     * @param ttlMillis the time after which a cached read is loaded again, which bounds the staleness
+     *                  of data changed without a broadcast
+     * @param maxEntries the number of projects cached per region, 0 disables the cache
+     */
+    public ProjectReadCache (@Value("${project.cache.ttl-ms:60000}") long ttlMillis,
+                             @Value("${project.cache.max-entries:1000}") int maxEntries) {
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        for (Region region : Region.values()) {
+            regions.put(region, new LinkedHashMap<>(16, 0.75f, true));
+        }
+    }
+
+    /**
+     * Returns a cached read of a project, loading and caching it on a miss. A value loaded while the
+     * region was invalidated is returned but not cached, since it may predate the change.
+     * @param region the region of the read
+     * @param projectId the id of the project
+     * @param loader loads the value from the database, its exceptions are passed on and nothing is cached
+     * @param <T> the type of the value
+     * @return the value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get (Region region, UUID projectId, Supplier<T> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Map<UUID, Entry> entries = regions.get(region);
+            Entry entry = entries.get(projectId);
+            if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+                hits++;
+                return (T) entry.value;
+            }
+            if (entry != null) {
+                entries.remove(projectId);
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+        T value = loader.get();
+        synchronized (this) {
+            if (maxEntries > 0 && generation == loadGeneration) {
+                Map<UUID, Entry> entries = regions.get(region);
+                entries.put(projectId, new Entry(value, System.currentTimeMillis() + ttlMillis));
+                Iterator<UUID> eldest = entries.keySet().iterator();
+                while (entries.size() > maxEntries) {
+                    eldest.next();
+                    eldest.remove();
+                    evictions++;
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Removes a read of a project. The project region holds the whole project, so it is removed as well.
+     * @param region the region of the read
+     * @param projectId the id of the project
+     */
+    public synchronized void invalidate (Region region, UUID projectId) {
+        generation++;
+        invalidations++;
+        regions.get(region).remove(projectId);
+        regions.get(Region.PROJECT).remove(projectId);
+    }
+
+    /**
+     * Removes a read of all projects, after a change shared by several projects such as a renamed tag
+     * @param region the region of the read
+     */
+    public synchronized void invalidateAll (Region region) {
+        generation++;
+        invalidations++;
+        regions.get(region).clear();
+        regions.get(Region.PROJECT).clear();
+    }
+
+    /**
+     * Removes all reads of a project
+     * @param projectId the id of the project
+     */
+    public synchronized void invalidateProject (UUID projectId) {
+        generation++;
+        invalidations++;
+        regions.values().forEach(entries -> entries.remove(projectId));
+    }
+
+    /**
+     * Invalidates a region from a change broadcast. The broadcasts end with the id of the changed project,
+     * any other message is a change that may affect all projects.
+     * @param region the region of the read, or PROJECT for all reads of the project
+     * @param message the broadcast message
+     */
+    public void invalidate (Region region, String message) {
+        UUID projectId = null;
+        if (message != null) {
+            try {
+                projectId = UUID.fromString(message.substring(message.lastIndexOf(' ') + 1));
+            } catch (IllegalArgumentException ignored) {
+                // not about a single project
+            }
+        }
+        if (projectId == null) {
+            invalidateAll(region);
+        } else if (region == Region.PROJECT) {
+            invalidateProject(projectId);
+        } else {
+            invalidate(region, projectId);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache counters
+     * @return the hits, misses, evictions, invalidations and size of the cache
+     */
+    public synchronized ProjectCacheStats getStats () {
+        int entries = regions.values().stream().mapToInt(Map::size).sum();
+        return new ProjectCacheStats(hits, misses, evictions, invalidations, entries, maxEntries);
+    }
+
+    private static class Entry {
+        private final Object value;
+        private final long expiresAt;
+
+        Entry (Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import com.team2a.ProjectPortfolio.Commons.Project;
+import com.team2a.ProjectPortfolio.Repositories.ProjectRepository;
+import com.team2a.ProjectPortfolio.dto.ProjectSearchHit;
+import com.team2a.ProjectPortfolio.dto.ProjectSearchResult;
+import com.team2a.ProjectPortfolio.dto.ProjectSummary;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+@Service
+public class ProjectSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double TITLE_WEIGHT = 3.0;
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final ProjectRepository projectRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Document> documents = new HashMap<>();
+    private final NavigableMap<String, Map<UUID, int[]>> postings = new TreeMap<>();
+    private long totalTitleLength;
+    private long totalDescriptionLength;
+
+    /**
+     * Constructor
+     * @param projectRepository the project repository, from which the index is built
+     */
+    @Autowired
+    public ProjectSearchIndex (ProjectRepository projectRepository) {
+        this.projectRepository = projectRepository;
+    }
+
+    /**
+     * Rebuilds the index from the PROJECT table. Runs once before the application serves requests,
+     * after which the index is kept up to date by ProjectService.
+     */
+    @PostConstruct
+    public void rebuild () {
+        List<ProjectSummary> projects = projectRepository.findAllSummaries();
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            totalTitleLength = 0;
+            totalDescriptionLength = 0;
+            projects.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a created project to the index, or replaces the indexed text of an updated project
+     * @param project the saved project
+     */
+    public void index (Project project) {
+        ProjectSummary summary = new ProjectSummary(project);
+        lock.writeLock().lock();
+        try {
+            remove(summary.getProjectId());
+            add(summary);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a deleted project from the index
+     * @param projectId the id of the project
+     */
+    public void delete (UUID projectId) {
+        lock.writeLock().lock();
+        try {
+            remove(projectId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the titles and descriptions of the projects. Projects matching any of the words of the query are
+     * ranked with BM25, a match in the title weighing more than one in the description. The last word also
+     * matches the words it is a prefix of, with a lower weight, so results can be shown while the user types.
+     * @param query the words to search for
+     * @param page the index of the page, starting at 0
+     * @param size the maximum number of projects on the page
+     * @return the page of matching projects, best match first, and the total number of matches
+     */
+    public ProjectSearchResult search (String query, int page, int size) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return new ProjectSearchResult(List.of(), 0);
+        }
+        lock.readLock().lock();
+        try {
+            Map<UUID, Double> scores = new HashMap<>();
+            String last = terms.get(terms.size() - 1);
+            for (String term : new LinkedHashSet<>(terms.subList(0, terms.size() - 1))) {
+                Map<UUID, int[]> posting = postings.get(term);
+                if (posting != null) {
+                    posting.forEach((id, frequencies) -> scores.merge(id, score(posting.size(), id, frequencies),
+                        Double::sum));
+                }
+            }
+            Map<UUID, Double> lastScores = new HashMap<>();
+            postings.subMap(last, true, last + Character.MAX_VALUE, false).entrySet().stream()
+                .limit(MAX_PREFIX_EXPANSIONS)
+                .forEach(entry -> {
+                    double weight = entry.getKey().equals(last) ? 1 : PREFIX_WEIGHT;
+                    Map<UUID, int[]> posting = entry.getValue();
+                    posting.forEach((id, frequencies) -> lastScores.merge(id,
+                        weight * score(posting.size(), id, frequencies), Math::max));
+                });
+            lastScores.forEach((id, score) -> scores.merge(id, score, Double::sum));
+            List<ProjectSearchHit> items = scores.entrySet().stream()
+                .map(entry -> new ProjectSearchHit(documents.get(entry.getKey()).project, entry.getValue()))
+                .sorted(Comparator.comparingDouble(ProjectSearchHit::getScore).reversed()
+                    .thenComparing(ProjectSearchHit::getTitle, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(ProjectSearchHit::getProjectId))
+                .skip((long) page * size)
+                .limit(size)
+                .toList();
+            return new ProjectSearchResult(items, scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed projects
+     * @return the number of projects
+     */
+    public int size () {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits a text into lower case words without accents
+     * @param text the text
+     * @return the words, in order
+     */
+    public static List<String> tokenize (String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+            .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Scores one word of the query for one project with BM25F
+     * @param documentFrequency the number of projects containing the word
+     * @param projectId the id of the project
+     * @param frequencies the number of times the word occurs in the title and in the description
+     * @return the score
+     */
+    private double score (int documentFrequency, UUID projectId, int[] frequencies) {
+        Document document = documents.get(projectId);
+        int count = documents.size();
+        double idf = Math.log(1 + (count - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        double frequency = TITLE_WEIGHT * frequencies[0] / norm(document.titleLength, totalTitleLength, count)
+            + frequencies[1] / norm(document.descriptionLength, totalDescriptionLength, count);
+        return idf * frequency * (K1 + 1) / (frequency + K1);
+    }
+
+    /**
+     * Returns the length normalization of a field, which favours matches in shorter texts
+     * @param length the number of words in the field of the project
+     * @param totalLength the number of words in the field over all projects
+     * @param count the number of projects
+     * @return the normalization factor
+     */
+    private double norm (int length, long totalLength, int count) {
+        double average = (double) totalLength / count;
+        return 1 - B + (average == 0 ? B : B * length / average);
+    }
+
+    /**
+     * Adds a project to the postings, holding the write lock
+     * @param project the project
+     */
+    private void add (ProjectSummary project) {
+        List<String> title = tokenize(project.getTitle());
+        List<String> description = tokenize(project.getDescription());
+        Map<String, int[]> frequencies = new HashMap<>();
+        title.forEach(term -> frequencies.computeIfAbsent(term, t -> new int[2])[0]++);
+        description.forEach(term -> frequencies.computeIfAbsent(term, t -> new int[2])[1]++);
+        frequencies.forEach((term, counts) ->
+            postings.computeIfAbsent(term, t -> new HashMap<>()).put(project.getProjectId(), counts));
+        documents.put(project.getProjectId(), new Document(project, title.size(), description.size(),
+            frequencies.keySet()));
+        totalTitleLength += title.size();
+        totalDescriptionLength += description.size();
+    }
+
+    /**
+     * Removes a project from the postings, holding the write lock
+     * @param projectId the id of the project
+     */
+    private void remove (UUID projectId) {
+        Document document = documents.remove(projectId);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms) {
+            Map<UUID, int[]> posting = postings.get(term);
+            posting.remove(projectId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalTitleLength -= document.titleLength;
+        totalDescriptionLength -= document.descriptionLength;
+    }
+
+    private static class Document {
+        private final ProjectSummary project;
+        private final int titleLength;
+        private final int descriptionLength;
+        private final Set<String> terms;
+
+        Document (ProjectSummary project, int titleLength, int descriptionLength, Set<String> terms) {
+            this.project = project;
+            this.titleLength = titleLength;
+            this.descriptionLength = descriptionLength;
+            this.terms = terms;
+        }
+    }
+}
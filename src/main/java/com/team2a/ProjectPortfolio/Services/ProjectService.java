@@ -4,48 +4,191 @@ import com.team2a.ProjectPortfolio.Commons.Project;
 import com.team2a.ProjectPortfolio.Commons.ProjectsToAccounts;
 import com.team2a.ProjectPortfolio.Commons.RoleInProject;
 import com.team2a.ProjectPortfolio.Commons.Template;
+import com.team2a.ProjectPortfolio.EntityVersions;
 import com.team2a.ProjectPortfolio.Repositories.ProjectRepository;
 import com.team2a.ProjectPortfolio.Repositories.ProjectsToAccountsRepository;
+import com.team2a.ProjectPortfolio.dto.ProjectFacetQuery;
+import com.team2a.ProjectPortfolio.dto.ProjectFacetResult;
+import com.team2a.ProjectPortfolio.dto.ProjectPage;
+import com.team2a.ProjectPortfolio.dto.ProjectSearchResult;
+import com.team2a.ProjectPortfolio.dto.ProjectSummary;
+import com.team2a.ProjectPortfolio.dto.ProjectView;
 import com.team2a.ProjectPortfolio.security.SecurityUtils;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import static com.team2a.ProjectPortfolio.Repositories.ProjectSpecifications.*;
 
 @Service
 public class ProjectService {
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final Map<String, String> SORT_ATTRIBUTES = Map.of("title", "title", "created", "createdAt");
+    private static final char CURSOR_SEPARATOR = '|';
+
     private final ProjectRepository projectRepository;
 
     private final ProjectsToAccountsRepository projectsToAccountsRepository;
 
     private final SecurityUtils securityUtils;
 
+    private final ProjectViewService projectViewService;
+
+    private final ProjectSearchIndex projectSearchIndex;
+
+    private final ProjectFacetIndex projectFacetIndex;
+
     /**
      * Constructor for the Project Service
      * @param projectRepository - the Project Repository
      * @param securityUtils - the Security Utils
      * @param projectsToAccountsRepository - the Projects to Accounts Repository
+     * @param projectViewService - the service loading the read model of the projects
+     * @param projectSearchIndex - the full-text index of the projects
+     * @param projectFacetIndex - the index of the tags, collaborators and templates of the projects
      */
     @Autowired
     public ProjectService(ProjectRepository projectRepository,
                           SecurityUtils securityUtils,
-                          ProjectsToAccountsRepository projectsToAccountsRepository) {
+                          ProjectsToAccountsRepository projectsToAccountsRepository,
+                          ProjectViewService projectViewService,
+                          ProjectSearchIndex projectSearchIndex,
+                          ProjectFacetIndex projectFacetIndex) {
         this.projectRepository = projectRepository;
         this.securityUtils = securityUtils;
         this.projectsToAccountsRepository = projectsToAccountsRepository;
+        this.projectViewService = projectViewService;
+        this.projectSearchIndex = projectSearchIndex;
+        this.projectFacetIndex = projectFacetIndex;
     }
 
     /**
-     * Returns a list of all Projects
+     * Returns a list of all Projects, with their links, tags and collaborators
      * @return the list of all projects
      */
-    public List<Project> getProjects () {
-        return projectRepository.findAll();
+    public List<ProjectView> getProjects () {
+        return projectViewService.getProjectViews();
+    }
+
+    /**
+     * Searches the titles and descriptions of the Projects
+     * @param query the words to search for
+     * @param page the index of the page, starting at 0
+     * @param size the maximum number of Projects on the page
+     * @return the page of matching Projects, best match first
+     * @throws ResponseStatusException(400) if the query is empty or the page is out of range
+     */
+    public ProjectSearchResult searchProjects (String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The search query can't be empty");
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Page must be positive and page size between 1 and " + MAX_PAGE_SIZE);
+        }
+        return projectSearchIndex.search(query, page, size);
+    }
+
+    /**
+     * Filters the Projects by tags, collaborators, template and archived state, and counts the matching
+     * Projects per tag, collaborator and template
+     * @param query the facets to filter by and the page
+     * @return the page of matching Projects, sorted by title, and the facet counts
+     * @throws ResponseStatusException(400) if the page is out of range
+     */
+    public ProjectFacetResult getProjectFacets (ProjectFacetQuery query) {
+        if (query.getPage() < 0 || query.getSize() < 1 || query.getSize() > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Page must be positive and page size between 1 and " + MAX_PAGE_SIZE);
+        }
+        return projectFacetIndex.query(query);
+    }
+
+    /**
+     * Gives the projects created before creation times were recorded the earliest creation time,
+     * so they sort first and can be paged through by creation time
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillCreationTimes () {
+        projectRepository.backfillCreatedAt(Instant.EPOCH);
+    }
+
+    /**
+     * Hashes the content of the projects created before content hashes were stored. Of projects that
+     * already share a title and description only the first gets the hash, the others are flagged as
+     * duplicates once, so they are not scanned again and can still be written.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillContentHashes () {
+        for (Project project : projectRepository.findAllByContentHashIsNull()) {
+            String hash = Project.contentHash(project.getTitle(), project.getDescription());
+            project.setContentHash(projectRepository.existsByContentHash(hash)
+                ? Project.duplicateContentHash(project.getProjectId()) : hash);
+            try {
+                projectRepository.save(project);
+            } catch (DataIntegrityViolationException e) {
+                project.setContentHash(Project.duplicateContentHash(project.getProjectId()));
+                projectRepository.save(project);
+            }
+        }
+    }
+
+    /**
+     * Returns one page of the Projects, without their collections. The filters and the position after the
+     * cursor are part of the query and the projects are ordered by the sorted attribute and then by id,
+     * so each page is one index range scan, however far into the listing it is.
+     * @param sort the sorted attribute, title or created, prefixed with - for descending order
+     * @param cursor the nextCursor of the previous page, null for the first page
+     * @param size the maximum number of Projects on the page
+     * @param archived the archived state of the Projects, null for all Projects
+     * @param tagId the id of a tag the Projects must have, null for all Projects
+     * @param collaboratorId the id of a collaborator the Projects must have, null for all Projects
+     * @return the page of Projects
+     */
+    public ProjectPage getProjectPage (String sort, String cursor, int size, Boolean archived, UUID tagId,
+                                       UUID collaboratorId) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        boolean descending = sort.startsWith("-");
+        String attribute = SORT_ATTRIBUTES.get(descending ? sort.substring(1) : sort);
+        if (attribute == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Projects can be sorted by title or created");
+        }
+        Specification<Project> specification = Specification.where(null);
+        if (archived != null) {
+            specification = specification.and(hasArchived(archived));
+        }
+        if (tagId != null) {
+            specification = specification.and(hasTag(tagId));
+        }
+        if (collaboratorId != null) {
+            specification = specification.and(hasCollaborator(collaboratorId));
+        }
+        if (cursor != null) {
+            specification = specification.and(decodeCursor(attribute, cursor, descending));
+        }
+        Sort order = Sort.by(descending ? Sort.Direction.DESC : Sort.Direction.ASC, attribute, "projectId");
+        List<Project> projects = projectRepository.findBy(specification,
+            query -> query.sortBy(order).limit(size + 1).all());
+        List<ProjectSummary> items = projects.stream().limit(size).map(ProjectSummary::new).toList();
+        String nextCursor = projects.size() > size ? encodeCursor(attribute, items.get(size - 1)) : null;
+        return new ProjectPage(items, nextCursor);
     }
 
     /**
@@ -56,21 +199,28 @@ public class ProjectService {
         projectRepository.delete(projectRepository.findById(projectId).orElseThrow(
             () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found"))
         );
+        projectSearchIndex.delete(projectId);
+        projectFacetIndex.remove(projectId);
     }
 
     /**
      * Returns an updated project given an id and new features
      * @param projectId the id of the project
-     * @param project the project updates to be persisted
+     * @param project the project updates to be persisted, with the version it overwrites or null to overwrite any
      * @return the changed project with the specified ID
+     * @throws ResponseStatusException(409) if another project has the same name and description
+     * @throws ResponseStatusException(412) if the project is no longer at the given version
      */
     public Project updateProject (UUID projectId, Project project) {
         Project existingProject = projectRepository.findById(projectId)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found"));
+        EntityVersions.check(project.getVersion(), existingProject.getVersion());
         existingProject.setTitle(project.getTitle());
         existingProject.setDescription(project.getDescription());
         existingProject.setArchived(project.getArchived());
-        existingProject = projectRepository.save(existingProject);
+        existingProject = saveUnique(existingProject);
+        projectSearchIndex.index(existingProject);
+        projectFacetIndex.put(existingProject);
         return existingProject;
     }
 
@@ -81,9 +231,7 @@ public class ProjectService {
      * @throws ResponseStatusException(409) if a project with the same name and description already exists
      */
     public Project createProject (Project project) {
-        Optional<Project> existing = projectRepository.findFirstByTitleAndDescription(project.getTitle(),
-                project.getDescription());
-        if (existing.isPresent()) {
+        if (projectRepository.existsByContentHash(Project.contentHash(project.getTitle(), project.getDescription()))) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Project with same name and description already exists");
         }
         Project result;
@@ -93,8 +241,10 @@ public class ProjectService {
             result = new Project(project.getTitle(), project.getDescription(), project.getArchived(), project.getTemplate());
         }
         ProjectsToAccounts pta = new ProjectsToAccounts(RoleInProject.PM, securityUtils.getCurrentUser(), result);
-        result = projectRepository.save(result);
+        result = saveUnique(result);
         projectsToAccountsRepository.save(pta);
+        projectSearchIndex.index(result);
+        projectFacetIndex.put(result);
         return result;
     }
 
@@ -108,6 +258,15 @@ public class ProjectService {
             orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found"));
     }
 
+    /**
+     * Returns a project given an id, with its links, tags and collaborators
+     * @param projectId the id of the project
+     * @return the view of the project
+     */
+    public ProjectView getProjectViewById (UUID projectId) {
+        return projectViewService.getProjectView(projectId);
+    }
+
     /**
      * Checks if a user belongs to a project
      * @param username the username of the user
@@ -133,12 +292,14 @@ public class ProjectService {
      * @param projectId the if of the project
      * @param template the new template
      * @return the project with the updated template
+     * @throws ResponseStatusException(409) if another project has the same name and description
      */
     public Project updateProjectTemplate (UUID projectId, Template template) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found"));
         project.setTemplate(template);
-        project = projectRepository.save(project);
+        project = saveUnique(project);
+        projectFacetIndex.put(project);
         return project;
     }
 
@@ -146,12 +307,14 @@ public class ProjectService {
      * Remove the template of a project
      * @param projectId the id of the project
      * @return the project having the template set to null
+     * @throws ResponseStatusException(409) if another project has the same name and description
      */
     public Project removeTemplateFromProject (UUID projectId) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found"));
         project.setTemplate(null);
-        project = projectRepository.save(project);
+        project = saveUnique(project);
+        projectFacetIndex.put(project);
         return project;
     }
 
@@ -165,4 +328,57 @@ public class ProjectService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found"));
         return project.getTemplate();
     }
+
+    /**
+     * Encodes the position of a project in a listing as an opaque cursor
+     * @param attribute the sorted attribute
+     * @param project the last project of the page
+     * @return the cursor, the sorted value and the id encoded in URL safe base64
+     */
+    private String encodeCursor (String attribute, ProjectSummary project) {
+        String value = attribute.equals("title") ? project.getTitle() : String.valueOf(project.getCreatedAt());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+            (value + CURSOR_SEPARATOR + project.getProjectId()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor into the condition matching the projects after it
+     * @param attribute the sorted attribute
+     * @param cursor the cursor
+     * @param descending true if the projects are sorted in descending order
+     * @return the specification of the projects after the cursor
+     * @throws ResponseStatusException(400) if the cursor is malformed
+     */
+    private Specification<Project> decodeCursor (String attribute, String cursor, boolean descending) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(CURSOR_SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException();
+            }
+            String value = decoded.substring(0, separator);
+            UUID projectId = UUID.fromString(decoded.substring(separator + 1));
+            return attribute.equals("title")
+                ? after(attribute, value, projectId, descending)
+                : after(attribute, Instant.parse(value), projectId, descending);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    /**
+     * Saves a project, turning a violation of the unique content hash into a conflict. This rejects
+     * updates to the content of another project and resolves concurrent creates that both passed the
+     * duplicate check.
+     * @param project the project to be saved
+     * @return the saved project
+     * @throws ResponseStatusException(409) if a project with the same name and description already exists
+     */
+    private Project saveUnique (Project project) {
+        try {
+            return projectRepository.save(project);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Project with same name and description already exists");
+        }
+    }
 }
@@ -0,0 +1,130 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import com.team2a.ProjectPortfolio.Repositories.MediaRepository;
+import com.team2a.ProjectPortfolio.dto.ProjectStorageUsage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class ProjectStorageAccounting {
+
+    private final MediaRepository mediaRepository;
+    private final long quotaBytes;
+    private final Map<UUID, Usage> usage = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     * @param mediaRepository the media repository, from which the usage of a project is loaded once
+     * @param quotaBytes the maximum size of the media of a project, 0 for no limit
+     */
+    @Autowired
+    public ProjectStorageAccounting (MediaRepository mediaRepository,
+                                     @Value("${media.quota.project-bytes:0}") long quotaBytes) {
+        this.mediaRepository = mediaRepository;
+        this.quotaBytes = quotaBytes;
+    }
+
+    /**
+     * Reserves room for an upload within the quota of a project, until it is released.
+     * Reservations keep concurrent uploads from all passing the quota check with the same headroom.
+     * @param projectId the id of the Project
+     * @param bytes the size of the upload
+     */
+    public void reserve (UUID projectId, long bytes) {
+        Usage u = load(projectId);
+        synchronized (u) {
+            checkQuota(u, bytes);
+            u.reserved += bytes;
+        }
+    }
+
+    /**
+     * Releases a reservation, once the upload was stored and added or has failed
+     * @param projectId the id of the Project
+     * @param bytes the size of the upload
+     */
+    public void release (UUID projectId, long bytes) {
+        Usage u = usage.get(projectId);
+        if (u != null) {
+            synchronized (u) {
+                u.reserved -= bytes;
+            }
+        }
+    }
+
+    /**
+     * Checks that an upload fits in the quota of a project, without reserving room for it
+     * @param projectId the id of the Project
+     * @param bytes the size of the upload
+     */
+    public void checkQuota (UUID projectId, long bytes) {
+        Usage u = load(projectId);
+        synchronized (u) {
+            checkQuota(u, bytes);
+        }
+    }
+
+    /**
+     * Records media added to or removed from a project. Projects whose usage isn't loaded yet are skipped,
+     * since the stored sizes are summed when it is loaded.
+     * @param projectId the id of the Project
+     * @param bytes the size of the added media, negative for removed media
+     */
+    public void add (UUID projectId, long bytes) {
+        Usage u = usage.get(projectId);
+        if (u != null) {
+            synchronized (u) {
+                u.used += bytes;
+            }
+        }
+    }
+
+    /**
+     * Returns the storage used by a project
+     * @param projectId the id of the Project
+     * @return the used and reserved bytes, and the quota
+     */
+    public ProjectStorageUsage getUsage (UUID projectId) {
+        Usage u = load(projectId);
+        synchronized (u) {
+            return new ProjectStorageUsage(projectId, u.used, u.reserved, quotaBytes);
+        }
+    }
+
+    /**
+     * Returns the counters of a project, summing the sizes of its media the first time
+     * @param projectId the id of the Project
+     * @return the counters
+     */
+    private Usage load (UUID projectId) {
+        return usage.computeIfAbsent(projectId, id -> new Usage(mediaRepository.sumSizeByProjectId(id)));
+    }
+
+    /**
+     * Rejects an upload that doesn't fit in the quota
+     * @param u the counters of the project
+     * @param bytes the size of the upload
+     */
+    private void checkQuota (Usage u, long bytes) {
+        if (quotaBytes > 0 && u.used + u.reserved + bytes > quotaBytes) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                "The upload exceeds the storage quota of the project");
+        }
+    }
+
+    private static class Usage {
+        private long used;
+        private long reserved;
+
+        Usage (long used) {
+            this.used = used;
+        }
+    }
+}
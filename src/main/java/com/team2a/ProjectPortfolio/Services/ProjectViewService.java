@@ -0,0 +1,97 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import com.team2a.ProjectPortfolio.Repositories.LinkRepository;
+import com.team2a.ProjectPortfolio.Repositories.ProjectRepository;
+import com.team2a.ProjectPortfolio.Repositories.ProjectsToCollaboratorsRepository;
+import com.team2a.ProjectPortfolio.Repositories.TagToProjectRepository;
+import com.team2a.ProjectPortfolio.dto.LinkSummary;
+import com.team2a.ProjectPortfolio.dto.ProjectCollaborator;
+import com.team2a.ProjectPortfolio.dto.ProjectSummary;
+import com.team2a.ProjectPortfolio.dto.ProjectView;
+import com.team2a.ProjectPortfolio.dto.TagSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+public class ProjectViewService {
+
+    public static final int BATCH_SIZE = 500;
+
+    private final ProjectRepository projectRepository;
+    private final LinkRepository linkRepository;
+    private final TagToProjectRepository tagToProjectRepository;
+    private final ProjectsToCollaboratorsRepository projectsToCollaboratorsRepository;
+
+    /**
+     * Constructor
+     * @param projectRepository the project repository
+     * @param linkRepository the link repository
+     * @param tagToProjectRepository the repository of the tags of the projects
+     * @param projectsToCollaboratorsRepository the repository of the collaborators of the projects
+     */
+    @Autowired
+    public ProjectViewService (ProjectRepository projectRepository, LinkRepository linkRepository,
+                               TagToProjectRepository tagToProjectRepository,
+                               ProjectsToCollaboratorsRepository projectsToCollaboratorsRepository) {
+        this.projectRepository = projectRepository;
+        this.linkRepository = linkRepository;
+        this.tagToProjectRepository = tagToProjectRepository;
+        this.projectsToCollaboratorsRepository = projectsToCollaboratorsRepository;
+    }
+
+    /**
+     * Returns the views of all Projects
+     * @return the list of the views of all projects
+     */
+    public List<ProjectView> getProjectViews () {
+        return getProjectViews(projectRepository.findAllSummaries());
+    }
+
+    /**
+     * Returns the view of a Project
+     * @param projectId the id of the project
+     * @return the view of the project
+     * @throws ResponseStatusException(404) if the project does not exist
+     */
+    public ProjectView getProjectView (UUID projectId) {
+        ProjectSummary project = projectRepository.findSummaryByProjectId(projectId)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found"));
+        return getProjectViews(List.of(project)).get(0);
+    }
+
+    /**
+     * Adds the links, tags and collaborators to summaries of Projects. They are loaded with one query per
+     * collection for every BATCH_SIZE projects, instead of one query per collection per project as when
+     * the lazy collections of the entities are serialized.
+     * @param projects the summaries of the projects
+     * @return the views of the projects, in the same order
+     */
+    public List<ProjectView> getProjectViews (List<ProjectSummary> projects) {
+        List<ProjectView> views = new ArrayList<>(projects.size());
+        for (int from = 0; from < projects.size(); from += BATCH_SIZE) {
+            List<ProjectSummary> batch = projects.subList(from, Math.min(from + BATCH_SIZE, projects.size()));
+            List<UUID> projectIds = batch.stream().map(ProjectSummary::getProjectId).toList();
+            Map<UUID, List<LinkSummary>> links = linkRepository.findSummariesByProjectIds(projectIds).stream()
+                .collect(Collectors.groupingBy(LinkSummary::getProjectId));
+            Map<UUID, List<TagSummary>> tags = tagToProjectRepository.findSummariesByProjectIds(projectIds).stream()
+                .collect(Collectors.groupingBy(TagSummary::getProjectId));
+            Map<UUID, List<ProjectCollaborator>> collaborators = projectsToCollaboratorsRepository
+                .findSummariesByProjectIds(projectIds).stream()
+                .collect(Collectors.groupingBy(ProjectCollaborator::getProjectId));
+            for (ProjectSummary project : batch) {
+                UUID projectId = project.getProjectId();
+                views.add(new ProjectView(project, links.getOrDefault(projectId, List.of()),
+                    tags.getOrDefault(projectId, List.of()), collaborators.getOrDefault(projectId, List.of())));
+            }
+        }
+        return views;
+    }
+}
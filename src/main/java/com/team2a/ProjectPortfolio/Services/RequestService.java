@@ -2,15 +2,18 @@ package com.team2a.ProjectPortfolio.Services;
 
 import com.team2a.ProjectPortfolio.Commons.*;
 import com.team2a.ProjectPortfolio.CustomExceptions.NotFoundException;
+import com.team2a.ProjectPortfolio.EntityVersions;
 import com.team2a.ProjectPortfolio.Repositories.*;
 import jakarta.transaction.Transactional;
 import lombok.Setter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.web.server.ResponseStatusException;
@@ -48,6 +51,22 @@ public class RequestService {
     @Setter
     private LinkRepository linkRepository;
 
+    @Autowired
+    @Setter
+    private ProjectStorageAccounting projectStorageAccounting;
+
+    @Autowired
+    @Setter
+    private ProjectSearchIndex projectSearchIndex;
+
+    @Autowired
+    @Setter
+    private ProjectFacetIndex projectFacetIndex;
+
+    @Autowired
+    @Setter
+    private ProjectReadCache projectReadCache;
+
 
     /**
      * Method for getting a request by its id
@@ -171,10 +190,14 @@ public class RequestService {
     /**
      * Method for accepting a request
      * @param requestId the id of the request to be accepted
+     * @param expectedVersion the version of the project the request is applied to, null to apply it to any
+     * @throws ResponseStatusException(412) if the project is no longer at the expected version
+     * @throws ResponseStatusException(409) if the request would duplicate another project or media
+     * @throws ResponseStatusException(413) if the media added by the request exceed the storage quota of the project
      */
 
 //    @PreAuthorize(PM_IN_PROJECT)
-    public void acceptRequest (UUID requestId) {
+    public void acceptRequest (UUID requestId, Long expectedVersion) {
         Optional<Request> request = requestRepository.findById(requestId);
 
         if(request.isEmpty())
@@ -182,13 +205,43 @@ public class RequestService {
 
         Request r = request.get();
         Project p = r.getProject();
-        if(r.getNewTitle() != null)
-            p.setTitle(r.getNewTitle());
-        if(r.getNewDescription() != null)
-            p.setDescription(r.getNewDescription());
-
-        projectRepository.save(p);
+        EntityVersions.check(expectedVersion, p.getVersion());
+        String title = r.getNewTitle() != null ? r.getNewTitle() : p.getTitle();
+        String description = r.getNewDescription() != null ? r.getNewDescription() : p.getDescription();
+        // checked before the project is changed, so the query can't flush the duplicate ahead of the check,
+        // and only if the content changes, so a request on a legacy duplicate can still change its tags or media
+        boolean contentChanged = !Objects.equals(title, p.getTitle()) || !Objects.equals(description, p.getDescription());
+        if(contentChanged && projectRepository.existsByContentHashAndProjectIdNot(Project.contentHash(title, description),
+            p.getProjectId()))
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Project with same name and description already exists");
+        long growth = 0;
+        for(RequestMediaProject mediaRequest : r.getRequestMediaProjects()) {
+            long size = mediaRequest.getMedia().getSize() != null ? mediaRequest.getMedia().getSize() : 0;
+            growth += mediaRequest.getIsRemove() ? -size : size;
+        }
+        if(growth > 0)
+            projectStorageAccounting.checkQuota(p.getProjectId(), growth);
+
+        p.setTitle(title);
+        p.setDescription(description);
+        try {
+            applyRequest(r, p);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                "The request duplicates another project or a media of the project");
+        }
+    }
 
+    /**
+     * Applies the changes of an accepted request to its project and deletes the request. Everything is flushed
+     * before returning, so a violated unique constraint is raised here rather than at commit.
+     * @param r the accepted request
+     * @param p the project of the request, with its new title and description
+     */
+    private void applyRequest (Request r, Project p) {
+        projectRepository.saveAndFlush(p);
+        AfterCommit.run(() -> projectSearchIndex.index(p));
+        AfterCommit.run(() -> projectFacetIndex.put(p));
 
         for(RequestTagProject tagRequest : r.getRequestTagProjects()) {
             if(tagRequest.getIsRemove()) {
@@ -196,10 +249,12 @@ public class RequestService {
                         (p.getProjectId(), tagRequest.getTag().getTagId());
 
                 tagToProjectRepository.deleteAll(body);
+                AfterCommit.run(() -> projectFacetIndex.setTag(p.getProjectId(), tagRequest.getTag().getTagId(), false));
             }
             else {
                 TagsToProject body = new TagsToProject(tagRequest.getTag(), p);
                 tagToProjectRepository.save(body);
+                AfterCommit.run(() -> projectFacetIndex.setTag(p.getProjectId(), tagRequest.getTag().getTagId(), true));
             }
         }
 
@@ -210,19 +265,26 @@ public class RequestService {
                         (p.getProjectId(), collRequest.getCollaborator().getCollaboratorId());
 
                 projectsToCollaboratorsRepository.deleteAll(body);
+                AfterCommit.run(() -> projectFacetIndex.setCollaborator(p.getProjectId(),
+                    collRequest.getCollaborator().getCollaboratorId(), false));
             } else {
                 ProjectsToCollaborators body = new ProjectsToCollaborators(p, collRequest.getCollaborator(),"");
                 projectsToCollaboratorsRepository.save(body);
+                AfterCommit.run(() -> projectFacetIndex.setCollaborator(p.getProjectId(),
+                    collRequest.getCollaborator().getCollaboratorId(), true));
             }
         }
 
         for(RequestMediaProject mediaRequest: r.getRequestMediaProjects()) {
+            Media media = mediaRequest.getMedia();
+            long size = media.getSize() != null ? media.getSize() : 0;
             if(mediaRequest.getIsRemove()) {
-                mediaRepository.delete(mediaRequest.getMedia());
+                mediaRepository.delete(media);
+                AfterCommit.run(() -> projectStorageAccounting.add(p.getProjectId(), -size));
             } else {
-                Media body = mediaRequest.getMedia();
-                body.setProject(p);
-                mediaRepository.save(body);
+                media.setProject(p);
+                mediaRepository.save(media);
+                AfterCommit.run(() -> projectStorageAccounting.add(p.getProjectId(), size));
             }
         }
 
@@ -237,8 +299,8 @@ public class RequestService {
         }
 
         requestRepository.deleteByRequestId(r.getRequestId());
-
-
+        requestRepository.flush();
+        AfterCommit.run(() -> projectReadCache.invalidateProject(p.getProjectId()));
     }
 
     public Request getRequestForId (UUID requestId) {
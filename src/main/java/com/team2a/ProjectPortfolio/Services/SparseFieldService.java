@@ -0,0 +1,185 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import com.team2a.ProjectPortfolio.Commons.Collaborator;
+import com.team2a.ProjectPortfolio.Commons.Project;
+import com.team2a.ProjectPortfolio.Commons.Tag;
+import com.team2a.ProjectPortfolio.Repositories.LinkRepository;
+import com.team2a.ProjectPortfolio.Repositories.ProjectsToCollaboratorsRepository;
+import com.team2a.ProjectPortfolio.Repositories.TagToProjectRepository;
+import com.team2a.ProjectPortfolio.dto.LinkSummary;
+import com.team2a.ProjectPortfolio.dto.ProjectCollaborator;
+import com.team2a.ProjectPortfolio.dto.TagSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+public class SparseFieldService {
+
+    public static final Set<String> PROJECT_FIELDS = Set.of("projectId", "title", "description", "archived",
+        "createdAt", "version", "links", "tags", "collaborators");
+
+    public static final Set<String> TAG_FIELDS = Set.of("tagId", "name", "color", "version");
+
+    public static final Set<String> COLLABORATOR_FIELDS = Set.of("collaboratorId", "name");
+
+    private static final String PROJECT_ID = "projectId";
+    private static final String LINKS = "links";
+    private static final String TAGS = "tags";
+    private static final String COLLABORATORS = "collaborators";
+
+    private final EntityManager entityManager;
+    private final LinkRepository linkRepository;
+    private final TagToProjectRepository tagToProjectRepository;
+    private final ProjectsToCollaboratorsRepository projectsToCollaboratorsRepository;
+
+    /**
+     * Constructor
+     * @param entityManager the entity manager
+     * @param linkRepository the link repository
+     * @param tagToProjectRepository the repository of the tags of the projects
+     * @param projectsToCollaboratorsRepository the repository of the collaborators of the projects
+     */
+    @Autowired
+    public SparseFieldService (EntityManager entityManager, LinkRepository linkRepository,
+                               TagToProjectRepository tagToProjectRepository,
+                               ProjectsToCollaboratorsRepository projectsToCollaboratorsRepository) {
+        this.entityManager = entityManager;
+        this.linkRepository = linkRepository;
+        this.tagToProjectRepository = tagToProjectRepository;
+        this.projectsToCollaboratorsRepository = projectsToCollaboratorsRepository;
+    }
+
+    /**
+     * Returns the requested fields of all Projects. Only the requested columns are selected, and the links,
+     * tags and collaborators are only loaded if they are requested, in batches as for the project views.
+     * @param fields the comma separated names of the fields
+     * @return one map per project from the names of the fields to their values
+     * @throws ResponseStatusException(400) if a field is not a field of the projects
+     */
+    public List<Map<String, Object>> getProjects (String fields) {
+        Set<String> requested = parse(fields, PROJECT_FIELDS);
+        Set<String> columns = new LinkedHashSet<>(requested);
+        columns.removeAll(Set.of(LINKS, TAGS, COLLABORATORS));
+        boolean collections = columns.size() < requested.size();
+        if (collections) {
+            columns.add(PROJECT_ID);
+        }
+        List<Map<String, Object>> projects = select(Project.class, columns);
+        if (collections) {
+            addCollections(projects, requested);
+        }
+        if (!requested.contains(PROJECT_ID)) {
+            projects.forEach(project -> project.remove(PROJECT_ID));
+        }
+        return projects;
+    }
+
+    /**
+     * Returns the requested fields of all Tags, without their projects
+     * @param fields the comma separated names of the fields
+     * @return one map per tag from the names of the fields to their values
+     * @throws ResponseStatusException(400) if a field is not a field of the tags
+     */
+    public List<Map<String, Object>> getTags (String fields) {
+        return select(Tag.class, parse(fields, TAG_FIELDS));
+    }
+
+    /**
+     * Returns the requested fields of all Collaborators, without their projects
+     * @param fields the comma separated names of the fields
+     * @return one map per collaborator from the names of the fields to their values
+     * @throws ResponseStatusException(400) if a field is not a field of the collaborators
+     */
+    public List<Map<String, Object>> getCollaborators (String fields) {
+        return select(Collaborator.class, parse(fields, COLLABORATOR_FIELDS));
+    }
+
+    /**
+     * Parses the fields parameter of a request
+     * @param fields the comma separated names of the fields
+     * @param allowed the names of the fields of the resource
+     * @return the names of the requested fields, in the requested order
+     * @throws ResponseStatusException(400) if no field is requested or a field is not allowed
+     */
+    static Set<String> parse (String fields, Set<String> allowed) {
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            if (!field.isBlank()) {
+                requested.add(field.trim());
+            }
+        }
+        if (requested.isEmpty() || !allowed.containsAll(requested)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "fields must be a comma separated list of " + allowed.stream().sorted().toList());
+        }
+        return requested;
+    }
+
+    /**
+     * Selects some attributes of all entities of a type
+     * @param entity the type of the entities
+     * @param attributes the names of the attributes
+     * @param <T> the type of the entities
+     * @return one map per entity from the names of the attributes to their values
+     */
+    private <T> List<Map<String, Object>> select (Class<T> entity, Set<String> attributes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entity);
+        query.multiselect(attributes.stream().map(attribute -> root.get(attribute).alias(attribute)).toList());
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            attributes.forEach(attribute -> row.put(attribute, tuple.get(attribute)));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Adds the requested collections to the projects, with one query per requested collection for every
+     * BATCH_SIZE projects
+     * @param projects the projects, with their ids
+     * @param requested the names of the requested fields
+     */
+    private void addCollections (List<Map<String, Object>> projects, Set<String> requested) {
+        for (int from = 0; from < projects.size(); from += ProjectViewService.BATCH_SIZE) {
+            List<Map<String, Object>> batch =
+                projects.subList(from, Math.min(from + ProjectViewService.BATCH_SIZE, projects.size()));
+            List<UUID> projectIds = batch.stream().map(project -> (UUID) project.get(PROJECT_ID)).toList();
+            if (requested.contains(LINKS)) {
+                Map<UUID, List<LinkSummary>> links = linkRepository.findSummariesByProjectIds(projectIds).stream()
+                    .collect(Collectors.groupingBy(LinkSummary::getProjectId));
+                batch.forEach(project -> project.put(LINKS, links.getOrDefault(project.get(PROJECT_ID), List.of())));
+            }
+            if (requested.contains(TAGS)) {
+                Map<UUID, List<TagSummary>> tags = tagToProjectRepository.findSummariesByProjectIds(projectIds)
+                    .stream().collect(Collectors.groupingBy(TagSummary::getProjectId));
+                batch.forEach(project -> project.put(TAGS, tags.getOrDefault(project.get(PROJECT_ID), List.of())));
+            }
+            if (requested.contains(COLLABORATORS)) {
+                Map<UUID, List<ProjectCollaborator>> collaborators = projectsToCollaboratorsRepository
+                    .findSummariesByProjectIds(projectIds).stream()
+                    .collect(Collectors.groupingBy(ProjectCollaborator::getProjectId));
+                batch.forEach(project -> project.put(COLLABORATORS,
+                    collaborators.getOrDefault(project.get(PROJECT_ID), List.of())));
+            }
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.team2a.ProjectPortfolio.Services;
 
 import com.team2a.ProjectPortfolio.Commons.*;
+import com.team2a.ProjectPortfolio.EntityVersions;
 import com.team2a.ProjectPortfolio.Repositories.*;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
+import com.team2a.ProjectPortfolio.dto.TagSummary;
 import java.util.List;
 
 import java.util.UUID;
@@ -27,6 +29,8 @@ public class TagService {
 
     private final RequestRepository requestRepository;
 
+    private final ProjectFacetIndex projectFacetIndex;
+
     /**
      * Constructor for the tag service
      * @param tagRepository
@@ -34,16 +38,18 @@ public class TagService {
      * @param projectRepository
      * @param requestTagProjectRepository
      * @param requestRepository
+     * @param projectFacetIndex
      */
     @Autowired
     public TagService(TagRepository tagRepository, TagToProjectRepository tagToProjectRepository,
                       ProjectRepository projectRepository, RequestTagProjectRepository requestTagProjectRepository,
-                      RequestRepository requestRepository) {
+                      RequestRepository requestRepository, ProjectFacetIndex projectFacetIndex) {
         this.tagRepository = tagRepository;
         this.tagToProjectRepository = tagToProjectRepository;
         this.projectRepository = projectRepository;
         this.requestTagProjectRepository = requestTagProjectRepository;
         this.requestRepository = requestRepository;
+        this.projectFacetIndex = projectFacetIndex;
     }
 
     /**
@@ -61,17 +67,15 @@ public class TagService {
     }
 
     /**
-     * Get all tags by project id
+     * Get all tags by project id, as summaries that can be cached and shared between requests
      *
      * @param projectId the project id
      * @return a list of tags
      */
-    public List<Tag> getTagsByProjectId (UUID projectId) {
+    public List<TagSummary> getTagsByProjectId (UUID projectId) {
         projectRepository.findById(projectId)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        List<TagsToProject> tagsToProjects = tagToProjectRepository.findAllByProjectProjectId(projectId);
-        return tagsToProjects.stream()
-            .map(TagsToProject::getTag).collect(java.util.stream.Collectors.toList());
+        return tagToProjectRepository.findSummariesByProjectIds(List.of(projectId));
     }
 
     /**
@@ -90,17 +94,21 @@ public class TagService {
         }
         TagsToProject tagsToProject = new TagsToProject(tag, project);
         tagToProjectRepository.saveAndFlush(tagsToProject);
+        AfterCommit.run(() -> projectFacetIndex.setTag(projectId, tagId, true));
     }
 
     /**
      * Edit a tag
      *
-     * @param tag the tag
+     * @param tag the tag, with the version it overwrites or null to overwrite any
      * @return the tag
+     * @throws ResponseStatusException(412) if the tag is no longer at the given version
      */
     public Tag editTag (Tag tag) {
-        tagRepository.findById(tag.getTagId())
+        Tag existing = tagRepository.findById(tag.getTagId())
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        EntityVersions.check(tag.getVersion(), existing.getVersion());
+        tag.setVersion(existing.getVersion());
         return tagRepository.saveAndFlush(tag);
     }
 
@@ -114,6 +122,7 @@ public class TagService {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND);
         }
         tagRepository.deleteById(tagId);
+        AfterCommit.run(() -> projectFacetIndex.deleteTag(tagId));
     }
 
     /**
@@ -131,6 +140,7 @@ public class TagService {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Tag does not belong to project");
         }
         tagToProjectRepository.deleteByProjectProjectIdAndTagTagId(projectId, tagId);
+        AfterCommit.run(() -> projectFacetIndex.setTag(projectId, tagId, false));
     }
 
 
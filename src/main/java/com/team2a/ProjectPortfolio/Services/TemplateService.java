@@ -18,16 +18,21 @@ public class TemplateService {
 
     private final TemplateAdditionRepository templateAdditionRepository;
 
+    private final ProjectFacetIndex projectFacetIndex;
+
     /**
      * Service for Template
      * @param templateRepository - the Template Repository
      * @param templateAdditionRepository - the Template Addition Repository (Medias and Links)
+     * @param projectFacetIndex - the index of the templates of the Projects
      */
     @Autowired
     public TemplateService (TemplateRepository templateRepository,
-                            TemplateAdditionRepository templateAdditionRepository) {
+                            TemplateAdditionRepository templateAdditionRepository,
+                            ProjectFacetIndex projectFacetIndex) {
         this.templateRepository = templateRepository;
         this.templateAdditionRepository = templateAdditionRepository;
+        this.projectFacetIndex = projectFacetIndex;
     }
 
     /**
@@ -53,6 +58,7 @@ public class TemplateService {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Template not found.");
         }
         templateRepository.deleteById(templateName);
+        projectFacetIndex.deleteTemplate(templateName);
     }
 
     /**
@@ -0,0 +1,210 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class ThumbnailService {
+
+    public static final List<Integer> WIDTHS = List.of(160, 480, 1280);
+    private static final int WORKERS = 2;
+    private static final int QUEUE_CAPACITY = 256;
+    private static final Set<String> TRANSPARENT_FORMATS = Set.of("png", "gif");
+
+    private final ThreadPoolExecutor executor;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    @Setter
+    private MediaHelper mediaHelper;
+
+    /**
+     * Constructor, starting the bounded worker pool that generates the variants
+     * @param mediaHelper the media helper, which reads the images and stores their variants
+     */
+    @Autowired
+    public ThumbnailService (MediaHelper mediaHelper) {
+        this.mediaHelper = mediaHelper;
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(WORKERS, WORKERS, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY), r -> {
+                Thread thread = new Thread(r, "thumbnail-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * Stops the worker pool, abandoning queued work
+     */
+    @PreDestroy
+    public void shutdown () {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues the generation of all variants of an image. Files that are not images are ignored.
+     * When the queue is full the work is dropped; the variants are then generated when first requested.
+     * @param storedName the stored file name of the original
+     * @param path the original filename, used to detect the format
+     */
+    public void schedule (String storedName, String path) {
+        if (!isImage(path) || !pending.add(storedName)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    for (int width : WIDTHS) {
+                        if (!mediaHelper.fileExists(getVariantName(storedName, path, width))) {
+                            generateVariant(storedName, path, width);
+                        }
+                    }
+                } catch (RuntimeException ignored) {
+                    // a missing variant is regenerated when it is requested
+                } finally {
+                    pending.remove(storedName);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(storedName);
+        }
+    }
+
+    /**
+     * Returns the stored file name of a variant, generating it first if it is missing
+     * @param storedName the stored file name of the original
+     * @param path the original filename, used to detect the format
+     * @param width the requested width, one of WIDTHS
+     * @return the stored file name of the variant
+     */
+    public String getVariant (String storedName, String path, int width) {
+        if (!WIDTHS.contains(width)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Thumbnail width must be one of " + WIDTHS);
+        }
+        if (!isImage(path)) {
+            throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Thumbnails are only available for images");
+        }
+        String variantName = getVariantName(storedName, path, width);
+        if (!mediaHelper.fileExists(variantName)) {
+            generateVariant(storedName, path, width);
+        }
+        return variantName;
+    }
+
+    /**
+     * Returns the stored file name of a variant, next to the original
+     * @param storedName the stored file name of the original
+     * @param path the original filename, used to detect the format
+     * @param width the width of the variant
+     * @return the stored file name of the variant
+     */
+    public String getVariantName (String storedName, String path, int width) {
+        return storedName + "-" + width + "." + getVariantFormat(path);
+    }
+
+    /**
+     * Returns the format of the variants of an image: PNG where the original may be transparent, JPEG otherwise
+     * @param path the original filename
+     * @return the ImageIO format name, which is also the file extension
+     */
+    public String getVariantFormat (String path) {
+        return TRANSPARENT_FORMATS.contains(getExtension(path)) ? "png" : "jpg";
+    }
+
+    /**
+     * Deletes all variants of an original
+     * @param storedName the stored file name of the original
+     */
+    public void deleteVariants (String storedName) {
+        for (int width : WIDTHS) {
+            mediaHelper.deleteStoredFile(storedName + "-" + width + ".png");
+            mediaHelper.deleteStoredFile(storedName + "-" + width + ".jpg");
+        }
+    }
+
+    /**
+     * Returns the number of images waiting for a worker
+     * @return the queue depth
+     */
+    public int getQueueDepth () {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Checks whether a file can be decoded by ImageIO, based on its extension
+     * @param path the original filename
+     * @return true if thumbnails can be generated for the file
+     */
+    public boolean isImage (String path) {
+        return path != null && Set.of(ImageIO.getReaderFileSuffixes()).contains(getExtension(path));
+    }
+
+    /**
+     * Decodes the original, scales it down to the width and stores the variant. Images narrower
+     * than the width are stored at their own size, so they are not decoded again on the next request.
+     * @param storedName the stored file name of the original
+     * @param path the original filename
+     * @param width the width of the variant
+     */
+    private void generateVariant (String storedName, String path, int width) {
+        BufferedImage original;
+        try (InputStream in = mediaHelper.openFile(storedName)) {
+            original = ImageIO.read(in);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+        if (original == null) {
+            throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                "The file could not be decoded as an image");
+        }
+        String format = getVariantFormat(path);
+        int targetWidth = Math.min(width, original.getWidth());
+        int targetHeight = Math.max(1, Math.round((float) original.getHeight() * targetWidth / original.getWidth()));
+        boolean transparent = format.equals("png");
+        BufferedImage scaled = new BufferedImage(targetWidth, targetHeight,
+            transparent ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            if (!transparent) {
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, targetWidth, targetHeight);
+            }
+            graphics.drawImage(original, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        mediaHelper.saveImage(getVariantName(storedName, path, width), scaled, format);
+    }
+
+    /**
+     * Returns the lower case extension of a filename
+     * @param path the filename
+     * @return the extension, empty if there is none
+     */
+    private String getExtension (String path) {
+        int dot = path.lastIndexOf('.');
+        return dot < 0 ? "" : path.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+}
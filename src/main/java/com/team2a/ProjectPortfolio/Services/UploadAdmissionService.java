@@ -0,0 +1,173 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class UploadAdmissionService {
+
+    private static final String ANONYMOUS = "anonymous";
+
+    private final int maxConcurrent;
+    private final int maxConcurrentPerUser;
+    private final long waitMillis;
+    private final Semaphore uploads;
+    private final Map<String, UserUploads> userUploads = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     * @param maxConcurrent the maximum number of uploads processed at once
+     * @param maxConcurrentPerUser the maximum number of uploads of one user processed at once
+     * @param waitMillis how long an upload waits for a free slot before it is rejected, 0 to reject it at once
+     */
+    @Autowired
+    public UploadAdmissionService (@Value("${media.upload.max-concurrent:8}") int maxConcurrent,
+                                   @Value("${media.upload.max-concurrent-per-user:2}") int maxConcurrentPerUser,
+                                   @Value("${media.upload.admission-wait-ms:0}") long waitMillis) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxConcurrentPerUser = maxConcurrentPerUser;
+        this.waitMillis = waitMillis;
+        this.uploads = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Takes a slot for an upload of the current user and globally, before the body of the upload is read.
+     * Uploads that get no slot are rejected with 429 Too Many Requests, so a bulk upload can't hold every
+     * request thread.
+     * @return the admission, which frees the slots when it is closed
+     * @throws ResponseStatusException(429) if no slot was free in time
+     */
+    public Admission admit () {
+        String user = getCurrentUser();
+        UserUploads userPermits = userUploads.compute(user, (u, current) -> {
+            UserUploads slots = current != null ? current : new UserUploads(maxConcurrentPerUser);
+            slots.references++;
+            return slots;
+        });
+        if (!acquire(userPermits.permits)) {
+            dereference(user);
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                "At most " + maxConcurrentPerUser + " uploads per user can run at once");
+        }
+        if (!acquire(uploads)) {
+            userPermits.permits.release();
+            dereference(user);
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                "Too many uploads are running, try again later");
+        }
+        return new Admission(user, userPermits);
+    }
+
+    /**
+     * Returns the number of uploads being processed
+     * @return the number of active uploads
+     */
+    public int getActiveUploads () {
+        return maxConcurrent - uploads.availablePermits();
+    }
+
+    /**
+     * Returns the number of users with an upload running or waiting for a slot
+     * @return the number of users
+     */
+    public int getActiveUsers () {
+        return userUploads.size();
+    }
+
+    /**
+     * Drops a reference to the slots of a user, removing them once no upload of the user holds or waits for one,
+     * so the map doesn't keep an entry for every user who ever uploaded
+     * @param user the username
+     */
+    private void dereference (String user) {
+        userUploads.computeIfPresent(user, (u, slots) -> --slots.references == 0 ? null : slots);
+    }
+
+    /**
+     * Takes a slot, waiting for it if a wait is configured
+     * @param permits the slots
+     * @return false if no slot was free in time
+     */
+    private boolean acquire (Semaphore permits) {
+        if (waitMillis <= 0) {
+            return permits.tryAcquire();
+        }
+        try {
+            return permits.tryAcquire(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Returns the name of the user of the request, anonymous uploads sharing one slot pool
+     * @return the username
+     */
+    private String getCurrentUser () {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : ANONYMOUS;
+    }
+
+    /**
+     * The slots of one user. The references count the uploads holding or waiting for a slot, and are only
+     * changed inside the compute functions of the map, so an entry is never removed while it is in use.
+     */
+    private static final class UserUploads {
+
+        private final Semaphore permits;
+        private int references;
+
+        /**
+         * Constructor
+         * @param maxConcurrentPerUser the number of slots
+         */
+        private UserUploads (int maxConcurrentPerUser) {
+            this.permits = new Semaphore(maxConcurrentPerUser, true);
+        }
+    }
+
+    /**
+     * The slots taken by an admitted upload
+     */
+    public final class Admission implements AutoCloseable {
+
+        private final String user;
+        private final UserUploads userPermits;
+        private boolean closed;
+
+        /**
+         * Constructor
+         * @param user the username
+         * @param userPermits the slots of the user
+         */
+        private Admission (String user, UserUploads userPermits) {
+            this.user = user;
+            this.userPermits = userPermits;
+        }
+
+        /**
+         * Frees the slots of the upload, once
+         */
+        @Override
+        public synchronized void close () {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            uploads.release();
+            userPermits.permits.release();
+            dereference(user);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.team2a.ProjectPortfolio;
+
+import com.team2a.ProjectPortfolio.Services.UploadAdmissionService;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class UploadAdmissionConfig {
+
+    /**
+     * Registers the admission of uploads on the media routes. It runs after the security filters, so the slots
+     * are counted per authenticated user, and before the dispatcher servlet parses the multipart body.
+     *
+     * @param uploadAdmissionService the limiter of concurrent uploads
+     * @return the registration of the admission filter
+     */
+    @Bean
+    public FilterRegistrationBean<UploadAdmissionFilter> uploadAdmissionFilter (
+        UploadAdmissionService uploadAdmissionService) {
+        FilterRegistrationBean<UploadAdmissionFilter> registration =
+            new FilterRegistrationBean<>(new UploadAdmissionFilter(uploadAdmissionService));
+        registration.addUrlPatterns(Routes.MEDIA + "/*");
+        return registration;
+    }
+}
@@ -0,0 +1,73 @@
+package com.team2a.ProjectPortfolio;
+
+import com.team2a.ProjectPortfolio.Services.UploadAdmissionService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Admits the requests that carry the content of a media before the servlet reads their body, so a rejected
+ * upload never has its multipart body parsed or spooled to disk. The slots are held until the response is done.
+ */
+public class UploadAdmissionFilter extends OncePerRequestFilter {
+
+    private static final String ID = "{id:[0-9a-fA-F-]{36}}";
+    private static final Map<HttpMethod, List<String>> UPLOAD_ROUTES = Map.of(
+        HttpMethod.POST, List.of(Routes.MEDIA + "/" + ID, Routes.MEDIA + "/upload/" + ID + "/" + ID + "/complete"),
+        HttpMethod.PUT, List.of(Routes.MEDIA + "/" + ID, Routes.MEDIA + "/upload/" + ID + "/" + ID,
+            Routes.MEDIA + "/public/request/add/" + ID + "/" + ID));
+
+    private final UploadAdmissionService uploadAdmissionService;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    /**
+     * Constructor
+     * @param uploadAdmissionService the limiter of concurrent uploads
+     */
+    public UploadAdmissionFilter (UploadAdmissionService uploadAdmissionService) {
+        this.uploadAdmissionService = uploadAdmissionService;
+    }
+
+    /**
+     * Only the routes that upload media content are admitted
+     * @param request the request
+     * @return true if the request is not an upload
+     */
+    @Override
+    protected boolean shouldNotFilter (HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return UPLOAD_ROUTES.getOrDefault(HttpMethod.valueOf(request.getMethod()), List.of()).stream()
+            .noneMatch(route -> matcher.match(route, path));
+    }
+
+    /**
+     * Runs an upload once it is admitted, answering 429 Too Many Requests if it is not
+     * @param request the request
+     * @param response the response
+     * @param chain the rest of the filter chain
+     * @throws ServletException if the chain fails
+     * @throws IOException if the chain fails
+     */
+    @Override
+    protected void doFilterInternal (HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        UploadAdmissionService.Admission admission;
+        try {
+            admission = uploadAdmissionService.admit();
+        } catch (ResponseStatusException e) {
+            response.sendError(e.getStatusCode().value(), e.getReason());
+            return;
+        }
+        try (admission) {
+            chain.doFilter(request, response);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.team2a.ProjectPortfolio.WebSocket;
 
+import com.team2a.ProjectPortfolio.Services.ProjectReadCache;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
@@ -14,6 +16,9 @@ public class CollaboratorProjectWebSocketHandler extends TextWebSocketHandler {
 
     private final Set<WebSocketSession> sessions = ConcurrentHashMap.newKeySet();
 
+    @Autowired
+    private ProjectReadCache projectReadCache;
+
     @Override
     public void afterConnectionEstablished (WebSocketSession session) throws Exception {
         sessions.add(session);
@@ -24,7 +29,12 @@ public class CollaboratorProjectWebSocketHandler extends TextWebSocketHandler {
         sessions.remove(session);
     }
 
+    /**
+     * Invalidates the cached reads the change affects and notifies the connected clients
+     * @param message the change, ending with the id of the changed project
+     */
     public void broadcast (String message) {
+        projectReadCache.invalidate(ProjectReadCache.Region.COLLABORATORS, message);
         for (WebSocketSession session : sessions) {
             if (session.isOpen()) {
                 try {
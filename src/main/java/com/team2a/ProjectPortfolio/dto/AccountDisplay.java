@@ -1,5 +1,6 @@
 package com.team2a.ProjectPortfolio.dto;
 
+import com.team2a.ProjectPortfolio.Commons.RoleInProject;
 import lombok.Getter;
 
 public class AccountDisplay {
@@ -24,4 +25,14 @@ public class AccountDisplay {
         this.name = name;
         this.roleInProject = roleInProject;
     }
+
+    /**
+     * Constructor for the AccountDisplay
+     * @param username - the username of the account
+     * @param name - the name of the account
+     * @param roleInProject - the role of the account in the project
+     */
+    public AccountDisplay(String username, String name, RoleInProject roleInProject) {
+        this(username, name, roleInProject.toString());
+    }
 }
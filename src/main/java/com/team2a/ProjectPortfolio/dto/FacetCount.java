@@ -0,0 +1,23 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import java.util.UUID;
+import lombok.Getter;
+
+public class FacetCount {
+
+    @Getter
+    private UUID valueId;
+
+    @Getter
+    private long count;
+
+    /**
+     * Constructor for the number of projects having a facet value
+     * @param valueId the id of the tag or collaborator
+     * @param count the number of projects
+     */
+    public FacetCount (UUID valueId, Long count) {
+        this.valueId = valueId;
+        this.count = count;
+    }
+}
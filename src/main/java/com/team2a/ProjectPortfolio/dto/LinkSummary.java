@@ -0,0 +1,35 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.UUID;
+import lombok.Getter;
+
+public class LinkSummary {
+
+    @Getter
+    @JsonIgnore
+    private UUID projectId;
+
+    @Getter
+    private UUID linkId;
+
+    @Getter
+    private String name;
+
+    @Getter
+    private String url;
+
+    /**
+     * Constructor for the link summary DTO
+     * @param projectId the id of the project of the link
+     * @param linkId the id of the link
+     * @param name the name of the link
+     * @param url the url of the link
+     */
+    public LinkSummary (UUID projectId, UUID linkId, String name, String url) {
+        this.projectId = projectId;
+        this.linkId = linkId;
+        this.name = name;
+        this.url = url;
+    }
+}
@@ -0,0 +1,42 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import lombok.Getter;
+
+public class MediaCacheStats {
+
+    @Getter
+    private long hits;
+
+    @Getter
+    private long misses;
+
+    @Getter
+    private long evictions;
+
+    @Getter
+    private int entries;
+
+    @Getter
+    private long usedBytes;
+
+    @Getter
+    private long maxBytes;
+
+    /**
+     * Constructor for the media cache counters DTO
+     * @param hits the number of reads served from the cache
+     * @param misses the number of reads that went to disk
+     * @param evictions the number of entries evicted to stay within the budget
+     * @param entries the number of cached files
+     * @param usedBytes the size of the cached content
+     * @param maxBytes the byte budget of the cache
+     */
+    public MediaCacheStats (long hits, long misses, long evictions, int entries, long usedBytes, long maxBytes) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.entries = entries;
+        this.usedBytes = usedBytes;
+        this.maxBytes = maxBytes;
+    }
+}
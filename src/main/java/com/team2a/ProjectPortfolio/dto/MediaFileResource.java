@@ -0,0 +1,77 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import lombok.Getter;
+import org.springframework.core.io.Resource;
+
+public class MediaFileResource {
+
+    @Getter
+    private String fileName;
+
+    @Getter
+    private String filePath;
+
+    @Getter
+    private Resource resource;
+
+    @Getter
+    private long contentLength;
+
+    @Getter
+    private long lastModified;
+
+    @Getter
+    private String eTag;
+
+    @Getter
+    private String contentType;
+
+    /**
+     * The constructor for the mediaFileResourceDTO, deriving a strong ETag from the size and modification time
+     * @param fileName the filename
+     * @param filePath the file path
+     * @param resource the resource streaming the file content
+     * @param contentLength the size of the file in bytes
+     * @param lastModified the last modification time of the file in milliseconds
+     */
+    public MediaFileResource (String fileName, String filePath, Resource resource,
+                              long contentLength, long lastModified) {
+        this(fileName, filePath, resource, contentLength, lastModified, null);
+    }
+
+    /**
+     * The constructor for the mediaFileResourceDTO
+     * @param fileName the filename
+     * @param filePath the file path
+     * @param resource the resource streaming the file content
+     * @param contentLength the size of the file in bytes
+     * @param lastModified the last modification time of the file in milliseconds
+     * @param eTag the quoted strong ETag of the content, null to derive it from the size and modification time
+     */
+    public MediaFileResource (String fileName, String filePath, Resource resource,
+                              long contentLength, long lastModified, String eTag) {
+        this(fileName, filePath, resource, contentLength, lastModified, eTag, null);
+    }
+
+    /**
+     * The constructor for the mediaFileResourceDTO with the stored MIME type of the content
+     * @param fileName the filename
+     * @param filePath the file path
+     * @param resource the resource streaming the file content
+     * @param contentLength the size of the file in bytes
+     * @param lastModified the last modification time of the file in milliseconds
+     * @param eTag the quoted strong ETag of the content, null to derive it from the size and modification time
+     * @param contentType the MIME type of the content, null to derive it from the file path
+     */
+    public MediaFileResource (String fileName, String filePath, Resource resource,
+                              long contentLength, long lastModified, String eTag, String contentType) {
+        this.contentType = contentType;
+        this.fileName = fileName;
+        this.filePath = filePath;
+        this.resource = resource;
+        this.contentLength = contentLength;
+        this.lastModified = lastModified;
+        this.eTag = eTag != null ? eTag
+            : "\"" + Long.toHexString(contentLength) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+}
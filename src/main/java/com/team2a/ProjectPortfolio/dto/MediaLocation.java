@@ -0,0 +1,31 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import java.util.UUID;
+import lombok.Getter;
+
+public class MediaLocation {
+
+    @Getter
+    private UUID projectId;
+
+    @Getter
+    private String path;
+
+    /**
+     * Constructor for the media location DTO, the project and path of a Media
+     * @param projectId the id of the project of the media
+     * @param path the original path of the media
+     */
+    public MediaLocation (UUID projectId, String path) {
+        this.projectId = projectId;
+        this.path = path;
+    }
+
+    /**
+     * Returns the name of the file of the media in the store used before the content-addressed store
+     * @return the path followed by the id of the project
+     */
+    public String getStoredName () {
+        return path + projectId;
+    }
+}
@@ -0,0 +1,24 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.Getter;
+
+public class MediaPage {
+
+    @Getter
+    private List<MediaSummary> items;
+
+    @Getter
+    private UUID nextCursor;
+
+    /**
+     * Constructor for a page of media summaries
+     * @param items the media on this page
+     * @param nextCursor the cursor of the next page, null if this is the last page
+     */
+    public MediaPage (List<MediaSummary> items, UUID nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+}
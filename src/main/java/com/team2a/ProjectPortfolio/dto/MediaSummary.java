@@ -0,0 +1,59 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import com.team2a.ProjectPortfolio.Commons.Media;
+import java.util.UUID;
+import lombok.Getter;
+
+public class MediaSummary {
+
+    @Getter
+    private UUID mediaId;
+
+    @Getter
+    private String name;
+
+    @Getter
+    private String path;
+
+    @Getter
+    private String contentUrl;
+
+    @Getter
+    private Long size;
+
+    @Getter
+    private String mimeType;
+
+    @Getter
+    private Integer width;
+
+    @Getter
+    private Integer height;
+
+    /**
+     * Constructor for the media summary DTO
+     * @param mediaId the id of the media
+     * @param name the name of the media
+     * @param path the original filename of the media
+     * @param contentUrl the url from which the content of the media can be fetched
+     */
+    public MediaSummary (UUID mediaId, String name, String path, String contentUrl) {
+        this.mediaId = mediaId;
+        this.name = name;
+        this.path = path;
+        this.contentUrl = contentUrl;
+    }
+
+    /**
+     * Constructor for the media summary DTO, with the stored metadata of the media
+     * @param media the media
+     * @param contentUrl the url from which the content of the media can be fetched
+     */
+    public MediaSummary (Media media, String contentUrl) {
+        this(media.getMediaId(), media.getName(), media.getPath(), contentUrl);
+        this.size = media.getSize();
+        this.mimeType = media.getMimeType();
+        this.width = media.getWidth();
+        this.height = media.getHeight();
+    }
+}
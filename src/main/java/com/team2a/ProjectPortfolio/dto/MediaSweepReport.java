@@ -0,0 +1,58 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+public class MediaSweepReport {
+
+    public static final int MAX_LISTED_ORPHANS = 100;
+
+    @Getter
+    private boolean dryRun;
+
+    @Getter
+    private long scannedFiles;
+
+    @Getter
+    private long orphanedFiles;
+
+    @Getter
+    private long orphanedBytes;
+
+    @Getter
+    private List<String> orphans = new ArrayList<>();
+
+    @Getter
+    @Setter
+    private long totalReclaimedBytes;
+
+    /**
+     * Constructor for the report of a sweep of the assets directory
+     * @param dryRun whether the orphaned files were only reported, not deleted
+     */
+    public MediaSweepReport (boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    /**
+     * Counts a file that was checked against the database
+     */
+    public void addScanned () {
+        scannedFiles++;
+    }
+
+    /**
+     * Records an orphaned file. Only the first MAX_LISTED_ORPHANS names are listed.
+     * @param name the name of the file relative to the assets directory
+     * @param size the size of the file in bytes
+     */
+    public void addOrphan (String name, long size) {
+        orphanedFiles++;
+        orphanedBytes += size;
+        if (orphans.size() < MAX_LISTED_ORPHANS) {
+            orphans.add(name);
+        }
+    }
+}
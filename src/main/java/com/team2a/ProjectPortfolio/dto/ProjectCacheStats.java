@@ -0,0 +1,43 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import lombok.Getter;
+
+public class ProjectCacheStats {
+
+    @Getter
+    private long hits;
+
+    @Getter
+    private long misses;
+
+    @Getter
+    private long evictions;
+
+    @Getter
+    private long invalidations;
+
+    @Getter
+    private int entries;
+
+    @Getter
+    private int maxEntries;
+
+    /**
+     * Constructor for the project read cache counters DTO
+     * @param hits the number of reads served from the cache
+     * @param misses the number of reads that went to the database
+     * @param evictions the number of entries evicted to stay within the limit
+     * @param invalidations the number of invalidations caused by changes
+     * @param entries the number of cached reads over all regions
+     * @param maxEntries the number of projects cached per region
+     */
+    public ProjectCacheStats (long hits, long misses, long evictions, long invalidations, int entries,
+                              int maxEntries) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.invalidations = invalidations;
+        this.entries = entries;
+        this.maxEntries = maxEntries;
+    }
+}
@@ -0,0 +1,35 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.UUID;
+import lombok.Getter;
+
+public class ProjectCollaborator {
+
+    @Getter
+    @JsonIgnore
+    private UUID projectId;
+
+    @Getter
+    private UUID collaboratorId;
+
+    @Getter
+    private String name;
+
+    @Getter
+    private String role;
+
+    /**
+     * Constructor for the DTO of a collaborator in a project
+     * @param projectId the id of the project
+     * @param collaboratorId the id of the collaborator
+     * @param name the name of the collaborator
+     * @param role the role of the collaborator in the project
+     */
+    public ProjectCollaborator (UUID projectId, UUID collaboratorId, String name, String role) {
+        this.projectId = projectId;
+        this.collaboratorId = collaboratorId;
+        this.name = name;
+        this.role = role;
+    }
+}
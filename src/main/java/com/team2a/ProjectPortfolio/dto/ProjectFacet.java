@@ -0,0 +1,23 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import java.util.UUID;
+import lombok.Getter;
+
+public class ProjectFacet {
+
+    @Getter
+    private UUID projectId;
+
+    @Getter
+    private UUID valueId;
+
+    /**
+     * Constructor for the assignment of a facet value, a tag or a collaborator, to a project
+     * @param projectId the id of the project
+     * @param valueId the id of the tag or collaborator
+     */
+    public ProjectFacet (UUID projectId, UUID valueId) {
+        this.projectId = projectId;
+        this.valueId = valueId;
+    }
+}
@@ -0,0 +1,42 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.Setter;
+
+public class ProjectFacetQuery {
+
+    @Getter
+    @Setter
+    private List<UUID> tag = new ArrayList<>();
+
+    @Getter
+    @Setter
+    private boolean anyTag;
+
+    @Getter
+    @Setter
+    private List<UUID> collaborator = new ArrayList<>();
+
+    @Getter
+    @Setter
+    private boolean anyCollaborator;
+
+    @Getter
+    @Setter
+    private List<String> template = new ArrayList<>();
+
+    @Getter
+    @Setter
+    private Boolean archived;
+
+    @Getter
+    @Setter
+    private int page;
+
+    @Getter
+    @Setter
+    private int size = 24;
+}
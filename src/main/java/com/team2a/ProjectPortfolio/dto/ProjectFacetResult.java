@@ -0,0 +1,41 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.Getter;
+
+public class ProjectFacetResult {
+
+    @Getter
+    private List<ProjectSummary> items;
+
+    @Getter
+    private long total;
+
+    @Getter
+    private Map<UUID, Long> tags;
+
+    @Getter
+    private Map<UUID, Long> collaborators;
+
+    @Getter
+    private Map<String, Long> templates;
+
+    /**
+     * Constructor for a page of filtered projects with the facet counts of all matching projects
+     * @param items the projects on this page, sorted by title
+     * @param total the number of matching projects
+     * @param tags the number of matching projects per tag id
+     * @param collaborators the number of matching projects per collaborator id
+     * @param templates the number of matching projects per template name
+     */
+    public ProjectFacetResult (List<ProjectSummary> items, long total, Map<UUID, Long> tags,
+                               Map<UUID, Long> collaborators, Map<String, Long> templates) {
+        this.items = items;
+        this.total = total;
+        this.tags = tags;
+        this.collaborators = collaborators;
+        this.templates = templates;
+    }
+}
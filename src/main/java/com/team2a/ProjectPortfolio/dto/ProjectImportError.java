@@ -0,0 +1,22 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import lombok.Getter;
+
+public class ProjectImportError {
+
+    @Getter
+    private long line;
+
+    @Getter
+    private String message;
+
+    /**
+     * Constructor for the project import error DTO, a row of an import that was not imported
+     * @param line the line of the import at which the row starts
+     * @param message why the row was not imported
+     */
+    public ProjectImportError (long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+}
@@ -0,0 +1,28 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import java.util.List;
+import lombok.Getter;
+
+public class ProjectImportReport {
+
+    @Getter
+    private long imported;
+
+    @Getter
+    private long failed;
+
+    @Getter
+    private List<ProjectImportError> errors;
+
+    /**
+     * Constructor for the project import report DTO
+     * @param imported the number of imported projects
+     * @param failed the number of rows that were not imported
+     * @param errors the errors of the first failed rows, in the order of the import
+     */
+    public ProjectImportReport (long imported, long failed, List<ProjectImportError> errors) {
+        this.imported = imported;
+        this.failed = failed;
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,58 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+import com.team2a.ProjectPortfolio.Commons.Link;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+public class ProjectImportRow {
+
+    @Getter
+    @Setter
+    @JsonIgnore
+    private long line;
+
+    @Getter
+    @Setter
+    @NotNull(message = "Title is required")
+    private String title;
+
+    @Getter
+    @Setter
+    @NotNull(message = "Description is required")
+    @Size(max = 4000)
+    private String description;
+
+    @Getter
+    @Setter
+    private Boolean archived;
+
+    @Getter
+    @Setter
+    private String template;
+
+    @Getter
+    @Setter
+    @JsonSetter(nulls = Nulls.AS_EMPTY)
+    private List<@NotBlank(message = "Tag names must not be blank") String> tags = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @JsonSetter(nulls = Nulls.AS_EMPTY)
+    private List<@NotNull @Valid CollaboratorTransfer> collaborators = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @JsonSetter(nulls = Nulls.AS_EMPTY)
+    private List<@NotNull Link> links = new ArrayList<>();
+}
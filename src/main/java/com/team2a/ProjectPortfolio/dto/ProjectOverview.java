@@ -0,0 +1,35 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import com.team2a.ProjectPortfolio.Commons.RoleInProject;
+import java.util.List;
+import lombok.Getter;
+
+public class ProjectOverview {
+
+    @Getter
+    private ProjectView project;
+
+    @Getter
+    private List<MediaSummary> media;
+
+    @Getter
+    private TemplateSummary template;
+
+    @Getter
+    private RoleInProject role;
+
+    /**
+     * Constructor for the project overview DTO, everything the page of a project shows
+     * @param project the project with its links, tags and collaborators
+     * @param media the metadata of the media of the project
+     * @param template the template of the project, null if it has none or the caller may not see it
+     * @param role the role of the caller in the project, null if the caller does not belong to it
+     */
+    public ProjectOverview (ProjectView project, List<MediaSummary> media, TemplateSummary template,
+                            RoleInProject role) {
+        this.project = project;
+        this.media = media;
+        this.template = template;
+        this.role = role;
+    }
+}
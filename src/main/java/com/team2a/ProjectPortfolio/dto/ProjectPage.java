@@ -0,0 +1,23 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import java.util.List;
+import lombok.Getter;
+
+public class ProjectPage {
+
+    @Getter
+    private List<ProjectSummary> items;
+
+    @Getter
+    private String nextCursor;
+
+    /**
+     * Constructor for a page of project summaries
+     * @param items the projects on this page
+     * @param nextCursor the cursor of the next page, null if this is the last page
+     */
+    public ProjectPage (List<ProjectSummary> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+}
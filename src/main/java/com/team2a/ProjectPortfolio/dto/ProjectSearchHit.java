@@ -0,0 +1,40 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+import lombok.Getter;
+
+public class ProjectSearchHit {
+
+    @Getter
+    private UUID projectId;
+
+    @Getter
+    private String title;
+
+    @Getter
+    private String description;
+
+    @Getter
+    private Boolean archived;
+
+    @Getter
+    private Instant createdAt;
+
+    @Getter
+    private double score;
+
+    /**
+     * Constructor for a project matching a search
+     * @param project the summary of the project
+     * @param score the relevance of the project to the search, higher is better
+     */
+    public ProjectSearchHit (ProjectSummary project, double score) {
+        this.projectId = project.getProjectId();
+        this.title = project.getTitle();
+        this.description = project.getDescription();
+        this.archived = project.getArchived();
+        this.createdAt = project.getCreatedAt();
+        this.score = score;
+    }
+}
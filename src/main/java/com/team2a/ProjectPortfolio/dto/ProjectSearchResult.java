@@ -0,0 +1,23 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import java.util.List;
+import lombok.Getter;
+
+public class ProjectSearchResult {
+
+    @Getter
+    private List<ProjectSearchHit> items;
+
+    @Getter
+    private long total;
+
+    /**
+     * Constructor for a page of search results
+     * @param items the projects on this page, best match first
+     * @param total the number of projects matching the search
+     */
+    public ProjectSearchResult (List<ProjectSearchHit> items, long total) {
+        this.items = items;
+        this.total = total;
+    }
+}
@@ -0,0 +1,33 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import java.util.UUID;
+import lombok.Getter;
+
+public class ProjectStorageUsage {
+
+    @Getter
+    private UUID projectId;
+
+    @Getter
+    private long usedBytes;
+
+    @Getter
+    private long reservedBytes;
+
+    @Getter
+    private long quotaBytes;
+
+    /**
+     * Constructor for the storage usage DTO
+     * @param projectId the id of the project
+     * @param usedBytes the size of the stored media of the project
+     * @param reservedBytes the size of the uploads of the project in progress
+     * @param quotaBytes the maximum size of the media of a project, 0 if there is no limit
+     */
+    public ProjectStorageUsage (UUID projectId, long usedBytes, long reservedBytes, long quotaBytes) {
+        this.projectId = projectId;
+        this.usedBytes = usedBytes;
+        this.reservedBytes = reservedBytes;
+        this.quotaBytes = quotaBytes;
+    }
+}
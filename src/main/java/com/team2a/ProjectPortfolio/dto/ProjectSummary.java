@@ -0,0 +1,55 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import com.team2a.ProjectPortfolio.Commons.Project;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.Getter;
+
+public class ProjectSummary {
+
+    @Getter
+    private UUID projectId;
+
+    @Getter
+    private String title;
+
+    @Getter
+    private String description;
+
+    @Getter
+    private Boolean archived;
+
+    @Getter
+    private Instant createdAt;
+
+    @Getter
+    private Long version;
+
+    /**
+     * Constructor for the project summary DTO
+     * @param projectId the id of the project
+     * @param title the title of the project
+     * @param description the description of the project
+     * @param archived whether the project is archived
+     * @param createdAt the time at which the project was created
+     * @param version the version of the project
+     */
+    public ProjectSummary (UUID projectId, String title, String description, Boolean archived, Instant createdAt,
+                           Long version) {
+        this.projectId = projectId;
+        this.title = title;
+        this.description = description;
+        this.archived = archived;
+        this.createdAt = createdAt;
+        this.version = version;
+    }
+
+    /**
+     * Constructor for the project summary DTO, without the collections of the project
+     * @param project the project
+     */
+    public ProjectSummary (Project project) {
+        this(project.getProjectId(), project.getTitle(), project.getDescription(), project.getArchived(),
+            project.getCreatedAt(), project.getVersion());
+    }
+}
@@ -0,0 +1,23 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import java.util.UUID;
+import lombok.Getter;
+
+public class ProjectTemplate {
+
+    @Getter
+    private UUID projectId;
+
+    @Getter
+    private String templateName;
+
+    /**
+     * Constructor for the template of a project
+     * @param projectId the id of the project
+     * @param templateName the name of the template
+     */
+    public ProjectTemplate (UUID projectId, String templateName) {
+        this.projectId = projectId;
+        this.templateName = templateName;
+    }
+}
@@ -0,0 +1,82 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.team2a.ProjectPortfolio.EntityVersions;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import lombok.Getter;
+
+public class ProjectView {
+
+    @Getter
+    private UUID projectId;
+
+    @Getter
+    private String title;
+
+    @Getter
+    private String description;
+
+    @Getter
+    private Boolean archived;
+
+    @Getter
+    private Instant createdAt;
+
+    @Getter
+    private Long version;
+
+    @Getter
+    private List<LinkSummary> links;
+
+    @Getter
+    private List<TagSummary> tags;
+
+    @Getter
+    private List<ProjectCollaborator> collaborators;
+
+    private String eTag;
+
+    /**
+     * Constructor for the project view DTO, the read model of a project with its links, tags and collaborators
+     * @param project the summary of the project
+     * @param links the links of the project
+     * @param tags the tags of the project
+     * @param collaborators the collaborators of the project
+     */
+    public ProjectView (ProjectSummary project, List<LinkSummary> links, List<TagSummary> tags,
+                        List<ProjectCollaborator> collaborators) {
+        this.projectId = project.getProjectId();
+        this.title = project.getTitle();
+        this.description = project.getDescription();
+        this.archived = project.getArchived();
+        this.createdAt = project.getCreatedAt();
+        this.version = project.getVersion();
+        this.links = links;
+        this.tags = tags;
+        this.collaborators = collaborators;
+    }
+
+    /**
+     * Returns the strong ETag of the view. The version covers the fields of the project, the digest covers the
+     * links, tags and collaborators, which change without changing the version. It is computed once per view,
+     * so a cached view is validated without being serialized.
+     * @return the ETag, null if the project has no version
+     */
+    @JsonIgnore
+    public String getETag () {
+        if (eTag == null) {
+            StringBuilder related = new StringBuilder();
+            links.forEach(link -> related.append("link\0").append(link.getLinkId()).append('\0')
+                .append(link.getName()).append('\0').append(link.getUrl()).append('\n'));
+            tags.forEach(tag -> related.append("tag\0").append(tag.getTagId()).append('\0')
+                .append(tag.getName()).append('\0').append(tag.getColor()).append('\n'));
+            collaborators.forEach(collaborator -> related.append("collaborator\0")
+                .append(collaborator.getCollaboratorId()).append('\0').append(collaborator.getName()).append('\0')
+                .append(collaborator.getRole()).append('\n'));
+            eTag = EntityVersions.eTag(version, related.toString());
+        }
+        return eTag;
+    }
+}
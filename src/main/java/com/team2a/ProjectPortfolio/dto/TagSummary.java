@@ -0,0 +1,35 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.UUID;
+import lombok.Getter;
+
+public class TagSummary {
+
+    @Getter
+    @JsonIgnore
+    private UUID projectId;
+
+    @Getter
+    private UUID tagId;
+
+    @Getter
+    private String name;
+
+    @Getter
+    private String color;
+
+    /**
+     * Constructor for the tag summary DTO
+     * @param projectId the id of the project with the tag
+     * @param tagId the id of the tag
+     * @param name the name of the tag
+     * @param color the color of the tag
+     */
+    public TagSummary (UUID projectId, UUID tagId, String name, String color) {
+        this.projectId = projectId;
+        this.tagId = tagId;
+        this.name = name;
+        this.color = color;
+    }
+}
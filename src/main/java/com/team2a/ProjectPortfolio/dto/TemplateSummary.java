@@ -0,0 +1,32 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import com.team2a.ProjectPortfolio.Commons.Template;
+import com.team2a.ProjectPortfolio.Commons.TemplateAddition;
+import java.util.List;
+import lombok.Getter;
+
+public class TemplateSummary {
+
+    @Getter
+    private String templateName;
+
+    @Getter
+    private String standardDescription;
+
+    @Getter
+    private int numberOfCollaborators;
+
+    @Getter
+    private List<TemplateAddition> templateAdditions;
+
+    /**
+     * Constructor for the template summary DTO, a template with its additions but without its projects
+     * @param template the template, with its additions loaded
+     */
+    public TemplateSummary (Template template) {
+        this.templateName = template.getTemplateName();
+        this.standardDescription = template.getStandardDescription();
+        this.numberOfCollaborators = template.getNumberOfCollaborators();
+        this.templateAdditions = List.copyOf(template.getTemplateAdditions());
+    }
+}
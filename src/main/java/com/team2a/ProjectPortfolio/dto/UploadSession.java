@@ -0,0 +1,56 @@
+package com.team2a.ProjectPortfolio.dto;
+
+import java.util.UUID;
+import lombok.Getter;
+
+public class UploadSession {
+
+    @Getter
+    private UUID uploadId;
+
+    @Getter
+    private UUID projectId;
+
+    @Getter
+    private String name;
+
+    @Getter
+    private String fileName;
+
+    @Getter
+    private long size;
+
+    @Getter
+    private long offset;
+
+    @Getter
+    private long expiresAt;
+
+    /**
+     * Constructor for a new resumable upload
+     * @param uploadId the id of the upload
+     * @param projectId the id of the Project that gets the media
+     * @param name the name of the media
+     * @param fileName the original filename of the media
+     * @param size the total size of the file in bytes
+     * @param expiresAt the time in milliseconds after which an idle upload is discarded
+     */
+    public UploadSession (UUID uploadId, UUID projectId, String name, String fileName, long size, long expiresAt) {
+        this.uploadId = uploadId;
+        this.projectId = projectId;
+        this.name = name;
+        this.fileName = fileName;
+        this.size = size;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Records a chunk that was written to the staging file
+     * @param length the length of the chunk in bytes
+     * @param expiresAt the new expiry time in milliseconds
+     */
+    public void advance (long length, long expiresAt) {
+        this.offset += length;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -1,6 +1,7 @@
 package com.team2a.ProjectPortfolio.security;
 
 import com.team2a.ProjectPortfolio.Commons.Account;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
@@ -10,9 +11,10 @@ public class SecurityUtils {
     /**
      * Returns the current user
      * from the security context
-     * @return the current user
+     * @return the current user, null for an anonymous request
      */
     public Account getCurrentUser () {
-        return (Account) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof Account account ? account : null;
     }
 }
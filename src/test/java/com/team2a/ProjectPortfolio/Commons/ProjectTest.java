@@ -93,4 +93,31 @@ class ProjectTest {
         assertEquals(p1, p2);
         assertEquals(p1.hashCode(), p2.hashCode());
     }
+
+    @Test
+    void testContentHash() {
+        Project p = new Project("title", "description", false);
+        assertNull(p.getContentHash());
+        p.updateContentHash();
+        assertEquals(64, p.getContentHash().length());
+        assertEquals(Project.contentHash("title", "description"), p.getContentHash());
+        assertNotEquals(Project.contentHash("titled", "escription"), p.getContentHash());
+        p.setDescription("other description");
+        p.updateContentHash();
+        assertNotEquals(Project.contentHash("title", "description"), p.getContentHash());
+    }
+
+    @Test
+    void testContentHashKeptWhenContentUnchanged() {
+        Project p = new Project("title", "description", false);
+        p.setProjectId(UUID.randomUUID());
+        p.setContentHash(Project.duplicateContentHash(p.getProjectId()));
+        p.rememberContent();
+        p.setArchived(true);
+        p.updateChangedContentHash();
+        assertEquals(Project.duplicateContentHash(p.getProjectId()), p.getContentHash());
+        p.setTitle("other title");
+        p.updateChangedContentHash();
+        assertEquals(Project.contentHash("other title", "description"), p.getContentHash());
+    }
 }
@@ -11,7 +11,6 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.team2a.ProjectPortfolio.Commons.Account;
-import com.team2a.ProjectPortfolio.Commons.Project;
 import com.team2a.ProjectPortfolio.Commons.Role;
 import com.team2a.ProjectPortfolio.Commons.RoleInProject;
 import com.team2a.ProjectPortfolio.CustomExceptions.AccountNotFoundException;
@@ -23,6 +22,7 @@ import com.team2a.ProjectPortfolio.WebSocket.AccountProjectWebSocketHandler;
 import com.team2a.ProjectPortfolio.WebSocket.AccountWebSocketHandler;
 import com.team2a.ProjectPortfolio.dto.AccountTransfer;
 import com.team2a.ProjectPortfolio.dto.ProjectTransfer;
+import com.team2a.ProjectPortfolio.dto.ProjectView;
 import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -258,7 +258,7 @@ public class AccountControllerTest {
   @Test
   void testGetProjectsManaged () {
     when(accountService.getProjectsAccountManages("a")).thenReturn(new ArrayList<>());
-    ResponseEntity<List<Project>> res = accountController.getProjectsAccountManages("a");
+    ResponseEntity<List<ProjectView>> res = accountController.getProjectsAccountManages("a");
     assertEquals(res.getStatusCode(), HttpStatus.OK);
     assertEquals(res.getBody(), new ArrayList<>());
   }
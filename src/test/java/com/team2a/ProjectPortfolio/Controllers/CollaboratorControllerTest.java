@@ -3,6 +3,8 @@ package com.team2a.ProjectPortfolio.Controllers;
 import com.team2a.ProjectPortfolio.Commons.Collaborator;
 import com.team2a.ProjectPortfolio.Commons.RequestCollaboratorsProjects;
 import com.team2a.ProjectPortfolio.Services.CollaboratorService;
+import com.team2a.ProjectPortfolio.Services.ProjectReadCache;
+import com.team2a.ProjectPortfolio.Services.SparseFieldService;
 import com.team2a.ProjectPortfolio.WebSocket.CollaboratorProjectWebSocketHandler;
 import com.team2a.ProjectPortfolio.WebSocket.CollaboratorWebSocketHandler;
 import com.team2a.ProjectPortfolio.dto.CollaboratorTransfer;
@@ -19,6 +21,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -39,12 +42,17 @@ class CollaboratorControllerTest {
     @Mock
     private CollaboratorProjectWebSocketHandler collaboratorProjectWebSocketHandler;
 
+    @Mock
+    private SparseFieldService sparseFieldService;
+
     @BeforeEach
     void setup() {
         cs = Mockito.mock(CollaboratorService.class);
         collaboratorWebSocketHandler = Mockito.mock(CollaboratorWebSocketHandler.class);
         collaboratorProjectWebSocketHandler = Mockito.mock(CollaboratorProjectWebSocketHandler.class);
-        cc = new CollaboratorController(cs, collaboratorWebSocketHandler, collaboratorProjectWebSocketHandler);
+        sparseFieldService = Mockito.mock(SparseFieldService.class);
+        cc = new CollaboratorController(cs, collaboratorWebSocketHandler, collaboratorProjectWebSocketHandler,
+            new ProjectReadCache(60000, 100), sparseFieldService);
 
     }
 
@@ -134,6 +142,15 @@ class CollaboratorControllerTest {
         assertEquals(res.getBody(), List.of(c1));
     }
 
+    @Test
+    void getAllCollaboratorsFields () {
+        List<Map<String, Object>> collaborators = List.of(Map.of("name", "name1"));
+        when(sparseFieldService.getCollaborators("name")).thenReturn(collaborators);
+        ResponseEntity<List<Map<String, Object>>> res = cc.getAllCollaborators("name");
+        assertEquals(HttpStatus.OK, res.getStatusCode());
+        assertEquals(collaborators, res.getBody());
+    }
+
     @Test
     void testGetCollaboratorsRequestOk () {
         RequestCollaboratorsProjects rq = new RequestCollaboratorsProjects();
@@ -5,7 +5,9 @@ import com.team2a.ProjectPortfolio.Commons.Project;
 import com.team2a.ProjectPortfolio.Commons.RequestLinkProject;
 import com.team2a.ProjectPortfolio.CustomExceptions.NotFoundException;
 import com.team2a.ProjectPortfolio.Services.LinkService;
+import com.team2a.ProjectPortfolio.Services.ProjectReadCache;
 import com.team2a.ProjectPortfolio.WebSocket.LinkProjectWebSocketHandler;
+import com.team2a.ProjectPortfolio.dto.LinkSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -41,7 +43,7 @@ class LinkControllerTest {
     void setup() {
         ls = Mockito.mock(LinkService.class);
         linkProjectWebSocketHandler = Mockito.mock(LinkProjectWebSocketHandler.class);
-        lc = new LinkController(ls, linkProjectWebSocketHandler);
+        lc = new LinkController(ls, linkProjectWebSocketHandler, new ProjectReadCache(60000, 100));
     }
 
     @Test
@@ -77,18 +79,31 @@ class LinkControllerTest {
         link.setProject(p);
         link.setLinkId(UUID.randomUUID());
         when(ls.editLinkOfProject(any(Link.class))).thenReturn(link);
-        ResponseEntity<Link> responseEntity = lc.editLinkOfProject(link, UUID.randomUUID());
+        ResponseEntity<Link> responseEntity = lc.editLinkOfProject(link, UUID.randomUUID(), null);
         verify(linkProjectWebSocketHandler).broadcast(any());
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertEquals(link, responseEntity.getBody());
         verify(ls, times(1)).editLinkOfProject(any(Link.class));
     }
     @Test
+    void editLinkIfMatch() {
+        Link link = new Link("Test Link", "Test Description");
+        Link saved = new Link("Test Link", "Test Description");
+        Project p = new Project();
+        p.setProjectId(UUID.randomUUID());
+        saved.setProject(p);
+        saved.setVersion(1L);
+        when(ls.editLinkOfProject(link)).thenReturn(saved);
+        ResponseEntity<Link> responseEntity = lc.editLinkOfProject(link, p.getProjectId(), "\"0\"");
+        assertEquals(0L, link.getVersion());
+        assertEquals("\"1\"", responseEntity.getHeaders().getETag());
+    }
+    @Test
     void editLinkNotFound() {
         Link link = new Link("Test Link", "Test Description");
         link.setLinkId(UUID.randomUUID());
         when(ls.editLinkOfProject(any(Link.class))).thenThrow(EntityNotFoundException.class);
-        ResponseEntity<Link> responseEntity = lc.editLinkOfProject(link, UUID.randomUUID());
+        ResponseEntity<Link> responseEntity = lc.editLinkOfProject(link, UUID.randomUUID(), null);
         assertEquals(HttpStatus.NOT_FOUND, responseEntity.getStatusCode());
         assertNull(responseEntity.getBody());
         verify(ls, times(1)).editLinkOfProject(any(Link.class));
@@ -97,9 +112,9 @@ class LinkControllerTest {
     @Test
     void getLinksByProjectIdSuccess () {
         UUID projectId = UUID.randomUUID();
-        Link link2 = new Link("link2", "desc2");
+        LinkSummary link2 = new LinkSummary(projectId, UUID.randomUUID(), "link2", "desc2");
         when(ls.getLinksByProjectId(projectId)).thenReturn(List.of(link2));
-        ResponseEntity<List<Link>> response = lc.getLinksByProjectId(projectId);
+        ResponseEntity<List<LinkSummary>> response = lc.getLinksByProjectId(projectId);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(List.of(link2), response.getBody());
     }
@@ -118,7 +133,7 @@ class LinkControllerTest {
     void getLinksByProjectIdNotFound () {
         UUID projectId = UUID.randomUUID();
         when(ls.getLinksByProjectId(projectId)).thenThrow(EntityNotFoundException.class);
-        ResponseEntity<List<Link>> response = lc.getLinksByProjectId(projectId);
+        ResponseEntity<List<LinkSummary>> response = lc.getLinksByProjectId(projectId);
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertNull(response.getBody());
     }
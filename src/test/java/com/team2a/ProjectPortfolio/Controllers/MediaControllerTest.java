@@ -4,6 +4,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import com.team2a.ProjectPortfolio.Commons.Media;
@@ -12,12 +14,24 @@ import com.team2a.ProjectPortfolio.Commons.RequestMediaProject;
 import com.team2a.ProjectPortfolio.CustomExceptions.MediaNotFoundException;
 import com.team2a.ProjectPortfolio.CustomExceptions.NotFoundException;
 import com.team2a.ProjectPortfolio.CustomExceptions.ProjectNotFoundException;
+import com.team2a.ProjectPortfolio.Services.MediaGarbageCollector;
 import com.team2a.ProjectPortfolio.Services.MediaService;
+import com.team2a.ProjectPortfolio.Services.MediaUploadService;
+import com.team2a.ProjectPortfolio.Services.UploadAdmissionService;
 import java.util.List;
 import java.util.UUID;
 
 import com.team2a.ProjectPortfolio.WebSocket.MediaProjectWebSocketHandler;
+import com.team2a.ProjectPortfolio.dto.MediaCacheStats;
 import com.team2a.ProjectPortfolio.dto.MediaFileContent;
+import com.team2a.ProjectPortfolio.dto.MediaFileResource;
+import com.team2a.ProjectPortfolio.dto.MediaPage;
+import com.team2a.ProjectPortfolio.dto.MediaSummary;
+import com.team2a.ProjectPortfolio.dto.MediaSweepReport;
+import com.team2a.ProjectPortfolio.dto.ProjectStorageUsage;
+import com.team2a.ProjectPortfolio.dto.UploadSession;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,11 +39,21 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @ExtendWith(MockitoExtension.class)
 public class MediaControllerTest {
@@ -41,13 +65,29 @@ public class MediaControllerTest {
   @Mock
   private MediaProjectWebSocketHandler mediaProjectWebSocketHandler;
 
+  @Mock
+  private MediaGarbageCollector mediaGarbageCollector;
+
+  @Mock
+  private MediaUploadService mediaUploadService;
+
+  private UploadAdmissionService uploadAdmissionService;
+
   private MediaController mediaController;
 
+  private WebRequest get() {
+    return new ServletWebRequest(new MockHttpServletRequest("GET", "/"), new MockHttpServletResponse());
+  }
+
   @BeforeEach
   void setup() {
     mediaService = Mockito.mock(MediaService.class);
     mediaProjectWebSocketHandler = Mockito.mock(MediaProjectWebSocketHandler.class);
-    mediaController = new MediaController(mediaService, mediaProjectWebSocketHandler);
+    mediaGarbageCollector = Mockito.mock(MediaGarbageCollector.class);
+    mediaUploadService = Mockito.mock(MediaUploadService.class);
+    uploadAdmissionService = new UploadAdmissionService(8, 2, 0);
+    mediaController = new MediaController(mediaService, mediaProjectWebSocketHandler, mediaGarbageCollector,
+        mediaUploadService, uploadAdmissionService);
   }
 
 
@@ -59,6 +99,17 @@ public class MediaControllerTest {
     assertEquals(List.of(new MediaFileContent("name1","path1","content1")).toString(), entity.getBody().toString());
   }
 
+  @Test
+  void TestGetMediaPageByProjectIdSuccess() {
+    UUID mediaId = UUID.randomUUID();
+    MediaPage page = new MediaPage(List.of(new MediaSummary(mediaId, "name1", "path1",
+        "/media/public/file/raw/" + mediaId)), null);
+    when(mediaService.getMediaPageByProjectId(any(UUID.class), any(), anyInt())).thenReturn(page);
+    ResponseEntity<MediaPage> entity = mediaController.getMediaPageByProjectId(UUID.randomUUID(), null, 24);
+    assertEquals(HttpStatus.OK, entity.getStatusCode());
+    assertEquals(page, entity.getBody());
+  }
+
   @Test
   void TestGetDocumentContentByMediaIdSuccess() {
     MediaFileContent p1 = new MediaFileContent("test","test","test");
@@ -68,6 +119,231 @@ public class MediaControllerTest {
     assertEquals(p1, entity.getBody());
   }
 
+  @Test
+  void TestGetDocumentFileByMediaIdSuccess() {
+    Resource resource = new ByteArrayResource("test".getBytes());
+    MediaFileResource file = new MediaFileResource("test", "test.pdf", resource, 4L, 1000L);
+    when(mediaService.getDocumentFileByMediaId(any(UUID.class))).thenReturn(file);
+    ResponseEntity<Resource> entity = mediaController.getDocumentFileByMediaId(UUID.randomUUID(), null, get());
+    assertEquals(HttpStatus.OK, entity.getStatusCode());
+    assertEquals(MediaType.APPLICATION_PDF, entity.getHeaders().getContentType());
+    assertEquals(4L, entity.getHeaders().getContentLength());
+    assertEquals(1000L, entity.getHeaders().getLastModified());
+    assertEquals("inline; filename=\"test.pdf\"", entity.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+    assertEquals(resource, entity.getBody());
+  }
+
+  @Test
+  void TestGetThumbnailByMediaIdSuccess() {
+    Resource resource = new ByteArrayResource("thumb".getBytes());
+    MediaFileResource file = new MediaFileResource("test", "test-160.png", resource, 5L, 1000L);
+    when(mediaService.getThumbnailByMediaId(any(UUID.class), eq(160))).thenReturn(file);
+    ResponseEntity<Resource> entity = mediaController.getThumbnailByMediaId(UUID.randomUUID(), 160, get());
+    assertEquals(HttpStatus.OK, entity.getStatusCode());
+    assertEquals(MediaType.IMAGE_PNG, entity.getHeaders().getContentType());
+    assertEquals(5L, entity.getHeaders().getContentLength());
+    assertEquals(resource, entity.getBody());
+  }
+
+  @Test
+  void TestGetThumbnailQueueDepth() {
+    when(mediaService.getThumbnailQueueDepth()).thenReturn(2);
+    ResponseEntity<Integer> entity = mediaController.getThumbnailQueueDepth();
+    assertEquals(HttpStatus.OK, entity.getStatusCode());
+    assertEquals(2, entity.getBody());
+  }
+
+  @Test
+  void TestGetCacheStats() {
+    MediaCacheStats stats = new MediaCacheStats(3, 1, 0, 2, 100, 1000);
+    when(mediaService.getCacheStats()).thenReturn(stats);
+    ResponseEntity<MediaCacheStats> entity = mediaController.getCacheStats();
+    assertEquals(HttpStatus.OK, entity.getStatusCode());
+    assertEquals(stats, entity.getBody());
+  }
+
+  @Test
+  void TestSweepOrphanedFiles() {
+    MediaSweepReport report = new MediaSweepReport(true);
+    when(mediaGarbageCollector.sweep(true)).thenReturn(report);
+    ResponseEntity<MediaSweepReport> entity = mediaController.sweepOrphanedFiles(true);
+    assertEquals(HttpStatus.OK, entity.getStatusCode());
+    assertEquals(report, entity.getBody());
+  }
+
+  @Test
+  void TestGetProjectArchive() {
+    UUID projectId = UUID.randomUUID();
+    StreamingResponseBody body = out -> out.write(1);
+    when(mediaService.getProjectArchive(projectId)).thenReturn(body);
+    ResponseEntity<StreamingResponseBody> entity = mediaController.getProjectArchive(projectId);
+    assertEquals(HttpStatus.OK, entity.getStatusCode());
+    assertEquals(body, entity.getBody());
+    assertEquals("application/zip", entity.getHeaders().getContentType().toString());
+    assertEquals("attachment; filename=\"" + projectId + ".zip\"",
+        entity.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+  }
+
+  @Test
+  void TestGetStorageUsage() {
+    UUID projectId = UUID.randomUUID();
+    ProjectStorageUsage usage = new ProjectStorageUsage(projectId, 10, 2, 100);
+    when(mediaService.getStorageUsage(projectId)).thenReturn(usage);
+    ResponseEntity<ProjectStorageUsage> entity = mediaController.getStorageUsage(projectId);
+    assertEquals(HttpStatus.OK, entity.getStatusCode());
+    assertEquals(usage, entity.getBody());
+  }
+
+  @Test
+  void TestGetActiveUploads() {
+    assertEquals(0, mediaController.getActiveUploads().getBody());
+  }
+
+  @Test
+  void TestCreateUpload() {
+    UUID projectId = UUID.randomUUID();
+    UploadSession session = new UploadSession(UUID.randomUUID(), projectId, "video", "video.mp4", 10, 0);
+    when(mediaUploadService.createSession(projectId, "video", "video.mp4", 10)).thenReturn(session);
+    ResponseEntity<UploadSession> entity = mediaController.createUpload(projectId, "video", "video.mp4", 10);
+    assertEquals(HttpStatus.OK, entity.getStatusCode());
+    assertEquals(session, entity.getBody());
+  }
+
+  @Test
+  void TestGetUpload() {
+    UUID projectId = UUID.randomUUID();
+    UploadSession session = new UploadSession(UUID.randomUUID(), projectId, "video", "video.mp4", 10, 0);
+    when(mediaUploadService.getSession(projectId, session.getUploadId())).thenReturn(session);
+    assertEquals(session, mediaController.getUpload(projectId, session.getUploadId()).getBody());
+  }
+
+  @Test
+  void TestWriteUploadChunk() {
+    UUID projectId = UUID.randomUUID();
+    UploadSession session = new UploadSession(UUID.randomUUID(), projectId, "video", "video.mp4", 10, 0);
+    InputStream content = new ByteArrayInputStream("01234".getBytes());
+    when(mediaUploadService.writeChunk(projectId, session.getUploadId(), 0, "abc", content)).thenReturn(session);
+    ResponseEntity<UploadSession> entity = mediaController.writeUploadChunk(projectId, session.getUploadId(), 0,
+        "abc", content);
+    assertEquals(session, entity.getBody());
+  }
+
+  @Test
+  void TestCompleteUpload() {
+    UUID projectId = UUID.randomUUID();
+    UUID uploadId = UUID.randomUUID();
+    Media media = new Media("video", "video.mp4");
+    when(mediaUploadService.completeSession(projectId, uploadId)).thenReturn(media);
+    ResponseEntity<Media> entity = mediaController.completeUpload(projectId, uploadId);
+    assertEquals(HttpStatus.OK, entity.getStatusCode());
+    assertEquals(media, entity.getBody());
+    verify(mediaProjectWebSocketHandler).broadcast(projectId.toString());
+  }
+
+  @Test
+  void TestAbortUpload() {
+    UUID projectId = UUID.randomUUID();
+    UUID uploadId = UUID.randomUUID();
+    ResponseEntity<String> entity = mediaController.abortUpload(projectId, uploadId);
+    assertEquals(HttpStatus.OK, entity.getStatusCode());
+    verify(mediaUploadService).abortSession(projectId, uploadId);
+  }
+
+  @Test
+  void TestGetDocumentFileByMediaIdStoredType() {
+    MediaFileResource file = new MediaFileResource("test", "test.jpg", new ByteArrayResource(new byte[0]), 0L, 0L,
+        null, "image/png");
+    when(mediaService.getDocumentFileByMediaId(any(UUID.class))).thenReturn(file);
+    ResponseEntity<Resource> entity = mediaController.getDocumentFileByMediaId(UUID.randomUUID(), null, get());
+    assertEquals(MediaType.IMAGE_PNG, entity.getHeaders().getContentType());
+  }
+
+  @Test
+  void TestGetDocumentFileByMediaIdUnknownType() {
+    MediaFileResource file = new MediaFileResource("test", "test", new ByteArrayResource(new byte[0]), 0L, 0L);
+    when(mediaService.getDocumentFileByMediaId(any(UUID.class))).thenReturn(file);
+    ResponseEntity<Resource> entity = mediaController.getDocumentFileByMediaId(UUID.randomUUID(), null, get());
+    assertEquals(MediaType.APPLICATION_OCTET_STREAM, entity.getHeaders().getContentType());
+  }
+
+  @Test
+  void TestGetDocumentFileByMediaIdIfRangeMatches() {
+    Resource resource = new ByteArrayResource("test".getBytes());
+    MediaFileResource file = new MediaFileResource("test", "test.mp4", resource, 4L, 1717000000000L);
+    when(mediaService.getDocumentFileByMediaId(any(UUID.class))).thenReturn(file);
+    ResponseEntity<Resource> entity = mediaController.getDocumentFileByMediaId(UUID.randomUUID(),
+        "Wed, 29 May 2024 16:26:40 GMT", get());
+    assertEquals(resource, entity.getBody());
+  }
+
+  @Test
+  void TestGetDocumentFileByMediaIdIfRangeStale() {
+    Resource resource = new ByteArrayResource("test".getBytes());
+    MediaFileResource file = new MediaFileResource("test", "test.mp4", resource, 4L, 1717000000000L);
+    when(mediaService.getDocumentFileByMediaId(any(UUID.class))).thenReturn(file);
+    ResponseEntity<Resource> stale = mediaController.getDocumentFileByMediaId(UUID.randomUUID(),
+        "Tue, 28 May 2024 16:26:40 GMT", get());
+    assertEquals(InputStreamResource.class, stale.getBody().getClass());
+    assertEquals(4L, stale.getHeaders().getContentLength());
+    ResponseEntity<Resource> etag = mediaController.getDocumentFileByMediaId(UUID.randomUUID(), "\"abc\"", get());
+    assertEquals(InputStreamResource.class, etag.getBody().getClass());
+    ResponseEntity<Resource> invalid = mediaController.getDocumentFileByMediaId(UUID.randomUUID(), "yesterday", get());
+    assertEquals(InputStreamResource.class, invalid.getBody().getClass());
+  }
+
+  @Test
+  void TestGetDocumentFileByMediaIdIfRangeMatchesETag() {
+    Resource resource = new ByteArrayResource("test".getBytes());
+    MediaFileResource file = new MediaFileResource("test", "test.mp4", resource, 4L, 1000L, "\"abc\"");
+    when(mediaService.getDocumentFileByMediaId(any(UUID.class))).thenReturn(file);
+    ResponseEntity<Resource> entity = mediaController.getDocumentFileByMediaId(UUID.randomUUID(), "\"abc\"", get());
+    assertEquals(resource, entity.getBody());
+    assertEquals("\"abc\"", entity.getHeaders().getETag());
+  }
+
+  @Test
+  void TestGetDocumentFileByMediaIdIfNoneMatch() {
+    MediaFileResource file = new MediaFileResource("test", "test.pdf", new ByteArrayResource(new byte[0]), 0L,
+        1717000000000L, "\"abc\"");
+    when(mediaService.getDocumentFileByMediaId(any(UUID.class))).thenReturn(file);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"abc\"");
+    ResponseEntity<Resource> entity = mediaController.getDocumentFileByMediaId(UUID.randomUUID(), null,
+        new ServletWebRequest(request, new MockHttpServletResponse()));
+    assertEquals(HttpStatus.NOT_MODIFIED, entity.getStatusCode());
+    assertEquals("\"abc\"", entity.getHeaders().getETag());
+    assertNull(entity.getBody());
+  }
+
+  @Test
+  void TestGetDocumentFileByMediaIdIfModifiedSince() {
+    MediaFileResource file = new MediaFileResource("test", "test.pdf", new ByteArrayResource(new byte[0]), 0L,
+        1717000000000L);
+    when(mediaService.getDocumentFileByMediaId(any(UUID.class))).thenReturn(file);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+    request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, "Wed, 29 May 2024 16:26:40 GMT");
+    ResponseEntity<Resource> notModified = mediaController.getDocumentFileByMediaId(UUID.randomUUID(), null,
+        new ServletWebRequest(request, new MockHttpServletResponse()));
+    assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+    MockHttpServletRequest older = new MockHttpServletRequest("GET", "/");
+    older.addHeader(HttpHeaders.IF_MODIFIED_SINCE, "Tue, 28 May 2024 16:26:40 GMT");
+    ResponseEntity<Resource> modified = mediaController.getDocumentFileByMediaId(UUID.randomUUID(), null,
+        new ServletWebRequest(older, new MockHttpServletResponse()));
+    assertEquals(HttpStatus.OK, modified.getStatusCode());
+  }
+
+  @Test
+  void TestGetThumbnailByMediaIdIfNoneMatch() {
+    MediaFileResource file = new MediaFileResource("test", "test-160.png", new ByteArrayResource(new byte[0]), 0L,
+        1000L, "\"abc-160\"");
+    when(mediaService.getThumbnailByMediaId(any(UUID.class), eq(160))).thenReturn(file);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"abc-160\"");
+    ResponseEntity<Resource> entity = mediaController.getThumbnailByMediaId(UUID.randomUUID(), 160,
+        new ServletWebRequest(request, new MockHttpServletResponse()));
+    assertEquals(HttpStatus.NOT_MODIFIED, entity.getStatusCode());
+  }
+
   @Test
   void TestGetDocumentsByProjectIdSuccess() {
     Media m1 = new Media("test","test");
@@ -122,14 +398,14 @@ public class MediaControllerTest {
   void testEditMediaNotFound() {
     Media media = new Media();
     when(mediaService.editMedia(media)).thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND));
-    assertThrows(ResponseStatusException.class, () -> mediaController.editMedia(media));
+    assertThrows(ResponseStatusException.class, () -> mediaController.editMedia(media, null));
   }
 
   @Test
   void testEditMediaForbiddenPath() {
     Media media = new Media();
     when(mediaService.editMedia(media)).thenThrow(new ResponseStatusException(HttpStatus.FORBIDDEN));
-    assertThrows(ResponseStatusException.class, () -> mediaController.editMedia(media));
+    assertThrows(ResponseStatusException.class, () -> mediaController.editMedia(media, null));
   }
 
   @Test
@@ -139,12 +415,26 @@ public class MediaControllerTest {
     p.setProjectId(UUID.randomUUID());
     media.setProject(p);
     when(mediaService.editMedia(media)).thenReturn(media);
-    ResponseEntity<Media> entity = mediaController.editMedia(media);
+    ResponseEntity<Media> entity = mediaController.editMedia(media, null);
     verify(mediaProjectWebSocketHandler).broadcast(any());
     assertEquals(HttpStatus.OK, entity.getStatusCode());
     assertEquals(media, mediaService.editMedia(media));
   }
 
+  @Test
+  void testEditMediaIfMatch() {
+    Media media = new Media();
+    Project p = new Project();
+    p.setProjectId(UUID.randomUUID());
+    media.setProject(p);
+    Media saved = new Media();
+    saved.setVersion(3L);
+    when(mediaService.editMedia(media)).thenReturn(saved);
+    ResponseEntity<Media> entity = mediaController.editMedia(media, "\"2\"");
+    assertEquals(2L, media.getVersion());
+    assertEquals("\"3\"", entity.getHeaders().getETag());
+  }
+
   @Test
   void testEditMediaContentNotFound() {
     Media media = new Media();
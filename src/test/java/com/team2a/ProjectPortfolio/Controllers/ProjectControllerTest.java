@@ -2,18 +2,38 @@ package com.team2a.ProjectPortfolio.Controllers;
 
 import com.team2a.ProjectPortfolio.Commons.Project;
 import com.team2a.ProjectPortfolio.Commons.Template;
+import com.team2a.ProjectPortfolio.Services.ProjectImportService;
+import com.team2a.ProjectPortfolio.Services.ProjectOverviewService;
+import com.team2a.ProjectPortfolio.Services.ProjectReadCache;
 import com.team2a.ProjectPortfolio.Services.ProjectService;
+import com.team2a.ProjectPortfolio.Services.SparseFieldService;
 import com.team2a.ProjectPortfolio.WebSocket.ProjectWebSocketHandler;
+import com.team2a.ProjectPortfolio.dto.ProjectCacheStats;
+import com.team2a.ProjectPortfolio.dto.ProjectFacetQuery;
+import com.team2a.ProjectPortfolio.dto.ProjectFacetResult;
+import com.team2a.ProjectPortfolio.dto.ProjectImportError;
+import com.team2a.ProjectPortfolio.dto.ProjectImportReport;
+import com.team2a.ProjectPortfolio.dto.ProjectOverview;
+import com.team2a.ProjectPortfolio.dto.ProjectPage;
+import com.team2a.ProjectPortfolio.dto.ProjectSearchResult;
+import com.team2a.ProjectPortfolio.dto.ProjectSummary;
+import com.team2a.ProjectPortfolio.dto.ProjectView;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,45 +46,119 @@ class ProjectControllerTest {
     @Mock
     private ProjectWebSocketHandler webSocketHandler;
 
+    private ProjectReadCache projectReadCache;
+
+    private ProjectOverviewService projectOverviewService;
+
+    private SparseFieldService sparseFieldService;
+
+    private ProjectImportService projectImportService;
+
+    private ProjectView getView(String title, String description) {
+        return new ProjectView(new ProjectSummary(UUID.randomUUID(), title, description, false, null, 0L),
+            List.of(), List.of(), List.of());
+    }
+
+    private ServletWebRequest webRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest());
+    }
+
     @BeforeEach
     void setUp() {
         projectService = mock(ProjectService.class);
         webSocketHandler = Mockito.mock(ProjectWebSocketHandler.class);
-        projectController = new ProjectController(projectService, webSocketHandler);
+        projectReadCache = new ProjectReadCache(60000, 100);
+        projectOverviewService = mock(ProjectOverviewService.class);
+        sparseFieldService = mock(SparseFieldService.class);
+        projectImportService = mock(ProjectImportService.class);
+        projectController = new ProjectController(projectService, webSocketHandler, projectReadCache,
+            projectOverviewService, sparseFieldService, projectImportService);
     }
 
     @Test
     void getProjectsEmpty() {
-        List<Project> expected = new ArrayList<>();
+        List<ProjectView> expected = new ArrayList<>();
         when(projectService.getProjects()).thenReturn(List.of());
-        ResponseEntity<List<Project>> response = projectController.getProjects();
+        ResponseEntity<List<ProjectView>> response = projectController.getProjects();
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(expected, response.getBody());
     }
 
     @Test
     void getProjectsNotEmpty() {
-        Project project1 = new Project("Title1", "Description1",  false);
-        Project project2 = new Project("Title2", "Description2",  false);
-        Project project3 = new Project("Title3", "Description3",  false);
-        List<Project> projects = List.of(project1, project2, project3);
+        ProjectView project1 = getView("Title1", "Description1");
+        ProjectView project2 = getView("Title2", "Description2");
+        ProjectView project3 = getView("Title3", "Description3");
+        List<ProjectView> projects = List.of(project1, project2, project3);
 
         when(projectService.getProjects()).thenReturn(projects);
 
-        ResponseEntity<List<Project>> response = projectController.getProjects();
+        ResponseEntity<List<ProjectView>> response = projectController.getProjects();
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(projects, response.getBody());
     }
 
+    @Test
+    void getProjectsFields() {
+        List<Map<String, Object>> projects = List.of(Map.of("title", "Title1"));
+        when(sparseFieldService.getProjects("title")).thenReturn(projects);
+        ResponseEntity<List<Map<String, Object>>> response = projectController.getProjects("title");
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(projects, response.getBody());
+        verify(projectService, never()).getProjects();
+    }
+
+    @Test
+    void getProjectPage() {
+        UUID tagId = UUID.randomUUID();
+        ProjectPage page = new ProjectPage(List.of(), null);
+        when(projectService.getProjectPage("-created", "cursor", 10, true, tagId, null)).thenReturn(page);
+        ResponseEntity<ProjectPage> response = projectController.getProjectPage("-created", "cursor", 10, true,
+            tagId, null);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+    }
+
+    @Test
+    void getProjectFacets() {
+        ProjectFacetQuery query = new ProjectFacetQuery();
+        ProjectFacetResult result = new ProjectFacetResult(List.of(), 0, Map.of(), Map.of(), Map.of());
+        when(projectService.getProjectFacets(query)).thenReturn(result);
+        ResponseEntity<ProjectFacetResult> response = projectController.getProjectFacets(query);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(result, response.getBody());
+    }
+
+    @Test
+    void searchProjects() {
+        ProjectSearchResult result = new ProjectSearchResult(List.of(), 0);
+        when(projectService.searchProjects("portfolio", 0, 24)).thenReturn(result);
+        ResponseEntity<ProjectSearchResult> response = projectController.searchProjects("portfolio", 0, 24);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(result, response.getBody());
+    }
+
     @Test
     void updateProjectSuccess() {
         UUID projectId = UUID.randomUUID();
         Project project1 = new Project("Title1", "Description1", false);
         when(projectService.updateProject(projectId, project1)).thenReturn(project1);
-        ResponseEntity<Project> response = projectController.updateProject(projectId, project1);
+        ResponseEntity<Project> response = projectController.updateProject(projectId, project1, null);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(project1, response.getBody());
     }
+
+    @Test
+    void updateProjectIfMatch() {
+        UUID projectId = UUID.randomUUID();
+        Project project1 = new Project("Title1", "Description1", false);
+        Project result = new Project("Title1", "Description1", false);
+        result.setVersion(4L);
+        when(projectService.updateProject(projectId, project1)).thenReturn(result);
+        ResponseEntity<Project> response = projectController.updateProject(projectId, project1, "\"3\"");
+        assertEquals(3L, project1.getVersion());
+        assertEquals("\"4\"", response.getHeaders().getETag());
+    }
     @Test
     void createProjectSuccess() {
         Project project = new Project("title1", "desc1", false);
@@ -77,13 +171,79 @@ class ProjectControllerTest {
     @Test
     void getProjectByIdSuccess() {
         UUID projectId = UUID.randomUUID();
-        Project project1 = new Project("Title1", "Description1", false);
-        when(projectService.getProjectById(projectId)).thenReturn(project1);
-        ResponseEntity<Project> response = projectController.getProjectById(projectId);
+        ProjectView project1 = getView("Title1", "Description1");
+        when(projectService.getProjectViewById(projectId)).thenReturn(project1);
+        ResponseEntity<ProjectView> response = projectController.getProjectById(projectId, webRequest());
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(project1, response.getBody());
     }
 
+    @Test
+    void getProjectByIdETag() {
+        UUID projectId = UUID.randomUUID();
+        ProjectView project1 = getView("Title1", "Description1");
+        when(projectService.getProjectViewById(projectId)).thenReturn(project1);
+        ResponseEntity<ProjectView> response = projectController.getProjectById(projectId, webRequest());
+        assertEquals(project1.getETag(), response.getHeaders().getETag());
+
+        MockHttpServletRequest conditional = new MockHttpServletRequest();
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, project1.getETag());
+        response = projectController.getProjectById(projectId, new ServletWebRequest(conditional));
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void getProjectByIdCached() {
+        UUID projectId = UUID.randomUUID();
+        ProjectView project1 = getView("Title1", "Description1");
+        when(projectService.getProjectViewById(projectId)).thenReturn(project1);
+        projectController.getProjectById(projectId, webRequest());
+        assertEquals(project1, projectController.getProjectById(projectId, webRequest()).getBody());
+        verify(projectService, times(1)).getProjectViewById(projectId);
+
+        projectReadCache.invalidate(ProjectReadCache.Region.PROJECT, "edited " + projectId);
+        projectController.getProjectById(projectId, webRequest());
+        verify(projectService, times(2)).getProjectViewById(projectId);
+
+        ResponseEntity<ProjectCacheStats> stats = projectController.getCacheStats();
+        assertEquals(HttpStatus.OK, stats.getStatusCode());
+        assertEquals(1, stats.getBody().getHits());
+        assertEquals(2, stats.getBody().getMisses());
+        assertEquals(1, stats.getBody().getInvalidations());
+    }
+
+    @Test
+    void getProjectOverview() {
+        UUID projectId = UUID.randomUUID();
+        ProjectOverview overview = new ProjectOverview(getView("Title1", "Description1"), List.of(), null, null);
+        when(projectOverviewService.getProjectOverview(projectId)).thenReturn(overview);
+        ResponseEntity<ProjectOverview> response = projectController.getProjectOverview(projectId);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(overview, response.getBody());
+    }
+
+    @Test
+    void importProjects() {
+        InputStream content = new ByteArrayInputStream(new byte[0]);
+        ProjectImportReport report = new ProjectImportReport(2, 1, List.of(new ProjectImportError(3, "error")));
+        when(projectImportService.importProjects(content, "application/x-ndjson")).thenReturn(report);
+        ResponseEntity<ProjectImportReport> response = projectController.importProjects("application/x-ndjson", content);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(report, response.getBody());
+        verify(webSocketHandler).broadcast("imported 2");
+    }
+
+    @Test
+    void importProjectsNothingImported() {
+        InputStream content = new ByteArrayInputStream(new byte[0]);
+        ProjectImportReport report = new ProjectImportReport(0, 0, List.of());
+        when(projectImportService.importProjects(content, "text/csv")).thenReturn(report);
+        ResponseEntity<ProjectImportReport> response = projectController.importProjects("text/csv", content);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(webSocketHandler, never()).broadcast(anyString());
+    }
+
     @Test
     void deleteProjectSuccessful() {
         UUID projectId = UUID.randomUUID();
@@ -95,8 +95,15 @@ class RequestControllerTest {
         UUID id1 = UUID.randomUUID();
         Request r = new Request("title", "desc",
                 true, new Account(), new Project());
-        doNothing().when(requestService).acceptRequest(id1);
-        assertEquals(sut.acceptRequest(id1,id1).getStatusCode(), HttpStatus.NO_CONTENT);;
+        doNothing().when(requestService).acceptRequest(id1, null);
+        assertEquals(sut.acceptRequest(id1,id1, null).getStatusCode(), HttpStatus.NO_CONTENT);;
+    }
+
+    @Test
+    void testAcceptRequestIfMatch() {
+        UUID id1 = UUID.randomUUID();
+        assertEquals(HttpStatus.NO_CONTENT, sut.acceptRequest(id1, id1, "\"5\"").getStatusCode());
+        verify(requestService).acceptRequest(id1, 5L);
     }
 
     @Test
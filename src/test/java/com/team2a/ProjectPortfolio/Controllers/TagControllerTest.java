@@ -3,9 +3,12 @@ package com.team2a.ProjectPortfolio.Controllers;
 import com.team2a.ProjectPortfolio.Commons.RequestTagProject;
 import com.team2a.ProjectPortfolio.Commons.Tag;
 import com.team2a.ProjectPortfolio.CustomExceptions.NotFoundException;
+import com.team2a.ProjectPortfolio.Services.ProjectReadCache;
+import com.team2a.ProjectPortfolio.Services.SparseFieldService;
 import com.team2a.ProjectPortfolio.Services.TagService;
 import com.team2a.ProjectPortfolio.WebSocket.TagProjectWebSocketHandler;
 import com.team2a.ProjectPortfolio.WebSocket.TagWebSocketHandler;
+import com.team2a.ProjectPortfolio.dto.TagSummary;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,6 +23,7 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -39,6 +43,9 @@ class TagControllerTest {
     @Mock
     private TagProjectWebSocketHandler tagProjectWebSocketHandler;
 
+    @Mock
+    private SparseFieldService sparseFieldService;
+
     private TagController tagController;
 
     private Tag tag;
@@ -53,19 +60,20 @@ class TagControllerTest {
         tagService = Mockito.mock(TagService.class);
         tagWebSocketHandler = Mockito.mock(TagWebSocketHandler.class);
         tagProjectWebSocketHandler = Mockito.mock(TagProjectWebSocketHandler.class);
+        sparseFieldService = Mockito.mock(SparseFieldService.class);
 
         tagController = new TagController(tagService, tagWebSocketHandler,
-                tagProjectWebSocketHandler);
+                tagProjectWebSocketHandler, new ProjectReadCache(60000, 100), sparseFieldService);
     }
 
     @Test
     void testGetTagsByProjectId() {
-        List<Tag> tagsList = new ArrayList<>();
-        tagsList.add(tag);
+        List<TagSummary> tagsList = new ArrayList<>();
+        tagsList.add(new TagSummary(projectId, UUID.randomUUID(), "Test Tag", "Red"));
 
         when(tagService.getTagsByProjectId(projectId)).thenReturn(tagsList);
 
-        ResponseEntity<List<Tag>> response = tagController.getTagsByProjectId(projectId);
+        ResponseEntity<List<TagSummary>> response = tagController.getTagsByProjectId(projectId);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(tagsList, response.getBody());
     }
@@ -128,7 +136,7 @@ class TagControllerTest {
     void testEditTag() {
         when(tagService.editTag(any(Tag.class))).thenReturn(tag);
 
-        ResponseEntity<Tag> response = tagController.editTag(tag);
+        ResponseEntity<Tag> response = tagController.editTag(tag, null);
         verify(tagWebSocketHandler).broadcast(any());
         verify(tagProjectWebSocketHandler).broadcast(any());
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -195,6 +203,16 @@ class TagControllerTest {
         assertEquals(res.getBody(), List.of(new Tag("tag1", "blue")));
     }
 
+    @Test
+    void testGetAllTagsFields () {
+        List<Map<String, Object>> tags = List.of(Map.of("name", "tag1"));
+        when(sparseFieldService.getTags("name")).thenReturn(tags);
+        ResponseEntity<List<Map<String, Object>>> res = tagController.getAllTags("name");
+        assertEquals(HttpStatus.OK, res.getStatusCode());
+        assertEquals(tags, res.getBody());
+        verify(tagService, never()).getAllTags();
+    }
+
     @Test
     void testGetTagsRequestOk () {
         RequestTagProject r = new RequestTagProject();
@@ -0,0 +1,58 @@
+package com.team2a.ProjectPortfolio;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class EntityVersionsTest {
+
+  @Test
+  void eTag() {
+    assertEquals("\"3\"", EntityVersions.eTag(3L));
+    assertNull(EntityVersions.eTag(null));
+  }
+
+  @Test
+  void eTagWithRelated() {
+    String eTag = EntityVersions.eTag(3L, "tags");
+    assertTrue(eTag.matches("\"3-[0-9a-f]{16}\""));
+    assertEquals(eTag, EntityVersions.eTag(3L, "tags"));
+    assertNotEquals(eTag, EntityVersions.eTag(3L, "links"));
+    assertNull(EntityVersions.eTag(null, "tags"));
+  }
+
+  @Test
+  void fromIfMatch() {
+    assertEquals(3L, EntityVersions.fromIfMatch("\"3\""));
+    assertEquals(3L, EntityVersions.fromIfMatch(" \"3\" "));
+    assertEquals(3L, EntityVersions.fromIfMatch(EntityVersions.eTag(3L, "tags")));
+    assertNull(EntityVersions.fromIfMatch(null));
+    assertNull(EntityVersions.fromIfMatch(""));
+    assertNull(EntityVersions.fromIfMatch("*"));
+  }
+
+  @Test
+  void fromIfMatchNotAVersion() {
+    for (String ifMatch : new String[] {"3", "W/\"3\"", "\"\"", "\"abc\"", "\"1\", \"2\"",
+        "\"3-\"", "\"3-xyz\""}) {
+      ResponseStatusException e = assertThrows(ResponseStatusException.class,
+          () -> EntityVersions.fromIfMatch(ifMatch));
+      assertEquals(HttpStatus.PRECONDITION_FAILED, e.getStatusCode());
+    }
+  }
+
+  @Test
+  void check() {
+    assertDoesNotThrow(() -> EntityVersions.check(null, 4L));
+    assertDoesNotThrow(() -> EntityVersions.check(4L, 4L));
+    ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> EntityVersions.check(3L, 4L));
+    assertEquals(HttpStatus.PRECONDITION_FAILED, e.getStatusCode());
+  }
+}
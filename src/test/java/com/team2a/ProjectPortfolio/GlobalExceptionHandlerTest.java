@@ -4,6 +4,7 @@ import com.team2a.ProjectPortfolio.CustomExceptions.GlobalExceptionHandler;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -81,4 +82,20 @@ public class GlobalExceptionHandlerTest {
         assertThat(response.getPath()).isEqualTo("/protected/resource");
         assertThat(response.getTimestamp()).isNotNull();
     }
+
+    @Test
+    public void whenOptimisticLockingFailure_thenReturnsPreconditionFailedResponse() {
+        OptimisticLockingFailureException ex = new OptimisticLockingFailureException("Row was updated");
+        when(request.getRequestURI()).thenReturn("/project/1");
+
+        ResponseEntity<GlobalExceptionHandler.ApiErrorResponse> responseEntity =
+            exceptionHandler.handleOptimisticLockingFailure(ex, request);
+
+        GlobalExceptionHandler.ApiErrorResponse response = responseEntity.getBody();
+
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.PRECONDITION_FAILED.value());
+        assertThat(response.getError()).isEqualTo("Precondition Failed");
+        assertThat(response.getPath()).isEqualTo("/project/1");
+    }
 }
@@ -24,7 +24,9 @@ import com.team2a.ProjectPortfolio.Repositories.ProjectRepository;
 import com.team2a.ProjectPortfolio.Repositories.ProjectsToAccountsRepository;
 import com.team2a.ProjectPortfolio.dto.AccountDisplay;
 import com.team2a.ProjectPortfolio.dto.AccountTransfer;
+import com.team2a.ProjectPortfolio.dto.ProjectSummary;
 import com.team2a.ProjectPortfolio.dto.ProjectTransfer;
+import com.team2a.ProjectPortfolio.dto.ProjectView;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -51,6 +53,9 @@ public class AccountServiceTest {
   @Mock
   private ProjectsToAccountsRepository projectsToAccountsRepository;
 
+  @Mock
+  private ProjectViewService projectViewService;
+
   private AccountService accountService;
 
   private ProjectsToAccounts pta;
@@ -64,13 +69,16 @@ public class AccountServiceTest {
     accountRepository = Mockito.mock(AccountRepository.class);
     projectRepository = Mockito.mock(ProjectRepository.class);
     projectsToAccountsRepository = Mockito.mock(ProjectsToAccountsRepository.class);
-    accountService = new AccountService(accountRepository, projectRepository, projectsToAccountsRepository);
+    projectViewService = Mockito.mock(ProjectViewService.class);
+    accountService = new AccountService(accountRepository, projectRepository, projectsToAccountsRepository,
+        projectViewService);
     a = new Account("username", "name", "password", Role.ROLE_USER);
     Project project = new Project();
     project.setProjectId(projectId);
     project.setTitle("Title project");
     pta = new ProjectsToAccounts(RoleInProject.CONTENT_CREATOR, a, project);
-    accountService = new AccountService(accountRepository, projectRepository, projectsToAccountsRepository);
+    accountService = new AccountService(accountRepository, projectRepository, projectsToAccountsRepository,
+        projectViewService);
   }
   @Test
   void testEditAccountAccountNotFoundException() {
@@ -241,7 +249,8 @@ public class AccountServiceTest {
 
   @Test
   void testGetProjects() {
-    when(projectsToAccountsRepository.findAll()).thenReturn(List.of(pta));
+    when(projectsToAccountsRepository.findProjectTransfersByUsername("username"))
+        .thenReturn(List.of(new ProjectTransfer(projectId, "Title project", RoleInProject.CONTENT_CREATOR)));
     List<ProjectTransfer> projects = accountService.getProjects("username");
     assertEquals(1, projects.size());
     assertEquals(RoleInProject.CONTENT_CREATOR, projects.get(0).getRoleInProject());
@@ -288,7 +297,8 @@ public class AccountServiceTest {
 
   @Test
   void testGetAccountsInProject(){
-    when(projectsToAccountsRepository.findAll()).thenReturn(List.of(pta));
+    when(projectsToAccountsRepository.findAccountDisplaysByProjectId(projectId))
+        .thenReturn(List.of(new AccountDisplay(a.getUsername(), a.getName(), RoleInProject.CONTENT_CREATOR)));
     List<AccountDisplay> accounts = accountService.getAccountsInProject(projectId);
     assertEquals(1, accounts.size());
     AccountDisplay account = accounts.get(0);
@@ -298,4 +308,13 @@ public class AccountServiceTest {
 
   }
 
+  @Test
+  void testGetProjectsAccountManages() {
+    List<ProjectSummary> summaries = List.of(new ProjectSummary(projectId, "Title project", "description", false, null, 0L));
+    List<ProjectView> views = List.of(new ProjectView(summaries.get(0), List.of(), List.of(), List.of()));
+    when(projectsToAccountsRepository.findProjectSummariesByUsernameAndRole("username", RoleInProject.PM))
+        .thenReturn(summaries);
+    when(projectViewService.getProjectViews(summaries)).thenReturn(views);
+    assertEquals(views, accountService.getProjectsAccountManages("username"));
+  }
 }
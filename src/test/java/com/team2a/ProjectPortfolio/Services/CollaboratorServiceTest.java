@@ -43,6 +43,8 @@ public class CollaboratorServiceTest {
     @Mock
     private RequestCollaboratorsProjectsRepository
             requestCollaboratorsProjectsRepository;
+    @Mock
+    private ProjectFacetIndex projectFacetIndex;
     @InjectMocks
     private CollaboratorService cs;
 
@@ -53,7 +55,7 @@ public class CollaboratorServiceTest {
         requestCollaboratorsProjectsRepository =
                 Mockito.mock(RequestCollaboratorsProjectsRepository.class);
         cs = new CollaboratorService(ptc, cr, projectRepository,
-                requestRepository, requestCollaboratorsProjectsRepository);
+                requestRepository, requestCollaboratorsProjectsRepository, projectFacetIndex);
     }
 
     @Test
@@ -88,6 +90,7 @@ public class CollaboratorServiceTest {
         String response = cs.deleteCollaborator(collaboratorId);
         assertEquals("Deleted collaborator", response);
         verify(cr, times(1)).delete(collaborator);
+        verify(projectFacetIndex).deleteCollaborator(collaboratorId);
     }
 
     @Test
@@ -110,6 +113,7 @@ public class CollaboratorServiceTest {
         String response = cs.deleteCollaboratorFromProject(projectId, collaboratorId);
         assertEquals("Deleted collaborator", response);
         verify(ptc, times(1)).deleteAll(anyList());
+        verify(projectFacetIndex).setCollaborator(projectId, collaboratorId, false);
     }
 
 
@@ -192,6 +196,7 @@ public class CollaboratorServiceTest {
         assertNotNull(result);
         assertNotNull(result.getCollaboratorId());
         verify(ptc, times(1)).save(any(ProjectsToCollaborators.class));
+        verify(projectFacetIndex).setCollaborator(projectId, collaboratorId, true);
     }
 
     @Test
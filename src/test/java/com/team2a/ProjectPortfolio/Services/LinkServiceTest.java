@@ -7,6 +7,7 @@ import com.team2a.ProjectPortfolio.Repositories.LinkRepository;
 import com.team2a.ProjectPortfolio.Repositories.ProjectRepository;
 import com.team2a.ProjectPortfolio.Repositories.RequestLinkProjectRepository;
 import com.team2a.ProjectPortfolio.Repositories.RequestRepository;
+import com.team2a.ProjectPortfolio.dto.LinkSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,6 +24,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.security.core.parameters.P;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -103,6 +105,19 @@ public class LinkServiceTest {
         verify(lr, times(1)).save(any(Link.class));
     }
     @Test
+    void editLinkStaleVersion() {
+        Link stored = new Link("Test","Test");
+        stored.setLinkId(UUID.randomUUID());
+        stored.setVersion(4L);
+        Link link = new Link("Edited","Edited");
+        link.setLinkId(stored.getLinkId());
+        link.setVersion(3L);
+        when(lr.findById(link.getLinkId())).thenReturn(Optional.of(stored));
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> ls.editLinkOfProject(link));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, e.getStatusCode());
+        verify(lr, never()).save(any(Link.class));
+    }
+    @Test
     void deleteLinkByIdSuccess(){
 
         Link link = new Link("Test","Test");
@@ -128,15 +143,15 @@ public class LinkServiceTest {
     @Test
     void getLinksByProjectIdSuccess() {
         UUID projectId = UUID.randomUUID();
-        Link link2 = new Link("link2", "desc2");
-        when(lr.findAllByProjectProjectId(projectId)).thenReturn(List.of(link2));
-        List<Link> response = ls.getLinksByProjectId(projectId);
+        LinkSummary link2 = new LinkSummary(projectId, UUID.randomUUID(), "link2", "desc2");
+        when(lr.findSummariesByProjectIds(List.of(projectId))).thenReturn(List.of(link2));
+        List<LinkSummary> response = ls.getLinksByProjectId(projectId);
         assertEquals(List.of(link2), response);
     }
     @Test
     void getLinksByProjectIdNotFound() {
         UUID projectId = UUID.randomUUID();
-        when(lr.findAllByProjectProjectId(projectId)).thenReturn(List.of());
+        when(lr.findSummariesByProjectIds(List.of(projectId))).thenReturn(List.of());
         assertEquals(ls.getLinksByProjectId(projectId),List.of());
     }
     @Test
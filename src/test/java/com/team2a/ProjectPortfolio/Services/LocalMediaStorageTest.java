@@ -0,0 +1,139 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LocalMediaStorageTest {
+
+  @TempDir
+  Path assets;
+
+  private LocalMediaStorage storage;
+
+  @BeforeEach
+  void setUp() {
+    storage = new LocalMediaStorage(assets);
+  }
+
+  private Path temp(String content) throws IOException {
+    Path file = Files.createTempFile(assets, ".upload-", ".tmp");
+    Files.writeString(file, content);
+    return file;
+  }
+
+  @Test
+  void testPutShardsFlatNames() throws IOException {
+    Path source = temp("content");
+    storage.put("photo.png1234", source);
+    Path stored = storage.resolve("photo.png1234");
+    assertEquals(assets.resolve("files"), stored.getParent().getParent());
+    assertEquals(2, stored.getParent().getFileName().toString().length());
+    assertFalse(Files.exists(source));
+    assertTrue(storage.exists("photo.png1234"));
+    assertEquals(7, storage.getSize("photo.png1234"));
+    try (InputStream in = storage.newInputStream("photo.png1234")) {
+      assertArrayEquals("content".getBytes(), in.readAllBytes());
+    }
+  }
+
+  @Test
+  void testPutKeepsNamesWithDirectories() throws IOException {
+    storage.put("blobs/ab/abcd", temp("content"));
+    assertEquals(assets.resolve("blobs/ab/abcd"), storage.resolve("blobs/ab/abcd"));
+    assertTrue(Files.exists(assets.resolve("blobs/ab/abcd")));
+  }
+
+  @Test
+  void testReadsFlatFileBeforeMigration() throws IOException {
+    Files.writeString(assets.resolve("legacy.pdf1234"), "legacy");
+    assertEquals(assets.resolve("legacy.pdf1234"), storage.resolve("legacy.pdf1234"));
+    assertTrue(storage.exists("legacy.pdf1234"));
+    assertEquals(6, storage.getResource("legacy.pdf1234").contentLength());
+  }
+
+  @Test
+  void testMissingFile() {
+    assertFalse(storage.exists("missing"));
+    assertThrows(NoSuchFileException.class, () -> storage.getResource("missing"));
+  }
+
+  @Test
+  void testTouch() throws IOException {
+    storage.put("blobs/ab/abcd", temp("content"));
+    Files.setLastModifiedTime(assets.resolve("blobs/ab/abcd"), FileTime.fromMillis(0));
+    assertTrue(storage.touch("blobs/ab/abcd"));
+    assertTrue(storage.getLastModified("blobs/ab/abcd") > 0);
+    assertFalse(storage.touch("blobs/cd/cdef"));
+  }
+
+  @Test
+  void testDeleteRemovesBothLocations() throws IOException {
+    storage.put("photo.png1234", temp("sharded"));
+    Files.writeString(assets.resolve("photo.png1234"), "flat");
+    storage.delete("photo.png1234");
+    assertFalse(storage.exists("photo.png1234"));
+    assertFalse(Files.exists(assets.resolve("photo.png1234")));
+  }
+
+  @Test
+  void testMigrateFlatFiles() throws IOException {
+    Files.writeString(assets.resolve("a.png1234"), "a");
+    Files.writeString(assets.resolve("b.png1234"), "b");
+    Files.writeString(assets.resolve("c.png1234"), "c");
+    Files.writeString(assets.resolve(".upload-1.tmp"), "in progress");
+    assertEquals(2, storage.migrateFlatFiles(2));
+    assertEquals(1, storage.migrateFlatFiles(2));
+    assertEquals(0, storage.migrateFlatFiles(2));
+    for (String name : new String[] {"a.png1234", "b.png1234", "c.png1234"}) {
+      assertFalse(Files.exists(assets.resolve(name)));
+      assertEquals(assets.resolve("files"), storage.resolve(name).getParent().getParent());
+      assertTrue(storage.exists(name));
+    }
+    assertTrue(Files.exists(assets.resolve(".upload-1.tmp")));
+  }
+
+  @Test
+  void testMigrateKeepsNewerShardedCopy() throws IOException {
+    storage.put("photo.png1234", temp("sharded"));
+    Files.writeString(assets.resolve("photo.png1234"), "flat");
+    assertEquals(1, storage.migrateFlatFiles(10));
+    assertFalse(Files.exists(assets.resolve("photo.png1234")));
+    assertEquals("sharded", Files.readString(storage.resolve("photo.png1234")));
+  }
+
+  @Test
+  void testMigrateWithoutDirectory() throws IOException {
+    assertEquals(0, new LocalMediaStorage(assets.resolve("missing")).migrateFlatFiles(10));
+  }
+
+  @Test
+  void testList() throws IOException {
+    storage.put("blobs/ab/abcd", temp("blob"));
+    Files.writeString(assets.resolve("legacy.pdf1234"), "legacy");
+    Path sharded = storage.resolve("photo.png1234");
+    storage.put("photo.png1234", temp("sharded"));
+    try (Stream<String> files = storage.list()) {
+      assertEquals(Set.of("blobs/ab/abcd", "legacy.pdf1234", assets.relativize(sharded).toString().replace('\\', '/')),
+          files.collect(Collectors.toSet()));
+    }
+    try (Stream<String> files = new LocalMediaStorage(assets.resolve("missing")).list()) {
+      assertEquals(0, files.count());
+    }
+  }
+}
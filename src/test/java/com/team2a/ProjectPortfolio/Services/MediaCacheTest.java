@@ -0,0 +1,78 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.team2a.ProjectPortfolio.dto.MediaCacheStats;
+import org.junit.jupiter.api.Test;
+
+public class MediaCacheTest {
+
+  @Test
+  void testGetCountsHitsAndMisses() {
+    MediaCache cache = new MediaCache(800);
+    assertNull(cache.get("a"));
+    cache.put("a", new byte[10]);
+    assertArrayEquals(new byte[10], cache.get("a"));
+    MediaCacheStats stats = cache.getStats();
+    assertEquals(1, stats.getHits());
+    assertEquals(1, stats.getMisses());
+    assertEquals(1, stats.getEntries());
+    assertEquals(10, stats.getUsedBytes());
+  }
+
+  @Test
+  void testPutEvictsLeastRecentlyUsed() {
+    MediaCache cache = new MediaCache(800);
+    cache.put("a", new byte[100]);
+    cache.put("b", new byte[100]);
+    cache.put("c", new byte[100]);
+    cache.get("a");
+    for (int i = 0; i < 6; i++) {
+      cache.put("d" + i, new byte[100]);
+    }
+    assertNull(cache.get("b"));
+    assertTrue(cache.get("a") != null);
+    assertEquals(1, cache.getStats().getEvictions());
+    assertEquals(800, cache.getStats().getUsedBytes());
+  }
+
+  @Test
+  void testPutRejectsLargeEntries() {
+    MediaCache cache = new MediaCache(800);
+    assertFalse(cache.accepts(101));
+    cache.put("a", new byte[101]);
+    assertNull(cache.get("a"));
+    assertEquals(0, cache.getStats().getUsedBytes());
+  }
+
+  @Test
+  void testPutReplacesEntry() {
+    MediaCache cache = new MediaCache(800);
+    cache.put("a", new byte[100]);
+    cache.put("a", new byte[50]);
+    assertEquals(50, cache.getStats().getUsedBytes());
+    assertEquals(1, cache.getStats().getEntries());
+  }
+
+  @Test
+  void testInvalidate() {
+    MediaCache cache = new MediaCache(800);
+    cache.put("a", new byte[100]);
+    cache.invalidate("a");
+    cache.invalidate("b");
+    assertNull(cache.get("a"));
+    assertEquals(0, cache.getStats().getUsedBytes());
+  }
+
+  @Test
+  void testDisabled() {
+    MediaCache cache = new MediaCache(0);
+    assertFalse(cache.accepts(0));
+    cache.put("a", new byte[0]);
+    assertNull(cache.get("a"));
+  }
+}
@@ -0,0 +1,127 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.team2a.ProjectPortfolio.Repositories.MediaRepository;
+import com.team2a.ProjectPortfolio.dto.MediaLocation;
+import com.team2a.ProjectPortfolio.dto.MediaSweepReport;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MediaGarbageCollectorTest {
+
+  private static final String REFERENCED = "a".repeat(64);
+  private static final String ORPHANED = "b".repeat(64);
+  private static final FileTime OLD = FileTime.fromMillis(0);
+
+  @TempDir
+  Path assets;
+
+  private MediaRepository mediaRepository;
+
+  private MediaGarbageCollector collector;
+
+  private final UUID projectId = UUID.randomUUID();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    mediaRepository = mock(MediaRepository.class);
+    collector = new MediaGarbageCollector(mediaRepository, new LocalMediaStorage(assets), 2, 60000);
+    when(mediaRepository.findExistingHashes(any())).thenReturn(Set.of(REFERENCED));
+    when(mediaRepository.findExistingLocations(any(), any()))
+        .thenReturn(List.of(new MediaLocation(projectId, "kept.png")));
+    write("blobs/aa/" + REFERENCED, 10);
+    write("blobs/aa/" + REFERENCED + "-160.jpg", 5);
+    write("blobs/bb/" + ORPHANED, 20);
+    write("blobs/bb/" + ORPHANED + "-480.png", 7);
+    write("blobs/.upload-1.tmp", 3);
+    write("kept.png" + projectId, 11);
+    write("gone.png" + projectId, 13);
+    write("notes.txt", 17);
+  }
+
+  private void write(String name, int size) throws IOException {
+    Path file = assets.resolve(name);
+    Files.createDirectories(file.getParent());
+    Files.write(file, new byte[size]);
+    Files.setLastModifiedTime(file, OLD);
+  }
+
+  @Test
+  void testDryRunReportsOrphans() {
+    MediaSweepReport report = collector.sweep(true);
+    assertTrue(report.isDryRun());
+    assertEquals(8, report.getScannedFiles());
+    assertEquals(4, report.getOrphanedFiles());
+    assertEquals(20 + 7 + 3 + 13, report.getOrphanedBytes());
+    assertTrue(Files.exists(assets.resolve("blobs/bb/" + ORPHANED)));
+    assertEquals(0, collector.getReclaimedBytes());
+  }
+
+  @Test
+  void testSweepDeletesOrphans() {
+    MediaSweepReport report = collector.sweep(false);
+    assertEquals(4, report.getOrphanedFiles());
+    assertFalse(Files.exists(assets.resolve("blobs/bb/" + ORPHANED)));
+    assertFalse(Files.exists(assets.resolve("blobs/bb/" + ORPHANED + "-480.png")));
+    assertFalse(Files.exists(assets.resolve("blobs/.upload-1.tmp")));
+    assertFalse(Files.exists(assets.resolve("gone.png" + projectId)));
+    assertTrue(Files.exists(assets.resolve("blobs/aa/" + REFERENCED)));
+    assertTrue(Files.exists(assets.resolve("blobs/aa/" + REFERENCED + "-160.jpg")));
+    assertTrue(Files.exists(assets.resolve("kept.png" + projectId)));
+    assertTrue(Files.exists(assets.resolve("notes.txt")));
+    assertEquals(43, collector.getReclaimedBytes());
+    assertEquals(43, report.getTotalReclaimedBytes());
+  }
+
+  @Test
+  void testSweepChecksShardedLegacyFiles() throws IOException {
+    write("files/1f/kept.png" + projectId, 2);
+    write("files/2e/gone.png" + projectId + "-160.jpg", 4);
+    MediaSweepReport report = collector.sweep(false);
+    assertEquals(5, report.getOrphanedFiles());
+    assertTrue(Files.exists(assets.resolve("files/1f/kept.png" + projectId)));
+    assertFalse(Files.exists(assets.resolve("files/2e/gone.png" + projectId + "-160.jpg")));
+  }
+
+  @Test
+  void testSweepMatchesLegacyFilesOnProject() throws IOException {
+    UUID otherProjectId = UUID.randomUUID();
+    write("kept.png" + otherProjectId, 19);
+    MediaSweepReport report = collector.sweep(false);
+    assertEquals(5, report.getOrphanedFiles());
+    assertTrue(Files.exists(assets.resolve("kept.png" + projectId)));
+    assertFalse(Files.exists(assets.resolve("kept.png" + otherProjectId)));
+  }
+
+  @Test
+  void testSweepKeepsRecentFiles() throws IOException {
+    Files.setLastModifiedTime(assets.resolve("blobs/bb/" + ORPHANED), FileTime.fromMillis(System.currentTimeMillis()));
+    collector.sweep(false);
+    assertTrue(Files.exists(assets.resolve("blobs/bb/" + ORPHANED)));
+  }
+
+  @Test
+  void testSweepQueriesInBatches() {
+    collector.sweep(true);
+    verify(mediaRepository, atLeast(2)).findExistingHashes(any());
+  }
+
+  @Test
+  void testSweepWithoutAssetsDirectory() throws IOException {
+    collector.setStorage(new LocalMediaStorage(assets.resolve("missing")));
+    assertEquals(0, collector.sweep(false).getScannedFiles());
+  }
+}
@@ -0,0 +1,99 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.team2a.ProjectPortfolio.Commons.Media;
+import com.team2a.ProjectPortfolio.Repositories.MediaRepository;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class MediaMetadataBackfillTest {
+
+  private MediaRepository mediaRepository;
+
+  private MediaService mediaService;
+
+  private MediaHelper mediaHelper;
+
+  private MediaMetadataBackfill backfill;
+
+  @BeforeEach
+  void setUp() {
+    mediaRepository = mock(MediaRepository.class);
+    mediaService = mock(MediaService.class);
+    mediaHelper = mock(MediaHelper.class);
+    backfill = new MediaMetadataBackfill(mediaRepository, mediaService, mediaHelper, 3);
+    when(mediaService.getStoredFileName(any(Media.class)))
+        .thenAnswer(invocation -> ((Media) invocation.getArgument(0)).getPath());
+    doAnswer(invocation -> {
+      Media media = invocation.getArgument(0);
+      media.setSize(10L);
+      media.setMimeType("image/png");
+      media.setWidth(4);
+      media.setHeight(2);
+      return null;
+    }).when(mediaHelper).readMetadata(any(Media.class), anyString());
+  }
+
+  private Media media(String path) {
+    Media media = new Media(path, path);
+    media.setMediaId(UUID.randomUUID());
+    return media;
+  }
+
+  @Test
+  void testBackfillSkipsMissingAndBrokenFiles() {
+    Media stored = media("stored");
+    Media missing = media("missing");
+    Media broken = media("broken");
+    when(mediaRepository.findAllBySizeIsNullOrderByMediaIdAsc(any())).thenReturn(List.of(stored, missing, broken));
+    when(mediaHelper.fileExists("stored")).thenReturn(true);
+    when(mediaHelper.fileExists("missing")).thenReturn(false);
+    when(mediaHelper.fileExists("broken")).thenReturn(true);
+    doThrow(new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR))
+        .when(mediaHelper).readMetadata(eq(broken), anyString());
+    when(mediaRepository.backfillMetadata(stored.getMediaId(), 10L, "image/png", 4, 2)).thenReturn(1);
+
+    backfill.backfill();
+
+    verify(mediaRepository).backfillMetadata(stored.getMediaId(), 10L, "image/png", 4, 2);
+    verify(mediaRepository, times(1)).backfillMetadata(any(), anyLong(), any(), any(), any());
+    assertEquals(1, backfill.getBackfilledMedia());
+    assertFalse(backfill.isDone());
+  }
+
+  @Test
+  void testBackfillContinuesAfterCursorUntilDone() {
+    Media first = media("first");
+    Media second = media("second");
+    Media third = media("third");
+    Media fourth = media("fourth");
+    when(mediaRepository.findAllBySizeIsNullOrderByMediaIdAsc(any())).thenReturn(List.of(first, second, third));
+    when(mediaRepository.findAllBySizeIsNullAndMediaIdGreaterThanOrderByMediaIdAsc(eq(third.getMediaId()), any()))
+        .thenReturn(List.of(fourth));
+    when(mediaHelper.fileExists(anyString())).thenReturn(true);
+    when(mediaRepository.backfillMetadata(any(), anyLong(), any(), anyInt(), anyInt())).thenReturn(1);
+
+    backfill.backfill();
+    assertFalse(backfill.isDone());
+    backfill.backfill();
+    assertTrue(backfill.isDone());
+    backfill.backfill();
+
+    verify(mediaRepository, times(1)).findAllBySizeIsNullOrderByMediaIdAsc(any());
+    verify(mediaRepository, times(1)).findAllBySizeIsNullAndMediaIdGreaterThanOrderByMediaIdAsc(any(), any());
+    assertEquals(4, backfill.getBackfilledMedia());
+  }
+}
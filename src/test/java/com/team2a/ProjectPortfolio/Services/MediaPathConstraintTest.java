@@ -0,0 +1,104 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import com.team2a.ProjectPortfolio.Commons.Media;
+import com.team2a.ProjectPortfolio.Commons.Project;
+import com.team2a.ProjectPortfolio.Repositories.MediaRepository;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class MediaPathConstraintTest {
+
+  private MediaRepository mediaRepository;
+
+  private MediaService mediaService;
+
+  private MediaHelper mediaHelper;
+
+  private JdbcTemplate jdbcTemplate;
+
+  private MediaPathConstraint constraint;
+
+  private Project project;
+
+  @BeforeEach
+  void setUp() {
+    mediaRepository = mock(MediaRepository.class);
+    mediaService = mock(MediaService.class);
+    mediaHelper = mock(MediaHelper.class);
+    jdbcTemplate = mock(JdbcTemplate.class);
+    constraint = new MediaPathConstraint(mediaRepository, mediaService, mediaHelper, jdbcTemplate);
+    project = new Project();
+    project.setProjectId(UUID.randomUUID());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testEnsureConstraintExisting() {
+    when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(true);
+    constraint.ensureConstraint();
+    verify(mediaRepository, never()).findPathDuplicates();
+    verify(jdbcTemplate, never()).execute(anyString());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testEnsureConstraintMissing() {
+    when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(false);
+    when(mediaRepository.findPathDuplicates()).thenReturn(List.of());
+    constraint.ensureConstraint();
+    verify(mediaRepository).findPathDuplicates();
+    verify(jdbcTemplate).execute(
+        "ALTER TABLE media ADD CONSTRAINT UK_MEDIA_PROJECT_PATH UNIQUE (PROJECT_ID, PATH)");
+  }
+
+  @Test
+  void testResolveDuplicatesRenamesBeforeExtension() {
+    Media media = new Media("photo", "photo.png");
+    media.setProject(project);
+    media.setHash("hash");
+    when(mediaRepository.findPathDuplicates()).thenReturn(List.of(media));
+    when(mediaRepository.existsByProjectProjectIdAndPath(project.getProjectId(), "photo (2).png")).thenReturn(true);
+    constraint.resolveDuplicates();
+    assertEquals("photo (3).png", media.getPath());
+    assertEquals("hash", media.getHash());
+    verify(mediaHelper, never()).copyToBlob(any());
+    verify(mediaRepository).saveAndFlush(media);
+  }
+
+  @Test
+  void testResolveDuplicatesCopiesSharedLegacyFile() {
+    Media media = new Media("notes", "notes");
+    media.setProject(project);
+    when(mediaRepository.findPathDuplicates()).thenReturn(List.of(media));
+    when(mediaService.getStoredFileName(media)).thenReturn("notes" + project.getProjectId());
+    when(mediaHelper.fileExists("notes" + project.getProjectId())).thenReturn(true);
+    when(mediaHelper.copyToBlob("notes" + project.getProjectId())).thenReturn("hash");
+    constraint.resolveDuplicates();
+    assertEquals("notes (2)", media.getPath());
+    assertEquals("hash", media.getHash());
+    verify(mediaHelper, never()).deleteStoredFile(any());
+    verify(mediaRepository).saveAndFlush(media);
+  }
+
+  @Test
+  void testResolveDuplicatesMissingLegacyFile() {
+    Media media = new Media("notes", "notes.txt");
+    media.setProject(project);
+    when(mediaRepository.findPathDuplicates()).thenReturn(List.of(media));
+    when(mediaService.getStoredFileName(media)).thenReturn("notes.txt" + project.getProjectId());
+    constraint.resolveDuplicates();
+    assertEquals("notes (2).txt", media.getPath());
+    assertNull(media.getHash());
+    verify(mediaRepository).saveAndFlush(media);
+  }
+}
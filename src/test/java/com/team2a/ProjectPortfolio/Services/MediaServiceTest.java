@@ -1,10 +1,13 @@
 package com.team2a.ProjectPortfolio.Services;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import com.team2a.ProjectPortfolio.Commons.Media;
@@ -17,10 +20,18 @@ import com.team2a.ProjectPortfolio.CustomExceptions.NotFoundException;
 import com.team2a.ProjectPortfolio.CustomExceptions.ProjectNotFoundException;
 import com.team2a.ProjectPortfolio.Repositories.MediaRepository;
 import com.team2a.ProjectPortfolio.Repositories.ProjectRepository;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import com.team2a.ProjectPortfolio.dto.MediaFileContent;
+import com.team2a.ProjectPortfolio.dto.MediaFileResource;
+import com.team2a.ProjectPortfolio.dto.MediaPage;
+import com.team2a.ProjectPortfolio.dto.ProjectStorageUsage;
 import com.team2a.ProjectPortfolio.Repositories.RequestMediaProjectRepository;
 import com.team2a.ProjectPortfolio.Repositories.RequestRepository;
 import org.antlr.v4.runtime.misc.Pair;
@@ -32,7 +43,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -54,6 +71,12 @@ public class MediaServiceTest {
   @Mock
   private RequestMediaProjectRepository requestMediaProject;
 
+  @Mock
+  private ThumbnailService thumbnailService;
+
+  @Mock
+  private ProjectStorageAccounting projectStorageAccounting;
+
   @BeforeEach
   void setUp() {
     mediaHelper = mock(MediaHelper.class);
@@ -61,9 +84,10 @@ public class MediaServiceTest {
     projectRepository = mock(ProjectRepository.class);
     requestRepository = mock(RequestRepository.class);
     requestMediaProject = mock(RequestMediaProjectRepository.class);
+    thumbnailService = mock(ThumbnailService.class);
+    projectStorageAccounting = mock(ProjectStorageAccounting.class);
     mediaService = new MediaService(mediaRepository, projectRepository, requestRepository,
-            requestMediaProject);
-    mediaService.setMediaHelper(mediaHelper);
+            requestMediaProject, thumbnailService, new MediaCache(0), projectStorageAccounting, mediaHelper);
   }
 
   @Test
@@ -86,14 +110,69 @@ public class MediaServiceTest {
     Media m3 = new Media("name3", "path3");
     m3.setProject(p);
     when(mediaRepository.findAllByProjectProjectId(x)).thenReturn(List.of(m1, m2, m3));
+    when(mediaHelper.readFile(anyString())).thenReturn("content".getBytes());
     List<MediaFileContent> expectedList = List.of(
-            new MediaFileContent("name1", "path1", "null"),
-            new MediaFileContent("name2", "path2", "null"),
-            new MediaFileContent("name3", "path3", "null")
+            new MediaFileContent("name1", "path1", "Y29udGVudA=="),
+            new MediaFileContent("name2", "path2", "Y29udGVudA=="),
+            new MediaFileContent("name3", "path3", "Y29udGVudA==")
     );
     List<MediaFileContent> actualList = mediaService.getImagesContentByProjectId(x).stream().toList();
     assertThat(actualList.toString()).isEqualTo(expectedList.toString());
   }
+
+  @Test
+  void testGetMediaPageByProjectIdNotFound() {
+    UUID x = UUID.randomUUID();
+    when(projectRepository.findById(x)).thenReturn(Optional.empty());
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+        () -> mediaService.getMediaPageByProjectId(x, null, 10));
+    assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+  }
+
+  @Test
+  void testGetMediaPageByProjectIdInvalidSize() {
+    UUID x = UUID.randomUUID();
+    when(projectRepository.findById(x)).thenReturn(Optional.of(new Project()));
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+        () -> mediaService.getMediaPageByProjectId(x, null, MediaService.MAX_PAGE_SIZE + 1));
+    assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+  }
+
+  @Test
+  void testGetMediaPageByProjectIdFirstPage() {
+    UUID x = UUID.randomUUID();
+    when(projectRepository.findById(x)).thenReturn(Optional.of(new Project()));
+    Media m1 = new Media("name1", "path1");
+    m1.setMediaId(UUID.randomUUID());
+    Media m2 = new Media("name2", "path2");
+    m2.setMediaId(UUID.randomUUID());
+    Media m3 = new Media("name3", "path3");
+    m3.setMediaId(UUID.randomUUID());
+    when(mediaRepository.findAllByProjectProjectIdOrderByMediaIdAsc(eq(x), any()))
+        .thenReturn(List.of(m1, m2, m3));
+    MediaPage page = mediaService.getMediaPageByProjectId(x, null, 2);
+    assertEquals(2, page.getItems().size());
+    assertEquals(m1.getMediaId(), page.getItems().get(0).getMediaId());
+    assertEquals("path1", page.getItems().get(0).getPath());
+    assertEquals("/media/public/file/raw/" + m2.getMediaId(), page.getItems().get(1).getContentUrl());
+    assertEquals(m2.getMediaId(), page.getNextCursor());
+    verify(mediaHelper, never()).readFile(anyString());
+  }
+
+  @Test
+  void testGetMediaPageByProjectIdLastPage() {
+    UUID x = UUID.randomUUID();
+    UUID cursor = UUID.randomUUID();
+    when(projectRepository.findById(x)).thenReturn(Optional.of(new Project()));
+    Media m1 = new Media("name1", "path1");
+    m1.setMediaId(UUID.randomUUID());
+    when(mediaRepository.findAllByProjectProjectIdAndMediaIdGreaterThanOrderByMediaIdAsc(eq(x), eq(cursor), any()))
+        .thenReturn(List.of(m1));
+    MediaPage page = mediaService.getMediaPageByProjectId(x, cursor, 2);
+    assertEquals(1, page.getItems().size());
+    assertEquals(null, page.getNextCursor());
+  }
+
   @Test
   void getDocumentsByProjectIdNotFound(){
     UUID x = UUID.randomUUID();
@@ -126,11 +205,63 @@ public class MediaServiceTest {
     m1.setProject(p);
     when(mediaRepository.findById(x)).thenReturn(Optional.of(m1));
     when(mediaRepository.findMediaByMediaId(x)).thenReturn(m1);
-    when(mediaHelper.getFileContents(m1.getPath()+p.getProjectId())).thenReturn("content1");
-    MediaFileContent expectedList =new MediaFileContent("name1","path1","content1");
+    when(mediaHelper.readFile(m1.getPath()+p.getProjectId())).thenReturn("content1".getBytes());
+    MediaFileContent expectedList =new MediaFileContent("name1","path1","Y29udGVudDE=");
     MediaFileContent actualPair = mediaService.getDocumentByMediaId(x);
     assertThat(actualPair.toString()).isEqualTo(expectedList.toString());
   }
+  @Test
+  void getDocumentByMediaIdServedFromCache() throws IOException {
+    MediaCache mediaCache = new MediaCache(1024);
+    MediaService cachedService = new MediaService(mediaRepository, projectRepository, requestRepository,
+            requestMediaProject, thumbnailService, mediaCache, projectStorageAccounting, mediaHelper);
+    UUID x = UUID.randomUUID();
+    Media m1 = new Media("name1", "path1");
+    m1.setHash("abcdef");
+    when(mediaRepository.findById(x)).thenReturn(Optional.of(m1));
+    when(mediaRepository.findMediaByMediaId(x)).thenReturn(m1);
+    when(mediaHelper.getBlobName("abcdef")).thenReturn("blobs/ab/abcdef");
+    when(mediaHelper.readFile("blobs/ab/abcdef")).thenReturn("content1".getBytes());
+    when(mediaHelper.getFileSize("blobs/ab/abcdef")).thenReturn(8L);
+    assertEquals("Y29udGVudDE=", cachedService.getDocumentByMediaId(x).getFileContent());
+    MediaFileResource file = cachedService.getDocumentFileByMediaId(x);
+    assertEquals(0, mediaCache.getStats().getHits());
+    assertEquals(8L, file.getResource().contentLength());
+    assertArrayEquals("content1".getBytes(), file.getResource().getContentAsByteArray());
+    verify(mediaHelper, times(1)).readFile("blobs/ab/abcdef");
+    verify(mediaHelper, never()).getFileResource(anyString());
+    assertEquals(1, mediaCache.getStats().getHits());
+    assertEquals(1, mediaCache.getStats().getMisses());
+    cachedService.deleteMedia(x);
+    assertEquals(0, mediaCache.getStats().getEntries());
+  }
+
+  @Test
+  void getDocumentFileByMediaIdReadsCachedContentLazily() throws IOException {
+    MediaCache mediaCache = new MediaCache(1024);
+    MediaService cachedService = new MediaService(mediaRepository, projectRepository, requestRepository,
+            requestMediaProject, thumbnailService, mediaCache, projectStorageAccounting, mediaHelper);
+    UUID x = UUID.randomUUID();
+    Media m1 = new Media("name1", "path1");
+    m1.setHash("abcdef");
+    m1.setSize(8L);
+    when(mediaRepository.findById(x)).thenReturn(Optional.of(m1));
+    when(mediaHelper.getBlobName("abcdef")).thenReturn("blobs/ab/abcdef");
+    MediaFileResource file = cachedService.getDocumentFileByMediaId(x);
+    verify(mediaHelper, never()).readFile(anyString());
+    assertEquals(0, mediaCache.getStats().getMisses());
+    assertEquals(0, mediaCache.getStats().getEntries());
+
+    when(mediaHelper.readFile("blobs/ab/abcdef")).thenReturn("content1".getBytes());
+    assertArrayEquals("content1".getBytes(), file.getResource().getContentAsByteArray());
+    assertEquals(1, mediaCache.getStats().getEntries());
+  }
+
+  @Test
+  void testGetCacheStats(){
+    assertEquals(0, mediaService.getCacheStats().getMaxBytes());
+  }
+
   @Test
   void getDocumentByMediaIdNotFound(){
     UUID x = UUID.randomUUID();
@@ -138,6 +269,96 @@ public class MediaServiceTest {
     assertThrows(ResponseStatusException.class, () -> mediaService.getDocumentByMediaId(x));
   }
 
+  @Test
+  void getDocumentFileByMediaIdSuccess(){
+    UUID x = UUID.randomUUID();
+    Project p = new Project("title", "description", false);
+    p.setProjectId(UUID.randomUUID());
+    Media m1 = new Media("name1", "path1.pdf");
+    m1.setProject(p);
+    Resource resource = new ByteArrayResource("content1".getBytes());
+    when(mediaRepository.findById(x)).thenReturn(Optional.of(m1));
+    when(mediaHelper.getFileResource("path1.pdf" + p.getProjectId())).thenReturn(resource);
+    when(mediaHelper.getFileSize("path1.pdf" + p.getProjectId())).thenReturn(8L);
+    when(mediaHelper.getLastModified("path1.pdf" + p.getProjectId())).thenReturn(1000L);
+    MediaFileResource file = mediaService.getDocumentFileByMediaId(x);
+    assertEquals("name1", file.getFileName());
+    assertEquals("path1.pdf", file.getFilePath());
+    assertEquals(resource, file.getResource());
+    assertEquals(8L, file.getContentLength());
+    assertEquals(1000L, file.getLastModified());
+    assertEquals("\"8-3e8\"", file.getETag());
+  }
+
+  @Test
+  void getDocumentFileByMediaIdHashETag(){
+    UUID x = UUID.randomUUID();
+    Media m1 = new Media("name1", "path1.pdf");
+    m1.setHash("abcdef");
+    when(mediaRepository.findById(x)).thenReturn(Optional.of(m1));
+    when(mediaHelper.getBlobName("abcdef")).thenReturn("blobs/ab/abcdef");
+    MediaFileResource file = mediaService.getDocumentFileByMediaId(x);
+    assertEquals("\"abcdef\"", file.getETag());
+  }
+
+  @Test
+  void getDocumentFileByMediaIdStoredMetadata(){
+    UUID x = UUID.randomUUID();
+    Media m1 = new Media("name1", "photo.png");
+    m1.setHash("abcdef");
+    m1.setSize(42L);
+    m1.setMimeType("image/png");
+    when(mediaRepository.findById(x)).thenReturn(Optional.of(m1));
+    when(mediaHelper.getBlobName("abcdef")).thenReturn("blobs/ab/abcdef");
+    MediaFileResource file = mediaService.getDocumentFileByMediaId(x);
+    assertEquals(42L, file.getContentLength());
+    assertEquals("image/png", file.getContentType());
+    verify(mediaHelper, never()).getFileSize(anyString());
+  }
+
+  @Test
+  void getDocumentFileByMediaIdNotFound(){
+    UUID x = UUID.randomUUID();
+    when(mediaRepository.findById(x)).thenReturn(Optional.empty());
+    assertThrows(ResponseStatusException.class, () -> mediaService.getDocumentFileByMediaId(x));
+    verify(mediaHelper, never()).getFileResource(any());
+  }
+
+  @Test
+  void testGetThumbnailByMediaIdSuccess() {
+    UUID id = UUID.randomUUID();
+    Media media = new Media("name", "photo.png");
+    media.setHash("abcdef");
+    Resource resource = new ByteArrayResource("thumb".getBytes());
+    when(mediaRepository.findById(id)).thenReturn(Optional.of(media));
+    when(mediaHelper.getBlobName("abcdef")).thenReturn("blobs/ab/abcdef");
+    when(thumbnailService.getVariant("blobs/ab/abcdef", "photo.png", 160)).thenReturn("blobs/ab/abcdef-160.png");
+    when(thumbnailService.getVariantFormat("photo.png")).thenReturn("png");
+    when(mediaHelper.getFileResource("blobs/ab/abcdef-160.png")).thenReturn(resource);
+    when(mediaHelper.getFileSize("blobs/ab/abcdef-160.png")).thenReturn(5L);
+    when(mediaHelper.getLastModified("blobs/ab/abcdef-160.png")).thenReturn(1000L);
+    MediaFileResource result = mediaService.getThumbnailByMediaId(id, 160);
+    assertEquals("photo-160.png", result.getFilePath());
+    assertEquals("\"abcdef-160\"", result.getETag());
+    assertEquals(resource, result.getResource());
+    assertEquals(5L, result.getContentLength());
+  }
+
+  @Test
+  void testGetThumbnailByMediaIdNotFound() {
+    UUID id = UUID.randomUUID();
+    when(mediaRepository.findById(id)).thenReturn(Optional.empty());
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+        () -> mediaService.getThumbnailByMediaId(id, 160));
+    assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+  }
+
+  @Test
+  void testGetThumbnailQueueDepth() {
+    when(thumbnailService.getQueueDepth()).thenReturn(3);
+    assertEquals(3, mediaService.getThumbnailQueueDepth());
+  }
+
   @Test
   void testAddMediaToProjectNotFound() {
     UUID x = UUID.randomUUID();
@@ -154,14 +375,47 @@ public class MediaServiceTest {
     media.setProject(project);
     when(mediaRepository.save(any(Media.class))).thenReturn(media);
     MockMultipartFile mockMultipartFile = new MockMultipartFile("file", "path", "text/plain", "test".getBytes());
-    doNothing().when(mediaHelper).saveFile(any(),any(MultipartFile.class));
+    when(mediaHelper.saveBlob(any(MultipartFile.class))).thenReturn("hash");
     Media savedMedia = mediaService.addMediaToProject(projectId, mockMultipartFile, "test");
     assertEquals(project, savedMedia.getProject());
     assertEquals("name", savedMedia.getName());
     assertEquals("path", savedMedia.getPath());
     verify(projectRepository).findById(projectId);
-    verify(mediaRepository).save(any(Media.class));
-    verify(mediaHelper).saveFile(anyString(),any(MultipartFile.class));
+    verify(mediaRepository).save(argThat(m -> "hash".equals(m.getHash())));
+    verify(mediaHelper).saveBlob(any(MultipartFile.class));
+    verify(thumbnailService).schedule(any(), eq("path"));
+    verify(projectStorageAccounting).reserve(projectId, 4);
+    verify(projectStorageAccounting).release(projectId, 4);
+  }
+
+  @Test
+  void testAddMediaToProjectOverQuota(){
+    UUID projectId = UUID.randomUUID();
+    when(projectRepository.findById(projectId)).thenReturn(Optional.of(new Project()));
+    MockMultipartFile mockMultipartFile = new MockMultipartFile("file", "path", "text/plain", "test".getBytes());
+    doThrow(new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE))
+        .when(projectStorageAccounting).reserve(projectId, 4);
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+        () -> mediaService.addMediaToProject(projectId, mockMultipartFile, "test"));
+    assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, e.getStatusCode());
+    verify(mediaHelper, never()).saveBlob(any());
+    verify(projectStorageAccounting, never()).release(any(), anyLong());
+  }
+
+  @Test
+  void testGetStorageUsage(){
+    UUID projectId = UUID.randomUUID();
+    ProjectStorageUsage usage = new ProjectStorageUsage(projectId, 10, 0, 100);
+    when(projectRepository.findById(projectId)).thenReturn(Optional.of(new Project()));
+    when(projectStorageAccounting.getUsage(projectId)).thenReturn(usage);
+    assertEquals(usage, mediaService.getStorageUsage(projectId));
+  }
+
+  @Test
+  void testGetStorageUsageNotFound(){
+    UUID projectId = UUID.randomUUID();
+    when(projectRepository.findById(projectId)).thenReturn(Optional.empty());
+    assertThrows(ResponseStatusException.class, () -> mediaService.getStorageUsage(projectId));
   }
   @Test
   void testAddMediaToProjectError(){
@@ -171,10 +425,216 @@ public class MediaServiceTest {
     Media media = new Media("name", "path");
     media.setProject(project);
     MockMultipartFile mockMultipartFile = new MockMultipartFile("file", "path", "text/plain", "test".getBytes());
-    doThrow(FileNotSavedException.class).when(mediaHelper).saveFile(any(),any(MultipartFile.class));
+    doThrow(FileNotSavedException.class).when(mediaHelper).saveBlob(any(MultipartFile.class));
     assertThrows(RuntimeException.class, () -> mediaService.addMediaToProject(projectId, mockMultipartFile, "test"));
     verify(projectRepository).findById(projectId);
-    verify(mediaHelper).saveFile(anyString(),any(MultipartFile.class));
+    verify(mediaHelper).saveBlob(any(MultipartFile.class));
+    verify(mediaRepository, never()).save(any(Media.class));
+  }
+
+  @Test
+  void testGetProjectArchive() throws IOException {
+    UUID x = UUID.randomUUID();
+    Project p = new Project("title", "description", false);
+    p.setProjectId(x);
+    when(projectRepository.findById(x)).thenReturn(Optional.of(p));
+    Media photo = new Media("photo", "photo.png");
+    photo.setProject(p);
+    Media notes = new Media("notes", "docs/notes.txt");
+    notes.setProject(p);
+    Media copy = new Media("copy", "/docs/notes.txt");
+    copy.setProject(p);
+    Media missing = new Media("missing", "missing.pdf");
+    missing.setProject(p);
+    when(mediaRepository.findAllByProjectProjectId(x)).thenReturn(List.of(photo, notes, copy, missing));
+    when(mediaHelper.fileExists(anyString())).thenReturn(true);
+    when(mediaHelper.fileExists("missing.pdf" + x)).thenReturn(false);
+    when(mediaHelper.getLastModified(anyString())).thenReturn(0L);
+    when(mediaHelper.openFile(anyString()))
+        .thenAnswer(invocation -> new ByteArrayInputStream(((String) invocation.getArgument(0)).getBytes()));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    mediaService.getProjectArchive(x).writeTo(out);
+
+    Map<String, String> contents = new LinkedHashMap<>();
+    Map<String, Integer> methods = new HashMap<>();
+    try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+      ZipEntry entry;
+      while ((entry = zip.getNextEntry()) != null) {
+        methods.put(entry.getName(), entry.getMethod());
+        contents.put(entry.getName(), new String(zip.readAllBytes()));
+      }
+    }
+    assertEquals(List.of("photo.png", "docs/notes.txt", "docs/notes (1).txt"), new ArrayList<>(contents.keySet()));
+    assertEquals("photo.png" + x, contents.get("photo.png"));
+    assertEquals("docs/notes.txt" + x, contents.get("docs/notes.txt"));
+    assertEquals("/docs/notes.txt" + x, contents.get("docs/notes (1).txt"));
+    assertEquals(ZipEntry.STORED, methods.get("photo.png"));
+    assertEquals(ZipEntry.DEFLATED, methods.get("docs/notes.txt"));
+    verify(mediaHelper, times(2)).openFile("photo.png" + x);
+    verify(mediaHelper, times(1)).openFile("docs/notes.txt" + x);
+  }
+
+  @Test
+  void testGetProjectArchiveNotFound() {
+    UUID x = UUID.randomUUID();
+    when(projectRepository.findById(x)).thenReturn(Optional.empty());
+    ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> mediaService.getProjectArchive(x));
+    assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+    verify(mediaRepository, never()).findAllByProjectProjectId(x);
+  }
+
+  @Test
+  void testAddStagedMediaToProjectSuccess(){
+    UUID projectId = UUID.randomUUID();
+    Project project = new Project();
+    Path staged = Path.of("staged.part");
+    when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+    when(mediaHelper.hashFile(staged)).thenReturn("hash");
+    when(mediaRepository.saveAndFlush(any(Media.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    Media saved = mediaService.addStagedMediaToProject(projectId, staged, "video.mp4", "video");
+    assertEquals(project, saved.getProject());
+    assertEquals("video.mp4", saved.getPath());
+    assertEquals("hash", saved.getHash());
+    verify(mediaHelper).readMetadata(saved, staged);
+    verify(mediaHelper).saveStagedBlob(staged, "hash");
+    verify(thumbnailService).schedule(any(), eq("video.mp4"));
+  }
+
+  @Test
+  void testAddStagedMediaToProjectCountedAfterCommit(){
+    UUID projectId = UUID.randomUUID();
+    Path staged = Path.of("staged.part");
+    when(projectRepository.findById(projectId)).thenReturn(Optional.of(new Project()));
+    when(mediaHelper.hashFile(staged)).thenReturn("hash");
+    doAnswer(invocation -> {
+      invocation.<Media>getArgument(0).setSize(4L);
+      return null;
+    }).when(mediaHelper).readMetadata(any(Media.class), eq(staged));
+    when(mediaRepository.saveAndFlush(any(Media.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      mediaService.addStagedMediaToProject(projectId, staged, "video.mp4", "video");
+      verify(projectStorageAccounting, never()).add(any(), anyLong());
+      TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    verify(projectStorageAccounting).add(projectId, 4L);
+  }
+
+  @Test
+  void testAddStagedMediaToProjectRolledBackSchedulesNoThumbnail(){
+    UUID projectId = UUID.randomUUID();
+    Path staged = Path.of("staged.part");
+    when(projectRepository.findById(projectId)).thenReturn(Optional.of(new Project()));
+    when(mediaHelper.hashFile(staged)).thenReturn("hash");
+    when(mediaRepository.saveAndFlush(any(Media.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      mediaService.addStagedMediaToProject(projectId, staged, "video.mp4", "video");
+      TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+          synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    verify(thumbnailService, never()).schedule(any(), any());
+    verify(projectStorageAccounting, never()).add(any(), anyLong());
+  }
+
+  @Test
+  void testAddStagedMediaToProjectConcurrentConflictKeepsStagedFile(){
+    UUID projectId = UUID.randomUUID();
+    Path staged = Path.of("staged.part");
+    when(projectRepository.findById(projectId)).thenReturn(Optional.of(new Project()));
+    when(mediaHelper.hashFile(staged)).thenReturn("hash");
+    when(mediaRepository.saveAndFlush(any(Media.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+        () -> mediaService.addStagedMediaToProject(projectId, staged, "video.mp4", "video"));
+    assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+    verify(mediaHelper, never()).saveStagedBlob(any(), any());
+  }
+
+  @Test
+  void testAddStagedMediaToProjectFailedMove(){
+    UUID projectId = UUID.randomUUID();
+    Path staged = Path.of("staged.part");
+    when(projectRepository.findById(projectId)).thenReturn(Optional.of(new Project()));
+    when(mediaHelper.hashFile(staged)).thenReturn("hash");
+    when(mediaRepository.saveAndFlush(any(Media.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    doThrow(new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR))
+        .when(mediaHelper).saveStagedBlob(staged, "hash");
+    assertThrows(ResponseStatusException.class,
+        () -> mediaService.addStagedMediaToProject(projectId, staged, "video.mp4", "video"));
+    verify(projectStorageAccounting, never()).add(any(), anyLong());
+    verify(thumbnailService, never()).schedule(any(), any());
+  }
+
+  @Test
+  void testAddStagedMediaToProjectNotFound(){
+    UUID projectId = UUID.randomUUID();
+    when(projectRepository.findById(projectId)).thenReturn(Optional.empty());
+    assertThrows(ResponseStatusException.class,
+        () -> mediaService.addStagedMediaToProject(projectId, Path.of("staged.part"), "video.mp4", "video"));
+    verify(mediaHelper, never()).saveStagedBlob(any(), any());
+  }
+
+  @Test
+  void testAddMediaToProjectPathConflict(){
+    UUID projectId = UUID.randomUUID();
+    when(projectRepository.findById(projectId)).thenReturn(Optional.of(new Project()));
+    when(mediaRepository.existsByProjectProjectIdAndPath(projectId, "path")).thenReturn(true);
+    MockMultipartFile mockMultipartFile = new MockMultipartFile("file", "path", "text/plain", "test".getBytes());
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+        () -> mediaService.addMediaToProject(projectId, mockMultipartFile, "test"));
+    assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+    verify(mediaHelper, never()).saveBlob(any());
+  }
+
+  @Test
+  void testAddMediaToProjectConcurrentConflict(){
+    UUID projectId = UUID.randomUUID();
+    when(projectRepository.findById(projectId)).thenReturn(Optional.of(new Project()));
+    MockMultipartFile mockMultipartFile = new MockMultipartFile("file", "path", "text/plain", "test".getBytes());
+    when(mediaHelper.saveBlob(mockMultipartFile)).thenReturn("hash");
+    when(mediaRepository.save(any(Media.class))).thenThrow(new DataIntegrityViolationException("UK_MEDIA_PROJECT_PATH"));
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+        () -> mediaService.addMediaToProject(projectId, mockMultipartFile, "test"));
+    assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+    verify(mediaHelper, never()).deleteStoredFile(any());
+  }
+
+  @Test
+  void testAddAddedMediaToRequestRecordsAddedPath(){
+    Project project = new Project();
+    project.setProjectId(UUID.randomUUID());
+    Request request = new Request();
+    request.setProject(project);
+    UUID requestId = UUID.randomUUID();
+    MockMultipartFile file = new MockMultipartFile("file", "path", "text/plain", "test".getBytes());
+    when(requestRepository.findById(requestId)).thenReturn(Optional.of(request));
+    when(mediaHelper.saveBlob(file)).thenReturn("hash");
+    Media media = mediaService.addAddedMediaToRequest(requestId, file, "name");
+    assertEquals("hash", media.getHash());
+    assertThat(media.getProject()).isNull();
+    verify(requestMediaProject).saveAndFlush(argThat(body -> body.getMedia() == media
+        && project.getProjectId().equals(body.getAddedProjectId()) && "path".equals(body.getAddedPath())));
+  }
+
+  @Test
+  void testAddAddedMediaToRequestConcurrentConflict(){
+    Project project = new Project();
+    project.setProjectId(UUID.randomUUID());
+    Request request = new Request();
+    request.setProject(project);
+    UUID requestId = UUID.randomUUID();
+    MockMultipartFile file = new MockMultipartFile("file", "path", "text/plain", "test".getBytes());
+    when(requestRepository.findById(requestId)).thenReturn(Optional.of(request));
+    when(requestMediaProject.saveAndFlush(any(RequestMediaProject.class)))
+        .thenThrow(new DataIntegrityViolationException("UK_REQUEST_MEDIA_ADDED_PATH"));
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+        () -> mediaService.addAddedMediaToRequest(requestId, file, "name"));
+    assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
   }
 
   @Test
@@ -193,10 +653,26 @@ public class MediaServiceTest {
     Media m = new Media("name", "path");
     m.setProject(project);
     when(mediaRepository.findById(x)).thenReturn(Optional.of(m));
-    doNothing().when(mediaHelper).deleteFile(any());
+    doNothing().when(mediaHelper).deleteStoredFile(any());
     doNothing().when(mediaRepository).deleteById(x);
+    m.setSize(8L);
     mediaService.deleteMedia(x);
     verify(mediaRepository, times(1)).deleteById(x);
+    verify(mediaHelper).deleteStoredFile("path" + projectId);
+    verify(projectStorageAccounting).add(projectId, -8);
+  }
+
+  @Test
+  void testDeleteMediaLeavesBlobToGarbageCollector(){
+    UUID x = UUID.randomUUID();
+    Media m = new Media("name", "path");
+    m.setHash("abcdef");
+    when(mediaRepository.findById(x)).thenReturn(Optional.of(m));
+    when(mediaHelper.getBlobName("abcdef")).thenReturn("blobs/ab/abcdef");
+    mediaService.deleteMedia(x);
+    verify(mediaRepository).deleteById(x);
+    verify(mediaHelper, never()).deleteStoredFile(any());
+    verify(thumbnailService, never()).deleteVariants(any());
   }
 
   @Test
@@ -238,12 +714,77 @@ public class MediaServiceTest {
     media.setMediaId(id);
     media.setProject(p);
     media.setPath("path");
-    doNothing().when(mediaHelper).deleteFile(any());
+    doNothing().when(mediaHelper).deleteStoredFile(any());
     when(mediaRepository.findById(id)).thenReturn(Optional.of(media));
     when(mediaRepository.save(media)).thenReturn(media);
     assertEquals(media, mediaService.changeFile(id,file));
   }
 
+  @Test
+  void testEditMediaContentReplacesBlob() {
+    MockMultipartFile file = new MockMultipartFile("file", "test.md", "text/plain", "test".getBytes());
+    UUID id = UUID.randomUUID();
+    Media media = new Media("name", "path");
+    media.setMediaId(id);
+    media.setHash("oldhash");
+    when(mediaRepository.findById(id)).thenReturn(Optional.of(media));
+    when(mediaHelper.getBlobName("oldhash")).thenReturn("blobs/ol/oldhash");
+    when(mediaHelper.saveBlob(file)).thenReturn("newhash");
+    when(mediaRepository.save(media)).thenReturn(media);
+    Media result = mediaService.changeFile(id, file);
+    assertEquals("newhash", result.getHash());
+    assertEquals("test.md", result.getPath());
+    verify(mediaHelper, never()).deleteStoredFile(any());
+    verify(thumbnailService).schedule(any(), eq("test.md"));
+  }
+
+  @Test
+  void testEditMediaKeepsStoredHash() {
+    UUID id = UUID.randomUUID();
+    Media stored = new Media("name", "path");
+    stored.setHash("hash");
+    Media media = new Media("new name", "path");
+    media.setMediaId(id);
+    when(mediaRepository.findById(id)).thenReturn(Optional.of(stored));
+    when(mediaRepository.save(media)).thenReturn(media);
+    assertEquals("hash", mediaService.editMedia(media).getHash());
+  }
+
+  @Test
+  void testEditMediaKeepsStoredMetadata() {
+    UUID id = UUID.randomUUID();
+    Media stored = new Media("name", "photo.png");
+    stored.setSize(42L);
+    stored.setMimeType("image/png");
+    stored.setWidth(640);
+    stored.setHeight(480);
+    Media media = new Media("new name", "photo.png");
+    media.setMediaId(id);
+    when(mediaRepository.findById(id)).thenReturn(Optional.of(stored));
+    when(mediaRepository.save(media)).thenReturn(media);
+    Media edited = mediaService.editMedia(media);
+    assertEquals(42L, edited.getSize());
+    assertEquals("image/png", edited.getMimeType());
+    assertEquals(640, edited.getWidth());
+    assertEquals(480, edited.getHeight());
+  }
+
+  @Test
+  void testEditMediaVersion() {
+    UUID id = UUID.randomUUID();
+    Media stored = new Media("name", "photo.png");
+    stored.setVersion(7L);
+    Media media = new Media("new name", "photo.png");
+    media.setMediaId(id);
+    when(mediaRepository.findById(id)).thenReturn(Optional.of(stored));
+    when(mediaRepository.save(media)).thenReturn(media);
+    assertEquals(7L, mediaService.editMedia(media).getVersion());
+    media.setVersion(6L);
+    ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> mediaService.editMedia(media));
+    assertEquals(HttpStatus.PRECONDITION_FAILED, e.getStatusCode());
+    verify(mediaRepository, times(1)).save(media);
+  }
+
 
   @Test
   void testGetMediaForRequestOk () {
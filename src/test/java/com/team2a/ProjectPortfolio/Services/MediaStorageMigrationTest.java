@@ -0,0 +1,41 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MediaStorageMigrationTest {
+
+  private MediaHelper mediaHelper;
+
+  private MediaStorageMigration migration;
+
+  @BeforeEach
+  void setUp() {
+    mediaHelper = mock(MediaHelper.class);
+    migration = new MediaStorageMigration(mediaHelper, 100);
+  }
+
+  @Test
+  void testMigrateUntilDone() {
+    when(mediaHelper.migrateFlatFiles(100)).thenReturn(100, 42, 0);
+    migration.migrate();
+    migration.migrate();
+    assertFalse(migration.isDone());
+    migration.migrate();
+    assertTrue(migration.isDone());
+    assertEquals(142, migration.getMigratedFiles());
+  }
+
+  @Test
+  void testMigrateStopsOnceDone() {
+    when(mediaHelper.migrateFlatFiles(100)).thenReturn(0);
+    migration.migrate();
+    migration.migrate();
+    verify(mediaHelper, times(1)).migrateFlatFiles(100);
+  }
+}
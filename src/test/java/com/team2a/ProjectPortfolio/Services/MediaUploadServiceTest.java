@@ -0,0 +1,199 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.team2a.ProjectPortfolio.Commons.Media;
+import com.team2a.ProjectPortfolio.CustomExceptions.ProjectNotFoundException;
+import com.team2a.ProjectPortfolio.dto.UploadSession;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class MediaUploadServiceTest {
+
+  @TempDir
+  Path assets;
+
+  private MediaService mediaService;
+
+  private MediaUploadService mediaUploadService;
+
+  private final UUID projectId = UUID.randomUUID();
+
+  @BeforeEach
+  void setUp() {
+    mediaService = mock(MediaService.class);
+    MediaHelper mediaHelper = mock(MediaHelper.class);
+    when(mediaHelper.getFilePath(anyString())).thenAnswer(invocation -> assets.resolve((String) invocation.getArgument(0)));
+    mediaUploadService = new MediaUploadService(mediaService, mediaHelper, 60000);
+  }
+
+  private static String sha256(byte[] content) throws NoSuchAlgorithmException {
+    return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+  }
+
+  private Path staging(UploadSession session) {
+    return assets.resolve("uploads").resolve(session.getUploadId() + ".part");
+  }
+
+  @Test
+  void testCreateSession() {
+    UploadSession session = mediaUploadService.createSession(projectId, "video", "video.mp4", 10);
+    assertEquals(0, session.getOffset());
+    assertEquals(10, session.getSize());
+    assertTrue(Files.exists(staging(session)));
+    assertEquals(session, mediaUploadService.getSession(projectId, session.getUploadId()));
+    verify(mediaService).checkPathUniqueness(projectId, "video.mp4");
+  }
+
+  @Test
+  void testCreateSessionProjectNotFound() {
+    when(mediaService.checkProjectExistence(projectId)).thenThrow(new ProjectNotFoundException("not found"));
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+        () -> mediaUploadService.createSession(projectId, "video", "video.mp4", 10));
+    assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+  }
+
+  @Test
+  void testCreateSessionNegativeSize() {
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+        () -> mediaUploadService.createSession(projectId, "video", "video.mp4", -1));
+    assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+  }
+
+  @Test
+  void testGetSessionOfOtherProject() {
+    UploadSession session = mediaUploadService.createSession(projectId, "video", "video.mp4", 10);
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+        () -> mediaUploadService.getSession(UUID.randomUUID(), session.getUploadId()));
+    assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+  }
+
+  @Test
+  void testWriteChunksAndComplete() throws Exception {
+    UploadSession session = mediaUploadService.createSession(projectId, "video", "video.mp4", 10);
+    byte[] first = "01234".getBytes();
+    byte[] second = "56789".getBytes();
+    mediaUploadService.writeChunk(projectId, session.getUploadId(), 0, sha256(first), new ByteArrayInputStream(first));
+    UploadSession after = mediaUploadService.writeChunk(projectId, session.getUploadId(), 5, sha256(second),
+        new ByteArrayInputStream(second));
+    assertEquals(10, after.getOffset());
+    assertArrayEquals("0123456789".getBytes(), Files.readAllBytes(staging(session)));
+
+    Media media = new Media("video", "video.mp4");
+    when(mediaService.addStagedMediaToProject(projectId, staging(session), "video.mp4", "video")).thenReturn(media);
+    assertEquals(media, mediaUploadService.completeSession(projectId, session.getUploadId()));
+    assertFalse(Files.exists(staging(session)));
+    assertEquals(0, mediaUploadService.getSessionCount());
+  }
+
+  @Test
+  void testWriteChunkWrongOffset() throws Exception {
+    UploadSession session = mediaUploadService.createSession(projectId, "video", "video.mp4", 10);
+    byte[] chunk = "56789".getBytes();
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+        () -> mediaUploadService.writeChunk(projectId, session.getUploadId(), 5, sha256(chunk),
+            new ByteArrayInputStream(chunk)));
+    assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+  }
+
+  @Test
+  void testWriteChunkChecksumMismatch() throws Exception {
+    UploadSession session = mediaUploadService.createSession(projectId, "video", "video.mp4", 10);
+    byte[] chunk = "01234".getBytes();
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+        () -> mediaUploadService.writeChunk(projectId, session.getUploadId(), 0, sha256("other".getBytes()),
+            new ByteArrayInputStream(chunk)));
+    assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    assertEquals(0, session.getOffset());
+    assertEquals(0, Files.size(staging(session)));
+  }
+
+  @Test
+  void testWriteChunkTooLong() throws Exception {
+    UploadSession session = mediaUploadService.createSession(projectId, "video", "video.mp4", 3);
+    byte[] chunk = "01234".getBytes();
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+        () -> mediaUploadService.writeChunk(projectId, session.getUploadId(), 0, sha256(chunk),
+            new ByteArrayInputStream(chunk)));
+    assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    assertEquals(0, Files.size(staging(session)));
+  }
+
+  @Test
+  void testCompleteIncompleteSession() {
+    UploadSession session = mediaUploadService.createSession(projectId, "video", "video.mp4", 10);
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+        () -> mediaUploadService.completeSession(projectId, session.getUploadId()));
+    assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+    verify(mediaService, never()).addStagedMediaToProject(any(), any(), any(), any());
+  }
+
+  @Test
+  void testFailedCompleteCanBeRetried() throws Exception {
+    UploadSession session = mediaUploadService.createSession(projectId, "video", "video.mp4", 5);
+    byte[] chunk = "01234".getBytes();
+    mediaUploadService.writeChunk(projectId, session.getUploadId(), 0, sha256(chunk), new ByteArrayInputStream(chunk));
+    Media media = new Media("video", "video.mp4");
+    when(mediaService.addStagedMediaToProject(projectId, staging(session), "video.mp4", "video"))
+        .thenThrow(new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR))
+        .thenReturn(media);
+    assertThrows(ResponseStatusException.class,
+        () -> mediaUploadService.completeSession(projectId, session.getUploadId()));
+    assertTrue(Files.exists(staging(session)));
+    assertEquals(1, mediaUploadService.getSessionCount());
+
+    assertEquals(media, mediaUploadService.completeSession(projectId, session.getUploadId()));
+    assertEquals(0, mediaUploadService.getSessionCount());
+  }
+
+  @Test
+  void testAbortSession() {
+    UploadSession session = mediaUploadService.createSession(projectId, "video", "video.mp4", 10);
+    mediaUploadService.abortSession(projectId, session.getUploadId());
+    assertFalse(Files.exists(staging(session)));
+    assertThrows(ResponseStatusException.class, () -> mediaUploadService.getSession(projectId, session.getUploadId()));
+  }
+
+  @Test
+  void testExpireSessions() throws IOException {
+    MediaHelper mediaHelper = mock(MediaHelper.class);
+    when(mediaHelper.getFilePath(anyString())).thenAnswer(invocation -> assets.resolve((String) invocation.getArgument(0)));
+    MediaUploadService expiring = new MediaUploadService(mediaService, mediaHelper, -1);
+    UploadSession session = expiring.createSession(projectId, "video", "video.mp4", 10);
+    Path lost = assets.resolve("uploads").resolve(UUID.randomUUID() + ".part");
+    Files.createFile(lost);
+    Files.setLastModifiedTime(lost, FileTime.fromMillis(0));
+    expiring.expireSessions();
+    assertEquals(0, expiring.getSessionCount());
+    assertFalse(Files.exists(staging(session)));
+    assertFalse(Files.exists(lost));
+  }
+
+  @Test
+  void testExpireSessionsKeepsLiveSessions() {
+    UploadSession session = mediaUploadService.createSession(projectId, "video", "video.mp4", 10);
+    mediaUploadService.expireSessions();
+    assertEquals(1, mediaUploadService.getSessionCount());
+    assertTrue(Files.exists(staging(session)));
+  }
+}
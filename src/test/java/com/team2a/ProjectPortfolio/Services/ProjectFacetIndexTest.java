@@ -0,0 +1,195 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.team2a.ProjectPortfolio.Commons.Project;
+import com.team2a.ProjectPortfolio.Commons.Template;
+import com.team2a.ProjectPortfolio.Repositories.ProjectRepository;
+import com.team2a.ProjectPortfolio.Repositories.ProjectsToCollaboratorsRepository;
+import com.team2a.ProjectPortfolio.Repositories.TagToProjectRepository;
+import com.team2a.ProjectPortfolio.dto.FacetCount;
+import com.team2a.ProjectPortfolio.dto.ProjectFacet;
+import com.team2a.ProjectPortfolio.dto.ProjectFacetQuery;
+import com.team2a.ProjectPortfolio.dto.ProjectFacetResult;
+import com.team2a.ProjectPortfolio.dto.ProjectSummary;
+import com.team2a.ProjectPortfolio.dto.ProjectTemplate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public class ProjectFacetIndexTest {
+
+  private final UUID alpha = UUID.randomUUID();
+
+  private final UUID beta = UUID.randomUUID();
+
+  private final UUID gamma = UUID.randomUUID();
+
+  private final UUID design = UUID.randomUUID();
+
+  private final UUID research = UUID.randomUUID();
+
+  private final UUID collaborator = UUID.randomUUID();
+
+  private ProjectRepository projectRepository;
+
+  private TagToProjectRepository tagToProjectRepository;
+
+  private ProjectsToCollaboratorsRepository projectsToCollaboratorsRepository;
+
+  private ProjectFacetIndex sut;
+
+  @BeforeEach
+  void setUp() {
+    projectRepository = mock(ProjectRepository.class);
+    tagToProjectRepository = mock(TagToProjectRepository.class);
+    projectsToCollaboratorsRepository = mock(ProjectsToCollaboratorsRepository.class);
+    when(projectRepository.findAllSummaries()).thenReturn(List.of(
+        new ProjectSummary(alpha, "Alpha", "", false, null, 0L),
+        new ProjectSummary(beta, "Beta", "", true, null, 0L),
+        new ProjectSummary(gamma, "Gamma", "", false, null, 0L)));
+    when(projectRepository.findAllTemplates()).thenReturn(List.of(new ProjectTemplate(alpha, "thesis")));
+    when(tagToProjectRepository.findAllFacets()).thenReturn(List.of(
+        new ProjectFacet(alpha, design), new ProjectFacet(beta, design),
+        new ProjectFacet(beta, research), new ProjectFacet(gamma, research)));
+    when(projectsToCollaboratorsRepository.findAllFacets()).thenReturn(List.of(new ProjectFacet(alpha, collaborator)));
+    sut = new ProjectFacetIndex(projectRepository, tagToProjectRepository, projectsToCollaboratorsRepository);
+  }
+
+  @Test
+  void queryBeforeRebuildUsesDatabase() {
+    Project project = new Project("Alpha", "", false, new Template("thesis", "", 1));
+    project.setProjectId(alpha);
+    when(projectRepository.findAll(any(Specification.class), any(Sort.class))).thenReturn(List.of(project));
+    when(tagToProjectRepository.countFacetsByProjectIds(List.of(alpha)))
+        .thenReturn(List.of(new FacetCount(design, 1L)));
+    when(projectsToCollaboratorsRepository.countFacetsByProjectIds(List.of(alpha)))
+        .thenReturn(List.of(new FacetCount(collaborator, 1L)));
+
+    ProjectFacetResult result = sut.query(query(List.of(design), false));
+
+    assertFalse(sut.isReady());
+    assertEquals(1, result.getTotal());
+    assertEquals(List.of(alpha), ids(result));
+    assertEquals(Map.of(design, 1L), result.getTags());
+    assertEquals(Map.of(collaborator, 1L), result.getCollaborators());
+    assertEquals(Map.of("thesis", 1L), result.getTemplates());
+  }
+
+  @Test
+  void queryMatchesAllTags() {
+    sut.rebuild();
+    ProjectFacetResult result = sut.query(query(List.of(design, research), false));
+    assertTrue(sut.isReady());
+    assertEquals(List.of(beta), ids(result));
+    assertEquals(Map.of(design, 1L, research, 1L), result.getTags());
+    assertTrue(result.getCollaborators().isEmpty());
+    verify(projectRepository, never()).findAll(any(Specification.class), any(Sort.class));
+  }
+
+  @Test
+  void queryMatchesAnyTag() {
+    sut.rebuild();
+    ProjectFacetResult result = sut.query(query(List.of(design, research), true));
+    assertEquals(3, result.getTotal());
+    assertEquals(List.of(alpha, beta, gamma), ids(result));
+    assertEquals(Map.of(design, 2L, research, 2L), result.getTags());
+    assertEquals(Map.of(collaborator, 1L), result.getCollaborators());
+    assertEquals(Map.of("thesis", 1L), result.getTemplates());
+  }
+
+  @Test
+  void queryCombinesFacets() {
+    sut.rebuild();
+    ProjectFacetQuery query = query(List.of(design), false);
+    query.setArchived(false);
+    assertEquals(List.of(alpha), ids(sut.query(query)));
+    query.setArchived(null);
+    query.setTemplate(List.of("thesis"));
+    query.setCollaborator(List.of(collaborator));
+    assertEquals(List.of(alpha), ids(sut.query(query)));
+    query.setTag(List.of(research));
+    assertEquals(0, sut.query(query).getTotal());
+  }
+
+  @Test
+  void queryPaginates() {
+    sut.rebuild();
+    ProjectFacetQuery query = new ProjectFacetQuery();
+    query.setPage(1);
+    query.setSize(2);
+    ProjectFacetResult result = sut.query(query);
+    assertEquals(3, result.getTotal());
+    assertEquals(List.of(gamma), ids(result));
+  }
+
+  @Test
+  void putAndRemoveProject() {
+    sut.rebuild();
+    Project project = new Project("Delta", "", false, new Template("thesis", "", 1));
+    project.setProjectId(UUID.randomUUID());
+    sut.put(project);
+    ProjectFacetQuery query = new ProjectFacetQuery();
+    query.setTemplate(List.of("thesis"));
+    assertEquals(2, sut.query(query).getTotal());
+
+    project.setTemplate(null);
+    sut.put(project);
+    assertEquals(1, sut.query(query).getTotal());
+
+    sut.remove(alpha);
+    assertEquals(0, sut.query(query).getTotal());
+    assertEquals(List.of(beta, project.getProjectId(), gamma), ids(sut.query(new ProjectFacetQuery())));
+  }
+
+  @Test
+  void setAndDeleteFacetValues() {
+    sut.rebuild();
+    sut.setTag(gamma, design, true);
+    assertEquals(3, sut.query(query(List.of(design), false)).getTotal());
+    sut.setTag(alpha, design, false);
+    assertEquals(List.of(beta, gamma), ids(sut.query(query(List.of(design), false))));
+    sut.setCollaborator(gamma, collaborator, true);
+    sut.deleteTag(design);
+    ProjectFacetResult result = sut.query(new ProjectFacetQuery());
+    assertEquals(Map.of(research, 2L), result.getTags());
+    assertEquals(Map.of(collaborator, 2L), result.getCollaborators());
+    sut.deleteCollaborator(collaborator);
+    sut.deleteTemplate("thesis");
+    result = sut.query(new ProjectFacetQuery());
+    assertTrue(result.getCollaborators().isEmpty());
+    assertTrue(result.getTemplates().isEmpty());
+  }
+
+  @Test
+  void rebuildIgnoresUnknownProjects() {
+    when(tagToProjectRepository.findAllFacets()).thenReturn(List.of(new ProjectFacet(UUID.randomUUID(), design)));
+    sut.rebuild();
+    assertEquals(3, sut.query(new ProjectFacetQuery()).getTotal());
+    assertTrue(sut.query(new ProjectFacetQuery()).getTags().isEmpty());
+    verify(tagToProjectRepository, never()).countFacetsByProjectIds(anyCollection());
+  }
+
+  private ProjectFacetQuery query(List<UUID> tags, boolean any) {
+    ProjectFacetQuery query = new ProjectFacetQuery();
+    query.setTag(tags);
+    query.setAnyTag(any);
+    return query;
+  }
+
+  private List<UUID> ids(ProjectFacetResult result) {
+    return result.getItems().stream().map(ProjectSummary::getProjectId).toList();
+  }
+}
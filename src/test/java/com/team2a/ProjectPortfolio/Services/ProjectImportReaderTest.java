@@ -0,0 +1,119 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.team2a.ProjectPortfolio.dto.ProjectImportRow;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class ProjectImportReaderTest {
+
+  private ProjectImportReader reader(ProjectImportReader.Format format, String content) {
+    return new ProjectImportReader(new BufferedReader(new StringReader(content)), format, new ObjectMapper());
+  }
+
+  @Test
+  void testFormat() {
+    assertEquals(ProjectImportReader.Format.NDJSON, ProjectImportReader.Format.of("application/x-ndjson"));
+    assertEquals(ProjectImportReader.Format.CSV, ProjectImportReader.Format.of("text/csv;charset=UTF-8"));
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+        () -> ProjectImportReader.Format.of("application/json"));
+    assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, e.getStatusCode());
+  }
+
+  @Test
+  void testReadJson() throws IOException {
+    ProjectImportReader reader = reader(ProjectImportReader.Format.NDJSON,
+        "{\"title\":\"title1\",\"description\":\"description1\",\"tags\":[\"tag\"],"
+            + "\"links\":[{\"name\":\"link\",\"url\":\"https://example.com\"}]}\n"
+            + "\n"
+            + "{\"title\":\"title2\"\n"
+            + "{\"title\":\"title3\",\"description\":\"description3\",\"archived\":true,\"tags\":null}\n");
+
+    ProjectImportRow row = reader.read();
+    assertEquals(1, row.getLine());
+    assertEquals("title1", row.getTitle());
+    assertEquals(List.of("tag"), row.getTags());
+    assertEquals("https://example.com", row.getLinks().get(0).getUrl());
+
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class, reader::read);
+    assertTrue(e.getMessage().startsWith("Malformed JSON"));
+    assertEquals(3, reader.getLine());
+
+    row = reader.read();
+    assertEquals(4, row.getLine());
+    assertEquals(true, row.getArchived());
+    assertTrue(row.getTags().isEmpty());
+    assertNull(reader.read());
+  }
+
+  @Test
+  void testReadCsv() throws IOException {
+    ProjectImportReader reader = reader(ProjectImportReader.Format.CSV,
+        "Title,Description,Archived,Tags,Collaborators,Links\r\n"
+            + "title1,\"description, on\n two lines\",false,tag1;tag2,name|role,link|https://example.com\r\n"
+            + "\n"
+            + "title2,\"a \"\"quoted\"\" description\",maybe,,,\n"
+            + "title3,description3\n"
+            + "title4,description4,,,name,\n"
+            + "title5,description5,true,,,");
+
+    ProjectImportRow row = reader.read();
+    assertEquals(2, row.getLine());
+    assertEquals("description, on\n two lines", row.getDescription());
+    assertEquals(false, row.getArchived());
+    assertEquals(List.of("tag1", "tag2"), row.getTags());
+    assertEquals("name", row.getCollaborators().get(0).getName());
+    assertEquals("role", row.getCollaborators().get(0).getRole());
+    assertEquals("link", row.getLinks().get(0).getName());
+    assertEquals("https://example.com", row.getLinks().get(0).getUrl());
+
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class, reader::read);
+    assertEquals("archived must be true or false", e.getMessage());
+    assertEquals(5, reader.getLine());
+    e = assertThrows(IllegalArgumentException.class, reader::read);
+    assertEquals("Expected 6 fields but found 2", e.getMessage());
+    e = assertThrows(IllegalArgumentException.class, reader::read);
+    assertEquals("Collaborators must be written name|role", e.getMessage());
+
+    row = reader.read();
+    assertEquals(8, row.getLine());
+    assertEquals(true, row.getArchived());
+    assertNull(row.getTemplate());
+    assertNull(reader.read());
+  }
+
+  @Test
+  void testReadCsvUnclosedQuote() throws IOException {
+    ProjectImportReader reader = reader(ProjectImportReader.Format.CSV,
+        "title,description\ntitle1,\"description1\ntitle2,description2\n");
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class, reader::read);
+    assertEquals("A quoted field is not closed", e.getMessage());
+    assertNull(reader.read());
+  }
+
+  @Test
+  void testReadCsvInvalidHeader() {
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+        () -> reader(ProjectImportReader.Format.CSV, "title,owner\ntitle1,name\n").read());
+    assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    e = assertThrows(ResponseStatusException.class,
+        () -> reader(ProjectImportReader.Format.CSV, "title,tags\ntitle1,tag\n").read());
+    assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+  }
+
+  @Test
+  void testReadEmpty() throws IOException {
+    assertNull(reader(ProjectImportReader.Format.CSV, "").read());
+    assertNull(reader(ProjectImportReader.Format.NDJSON, "\n\n").read());
+  }
+}
@@ -0,0 +1,141 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.team2a.ProjectPortfolio.Commons.Collaborator;
+import com.team2a.ProjectPortfolio.Commons.Project;
+import com.team2a.ProjectPortfolio.Commons.ProjectsToCollaborators;
+import com.team2a.ProjectPortfolio.Commons.Tag;
+import com.team2a.ProjectPortfolio.Commons.TagsToProject;
+import com.team2a.ProjectPortfolio.dto.ProjectImportError;
+import com.team2a.ProjectPortfolio.dto.ProjectImportReport;
+import com.team2a.ProjectPortfolio.dto.ProjectImportRow;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+public class ProjectImportServiceTest {
+
+  private ProjectImportWriter projectImportWriter;
+
+  private ProjectSearchIndex projectSearchIndex;
+
+  private ProjectFacetIndex projectFacetIndex;
+
+  private ProjectImportService projectImportService;
+
+  @BeforeEach
+  void setUp() {
+    projectImportWriter = mock(ProjectImportWriter.class);
+    projectSearchIndex = mock(ProjectSearchIndex.class);
+    projectFacetIndex = mock(ProjectFacetIndex.class);
+    projectImportService = new ProjectImportService(projectImportWriter, new ObjectMapper(),
+        Validation.buildDefaultValidatorFactory().getValidator(), projectSearchIndex, projectFacetIndex, 2);
+    when(projectImportWriter.write(anyList())).thenAnswer(invocation -> {
+      ProjectImportWriter.Result result = new ProjectImportWriter.Result();
+      for (ProjectImportRow row : invocation.<List<ProjectImportRow>>getArgument(0)) {
+        Project project = new Project(row.getTitle(), row.getDescription(), false);
+        project.setProjectId(UUID.randomUUID());
+        result.getImported().add(project);
+      }
+      return result;
+    });
+  }
+
+  private ProjectImportReport importNdjson(String... lines) {
+    byte[] content = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+    return projectImportService.importProjects(new ByteArrayInputStream(content), "application/x-ndjson");
+  }
+
+  private String row(String title) {
+    return "{\"title\":\"" + title + "\",\"description\":\"description\"}";
+  }
+
+  @Test
+  void testImportInChunks() {
+    ProjectImportReport report = importNdjson(row("title1"), row("title2"), row("title3"), row("title4"),
+        row("title5"));
+    assertEquals(5, report.getImported());
+    assertEquals(0, report.getFailed());
+    verify(projectImportWriter, times(3)).write(anyList());
+    verify(projectSearchIndex, times(5)).index(any());
+    verify(projectFacetIndex, times(5)).put(any());
+  }
+
+  @Test
+  void testImportReportsInvalidRows() {
+    ProjectImportReport report = importNdjson(row("title1"), "{\"title\":\"title2\"}", "not json",
+        "{\"title\":\"title4\",\"description\":\"description\",\"links\":[{\"name\":\"link\"}]}",
+        "{\"title\":\"title5\",\"description\":\"description\",\"collaborators\":[{\"name\":\"1\",\"role\":\"r\"}]}",
+        row("title6"));
+    assertEquals(2, report.getImported());
+    assertEquals(4, report.getFailed());
+    assertEquals(List.of(2L, 3L, 4L, 5L), report.getErrors().stream().map(ProjectImportError::getLine).toList());
+    assertEquals("description: Description is required", report.getErrors().get(0).getMessage());
+    verify(projectImportWriter, times(1)).write(anyList());
+  }
+
+  @Test
+  void testImportReportsRowsRejectedByTheWriter() {
+    ProjectImportWriter.Result result = new ProjectImportWriter.Result();
+    result.getErrors().add(new ProjectImportError(2, "A project with the same title and description already exists"));
+    Project project = new Project("title1", "description", false);
+    project.setProjectId(UUID.randomUUID());
+    Tag tag = new Tag("tag", "red");
+    tag.setTagId(UUID.randomUUID());
+    project.getTagsToProjects().add(new TagsToProject(tag, project));
+    Collaborator collaborator = new Collaborator("name");
+    collaborator.setCollaboratorId(UUID.randomUUID());
+    project.getProjectsToCollaborators().add(new ProjectsToCollaborators(project, collaborator, "role"));
+    result.getImported().add(project);
+    when(projectImportWriter.write(anyList())).thenReturn(result);
+
+    ProjectImportReport report = importNdjson(row("title1"), row("title1"));
+    assertEquals(1, report.getImported());
+    assertEquals(1, report.getFailed());
+    assertEquals(2, report.getErrors().get(0).getLine());
+    verify(projectFacetIndex).setTag(project.getProjectId(), tag.getTagId(), true);
+    verify(projectFacetIndex).setCollaborator(project.getProjectId(), collaborator.getCollaboratorId(), true);
+  }
+
+  @Test
+  void testImportRetriesFailedChunkRowByRow() {
+    when(projectImportWriter.write(anyList())).thenAnswer(invocation -> {
+      List<ProjectImportRow> rows = invocation.getArgument(0);
+      if (rows.size() > 1 || rows.get(0).getTitle().equals("title2")) {
+        throw new DataIntegrityViolationException("duplicate");
+      }
+      ProjectImportWriter.Result result = new ProjectImportWriter.Result();
+      Project project = new Project(rows.get(0).getTitle(), rows.get(0).getDescription(), false);
+      project.setProjectId(UUID.randomUUID());
+      result.getImported().add(project);
+      return result;
+    });
+    ProjectImportReport report = importNdjson(row("title1"), row("title2"));
+    assertEquals(1, report.getImported());
+    assertEquals(1, report.getFailed());
+    assertEquals(2, report.getErrors().get(0).getLine());
+    verify(projectImportWriter, times(3)).write(anyList());
+  }
+
+  @Test
+  void testImportCsv() {
+    byte[] content = "title,description,tags\ntitle1,description1,tag\n,description2,\n".getBytes(StandardCharsets.UTF_8);
+    ProjectImportReport report = projectImportService.importProjects(new ByteArrayInputStream(content), "text/csv");
+    assertEquals(1, report.getImported());
+    assertEquals(1, report.getFailed());
+    assertEquals("title: Title is required", report.getErrors().get(0).getMessage());
+  }
+}
@@ -0,0 +1,143 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.team2a.ProjectPortfolio.Commons.Account;
+import com.team2a.ProjectPortfolio.Commons.Media;
+import com.team2a.ProjectPortfolio.Commons.Role;
+import com.team2a.ProjectPortfolio.Commons.RoleInProject;
+import com.team2a.ProjectPortfolio.Commons.Template;
+import com.team2a.ProjectPortfolio.Commons.TemplateAddition;
+import com.team2a.ProjectPortfolio.Repositories.MediaRepository;
+import com.team2a.ProjectPortfolio.Repositories.ProjectsToAccountsRepository;
+import com.team2a.ProjectPortfolio.Repositories.TemplateRepository;
+import com.team2a.ProjectPortfolio.dto.ProjectOverview;
+import com.team2a.ProjectPortfolio.dto.ProjectSummary;
+import com.team2a.ProjectPortfolio.dto.ProjectView;
+import com.team2a.ProjectPortfolio.security.SecurityUtils;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+public class ProjectOverviewServiceTest {
+
+  private ProjectViewService projectViewService;
+
+  private MediaRepository mediaRepository;
+
+  private ProjectsToAccountsRepository projectsToAccountsRepository;
+
+  private TemplateRepository templateRepository;
+
+  private ProjectOverviewService projectOverviewService;
+
+  private UUID projectId;
+
+  @BeforeEach
+  void setUp() {
+    projectViewService = mock(ProjectViewService.class);
+    mediaRepository = mock(MediaRepository.class);
+    projectsToAccountsRepository = mock(ProjectsToAccountsRepository.class);
+    templateRepository = mock(TemplateRepository.class);
+    projectOverviewService = new ProjectOverviewService(projectViewService, new ProjectReadCache(60000, 100),
+        mediaRepository, projectsToAccountsRepository, templateRepository, new SecurityUtils());
+
+    projectId = UUID.randomUUID();
+    ProjectView view = new ProjectView(new ProjectSummary(projectId, "title", "description", false, null, 0L),
+        List.of(), List.of(), List.of());
+    when(projectViewService.getProjectView(projectId)).thenReturn(view);
+    when(mediaRepository.findAllByProjectProjectId(projectId)).thenReturn(List.of(new Media("name", "path")));
+    Template template = new Template("template", "description", 2);
+    template.getTemplateAdditions().add(new TemplateAddition("addition", false));
+    when(templateRepository.findWithAdditionsByProjectId(projectId)).thenReturn(Optional.of(template));
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  private void login(Account account) {
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken(account, null, account.getAuthorities()));
+  }
+
+  @Test
+  void testGetProjectOverviewAnonymous() {
+    SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken("key", "anonymousUser",
+        AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+    ProjectOverview overview = projectOverviewService.getProjectOverview(projectId);
+    assertEquals("title", overview.getProject().getTitle());
+    assertEquals("name", overview.getMedia().get(0).getName());
+    assertNull(overview.getRole());
+    assertNull(overview.getTemplate());
+    verify(projectsToAccountsRepository, never()).findRolesByUsernameAndProjectId(any(), any());
+    verify(templateRepository, never()).findWithAdditionsByProjectId(any());
+  }
+
+  @Test
+  void testGetProjectOverviewMember() {
+    login(new Account("user", "name", "password", Role.ROLE_USER));
+    when(projectsToAccountsRepository.findRolesByUsernameAndProjectId("user", projectId))
+        .thenReturn(List.of(RoleInProject.CONTENT_CREATOR, RoleInProject.EDITOR));
+    ProjectOverview overview = projectOverviewService.getProjectOverview(projectId);
+    assertEquals(RoleInProject.EDITOR, overview.getRole());
+    assertEquals("template", overview.getTemplate().getTemplateName());
+    assertEquals("addition", overview.getTemplate().getTemplateAdditions().get(0).getTemplateAdditionName());
+  }
+
+  @Test
+  void testGetProjectOverviewNotMember() {
+    login(new Account("user", "name", "password", Role.ROLE_USER));
+    when(projectsToAccountsRepository.findRolesByUsernameAndProjectId("user", projectId)).thenReturn(List.of());
+    ProjectOverview overview = projectOverviewService.getProjectOverview(projectId);
+    assertNull(overview.getRole());
+    assertNull(overview.getTemplate());
+    verify(templateRepository, never()).findWithAdditionsByProjectId(any());
+  }
+
+  @Test
+  void testGetProjectOverviewAdmin() {
+    login(new Account("admin", "name", "password", Role.ROLE_ADMIN));
+    when(projectsToAccountsRepository.findRolesByUsernameAndProjectId("admin", projectId)).thenReturn(List.of());
+    ProjectOverview overview = projectOverviewService.getProjectOverview(projectId);
+    assertNull(overview.getRole());
+    assertEquals("template", overview.getTemplate().getTemplateName());
+  }
+
+  @Test
+  void testGetProjectOverviewCachesView() {
+    projectOverviewService.getProjectOverview(projectId);
+    projectOverviewService.getProjectOverview(projectId);
+    verify(projectViewService, times(1)).getProjectView(projectId);
+    verify(mediaRepository, times(2)).findAllByProjectProjectId(projectId);
+  }
+
+  @Test
+  void testGetProjectOverviewNotFound() {
+    UUID missing = UUID.randomUUID();
+    when(projectViewService.getProjectView(missing))
+        .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found"));
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+        () -> projectOverviewService.getProjectOverview(missing));
+    assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+    verify(mediaRepository, never()).findAllByProjectProjectId(missing);
+  }
+}
@@ -0,0 +1,142 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.team2a.ProjectPortfolio.dto.ProjectCacheStats;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class ProjectReadCacheTest {
+
+  private final UUID projectId = UUID.randomUUID();
+
+  private AtomicInteger loads;
+
+  private ProjectReadCache sut;
+
+  @BeforeEach
+  void setUp() {
+    loads = new AtomicInteger();
+    sut = new ProjectReadCache(60000, 2);
+  }
+
+  @Test
+  void getCachesValue() {
+    assertEquals("value1", sut.get(ProjectReadCache.Region.TAGS, projectId, loader()));
+    assertEquals("value1", sut.get(ProjectReadCache.Region.TAGS, projectId, loader()));
+    assertEquals("value2", sut.get(ProjectReadCache.Region.LINKS, projectId, loader()));
+    ProjectCacheStats stats = sut.getStats();
+    assertEquals(1, stats.getHits());
+    assertEquals(2, stats.getMisses());
+    assertEquals(2, stats.getEntries());
+    assertEquals(2, stats.getMaxEntries());
+  }
+
+  @Test
+  void getReloadsExpiredValue() {
+    sut = new ProjectReadCache(0, 2);
+    sut.get(ProjectReadCache.Region.TAGS, projectId, loader());
+    assertEquals("value2", sut.get(ProjectReadCache.Region.TAGS, projectId, loader()));
+    assertEquals(0, sut.getStats().getHits());
+  }
+
+  @Test
+  void getEvictsLeastRecentlyUsed() {
+    UUID second = UUID.randomUUID();
+    UUID third = UUID.randomUUID();
+    sut.get(ProjectReadCache.Region.TAGS, projectId, loader());
+    sut.get(ProjectReadCache.Region.TAGS, second, loader());
+    sut.get(ProjectReadCache.Region.TAGS, projectId, loader());
+    sut.get(ProjectReadCache.Region.TAGS, third, loader());
+    assertEquals(1, sut.getStats().getEvictions());
+    assertEquals("value1", sut.get(ProjectReadCache.Region.TAGS, projectId, loader()));
+    assertEquals("value4", sut.get(ProjectReadCache.Region.TAGS, second, loader()));
+  }
+
+  @Test
+  void getDisabled() {
+    sut = new ProjectReadCache(60000, 0);
+    sut.get(ProjectReadCache.Region.PROJECT, projectId, loader());
+    assertEquals("value2", sut.get(ProjectReadCache.Region.PROJECT, projectId, loader()));
+    assertEquals(0, sut.getStats().getEntries());
+  }
+
+  @Test
+  void getDoesNotCacheFailedLoad() {
+    Supplier<String> failing = () -> {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+    };
+    assertThrows(ResponseStatusException.class,
+        () -> sut.get(ProjectReadCache.Region.PROJECT, projectId, failing));
+    assertEquals("value1", sut.get(ProjectReadCache.Region.PROJECT, projectId, loader()));
+  }
+
+  @Test
+  void getDoesNotCacheValueLoadedDuringInvalidation() {
+    Supplier<String> racing = () -> {
+      sut.invalidateProject(projectId);
+      return "stale";
+    };
+    assertEquals("stale", sut.get(ProjectReadCache.Region.PROJECT, projectId, racing));
+    assertEquals("value1", sut.get(ProjectReadCache.Region.PROJECT, projectId, loader()));
+  }
+
+  @Test
+  void invalidateRemovesRegionAndProject() {
+    UUID other = UUID.randomUUID();
+    sut.get(ProjectReadCache.Region.PROJECT, projectId, loader());
+    sut.get(ProjectReadCache.Region.TAGS, projectId, loader());
+    sut.get(ProjectReadCache.Region.LINKS, projectId, loader());
+    sut.get(ProjectReadCache.Region.TAGS, other, loader());
+    sut.invalidate(ProjectReadCache.Region.TAGS, projectId);
+    ProjectCacheStats stats = sut.getStats();
+    assertEquals(2, stats.getEntries());
+    assertEquals(1, stats.getInvalidations());
+    assertEquals("value3", sut.get(ProjectReadCache.Region.LINKS, projectId, loader()));
+  }
+
+  @Test
+  void invalidateAllClearsRegionAndProjects() {
+    sut.get(ProjectReadCache.Region.PROJECT, projectId, loader());
+    sut.get(ProjectReadCache.Region.TAGS, projectId, loader());
+    sut.get(ProjectReadCache.Region.LINKS, projectId, loader());
+    sut.invalidateAll(ProjectReadCache.Region.TAGS);
+    assertEquals(1, sut.getStats().getEntries());
+  }
+
+  @Test
+  void invalidateProjectRemovesAllRegions() {
+    UUID other = UUID.randomUUID();
+    sut.get(ProjectReadCache.Region.PROJECT, projectId, loader());
+    sut.get(ProjectReadCache.Region.COLLABORATORS, projectId, loader());
+    sut.get(ProjectReadCache.Region.COLLABORATORS, other, loader());
+    sut.invalidateProject(projectId);
+    assertEquals(1, sut.getStats().getEntries());
+  }
+
+  @Test
+  void invalidateFromBroadcast() {
+    UUID other = UUID.randomUUID();
+    sut.get(ProjectReadCache.Region.TAGS, projectId, loader());
+    sut.get(ProjectReadCache.Region.TAGS, other, loader());
+    sut.invalidate(ProjectReadCache.Region.TAGS, "edited " + projectId);
+    assertEquals(1, sut.getStats().getEntries());
+    sut.invalidate(ProjectReadCache.Region.TAGS, "all");
+    assertEquals(0, sut.getStats().getEntries());
+
+    sut.get(ProjectReadCache.Region.PROJECT, projectId, loader());
+    sut.get(ProjectReadCache.Region.LINKS, projectId, loader());
+    sut.invalidate(ProjectReadCache.Region.PROJECT, "deleted " + projectId);
+    assertEquals(0, sut.getStats().getEntries());
+  }
+
+  private Supplier<String> loader() {
+    return () -> "value" + loads.incrementAndGet();
+  }
+}
@@ -0,0 +1,97 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.team2a.ProjectPortfolio.Commons.Project;
+import com.team2a.ProjectPortfolio.Repositories.ProjectRepository;
+import com.team2a.ProjectPortfolio.dto.ProjectSearchHit;
+import com.team2a.ProjectPortfolio.dto.ProjectSearchResult;
+import com.team2a.ProjectPortfolio.dto.ProjectSummary;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ProjectSearchIndexTest {
+
+  private final UUID inTitle = UUID.randomUUID();
+
+  private final UUID inDescription = UUID.randomUUID();
+
+  private final UUID unrelated = UUID.randomUUID();
+
+  private ProjectSearchIndex sut;
+
+  @BeforeEach
+  void setUp() {
+    ProjectRepository projectRepository = mock(ProjectRepository.class);
+    when(projectRepository.findAllSummaries()).thenReturn(List.of(
+        new ProjectSummary(inTitle, "Robot arm", "A small project", false, null, 0L),
+        new ProjectSummary(inDescription, "Lab work", "Control software for a robot arm", false, null, 0L),
+        new ProjectSummary(unrelated, "Café menu", "Prices and dishes", false, null, 0L)));
+    sut = new ProjectSearchIndex(projectRepository);
+    sut.rebuild();
+  }
+
+  @Test
+  void rebuild() {
+    assertEquals(3, sut.size());
+  }
+
+  @Test
+  void searchRanksTitleMatchesFirst() {
+    ProjectSearchResult result = sut.search("robot arm", 0, 10);
+    assertEquals(2, result.getTotal());
+    assertEquals(List.of(inTitle, inDescription), ids(result));
+    assertTrue(result.getItems().get(0).getScore() > result.getItems().get(1).getScore());
+  }
+
+  @Test
+  void searchPaginates() {
+    ProjectSearchResult result = sut.search("robot", 1, 1);
+    assertEquals(2, result.getTotal());
+    assertEquals(List.of(inDescription), ids(result));
+  }
+
+  @Test
+  void searchMatchesPrefixOfLastWord() {
+    assertEquals(List.of(inDescription), ids(sut.search("soft", 0, 10)));
+    assertEquals(List.of(), ids(sut.search("soft robotics", 0, 10)));
+  }
+
+  @Test
+  void searchIgnoresCaseAndAccents() {
+    assertEquals(List.of(unrelated), ids(sut.search("CAFE", 0, 10)));
+  }
+
+  @Test
+  void searchEmptyQuery() {
+    ProjectSearchResult result = sut.search(" - ", 0, 10);
+    assertEquals(0, result.getTotal());
+    assertTrue(result.getItems().isEmpty());
+  }
+
+  @Test
+  void indexReplacesUpdatedProject() {
+    Project project = new Project("Menu", "Opening hours", false);
+    project.setProjectId(unrelated);
+    sut.index(project);
+    assertEquals(3, sut.size());
+    assertEquals(List.of(), ids(sut.search("cafe", 0, 10)));
+    assertEquals(List.of(unrelated), ids(sut.search("hours", 0, 10)));
+  }
+
+  @Test
+  void deleteRemovesProject() {
+    sut.delete(inTitle);
+    assertEquals(2, sut.size());
+    assertEquals(List.of(inDescription), ids(sut.search("robot", 0, 10)));
+  }
+
+  private List<UUID> ids(ProjectSearchResult result) {
+    return result.getItems().stream().map(ProjectSearchHit::getProjectId).toList();
+  }
+}
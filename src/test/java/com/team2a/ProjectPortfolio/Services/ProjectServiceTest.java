@@ -3,18 +3,31 @@ package com.team2a.ProjectPortfolio.Services;
 import com.team2a.ProjectPortfolio.Commons.*;
 import com.team2a.ProjectPortfolio.Repositories.ProjectRepository;
 import com.team2a.ProjectPortfolio.Repositories.ProjectsToAccountsRepository;
+import com.team2a.ProjectPortfolio.dto.ProjectFacetQuery;
+import com.team2a.ProjectPortfolio.dto.ProjectFacetResult;
+import com.team2a.ProjectPortfolio.dto.ProjectPage;
+import com.team2a.ProjectPortfolio.dto.ProjectSearchResult;
+import com.team2a.ProjectPortfolio.dto.ProjectSummary;
+import com.team2a.ProjectPortfolio.dto.ProjectView;
 import com.team2a.ProjectPortfolio.security.SecurityUtils;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 class ProjectServiceTest {
@@ -22,6 +35,9 @@ class ProjectServiceTest {
 
     private ProjectsToAccountsRepository projectsToAccountsRepository;
     private SecurityUtils securityUtils;
+    private ProjectViewService projectViewService;
+    private ProjectSearchIndex projectSearchIndex;
+    private ProjectFacetIndex projectFacetIndex;
     private ProjectService projectService;
 
     @BeforeEach
@@ -29,30 +45,42 @@ class ProjectServiceTest {
         projectRepository = mock(ProjectRepository.class);
         projectsToAccountsRepository = mock(ProjectsToAccountsRepository.class);
         securityUtils = mock(SecurityUtils.class);
-        projectService = new ProjectService(projectRepository, securityUtils, projectsToAccountsRepository);
+        projectViewService = mock(ProjectViewService.class);
+        projectSearchIndex = mock(ProjectSearchIndex.class);
+        projectFacetIndex = mock(ProjectFacetIndex.class);
+        projectService = new ProjectService(projectRepository, securityUtils, projectsToAccountsRepository,
+            projectViewService, projectSearchIndex, projectFacetIndex);
     }
 
     @Test
     void getProjectsEmpty() {
-        List<Project> expected = new ArrayList<>();
-        when(projectRepository.findAll()).thenReturn(List.of());
-        List<Project> response = projectService.getProjects();
+        List<ProjectView> expected = new ArrayList<>();
+        when(projectViewService.getProjectViews()).thenReturn(List.of());
+        List<ProjectView> response = projectService.getProjects();
         assertEquals(expected, response);
     }
 
     @Test
     void getProjectsNotEmpty() {
-        Project project1 = new Project("Title1", "Description1",  false);
-        Project project2 = new Project("Title2", "Description2", false);
-        Project project3 = new Project("Title3", "Description3", false);
-        List<Project> projects = List.of(project1, project2, project3);
+        ProjectView project1 = new ProjectView(new ProjectSummary(UUID.randomUUID(), "Title1", "Description1",
+            false, null, 0L), List.of(), List.of(), List.of());
+        List<ProjectView> projects = List.of(project1);
 
-        when(projectRepository.findAll()).thenReturn(projects);
+        when(projectViewService.getProjectViews()).thenReturn(projects);
 
-        List<Project> response = projectService.getProjects();
+        List<ProjectView> response = projectService.getProjects();
         assertEquals(projects, response);
     }
 
+    @Test
+    void getProjectViewById() {
+        UUID projectId = UUID.randomUUID();
+        ProjectView project = new ProjectView(new ProjectSummary(projectId, "Title1", "Description1", false, null, 0L),
+            List.of(), List.of(), List.of());
+        when(projectViewService.getProjectView(projectId)).thenReturn(project);
+        assertEquals(project, projectService.getProjectViewById(projectId));
+    }
+
     @Test
     void deleteProjectSuccessful() {
         UUID projectId = UUID.randomUUID();
@@ -60,6 +88,8 @@ class ProjectServiceTest {
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project1));
         projectService.deleteProject(projectId);
         verify(projectRepository,times(1)).delete(project1);
+        verify(projectSearchIndex).delete(projectId);
+        verify(projectFacetIndex).remove(projectId);
     }
     @Test
     void updateProjectSuccess() {
@@ -70,20 +100,23 @@ class ProjectServiceTest {
         when(projectRepository.save(project1)).thenReturn(project2);
         Project response = projectService.updateProject(projectId, project2);
         assertEquals(project2, response);
+        verify(projectSearchIndex).index(project2);
+        verify(projectFacetIndex).put(project2);
     }
     @Test
     void createProjectSuccess() {
         String title = "title1";
         String desc = "desc1";
         Project project = new Project(title, desc, false);
-        when(projectRepository.findFirstByTitleAndDescription(title, desc))
-            .thenReturn(Optional.empty());
+        when(projectRepository.existsByContentHash(Project.contentHash(title, desc))).thenReturn(false);
         when(projectRepository.save(any())).thenReturn(new Project(title, desc, false));
         when(projectsToAccountsRepository.save(any())).thenReturn(null);
         when(securityUtils.getCurrentUser()).thenReturn(new Account());
         Project response = projectService.createProject(project);
         assertEquals(project.getTitle(), response.getTitle());
         assertEquals(project.getDescription(), response.getDescription());
+        verify(projectSearchIndex).index(response);
+        verify(projectFacetIndex).put(response);
     }
 
     @Test
@@ -91,9 +124,51 @@ class ProjectServiceTest {
         String title = "title1";
         String desc = "desc1";
         Project project = new Project(title, desc, false);
-        when(projectRepository.findFirstByTitleAndDescription(title, desc))
-                .thenReturn(Optional.of(new Project(title, desc, false)));
-        assertThrows(ResponseStatusException.class, () -> projectService.createProject(project));
+        when(projectRepository.existsByContentHash(Project.contentHash(title, desc))).thenReturn(true);
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+            () -> projectService.createProject(project));
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+        verify(projectRepository, never()).save(any());
+        verify(projectSearchIndex, never()).index(any());
+    }
+
+    @Test
+    void createProjectConcurrentDuplicate() {
+        Project project = new Project("title1", "desc1", false);
+        when(securityUtils.getCurrentUser()).thenReturn(new Account());
+        when(projectRepository.save(any())).thenThrow(new DataIntegrityViolationException("UK_PROJECT_CONTENT_HASH"));
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+            () -> projectService.createProject(project));
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+        verify(projectsToAccountsRepository, never()).save(any());
+        verify(projectSearchIndex, never()).index(any());
+    }
+
+    @Test
+    void updateProjectStaleVersion() {
+        UUID projectId = UUID.randomUUID();
+        Project project1 = new Project("Title1", "Description1", false);
+        project1.setVersion(2L);
+        Project project2 = new Project("Title2", "Description2", false);
+        project2.setVersion(1L);
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project1));
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+            () -> projectService.updateProject(projectId, project2));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, e.getStatusCode());
+        assertEquals("Title1", project1.getTitle());
+        verify(projectRepository, never()).save(any());
+    }
+
+    @Test
+    void updateProjectDuplicate() {
+        UUID projectId = UUID.randomUUID();
+        Project project1 = new Project("Title1", "Description1", false);
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project1));
+        when(projectRepository.save(project1)).thenThrow(new DataIntegrityViolationException("UK_PROJECT_CONTENT_HASH"));
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+            () -> projectService.updateProject(projectId, new Project("Title2", "Description2", false)));
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+        verify(projectFacetIndex, never()).put(any());
     }
 
     @Test
@@ -155,6 +230,7 @@ class ProjectServiceTest {
         when(projectRepository.save(project1)).thenReturn(project2);
         Project response = projectService.updateProjectTemplate(projectId, template);
         assertEquals(project2, response);
+        verify(projectFacetIndex).put(project2);
     }
 
     @Test
@@ -171,6 +247,18 @@ class ProjectServiceTest {
         verify(projectRepository, times(0)).save(project1);
     }
 
+    @Test
+    void updateProjectTemplateConflict() {
+        UUID projectId = UUID.randomUUID();
+        Project project = new Project("Title1", "Description1", false, null);
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(projectRepository.save(project)).thenThrow(new DataIntegrityViolationException("UK_PROJECT_CONTENT_HASH"));
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () ->
+            projectService.updateProjectTemplate(projectId, new Template("TempTitle", "StandardDescription", 6)));
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+        verify(projectFacetIndex, never()).put(any());
+    }
+
     @Test
     void removeTemplateFromProjectSuccess() {
         UUID projectId = UUID.randomUUID();
@@ -182,6 +270,7 @@ class ProjectServiceTest {
         when(projectRepository.save(project1)).thenReturn(project2);
         Project response = projectService.removeTemplateFromProject(projectId);
         assertEquals(project2, response);
+        verify(projectFacetIndex).put(project2);
     }
 
     @Test
@@ -198,6 +287,18 @@ class ProjectServiceTest {
         verify(projectRepository, times(0)).save(project1);
     }
 
+    @Test
+    void removeTemplateFromProjectConflict() {
+        UUID projectId = UUID.randomUUID();
+        Project project = new Project("Title1", "Description1", false, new Template());
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(projectRepository.save(project)).thenThrow(new DataIntegrityViolationException("UK_PROJECT_CONTENT_HASH"));
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () ->
+            projectService.removeTemplateFromProject(projectId));
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+        verify(projectFacetIndex, never()).put(any());
+    }
+
     @Test
     void getTemplateByProjectIdSuccess() {
         UUID projectId1 = UUID.randomUUID();
@@ -226,4 +327,126 @@ class ProjectServiceTest {
                 projectService.getTemplateByProjectId(projectId));
     }
 
-}
\ No newline at end of file
+    @Test
+    void getProjectPageHasNextCursor() {
+        Project project1 = new Project("Title1", "Description1", false);
+        project1.setProjectId(UUID.randomUUID());
+        Project project2 = new Project("Title2", "Description2", false);
+        project2.setProjectId(UUID.randomUUID());
+        doReturn(List.of(project1, project2)).when(projectRepository).findBy(any(Specification.class), any());
+        ProjectPage page = projectService.getProjectPage("title", null, 1, null, null, null);
+        assertEquals(1, page.getItems().size());
+        assertEquals("Title1", page.getItems().get(0).getTitle());
+        assertNotNull(page.getNextCursor());
+
+        doReturn(List.of(project2)).when(projectRepository).findBy(any(Specification.class), any());
+        page = projectService.getProjectPage("title", page.getNextCursor(), 1, false, UUID.randomUUID(),
+            UUID.randomUUID());
+        assertEquals("Title2", page.getItems().get(0).getTitle());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getProjectPageByCreationTime() {
+        Project project1 = new Project("Title1", "Description1", false);
+        project1.setProjectId(UUID.randomUUID());
+        project1.setCreatedAt(Instant.parse("2024-05-01T10:15:30.123456Z"));
+        doReturn(List.of(project1, new Project())).when(projectRepository).findBy(any(Specification.class), any());
+        ProjectPage page = projectService.getProjectPage("-created", null, 1, null, null, null);
+        projectService.getProjectPage("-created", page.getNextCursor(), 1, null, null, null);
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+            () -> projectService.getProjectPage("title", "bm90LWEtY3Vyc29y", 1, null, null, null));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+
+    @Test
+    void getProjectPageInvalidRequest() {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+            () -> projectService.getProjectPage("title", null, 0, null, null, null));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        e = assertThrows(ResponseStatusException.class,
+            () -> projectService.getProjectPage("description", null, 10, null, null, null));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        e = assertThrows(ResponseStatusException.class,
+            () -> projectService.getProjectPage("created", "%%%", 10, null, null, null));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        verify(projectRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    void backfillCreationTimes() {
+        projectService.backfillCreationTimes();
+        verify(projectRepository).backfillCreatedAt(Instant.EPOCH);
+    }
+
+    @Test
+    void backfillContentHashes() {
+        Project project1 = new Project("Title1", "Description1", false);
+        Project project2 = new Project("Title1", "Description1", false);
+        project2.setProjectId(UUID.randomUUID());
+        String hash = Project.contentHash("Title1", "Description1");
+        when(projectRepository.findAllByContentHashIsNull()).thenReturn(List.of(project1, project2));
+        when(projectRepository.existsByContentHash(hash)).thenReturn(false, true);
+        projectService.backfillContentHashes();
+        assertEquals(hash, project1.getContentHash());
+        assertEquals(Project.duplicateContentHash(project2.getProjectId()), project2.getContentHash());
+        verify(projectRepository).save(project1);
+        verify(projectRepository).save(project2);
+    }
+
+    @Test
+    void backfillContentHashesConcurrentDuplicate() {
+        Project project = new Project("Title1", "Description1", false);
+        project.setProjectId(UUID.randomUUID());
+        when(projectRepository.findAllByContentHashIsNull()).thenReturn(List.of(project));
+        when(projectRepository.save(project))
+            .thenThrow(new DataIntegrityViolationException("UK_PROJECT_CONTENT_HASH"))
+            .thenReturn(project);
+        projectService.backfillContentHashes();
+        assertEquals(Project.duplicateContentHash(project.getProjectId()), project.getContentHash());
+        verify(projectRepository, times(2)).save(project);
+    }
+
+    @Test
+    void searchProjects() {
+        ProjectSearchResult expected = new ProjectSearchResult(List.of(), 0);
+        when(projectSearchIndex.search("portfolio", 1, 10)).thenReturn(expected);
+        assertEquals(expected, projectService.searchProjects("portfolio", 1, 10));
+    }
+
+    @Test
+    void searchProjectsInvalidRequest() {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+            () -> projectService.searchProjects(" ", 0, 10));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        e = assertThrows(ResponseStatusException.class,
+            () -> projectService.searchProjects("portfolio", -1, 10));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        e = assertThrows(ResponseStatusException.class,
+            () -> projectService.searchProjects("portfolio", 0, 101));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        verify(projectSearchIndex, never()).search(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getProjectFacets() {
+        ProjectFacetQuery query = new ProjectFacetQuery();
+        ProjectFacetResult expected = new ProjectFacetResult(List.of(), 0, Map.of(), Map.of(), Map.of());
+        when(projectFacetIndex.query(query)).thenReturn(expected);
+        assertEquals(expected, projectService.getProjectFacets(query));
+    }
+
+    @Test
+    void getProjectFacetsInvalidRequest() {
+        ProjectFacetQuery query = new ProjectFacetQuery();
+        query.setPage(-1);
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+            () -> projectService.getProjectFacets(query));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        query.setPage(0);
+        query.setSize(0);
+        e = assertThrows(ResponseStatusException.class, () -> projectService.getProjectFacets(query));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        verify(projectFacetIndex, never()).query(any());
+    }
+}
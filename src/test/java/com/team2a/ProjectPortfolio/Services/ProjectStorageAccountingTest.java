@@ -0,0 +1,70 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+import com.team2a.ProjectPortfolio.Repositories.MediaRepository;
+import com.team2a.ProjectPortfolio.dto.ProjectStorageUsage;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class ProjectStorageAccountingTest {
+
+  private MediaRepository mediaRepository;
+
+  private ProjectStorageAccounting accounting;
+
+  private final UUID projectId = UUID.randomUUID();
+
+  @BeforeEach
+  void setUp() {
+    mediaRepository = mock(MediaRepository.class);
+    when(mediaRepository.sumSizeByProjectId(projectId)).thenReturn(60L);
+    accounting = new ProjectStorageAccounting(mediaRepository, 100);
+  }
+
+  @Test
+  void testUsageIsLoadedOnce() {
+    accounting.getUsage(projectId);
+    accounting.add(projectId, 10);
+    ProjectStorageUsage usage = accounting.getUsage(projectId);
+    assertEquals(70, usage.getUsedBytes());
+    assertEquals(100, usage.getQuotaBytes());
+    verify(mediaRepository, times(1)).sumSizeByProjectId(projectId);
+  }
+
+  @Test
+  void testAddBeforeLoadIsIgnored() {
+    accounting.add(projectId, 10);
+    assertEquals(60, accounting.getUsage(projectId).getUsedBytes());
+  }
+
+  @Test
+  void testReservationsCountAgainstQuota() {
+    accounting.reserve(projectId, 30);
+    assertEquals(30, accounting.getUsage(projectId).getReservedBytes());
+    ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> accounting.reserve(projectId, 20));
+    assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, e.getStatusCode());
+    accounting.release(projectId, 30);
+    accounting.reserve(projectId, 20);
+    assertEquals(20, accounting.getUsage(projectId).getReservedBytes());
+  }
+
+  @Test
+  void testCheckQuota() {
+    accounting.checkQuota(projectId, 40);
+    assertThrows(ResponseStatusException.class, () -> accounting.checkQuota(projectId, 41));
+    assertEquals(0, accounting.getUsage(projectId).getReservedBytes());
+  }
+
+  @Test
+  void testNoQuota() {
+    ProjectStorageAccounting unlimited = new ProjectStorageAccounting(mediaRepository, 0);
+    unlimited.reserve(projectId, Long.MAX_VALUE / 2);
+    assertEquals(0, unlimited.getUsage(projectId).getQuotaBytes());
+  }
+}
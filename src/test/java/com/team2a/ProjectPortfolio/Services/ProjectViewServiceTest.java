@@ -0,0 +1,115 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.team2a.ProjectPortfolio.Repositories.LinkRepository;
+import com.team2a.ProjectPortfolio.Repositories.ProjectRepository;
+import com.team2a.ProjectPortfolio.Repositories.ProjectsToCollaboratorsRepository;
+import com.team2a.ProjectPortfolio.Repositories.TagToProjectRepository;
+import com.team2a.ProjectPortfolio.dto.LinkSummary;
+import com.team2a.ProjectPortfolio.dto.ProjectCollaborator;
+import com.team2a.ProjectPortfolio.dto.ProjectSummary;
+import com.team2a.ProjectPortfolio.dto.ProjectView;
+import com.team2a.ProjectPortfolio.dto.TagSummary;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class ProjectViewServiceTest {
+
+  private ProjectRepository projectRepository;
+
+  private LinkRepository linkRepository;
+
+  private TagToProjectRepository tagToProjectRepository;
+
+  private ProjectsToCollaboratorsRepository projectsToCollaboratorsRepository;
+
+  private ProjectViewService projectViewService;
+
+  @BeforeEach
+  void setUp() {
+    projectRepository = mock(ProjectRepository.class);
+    linkRepository = mock(LinkRepository.class);
+    tagToProjectRepository = mock(TagToProjectRepository.class);
+    projectsToCollaboratorsRepository = mock(ProjectsToCollaboratorsRepository.class);
+    projectViewService = new ProjectViewService(projectRepository, linkRepository, tagToProjectRepository,
+        projectsToCollaboratorsRepository);
+  }
+
+  private ProjectSummary getSummary(String title) {
+    return new ProjectSummary(UUID.randomUUID(), title, "description", false, null, 0L);
+  }
+
+  @Test
+  void testGetProjectViews() {
+    ProjectSummary project1 = getSummary("title1");
+    ProjectSummary project2 = getSummary("title2");
+    List<UUID> ids = List.of(project1.getProjectId(), project2.getProjectId());
+    when(projectRepository.findAllSummaries()).thenReturn(List.of(project1, project2));
+    when(linkRepository.findSummariesByProjectIds(ids))
+        .thenReturn(List.of(new LinkSummary(project2.getProjectId(), UUID.randomUUID(), "link", "url")));
+    when(tagToProjectRepository.findSummariesByProjectIds(ids))
+        .thenReturn(List.of(new TagSummary(project1.getProjectId(), UUID.randomUUID(), "tag", "red"),
+            new TagSummary(project2.getProjectId(), UUID.randomUUID(), "tag", "red")));
+    when(projectsToCollaboratorsRepository.findSummariesByProjectIds(ids))
+        .thenReturn(List.of(new ProjectCollaborator(project1.getProjectId(), UUID.randomUUID(), "name", "role")));
+
+    List<ProjectView> views = projectViewService.getProjectViews();
+    assertEquals(2, views.size());
+    assertEquals("title1", views.get(0).getTitle());
+    assertTrue(views.get(0).getLinks().isEmpty());
+    assertEquals(1, views.get(0).getTags().size());
+    assertEquals("name", views.get(0).getCollaborators().get(0).getName());
+    assertEquals("link", views.get(1).getLinks().get(0).getName());
+    assertEquals(1, views.get(1).getTags().size());
+    assertTrue(views.get(1).getCollaborators().isEmpty());
+  }
+
+  @Test
+  void testGetProjectViewsInBatches() {
+    List<ProjectSummary> projects = new ArrayList<>();
+    for (int i = 0; i <= ProjectViewService.BATCH_SIZE; i++) {
+      projects.add(getSummary("title" + i));
+    }
+    assertEquals(projects.size(), projectViewService.getProjectViews(projects).size());
+    verify(linkRepository, times(2)).findSummariesByProjectIds(anyCollection());
+    verify(tagToProjectRepository, times(2)).findSummariesByProjectIds(anyCollection());
+    verify(projectsToCollaboratorsRepository, times(2)).findSummariesByProjectIds(anyCollection());
+  }
+
+  @Test
+  void testGetProjectViewsEmpty() {
+    assertTrue(projectViewService.getProjectViews(List.of()).isEmpty());
+    verify(linkRepository, never()).findSummariesByProjectIds(anyCollection());
+  }
+
+  @Test
+  void testGetProjectView() {
+    ProjectSummary project = getSummary("title");
+    when(projectRepository.findSummaryByProjectId(project.getProjectId())).thenReturn(Optional.of(project));
+    assertEquals("title", projectViewService.getProjectView(project.getProjectId()).getTitle());
+  }
+
+  @Test
+  void testGetProjectViewNotFound() {
+    UUID projectId = UUID.randomUUID();
+    when(projectRepository.findSummaryByProjectId(projectId)).thenReturn(Optional.empty());
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+        () -> projectViewService.getProjectView(projectId));
+    assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+  }
+}
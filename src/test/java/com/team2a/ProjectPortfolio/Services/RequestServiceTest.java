@@ -7,6 +7,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.ArrayList;
@@ -40,6 +44,18 @@ class RequestServiceTest {
     @Mock
     private LinkRepository linkRepository;
 
+    @Mock
+    private ProjectSearchIndex projectSearchIndex;
+
+    @Mock
+    private ProjectFacetIndex projectFacetIndex;
+
+    @Mock
+    private ProjectReadCache projectReadCache;
+
+    @Mock
+    private ProjectStorageAccounting projectStorageAccounting;
+
     @BeforeEach
     void setup() {
         sut = new RequestService();
@@ -50,6 +66,9 @@ class RequestServiceTest {
         projectsToCollaboratorsRepository = mock(ProjectsToCollaboratorsRepository.class);
         mediaRepository = mock(MediaRepository.class);
         linkRepository = mock(LinkRepository.class);
+        projectSearchIndex = mock(ProjectSearchIndex.class);
+        projectFacetIndex = mock(ProjectFacetIndex.class);
+        projectReadCache = mock(ProjectReadCache.class);
         sut.setAccountRepository(accountRepository);
         sut.setRequestRepository(requestRepository);
         sut.setProjectRepository(projectRepository);
@@ -57,6 +76,11 @@ class RequestServiceTest {
         sut.setProjectsToCollaboratorsRepository(projectsToCollaboratorsRepository);
         sut.setMediaRepository(mediaRepository);
         sut.setLinkRepository(linkRepository);
+        projectStorageAccounting = mock(ProjectStorageAccounting.class);
+        sut.setProjectStorageAccounting(projectStorageAccounting);
+        sut.setProjectSearchIndex(projectSearchIndex);
+        sut.setProjectFacetIndex(projectFacetIndex);
+        sut.setProjectReadCache(projectReadCache);
     }
 
     @Test
@@ -197,13 +221,14 @@ class RequestServiceTest {
         when(requestRepository.findById(id1)).thenReturn(Optional.of(r));
         sut.deleteRequest(id1);
         verify(requestRepository).deleteByRequestId(any());
+        verify(projectReadCache).invalidateProject(p.getProjectId());
     }
 
     @Test
     void testAcceptRequestNotFound() {
         UUID id1 = UUID.randomUUID();
         when(requestRepository.findById(id1)).thenReturn(Optional.empty());
-        assertThrows(ResponseStatusException.class, () -> sut.acceptRequest(id1));
+        assertThrows(ResponseStatusException.class, () -> sut.acceptRequest(id1, null));
     }
 
     @Test
@@ -230,9 +255,11 @@ class RequestServiceTest {
         r.setProject(p);
 
         when(requestRepository.findById(any())).thenReturn(Optional.of(r));
-        sut.acceptRequest(UUID.randomUUID());
+        sut.acceptRequest(UUID.randomUUID(), null);
 
-        verify(projectRepository).save(p);
+        verify(projectRepository).saveAndFlush(p);
+        verify(projectSearchIndex).index(p);
+        verify(projectFacetIndex).put(p);
 
         verify(tagToProjectRepository).findAllByProjectProjectIdAndTagTagId(any(), any());
         verify(tagToProjectRepository).deleteAll(any());
@@ -253,6 +280,105 @@ class RequestServiceTest {
 
     }
 
+    @Test
+    void testAcceptRequestDuplicateContent() {
+        Project p = new Project("title", "description", false);
+        p.setProjectId(UUID.randomUUID());
+        Request r = new Request();
+        r.setProject(p);
+        r.setNewTitle("other title");
+        when(requestRepository.findById(any())).thenReturn(Optional.of(r));
+        when(projectRepository.existsByContentHashAndProjectIdNot(Project.contentHash("other title", "description"),
+            p.getProjectId())).thenReturn(true);
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+            () -> sut.acceptRequest(UUID.randomUUID(), null));
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+        verify(projectRepository, never()).saveAndFlush(any());
+        verify(requestRepository, never()).deleteByRequestId(any());
+    }
+
+    @Test
+    void testAcceptRequestUnchangedContentSkipsDuplicateCheck() {
+        Project p = new Project("title", "description", false);
+        p.setProjectId(UUID.randomUUID());
+        Request r = new Request();
+        r.setProject(p);
+        when(requestRepository.findById(any())).thenReturn(Optional.of(r));
+        sut.acceptRequest(UUID.randomUUID(), null);
+        verify(projectRepository, never()).existsByContentHashAndProjectIdNot(any(), any());
+        verify(projectRepository).saveAndFlush(p);
+        verify(requestRepository).deleteByRequestId(any());
+    }
+
+    @Test
+    void testAcceptRequestDuplicateMedia() {
+        Project p = new Project("title", "description", false);
+        Request r = new Request();
+        r.setProject(p);
+        r.setRequestMediaProjects(List.of(new RequestMediaProject(r, new Media("name", "path"), false)));
+        when(requestRepository.findById(any())).thenReturn(Optional.of(r));
+        when(mediaRepository.save(any())).thenThrow(new DataIntegrityViolationException("UK_MEDIA_PROJECT_PATH"));
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+            () -> sut.acceptRequest(UUID.randomUUID(), null));
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+        verify(requestRepository, never()).deleteByRequestId(any());
+    }
+
+    @Test
+    void testAcceptRequestOverQuota() {
+        Project p = new Project("title", "description", false);
+        p.setProjectId(UUID.randomUUID());
+        Media media = new Media("name", "path");
+        media.setSize(10L);
+        Request r = new Request();
+        r.setProject(p);
+        r.setRequestMediaProjects(List.of(new RequestMediaProject(r, media, false)));
+        when(requestRepository.findById(any())).thenReturn(Optional.of(r));
+        doThrow(new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE))
+            .when(projectStorageAccounting).checkQuota(p.getProjectId(), 10L);
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+            () -> sut.acceptRequest(UUID.randomUUID(), null));
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, e.getStatusCode());
+        verify(projectRepository, never()).saveAndFlush(any());
+        verify(requestRepository, never()).deleteByRequestId(any());
+    }
+
+    @Test
+    void testAcceptRequestCountsMediaAfterCommit() {
+        Project p = new Project("title", "description", false);
+        p.setProjectId(UUID.randomUUID());
+        Media media = new Media("name", "path");
+        media.setSize(10L);
+        Request r = new Request();
+        r.setProject(p);
+        r.setRequestMediaProjects(List.of(new RequestMediaProject(r, media, false)));
+        when(requestRepository.findById(any())).thenReturn(Optional.of(r));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            sut.acceptRequest(UUID.randomUUID(), null);
+            verify(projectStorageAccounting, never()).add(any(), anyLong());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(projectStorageAccounting).add(p.getProjectId(), 10L);
+    }
+
+    @Test
+    void testAcceptRequestStaleVersion() {
+        Project p = new Project("title", "description", false);
+        p.setVersion(2L);
+        Request r = new Request();
+        r.setProject(p);
+        r.setNewTitle("other title");
+        when(requestRepository.findById(any())).thenReturn(Optional.of(r));
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+            () -> sut.acceptRequest(UUID.randomUUID(), 1L));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, e.getStatusCode());
+        assertEquals("title", p.getTitle());
+        verify(projectRepository, never()).saveAndFlush(any());
+    }
+
     @Test
     void testGetRequestsForIdOk () {
         Request r = new Request();
@@ -0,0 +1,33 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class SparseFieldServiceTest {
+
+  @Test
+  void testParse() {
+    Set<String> fields = SparseFieldService.parse("title, tags,,title", SparseFieldService.PROJECT_FIELDS);
+    assertEquals(List.of("title", "tags"), List.copyOf(fields));
+  }
+
+  @Test
+  void testParseUnknownField() {
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+        () -> SparseFieldService.parse("name,tagsToProjects", SparseFieldService.TAG_FIELDS));
+    assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+  }
+
+  @Test
+  void testParseEmpty() {
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+        () -> SparseFieldService.parse(" , ", SparseFieldService.COLLABORATOR_FIELDS));
+    assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+  }
+}
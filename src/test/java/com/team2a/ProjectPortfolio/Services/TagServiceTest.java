@@ -5,12 +5,14 @@ import com.team2a.ProjectPortfolio.Commons.Request;
 import com.team2a.ProjectPortfolio.Commons.Tag;
 import com.team2a.ProjectPortfolio.Commons.TagsToProject;
 import com.team2a.ProjectPortfolio.Repositories.*;
+import com.team2a.ProjectPortfolio.dto.TagSummary;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.*;
@@ -36,6 +38,8 @@ class TagServiceTest {
     @Mock
     private RequestRepository requestRepository;
 
+    private ProjectFacetIndex projectFacetIndex;
+
     @BeforeEach
     void setUp() {
         tagRepository = mock(TagRepository.class);
@@ -43,8 +47,9 @@ class TagServiceTest {
         projectRepository = mock(ProjectRepository.class);
         requestTagProjectRepository = mock(RequestTagProjectRepository.class);
         requestRepository = mock(RequestRepository.class);
+        projectFacetIndex = mock(ProjectFacetIndex.class);
         tagService = new TagService(tagRepository, tagToProjectRepository, projectRepository,
-                requestTagProjectRepository, requestRepository);
+                requestTagProjectRepository, requestRepository, projectFacetIndex);
     }
 
     @Test
@@ -69,12 +74,11 @@ class TagServiceTest {
     @Test
     void testGetTagsByProjectId() {
         UUID projectId = UUID.randomUUID();
-        Tag tag = new Tag("Test Tag", "Red");
-        TagsToProject tagsToProject = new TagsToProject(tag, new Project());
+        TagSummary tag = new TagSummary(projectId, UUID.randomUUID(), "Test Tag", "Red");
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(new Project()));
-        when(tagToProjectRepository.findAllByProjectProjectId(projectId)).thenReturn(Collections.singletonList(tagsToProject));
+        when(tagToProjectRepository.findSummariesByProjectIds(List.of(projectId))).thenReturn(List.of(tag));
 
-        List<Tag> tags = tagService.getTagsByProjectId(projectId);
+        List<TagSummary> tags = tagService.getTagsByProjectId(projectId);
 
         assertEquals(1, tags.size());
         assertEquals(tag, tags.get(0));
@@ -100,6 +104,7 @@ class TagServiceTest {
 
         assertDoesNotThrow(() -> tagService.addTagToProject(projectId, tagId));
         verify(tagToProjectRepository, times(1)).saveAndFlush(any(TagsToProject.class));
+        verify(projectFacetIndex).setTag(projectId, tagId, true);
     }
 
     @Test
@@ -143,6 +148,25 @@ class TagServiceTest {
         assertEquals(tag, editedTag);
     }
 
+    @Test
+    void testEditTagVersion() {
+        Tag stored = new Tag("Test Tag", "Red");
+        stored.setTagId(UUID.randomUUID());
+        stored.setVersion(2L);
+        Tag tag = new Tag("New Tag", "Blue");
+        tag.setTagId(stored.getTagId());
+        when(tagRepository.findById(tag.getTagId())).thenReturn(Optional.of(stored));
+        when(tagRepository.saveAndFlush(tag)).thenReturn(tag);
+
+        tagService.editTag(tag);
+        assertEquals(2L, tag.getVersion());
+
+        tag.setVersion(1L);
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> tagService.editTag(tag));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, e.getStatusCode());
+        verify(tagRepository, times(1)).saveAndFlush(tag);
+    }
+
     @Test
     void testEditTagNotFound() {
         Tag tag = new Tag("Test Tag", "Red");
@@ -161,6 +185,7 @@ class TagServiceTest {
         when(tagRepository.existsById(tag.getTagId())).thenReturn(true);
         tagService.deleteTag(tag.getTagId());
         verify(tagRepository, times(1)).deleteById(tag.getTagId());
+        verify(projectFacetIndex).deleteTag(tag.getTagId());
     }
 
     @Test
@@ -184,6 +209,7 @@ class TagServiceTest {
         when(tagToProjectRepository.existsByProjectProjectIdAndTagTagId(projectId, tagId)).thenReturn(true);
         tagService.removeTagFromProject(projectId, tagId);
         verify(tagToProjectRepository, times(1)).deleteByProjectProjectIdAndTagTagId(projectId, tagId);
+        verify(projectFacetIndex).setTag(projectId, tagId, false);
     }
 
     @Test
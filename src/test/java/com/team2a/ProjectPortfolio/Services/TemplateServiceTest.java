@@ -33,12 +33,15 @@ public class TemplateServiceTest {
   @Mock
   private TemplateAdditionRepository templateAdditionRepository;
 
+  @Mock
+  private ProjectFacetIndex projectFacetIndex;
+
   private TemplateService templateService;
 
   @BeforeEach
   void setUp() {
     templateRepository = Mockito.mock(TemplateRepository.class);
-    templateService = new TemplateService(templateRepository, templateAdditionRepository);
+    templateService = new TemplateService(templateRepository, templateAdditionRepository, projectFacetIndex);
   }
 
   @Test
@@ -74,6 +77,7 @@ public class TemplateServiceTest {
     doNothing().when(templateRepository).deleteById("templateName");
     templateService.deleteTemplate("templateName");
     verify(templateRepository, times(1)).deleteById("templateName");
+    verify(projectFacetIndex).deleteTemplate("templateName");
   }
 
   @Test
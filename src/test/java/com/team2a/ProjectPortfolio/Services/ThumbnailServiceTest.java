@@ -0,0 +1,108 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class ThumbnailServiceTest {
+
+  @TempDir
+  Path assets;
+
+  private LocalMediaStorage storage;
+
+  private MediaHelper mediaHelper;
+
+  private ThumbnailService thumbnailService;
+
+  @BeforeEach
+  void setUp() {
+    storage = new LocalMediaStorage(assets);
+    mediaHelper = spy(new MediaHelper(assets, storage));
+    thumbnailService = new ThumbnailService(mediaHelper);
+  }
+
+  @AfterEach
+  void tearDown() {
+    thumbnailService.shutdown();
+  }
+
+  @Test
+  void testGetVariantGeneratesScaledImage() throws IOException {
+    ImageIO.write(new BufferedImage(1000, 500, BufferedImage.TYPE_INT_RGB), "jpg", assets.resolve("photo").toFile());
+    String variant = thumbnailService.getVariant("photo", "photo.jpeg", 160);
+    assertEquals("photo-160.jpg", variant);
+    BufferedImage scaled = ImageIO.read(storage.resolve(variant).toFile());
+    assertEquals(160, scaled.getWidth());
+    assertEquals(80, scaled.getHeight());
+  }
+
+  @Test
+  void testGetVariantDoesNotUpscale() throws IOException {
+    ImageIO.write(new BufferedImage(100, 50, BufferedImage.TYPE_INT_ARGB), "png", assets.resolve("icon").toFile());
+    String variant = thumbnailService.getVariant("icon", "icon.png", 480);
+    assertEquals("icon-480.png", variant);
+    assertEquals(100, ImageIO.read(storage.resolve(variant).toFile()).getWidth());
+  }
+
+  @Test
+  void testGetVariantReusesExistingFile() throws IOException {
+    Files.writeString(assets.resolve("photo-160.jpg"), "cached");
+    assertEquals("photo-160.jpg", thumbnailService.getVariant("photo", "photo.jpg", 160));
+    verify(mediaHelper, never()).saveImage(anyString(), any(), anyString());
+  }
+
+  @Test
+  void testGetVariantInvalidWidth() {
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+        () -> thumbnailService.getVariant("photo", "photo.jpg", 100));
+    assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+  }
+
+  @Test
+  void testGetVariantNotAnImage() {
+    ResponseStatusException e = assertThrows(ResponseStatusException.class,
+        () -> thumbnailService.getVariant("doc", "doc.pdf", 160));
+    assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, e.getStatusCode());
+  }
+
+  @Test
+  void testScheduleGeneratesAllVariants() throws IOException {
+    ImageIO.write(new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_RGB), "png", assets.resolve("large").toFile());
+    thumbnailService.schedule("large", "large.png");
+    verify(mediaHelper, timeout(5000)).saveImage(eq("large-1280.png"), any(), eq("png"));
+    assertTrue(Files.exists(storage.resolve("large-160.png")));
+    assertTrue(Files.exists(storage.resolve("large-480.png")));
+  }
+
+  @Test
+  void testScheduleIgnoresDocuments() {
+    thumbnailService.schedule("doc", "doc.pdf");
+    assertEquals(0, thumbnailService.getQueueDepth());
+    verify(mediaHelper, never()).fileExists(anyString());
+  }
+
+  @Test
+  void testDeleteVariants() throws IOException {
+    Files.writeString(assets.resolve("photo-160.jpg"), "cached");
+    Files.writeString(assets.resolve("photo-480.png"), "cached");
+    thumbnailService.deleteVariants("photo");
+    assertFalse(Files.exists(assets.resolve("photo-160.jpg")));
+    assertFalse(Files.exists(assets.resolve("photo-480.png")));
+  }
+}
@@ -0,0 +1,87 @@
+package com.team2a.ProjectPortfolio.Services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+public class UploadAdmissionServiceTest {
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  private void login(String username) {
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken(username, null, List.of()));
+  }
+
+  @Test
+  void testAdmitHoldsSlotUntilClosed() {
+    UploadAdmissionService admission = new UploadAdmissionService(2, 1, 0);
+    try (UploadAdmissionService.Admission ignored = admission.admit()) {
+      assertEquals(1, admission.getActiveUploads());
+      assertEquals(1, admission.getActiveUsers());
+    }
+    assertEquals(0, admission.getActiveUploads());
+    assertEquals(0, admission.getActiveUsers());
+  }
+
+  @Test
+  void testUserLimit() {
+    UploadAdmissionService admission = new UploadAdmissionService(4, 1, 0);
+    login("alice");
+    try (UploadAdmissionService.Admission ignored = admission.admit()) {
+      ResponseStatusException e = assertThrows(ResponseStatusException.class, admission::admit);
+      assertEquals(HttpStatus.TOO_MANY_REQUESTS, e.getStatusCode());
+      assertEquals(1, admission.getActiveUploads());
+    }
+    assertEquals(0, admission.getActiveUploads());
+    assertEquals(0, admission.getActiveUsers());
+  }
+
+  @Test
+  void testGlobalLimit() {
+    UploadAdmissionService admission = new UploadAdmissionService(1, 1, 0);
+    login("alice");
+    try (UploadAdmissionService.Admission ignored = admission.admit()) {
+      login("bob");
+      ResponseStatusException e = assertThrows(ResponseStatusException.class, admission::admit);
+      assertEquals(HttpStatus.TOO_MANY_REQUESTS, e.getStatusCode());
+      assertEquals(1, admission.getActiveUsers());
+    }
+    assertEquals(0, admission.getActiveUploads());
+    assertEquals(0, admission.getActiveUsers());
+  }
+
+  @Test
+  void testOtherUsersAreAdmitted() {
+    UploadAdmissionService admission = new UploadAdmissionService(2, 1, 10);
+    login("alice");
+    try (UploadAdmissionService.Admission ignored = admission.admit()) {
+      login("bob");
+      try (UploadAdmissionService.Admission nested = admission.admit()) {
+        assertEquals(2, admission.getActiveUploads());
+        assertEquals(2, admission.getActiveUsers());
+      }
+    }
+  }
+
+  @Test
+  void testCloseReleasesOnce() {
+    UploadAdmissionService admission = new UploadAdmissionService(1, 1, 0);
+    UploadAdmissionService.Admission first = admission.admit();
+    first.close();
+    first.close();
+    try (UploadAdmissionService.Admission ignored = admission.admit()) {
+      assertThrows(ResponseStatusException.class, admission::admit);
+    }
+  }
+}
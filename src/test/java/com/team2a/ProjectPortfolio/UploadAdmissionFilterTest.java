@@ -0,0 +1,86 @@
+package com.team2a.ProjectPortfolio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.team2a.ProjectPortfolio.Services.UploadAdmissionService;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class UploadAdmissionFilterTest {
+
+  private UploadAdmissionService uploadAdmissionService;
+
+  private UploadAdmissionFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    uploadAdmissionService = new UploadAdmissionService(1, 1, 0);
+    filter = new UploadAdmissionFilter(uploadAdmissionService);
+  }
+
+  @Test
+  void testUploadHoldsSlotWhileRunning() throws ServletException, IOException {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", Routes.MEDIA + "/" + UUID.randomUUID());
+    MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+      @Override
+      protected void service(HttpServletRequest req, HttpServletResponse res) {
+        assertEquals(1, uploadAdmissionService.getActiveUploads());
+      }
+    });
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+    assertNotNull(chain.getRequest());
+    assertEquals(0, uploadAdmissionService.getActiveUploads());
+  }
+
+  @Test
+  void testRejectedUploadIsNotRead() throws ServletException, IOException {
+    try (UploadAdmissionService.Admission ignored = uploadAdmissionService.admit()) {
+      MockHttpServletRequest request = new MockHttpServletRequest("PUT",
+          Routes.MEDIA + "/upload/" + UUID.randomUUID() + "/" + UUID.randomUUID());
+      MockHttpServletResponse response = new MockHttpServletResponse();
+      MockFilterChain chain = new MockFilterChain();
+      filter.doFilter(request, response, chain);
+      assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+      assertNull(chain.getRequest());
+    }
+  }
+
+  @Test
+  void testOtherRoutesAreNotAdmitted() throws ServletException, IOException {
+    try (UploadAdmissionService.Admission ignored = uploadAdmissionService.admit()) {
+      for (String[] route : new String[][] {{"POST", Routes.MEDIA + "/gc"}, {"PUT", Routes.MEDIA + "/"},
+          {"GET", Routes.MEDIA + "/" + UUID.randomUUID()}, {"POST", Routes.MEDIA + "/upload/" + UUID.randomUUID()}}) {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest(route[0], route[1]), new MockHttpServletResponse(), chain);
+        assertNotNull(chain.getRequest());
+      }
+    }
+  }
+
+  @Test
+  void testSlotReleasedOnFailure() {
+    MockHttpServletRequest request = new MockHttpServletRequest("PUT", Routes.MEDIA + "/" + UUID.randomUUID());
+    MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+      @Override
+      protected void service(HttpServletRequest req, HttpServletResponse res) {
+        throw new IllegalStateException();
+      }
+    });
+    assertThrows(IllegalStateException.class, () -> filter.doFilter(request, new MockHttpServletResponse(), chain));
+    assertEquals(0, uploadAdmissionService.getActiveUploads());
+    assertEquals(0, uploadAdmissionService.getActiveUsers());
+  }
+}
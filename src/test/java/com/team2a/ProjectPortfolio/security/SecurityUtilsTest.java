@@ -4,12 +4,15 @@ import com.team2a.ProjectPortfolio.Commons.Account;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -32,4 +35,13 @@ class SecurityUtilsTest {
         Account currentUser = securityUtils.getCurrentUser();
         assertEquals(mockAccount, currentUser);
     }
+
+    @Test
+    void getCurrentUserAnonymous() {
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken("key", "anonymousUser",
+            AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+        assertNull(securityUtils.getCurrentUser());
+        SecurityContextHolder.clearContext();
+        assertNull(securityUtils.getCurrentUser());
+    }
 }